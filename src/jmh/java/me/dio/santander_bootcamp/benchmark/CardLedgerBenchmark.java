@@ -0,0 +1,71 @@
+package me.dio.santander_bootcamp.benchmark;
+
+import me.dio.santander_bootcamp.domain.model.Money;
+import me.dio.santander_bootcamp.service.ledger.CardHold;
+import me.dio.santander_bootcamp.service.ledger.CardLedger;
+import me.dio.santander_bootcamp.service.ledger.LedgerJournal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency distribution of a card authorization followed by its release against the in-memory
+ * ledger, journal write included, with four threads hitting random cards. {@code SampleTime}
+ * reports the percentiles, p99 among them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class CardLedgerBenchmark {
+
+    private static final Money AMOUNT = Money.of("12.34");
+
+    @Param({"1000", "100000"})
+    private int cards;
+
+    @Param({"false", "true"})
+    private boolean fsync;
+
+    private Path journalFile;
+    private LedgerJournal journal;
+    private CardLedger ledger;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.journalFile = Files.createTempFile("card-ledger-benchmark", ".journal");
+        this.journal = new LedgerJournal(this.journalFile, this.fsync);
+        this.ledger = new CardLedger(this.journal, Clock.systemUTC());
+        for(long userId = 1; userId <= this.cards; userId++){
+            this.ledger.load(userId, 0, Money.of("1000000.00"));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        this.journal.close();
+        Files.deleteIfExists(this.journalFile);
+    }
+
+    @Benchmark
+    public CardHold authorizeAndRelease(){
+        long userId = ThreadLocalRandom.current().nextLong(1, this.cards + 1L);
+        CardHold hold = this.ledger.authorize(userId, AMOUNT);
+        return this.ledger.release(userId, hold.authorizationId());
+    }
+}
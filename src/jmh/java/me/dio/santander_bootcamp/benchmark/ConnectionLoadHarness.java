@@ -0,0 +1,169 @@
+package me.dio.santander_bootcamp.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop load against a running instance: keeps {@code connections} requests in flight for
+ * {@code seconds}, then prints throughput, latency percentiles, errors and the server's peak heap,
+ * live thread count, connection pool size and threads waiting on the pool, sampled from the
+ * actuator while the load ran.
+ * <p>
+ * Arguments: {@code baseUrl readPath connections seconds}, where {@code readPath} contains
+ * {@code {id}} (e.g. {@code /reactive/users/{id}}).
+ */
+public final class ConnectionLoadHarness {
+
+    private static final int SEED_USERS = 100;
+    private static final long MAX_LATENCY_MICROS = 60_000_000L;
+    private static final Pattern MEASUREMENT = Pattern.compile("\"value\"\\s*:\\s*([0-9.Ee+-]+)");
+
+    private ConnectionLoadHarness(){
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args[0];
+        String readPath = args[1];
+        int connections = Integer.parseInt(args[2]);
+        int seconds = Integer.parseInt(args[3]);
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors())))
+                .build();
+        List<Long> ids = seed(client, baseUrl);
+
+        Semaphore inFlight = new Semaphore(connections);
+        AtomicLong completed = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        // Latency histogram with one bucket per millisecond
+        AtomicLongArray histogram = new AtomicLongArray((int) (MAX_LATENCY_MICROS / 1_000) + 1);
+        ServerSampler sampler = new ServerSampler(client, baseUrl);
+        ScheduledExecutorService sampling = Executors.newSingleThreadScheduledExecutor();
+        sampling.scheduleAtFixedRate(sampler, 0, 1, TimeUnit.SECONDS);
+
+        long started = System.nanoTime();
+        long deadline = started + TimeUnit.SECONDS.toNanos(seconds);
+        while(System.nanoTime() < deadline){
+            if(!inFlight.tryAcquire(100, TimeUnit.MILLISECONDS)){
+                continue;
+            }
+            Long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + readPath.replace("{id}", id.toString())))
+                    .timeout(Duration.ofSeconds(60))
+                    .GET()
+                    .build();
+            long sent = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+                long millis = Math.min(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sent), histogram.length() - 1);
+                histogram.incrementAndGet((int) millis);
+                completed.incrementAndGet();
+                if(failure != null || response.statusCode() != 200){
+                    errors.incrementAndGet();
+                }
+                inFlight.release();
+            });
+        }
+        inFlight.acquire(connections);
+        double elapsed = (System.nanoTime() - started) / 1e9;
+        sampling.shutdownNow();
+
+        System.out.printf("connections=%d requests=%d errors=%d throughput=%.0f req/s p50=%d ms p99=%d ms "
+                        + "peakHeap=%.0f MiB peakThreads=%.0f peakPoolSize=%.0f peakPoolPending=%.0f%n",
+                connections, completed.get(), errors.get(), completed.get() / elapsed,
+                percentile(histogram, 0.50), percentile(histogram, 0.99),
+                sampler.peakHeapBytes / (1024 * 1024), sampler.peakThreads, sampler.peakPoolSize, sampler.peakPoolPending);
+        System.exit(0);
+    }
+
+    private static List<Long> seed(HttpClient client, String baseUrl) throws Exception {
+        String run = Long.toString(System.currentTimeMillis() % 1_000_000);
+        List<Long> ids = new ArrayList<>(SEED_USERS);
+        for(int i = 0; i < SEED_USERS; i++){
+            String body = """
+                    {"name":"Load %1$d","account":{"number":"L%2$s-%1$d","agency":"0001","balance":1000.00,"limit":500.00},\
+                    "card":{"number":"L%2$s %1$d","limit":2000.00},"features":[],"news":[]}""".formatted(i, run);
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/users"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            if(response.statusCode() != 201){
+                throw new IllegalStateException("Seeding failed with status " + response.statusCode() + ": " + response.body());
+            }
+            Matcher id = Pattern.compile("\"id\"\\s*:\\s*(\\d+)").matcher(response.body());
+            if(id.find()){
+                ids.add(Long.parseLong(id.group(1)));
+            }
+        }
+        return ids;
+    }
+
+    private static long percentile(AtomicLongArray histogram, double quantile){
+        long[] counts = new long[histogram.length()];
+        for(int i = 0; i < counts.length; i++){
+            counts[i] = histogram.get(i);
+        }
+        long target = (long) Math.ceil(Arrays.stream(counts).sum() * quantile);
+        long seen = 0;
+        for(int i = 0; i < counts.length; i++){
+            seen += counts[i];
+            if(seen >= target && target > 0){
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private static final class ServerSampler implements Runnable {
+
+        private final HttpClient client;
+        private final String baseUrl;
+        private volatile double peakHeapBytes;
+        private volatile double peakThreads;
+        private volatile double peakPoolSize;
+        private volatile double peakPoolPending;
+
+        private ServerSampler(HttpClient client, String baseUrl){
+            this.client = client;
+            this.baseUrl = baseUrl;
+        }
+
+        @Override
+        public void run(){
+            this.peakHeapBytes = Math.max(this.peakHeapBytes, this.metric("jvm.memory.used?tag=area:heap"));
+            this.peakThreads = Math.max(this.peakThreads, this.metric("jvm.threads.live"));
+            this.peakPoolSize = Math.max(this.peakPoolSize, this.metric("hikaricp.connections"));
+            this.peakPoolPending = Math.max(this.peakPoolPending, this.metric("hikaricp.connections.pending"));
+        }
+
+        private double metric(String name){
+            try {
+                HttpResponse<String> response = this.client.send(
+                        HttpRequest.newBuilder(URI.create(this.baseUrl + "/actuator/metrics/" + name))
+                                .timeout(Duration.ofSeconds(5))
+                                .build(),
+                        HttpResponse.BodyHandlers.ofString());
+                Matcher value = MEASUREMENT.matcher(response.body());
+                return value.find() ? Double.parseDouble(value.group(1)) : 0;
+            } catch (Exception ex) {
+                // Busy server: keep the previous peak
+                return 0;
+            }
+        }
+    }
+}
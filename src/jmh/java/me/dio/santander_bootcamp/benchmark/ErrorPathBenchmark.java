@@ -0,0 +1,126 @@
+package me.dio.santander_bootcamp.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import me.dio.santander_bootcamp.controller.exception.GlobalExceptionHandler;
+import me.dio.santander_bootcamp.controller.exception.ProblemBodies;
+import me.dio.santander_bootcamp.service.exception.BusinessException;
+import me.dio.santander_bootcamp.service.exception.NotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Error-path throughput through Spring MVC for a lookup of a missing user (404) and an invalid
+ * create (422). {@code legacy} throws exceptions that capture their stack trace and answers with
+ * the previous plain-text handler; {@code current} throws the stackless domain exceptions and
+ * answers with the shared problem+json bodies of {@link GlobalExceptionHandler}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ErrorPathBenchmark {
+
+    private static final String DUPLICATE_ACCOUNT = "This account number already exists.";
+    private static final String STANDALONE_PROFILE = "error-path-benchmark";
+
+    @Param({"legacy", "current"})
+    private String errorPath;
+
+    private MockMvc mockMvc;
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        boolean legacy = "legacy".equals(this.errorPath);
+        Object advice = legacy ? new LegacyExceptionHandler() : new GlobalExceptionHandler(new ProblemBodies(new ObjectMapper(), 256));
+        this.mockMvc = MockMvcBuilders.standaloneSetup(new FailingController(legacy))
+                .setControllerAdvice(advice)
+                .build();
+    }
+
+    @Benchmark
+    public MvcResult notFound() throws Exception{
+        return this.mockMvc.perform(get("/users/{id}", 999)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult invalidCreate() throws Exception{
+        return this.mockMvc.perform(post("/users").contentType(MediaType.APPLICATION_JSON).content("{}")).andReturn();
+    }
+
+    // Registered only by the standalone MockMvc above; the profile keeps the application context of
+    // UserListingBenchmark, which scans this package, from picking it up
+    @Profile(STANDALONE_PROFILE)
+    @RestController
+    public static class FailingController {
+
+        private final boolean legacy;
+
+        FailingController(boolean legacy){
+            this.legacy = legacy;
+        }
+
+        @GetMapping("/users/{id}")
+        public String findById(@PathVariable Long id){
+            throw this.legacy ? new StackfulNotFoundException() : new NotFoundException();
+        }
+
+        @PostMapping("/users")
+        public String create(@RequestBody String body){
+            throw this.legacy ? new StackfulBusinessException(DUPLICATE_ACCOUNT) : new BusinessException(DUPLICATE_ACCOUNT);
+        }
+    }
+
+    @Profile(STANDALONE_PROFILE)
+    @RestControllerAdvice
+    public static class LegacyExceptionHandler {
+
+        @ExceptionHandler(StackfulNotFoundException.class)
+        public ResponseEntity<String> handleNotFound(){
+            return new ResponseEntity<>("Resource ID not found.", HttpStatus.NOT_FOUND);
+        }
+
+        @ExceptionHandler(BusinessException.class)
+        public ResponseEntity<String> handleBusinessException(BusinessException ex){
+            return new ResponseEntity<>(ex.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+    }
+
+    static class StackfulBusinessException extends BusinessException {
+
+        StackfulBusinessException(String message){
+            super(message, true);
+        }
+    }
+
+    static class StackfulNotFoundException extends StackfulBusinessException {
+
+        StackfulNotFoundException(){
+            super("Resource not found.");
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package me.dio.santander_bootcamp.benchmark;
+
+import me.dio.santander_bootcamp.domain.model.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sums a batch of account balances and formats the total, once with {@link BigDecimal} and once
+ * with {@link Money}. Run with {@code -prof gc} to compare the allocation rate as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MoneyBenchmark {
+
+    @Param({"1000", "100000"})
+    private int balances;
+
+    private BigDecimal[] decimalBalances;
+    private Money[] moneyBalances;
+    private String[] balanceTexts;
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        SplittableRandom random = new SplittableRandom(42);
+        this.decimalBalances = new BigDecimal[this.balances];
+        this.moneyBalances = new Money[this.balances];
+        this.balanceTexts = new String[this.balances];
+        for(int i = 0; i < this.balances; i++){
+            long cents = random.nextLong(-1_000_000L, 100_000_000L);
+            this.moneyBalances[i] = Money.ofCents(cents);
+            this.decimalBalances[i] = BigDecimal.valueOf(cents, 2);
+            this.balanceTexts[i] = this.moneyBalances[i].toString();
+        }
+    }
+
+    @Benchmark
+    public String sumBigDecimal(){
+        BigDecimal total = BigDecimal.ZERO;
+        for(BigDecimal balance : this.decimalBalances){
+            total = total.add(balance);
+        }
+        return total.toPlainString();
+    }
+
+    @Benchmark
+    public String sumMoney(){
+        Money total = Money.ZERO;
+        for(Money balance : this.moneyBalances){
+            total = total.plus(balance);
+        }
+        return total.toString();
+    }
+
+    @Benchmark
+    public BigDecimal parseBigDecimal(){
+        BigDecimal total = BigDecimal.ZERO;
+        for(String text : this.balanceTexts){
+            total = total.add(new BigDecimal(text));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Money parseMoney(){
+        Money total = Money.ZERO;
+        for(String text : this.balanceTexts){
+            total = total.plus(Money.parse(text));
+        }
+        return total;
+    }
+}
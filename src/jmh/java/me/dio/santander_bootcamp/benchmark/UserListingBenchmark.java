@@ -0,0 +1,111 @@
+package me.dio.santander_bootcamp.benchmark;
+
+import me.dio.santander_bootcamp.Application;
+import me.dio.santander_bootcamp.controller.dto.UserDto;
+import me.dio.santander_bootcamp.controller.dto.UserSummaryDto;
+import me.dio.santander_bootcamp.domain.model.Account;
+import me.dio.santander_bootcamp.domain.model.Card;
+import me.dio.santander_bootcamp.domain.model.Feature;
+import me.dio.santander_bootcamp.domain.model.Money;
+import me.dio.santander_bootcamp.domain.model.News;
+import me.dio.santander_bootcamp.domain.model.User;
+import me.dio.santander_bootcamp.domain.repository.UserRepository;
+import me.dio.santander_bootcamp.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the entity listing ({@code findAll} hydrated into {@link UserDto}) with the
+ * constructor-query projection behind {@code GET /users/summary}, both against an in-memory H2
+ * database seeded with users carrying features and news.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class UserListingBenchmark {
+
+    @Param({"100", "1000"})
+    private int users;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        this.context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("logging.level.root=warn", "spring.jpa.show-sql=false")
+                .run();
+        this.userService = this.context.getBean(UserService.class);
+        UserRepository userRepository = this.context.getBean(UserRepository.class);
+        List<User> seed = new ArrayList<>(this.users);
+        for(int i = 0; i < this.users; i++){
+            seed.add(createUser(i));
+        }
+        userRepository.saveAll(seed);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown(){
+        this.context.close();
+    }
+
+    @Benchmark
+    public List<UserDto> entityListing(){
+        return this.userService.findAll().stream().map(UserDto::new).toList();
+    }
+
+    @Benchmark
+    public List<UserSummaryDto> projectionListing(){
+        return this.userService.findAllSummaries().stream().map(UserSummaryDto::new).toList();
+    }
+
+    private static User createUser(int index){
+        Account account = new Account();
+        account.setNumber("%08d-0".formatted(index));
+        account.setAgency("%04d".formatted(index % 50));
+        account.setBalance(Money.of("1000.00"));
+        account.setLimit(Money.of("500.00"));
+
+        Card card = new Card();
+        card.setNumber("xxxx xxxx xxxx %04d".formatted(index));
+        card.setLimit(Money.of("2000.00"));
+
+        List<Feature> features = new ArrayList<>();
+        List<News> news = new ArrayList<>();
+        for(int i = 0; i < 3; i++){
+            Feature feature = new Feature();
+            feature.setIcon("icon-" + i);
+            feature.setDescription("Feature " + i);
+            features.add(feature);
+            News item = new News();
+            item.setIcon("icon-" + i);
+            item.setDescription("News " + i);
+            news.add(item);
+        }
+
+        User user = new User();
+        user.setName("User " + index);
+        user.setAccount(account);
+        user.setCard(card);
+        user.setFeatures(features);
+        user.setNews(news);
+        return user;
+    }
+}
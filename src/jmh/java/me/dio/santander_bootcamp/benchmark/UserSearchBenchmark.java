@@ -0,0 +1,64 @@
+package me.dio.santander_bootcamp.benchmark;
+
+import me.dio.santander_bootcamp.domain.model.UserSearchDocument;
+import me.dio.santander_bootcamp.service.search.InMemoryUserSearchIndex;
+import me.dio.santander_bootcamp.service.search.UserSearchHit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency distribution of a first search page (20 hits) against the in-memory index seeded with
+ * generated users. Names combine 20 first and 20 last names, so a last name matches about 5% of
+ * the users: {@code silva} is the broad query, {@code joa sil} narrows it with a second prefix
+ * and {@code 0001234} is an account number prefix.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class UserSearchBenchmark {
+
+    private static final int PAGE = 20;
+    private static final String[] FIRST_NAMES = {"Ana", "Bruno", "Carla", "Diego", "Elisa", "Fábio", "Gabriela",
+            "Heitor", "Isabela", "João", "Joana", "Lucas", "Mariana", "Nicolas", "Olívia", "Pedro", "Rafaela",
+            "Samuel", "Tatiane", "Vitor"};
+    private static final String[] LAST_NAMES = {"Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira",
+            "Alves", "Pereira", "Lima", "Gomes", "Costa", "Ribeiro", "Martins", "Carvalho", "Almeida", "Lopes",
+            "Soares", "Fernandes", "Vieira", "Barbosa"};
+
+    @Param({"100000", "1000000"})
+    private int users;
+
+    @Param({"silva", "joa sil", "0001234"})
+    private String query;
+
+    private InMemoryUserSearchIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        this.index = new InMemoryUserSearchIndex(null, 1);
+        Random random = new Random(42);
+        for(long id = 1; id <= this.users; id++){
+            String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            this.index.index(new UserSearchDocument(id, name, "%08d-%d".formatted(id, id % 10),
+                    "xxxx xxxx xxxx %04d".formatted(id % 10_000)));
+        }
+    }
+
+    @Benchmark
+    public List<UserSearchHit> firstPage(){
+        return this.index.search(this.query, 0, PAGE + 1);
+    }
+}
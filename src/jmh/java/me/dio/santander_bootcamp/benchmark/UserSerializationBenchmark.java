@@ -0,0 +1,104 @@
+package me.dio.santander_bootcamp.benchmark;
+
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import me.dio.santander_bootcamp.controller.dto.AccountDto;
+import me.dio.santander_bootcamp.controller.dto.CardDto;
+import me.dio.santander_bootcamp.controller.dto.FeatureDto;
+import me.dio.santander_bootcamp.controller.dto.NewsDto;
+import me.dio.santander_bootcamp.controller.dto.UserDto;
+import me.dio.santander_bootcamp.domain.model.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes 1 and 1000 users as a {@code GET /users} body would: reflective bean serialization
+ * ({@code reflective}), the same with Blackbird's generated accessors ({@code blackbird}), and the
+ * streaming {@code UserDto} serializer the application uses ({@code streaming}). Each variant
+ * writes through one {@link ObjectWriter} built up front into a reused buffer, so only the
+ * serialization itself is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserSerializationBenchmark {
+
+    @Param({"1", "1000"})
+    private int users;
+
+    private List<UserDto> body;
+    private ObjectWriter reflectiveWriter;
+    private ObjectWriter blackbirdWriter;
+    private ObjectWriter streamingWriter;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(1 << 20);
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        this.body = new ArrayList<>(this.users);
+        for(int i = 0; i < this.users; i++){
+            this.body.add(createUser(i));
+        }
+        ObjectMapper reflective = new ObjectMapper().addMixIn(UserDto.class, BeanSerialization.class);
+        ObjectMapper blackbird = new ObjectMapper().addMixIn(UserDto.class, BeanSerialization.class)
+                .registerModule(new BlackbirdModule());
+        ObjectMapper streaming = new ObjectMapper().registerModule(new BlackbirdModule());
+        this.reflectiveWriter = reflective.writerFor(reflective.getTypeFactory().constructCollectionType(List.class, UserDto.class));
+        this.blackbirdWriter = blackbird.writerFor(blackbird.getTypeFactory().constructCollectionType(List.class, UserDto.class));
+        this.streamingWriter = streaming.writerFor(streaming.getTypeFactory().constructCollectionType(List.class, UserDto.class));
+    }
+
+    @Benchmark
+    public int reflective() throws IOException {
+        return this.write(this.reflectiveWriter);
+    }
+
+    @Benchmark
+    public int blackbird() throws IOException {
+        return this.write(this.blackbirdWriter);
+    }
+
+    @Benchmark
+    public int streaming() throws IOException {
+        return this.write(this.streamingWriter);
+    }
+
+    private int write(ObjectWriter writer) throws IOException {
+        this.buffer.reset();
+        writer.writeValue(this.buffer, this.body);
+        return this.buffer.size();
+    }
+
+    private static UserDto createUser(int index){
+        List<FeatureDto> features = new ArrayList<>();
+        List<NewsDto> news = new ArrayList<>();
+        for(int i = 0; i < 3; i++){
+            features.add(new FeatureDto((long) i, "icon-" + i, "Feature " + i));
+            news.add(new NewsDto((long) i, "icon-" + i, "News " + i));
+        }
+        return new UserDto((long) index, "User " + index,
+                new AccountDto((long) index, "%08d-0".formatted(index), "%04d".formatted(index % 50),
+                        Money.ofCents(100_000L + index), Money.of("500.00")),
+                new CardDto((long) index, "xxxx xxxx xxxx %04d".formatted(index), Money.of("2000.00")),
+                features, news);
+    }
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    private abstract static class BeanSerialization {
+    }
+}
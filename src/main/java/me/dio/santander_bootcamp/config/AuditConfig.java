@@ -0,0 +1,52 @@
+package me.dio.santander_bootcamp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import me.dio.santander_bootcamp.controller.audit.AuditFilter;
+import me.dio.santander_bootcamp.service.audit.AuditLog;
+import me.dio.santander_bootcamp.service.audit.AuditSink;
+import me.dio.santander_bootcamp.service.audit.GzipFileAuditSink;
+import me.dio.santander_bootcamp.service.audit.JdbcAuditSink;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Clock;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.audit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AuditConfig {
+
+    @Bean
+    public AuditLog auditLog(JdbcTemplate jdbcTemplate,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.audit.sink:jdbc}") String sink,
+                             @Value("${app.audit.directory:data/audit}") Path directory,
+                             @Value("${app.audit.roll-size:64MB}") DataSize rollSize,
+                             @Value("${app.audit.capacity:100000}") int capacity,
+                             @Value("${app.audit.batch-size:1000}") int batchSize,
+                             @Value("${app.audit.max-attempts:5}") int maxAttempts){
+        AuditSink auditSink = switch (sink) {
+            case "jdbc" -> new JdbcAuditSink(jdbcTemplate);
+            case "file" -> new GzipFileAuditSink(directory, rollSize.toBytes(), objectMapper, Clock.systemUTC());
+            default -> throw new IllegalStateException("Unknown app.audit.sink '%s', expected jdbc or file.".formatted(sink));
+        };
+        return new AuditLog(auditSink, capacity, batchSize, maxAttempts, Clock.systemUTC(), meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<AuditFilter> auditFilter(AuditLog auditLog){
+        FilterRegistrationBean<AuditFilter> registration =
+                new FilterRegistrationBean<>(new AuditFilter(auditLog, Clock.systemUTC()));
+        registration.addUrlPatterns("/users/*", "/reactive/users/*");
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE - 300);
+        return registration;
+    }
+}
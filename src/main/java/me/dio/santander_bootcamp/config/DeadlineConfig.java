@@ -0,0 +1,51 @@
+package me.dio.santander_bootcamp.config;
+
+import io.micrometer.context.ContextRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import me.dio.santander_bootcamp.config.deadline.DeadlineAwareJpaTransactionManager;
+import me.dio.santander_bootcamp.config.deadline.RequestDeadline;
+import me.dio.santander_bootcamp.controller.deadline.RequestDeadlineFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.deadline", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DeadlineConfig {
+
+    @Bean
+    public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory,
+                                                         ObjectProvider<TransactionManagerCustomizers> customizers,
+                                                         MeterRegistry meterRegistry){
+        DeadlineAwareJpaTransactionManager transactionManager = new DeadlineAwareJpaTransactionManager(entityManagerFactory,
+                meterRegistry.counter("app.deadline.shed", "stage", "transaction"));
+        customizers.ifAvailable(customizer -> customizer.customize(transactionManager));
+        return transactionManager;
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestDeadlineFilter> requestDeadlineFilter(MeterRegistry meterRegistry,
+                                                                               @Value("${app.deadline.default-timeout:10s}") Duration defaultTimeout,
+                                                                               @Value("${app.deadline.max-timeout:30s}") Duration maxTimeout){
+        // The read pool restores captured thread locals, so queued reads keep their request's deadline
+        ContextRegistry.getInstance().registerThreadLocalAccessor(RequestDeadline.CONTEXT_KEY,
+                RequestDeadline::current, RequestDeadline::set, RequestDeadline::clear);
+        FilterRegistrationBean<RequestDeadlineFilter> registration = new FilterRegistrationBean<>(
+                new RequestDeadlineFilter(defaultTimeout, maxTimeout, meterRegistry));
+        registration.addUrlPatterns("/users/*", "/reactive/users/*");
+        // After the tenant filter (-400) and the audit filter (-300), so unknown tenants are rejected before a
+        // deadline starts and the audit log records the 503/504 answers; ahead of the rate limiter (-200), so
+        // time spent waiting there counts against the deadline
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE - 250);
+        return registration;
+    }
+}
@@ -0,0 +1,35 @@
+package me.dio.santander_bootcamp.config;
+
+import me.dio.santander_bootcamp.controller.idempotency.IdempotencyFilter;
+import me.dio.santander_bootcamp.controller.idempotency.IdempotencyStore;
+import me.dio.santander_bootcamp.domain.repository.IdempotencyRecordRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Clock;
+import java.time.Duration;
+
+@Configuration
+public class IdempotencyConfig {
+
+    @Bean
+    public IdempotencyStore idempotencyStore(IdempotencyRecordRepository repository,
+                                             @Value("${app.idempotency.persistence-enabled:false}") boolean persistenceEnabled,
+                                             @Value("${app.idempotency.capacity:10000}") int capacity,
+                                             @Value("${app.idempotency.ttl:PT24H}") Duration ttl){
+        return new IdempotencyStore(persistenceEnabled ? repository : null, capacity, ttl, Clock.systemUTC());
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyStore idempotencyStore,
+                                                                       @Value("${app.idempotency.in-flight-wait:PT30S}") Duration inFlightWait){
+        FilterRegistrationBean<IdempotencyFilter> registration =
+                new FilterRegistrationBean<>(new IdempotencyFilter(idempotencyStore, inFlightWait));
+        registration.addUrlPatterns("/users/*");
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE - 100);
+        return registration;
+    }
+}
@@ -0,0 +1,21 @@
+package me.dio.santander_bootcamp.config;
+
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.json.blackbird", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class JsonConfig {
+
+    /**
+     * Replaces reflective getter and constructor calls with generated lambdas for every DTO
+     * without a hand-written serializer. Spring Boot registers module beans with the shared
+     * {@code ObjectMapper}.
+     */
+    @Bean
+    public BlackbirdModule blackbirdModule(){
+        return new BlackbirdModule();
+    }
+}
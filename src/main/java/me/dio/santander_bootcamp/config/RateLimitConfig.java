@@ -0,0 +1,51 @@
+package me.dio.santander_bootcamp.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import me.dio.santander_bootcamp.controller.ratelimit.EndpointGroup;
+import me.dio.santander_bootcamp.controller.ratelimit.RateLimitFilter;
+import me.dio.santander_bootcamp.controller.ratelimit.RateLimiter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import java.util.Map;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(prefix = "app.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimiter rateLimiter(RateLimitProperties properties){
+        return new RateLimiter(Map.of(
+                EndpointGroup.LIST, toBudget(properties.getList()),
+                EndpointGroup.READ, toBudget(properties.getRead()),
+                EndpointGroup.WRITE, toBudget(properties.getWrite())
+        ), properties.getIdleBucketTtl(), properties.getMaxBuckets());
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimiter rateLimiter,
+                                                                   RateLimitProperties properties,
+                                                                   Environment environment,
+                                                                   MeterRegistry meterRegistry){
+        Integer maxConcurrentRequests = properties.getMaxConcurrentRequests();
+        if(maxConcurrentRequests == null){
+            // Hikari's own default when the profile doesn't size the pool
+            maxConcurrentRequests = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+        }
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(
+                new RateLimitFilter(rateLimiter, maxConcurrentRequests, meterRegistry));
+        registration.addUrlPatterns("/users/*", "/reactive/users/*");
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE - 200);
+        return registration;
+    }
+
+    private static RateLimiter.Budget toBudget(RateLimitProperties.Budget budget){
+        return new RateLimiter.Budget(budget.getCapacity(), budget.getRefillPerSecond(), budget.getCost());
+    }
+}
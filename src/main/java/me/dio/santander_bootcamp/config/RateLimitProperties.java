@@ -0,0 +1,122 @@
+package me.dio.santander_bootcamp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Null derives the limit from the primary pool size, so shedding starts before the pool queues
+    private Integer maxConcurrentRequests;
+
+    private int maxBuckets = 100_000;
+
+    private Duration idleBucketTtl = Duration.ofMinutes(10);
+
+    private Budget list = new Budget(20, 10, 10);
+
+    private Budget read = new Budget(100, 50, 1);
+
+    private Budget write = new Budget(20, 10, 2);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Integer getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public void setMaxConcurrentRequests(Integer maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    public int getMaxBuckets() {
+        return maxBuckets;
+    }
+
+    public void setMaxBuckets(int maxBuckets) {
+        this.maxBuckets = maxBuckets;
+    }
+
+    public Duration getIdleBucketTtl() {
+        return idleBucketTtl;
+    }
+
+    public void setIdleBucketTtl(Duration idleBucketTtl) {
+        this.idleBucketTtl = idleBucketTtl;
+    }
+
+    public Budget getList() {
+        return list;
+    }
+
+    public void setList(Budget list) {
+        this.list = list;
+    }
+
+    public Budget getRead() {
+        return read;
+    }
+
+    public void setRead(Budget read) {
+        this.read = read;
+    }
+
+    public Budget getWrite() {
+        return write;
+    }
+
+    public void setWrite(Budget write) {
+        this.write = write;
+    }
+
+    public static class Budget {
+
+        private long capacity;
+
+        private double refillPerSecond;
+
+        private int cost;
+
+        public Budget() {
+        }
+
+        public Budget(long capacity, double refillPerSecond, int cost) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+            this.cost = cost;
+        }
+
+        public long getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(long capacity) {
+            this.capacity = capacity;
+        }
+
+        public double getRefillPerSecond() {
+            return refillPerSecond;
+        }
+
+        public void setRefillPerSecond(double refillPerSecond) {
+            this.refillPerSecond = refillPerSecond;
+        }
+
+        public int getCost() {
+            return cost;
+        }
+
+        public void setCost(int cost) {
+            this.cost = cost;
+        }
+    }
+}
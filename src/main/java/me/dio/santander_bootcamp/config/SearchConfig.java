@@ -0,0 +1,38 @@
+package me.dio.santander_bootcamp.config;
+
+import me.dio.santander_bootcamp.config.shard.ShardRouter;
+import me.dio.santander_bootcamp.domain.repository.UserRepository;
+import me.dio.santander_bootcamp.service.search.InMemoryUserSearchIndex;
+import me.dio.santander_bootcamp.service.search.PostgresUserSearchIndex;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+public class SearchConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.search", name = "engine", havingValue = "memory", matchIfMissing = true)
+    public InMemoryUserSearchIndex inMemoryUserSearchIndex(UserRepository userRepository,
+                                                           ObjectProvider<ShardRouter> shardRouter){
+        return new InMemoryUserSearchIndex(userRepository, shardCount(shardRouter));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.search", name = "engine", havingValue = "postgres")
+    public PostgresUserSearchIndex postgresUserSearchIndex(JdbcTemplate jdbcTemplate,
+                                                           PlatformTransactionManager transactionManager){
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        return new PostgresUserSearchIndex(jdbcTemplate, readOnlyTransaction);
+    }
+
+    private static int shardCount(ObjectProvider<ShardRouter> shardRouter){
+        ShardRouter router = shardRouter.getIfAvailable();
+        return router == null ? 1 : router.shardCount();
+    }
+}
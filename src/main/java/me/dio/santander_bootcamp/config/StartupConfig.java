@@ -0,0 +1,21 @@
+package me.dio.santander_bootcamp.config;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StartupConfig {
+
+    /**
+     * Keeps beans that do their startup work in {@link SmartInitializingSingleton} callbacks
+     * (shard schema, search indexes) eager under {@code spring.main.lazy-initialization}: a
+     * singleton created lazily never receives the callback. Beans with {@code @Scheduled}
+     * methods are already kept eager by Spring Boot.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerStartupBeans(){
+        return LazyInitializationExcludeFilter.forBeanTypes(SmartInitializingSingleton.class);
+    }
+}
@@ -0,0 +1,66 @@
+package me.dio.santander_bootcamp.config;
+
+import io.micrometer.context.ContextRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import me.dio.santander_bootcamp.config.shard.ShardRouter;
+import me.dio.santander_bootcamp.config.tenant.TenancyProperties;
+import me.dio.santander_bootcamp.config.tenant.TenantContext;
+import me.dio.santander_bootcamp.config.tenant.TenantIdentifierResolver;
+import me.dio.santander_bootcamp.config.tenant.TenantPartitionInitializer;
+import me.dio.santander_bootcamp.controller.exception.ProblemBodies;
+import me.dio.santander_bootcamp.controller.tenant.TenantFilter;
+import me.dio.santander_bootcamp.controller.tenant.TenantRequestObservationConvention;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@Configuration
+@EnableConfigurationProperties(TenancyProperties.class)
+public class TenancyConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer tenantIdentifierResolverCustomizer(){
+        // Always registered: User carries a @TenantId, so every session needs a tenant or the root one
+        TenantIdentifierResolver resolver = new TenantIdentifierResolver();
+        return properties -> properties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, resolver);
+    }
+
+    @Bean
+    public FilterRegistrationBean<TenantFilter> tenantFilter(TenancyProperties properties,
+                                                             MeterRegistry meterRegistry,
+                                                             ProblemBodies problemBodies){
+        // The read pool restores captured thread locals, so queued reads keep their request's tenant
+        ContextRegistry.getInstance().registerThreadLocalAccessor(TenantContext.CONTEXT_KEY,
+                TenantContext::current, TenantContext::set, TenantContext::clear);
+        Set<String> tenants = new HashSet<>(properties.getTenants());
+        tenants.add(properties.getDefaultTenant());
+        FilterRegistrationBean<TenantFilter> registration = new FilterRegistrationBean<>(
+                new TenantFilter(tenants, properties.getDefaultTenant(), meterRegistry, problemBodies));
+        registration.addUrlPatterns("/users/*", "/reactive/users/*", "/reports/*");
+        // First of the user API filters: idempotency keys and everything below are scoped by tenant
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE - 400);
+        return registration;
+    }
+
+    @Bean
+    public TenantRequestObservationConvention tenantRequestObservationConvention(){
+        return new TenantRequestObservationConvention();
+    }
+
+    @Bean
+    public TenantPartitionInitializer tenantPartitionInitializer(JdbcTemplate jdbcTemplate,
+                                                                 TenancyProperties properties,
+                                                                 ObjectProvider<ShardRouter> shardRouter){
+        ShardRouter router = shardRouter.getIfAvailable();
+        return new TenantPartitionInitializer(jdbcTemplate, properties.getTenants(), router == null ? 1 : router.shardCount());
+    }
+}
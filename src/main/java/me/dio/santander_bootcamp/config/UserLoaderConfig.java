@@ -0,0 +1,29 @@
+package me.dio.santander_bootcamp.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import me.dio.santander_bootcamp.domain.repository.UserRepository;
+import me.dio.santander_bootcamp.service.loader.UserBatchLoader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.user-loader", name = "enabled", havingValue = "true")
+public class UserLoaderConfig {
+
+    @Bean
+    public UserBatchLoader userBatchLoader(UserRepository userRepository,
+                                           MeterRegistry meterRegistry,
+                                           @Value("${app.user-loader.max-batch-size:100}") int maxBatchSize,
+                                           @Value("${app.user-loader.window:2ms}") Duration window){
+        DistributionSummary batchSize = DistributionSummary.builder("user.loader.batch.size")
+                .description("Ids resolved per findById batch")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        return new UserBatchLoader(userRepository::findAllWithAccountAndCard, maxBatchSize, window, batchSize::record);
+    }
+}
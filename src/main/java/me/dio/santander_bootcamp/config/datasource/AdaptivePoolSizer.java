@@ -0,0 +1,104 @@
+package me.dio.santander_bootcamp.config.datasource;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Periodically resizes every Hikari pool within its bounds from the pool's own Micrometer
+ * timers: {@code hikaricp.connections.acquire} for the time callers waited and
+ * {@code hikaricp.connections.usage}, the time connections were held, as the database latency
+ * signal. Each pool has its own {@link PoolSizeController}.
+ */
+public class AdaptivePoolSizer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdaptivePoolSizer.class);
+
+    private final MeterRegistry meterRegistry;
+    private final Map<HikariDataSource, PooledState> pools = new LinkedHashMap<>();
+
+    public AdaptivePoolSizer(List<HikariDataSource> pools, Supplier<PoolSizeController> controllers, MeterRegistry meterRegistry){
+        this.meterRegistry = meterRegistry;
+        pools.forEach(pool -> this.pools.put(pool, new PooledState(controllers.get())));
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.pool.adaptive.interval:PT5S}")
+    public void resize(){
+        this.pools.forEach(this::resize);
+    }
+
+    private void resize(HikariDataSource pool, PooledState state){
+        HikariPoolMXBean poolBean = pool.getHikariPoolMXBean();
+        if(poolBean == null){
+            return;
+        }
+        HikariConfigMXBean config = pool.getHikariConfigMXBean();
+        Window wait = state.wait.advance(this.timer("hikaricp.connections.acquire", pool.getPoolName()));
+        Window usage = state.usage.advance(this.timer("hikaricp.connections.usage", pool.getPoolName()));
+        int size = config.getMaximumPoolSize();
+        int next = state.controller.nextSize(new PoolSizeController.Sample(size, poolBean.getActiveConnections(),
+                poolBean.getThreadsAwaitingConnection(), wait.count(), wait.meanMillis(), usage.meanMillis()));
+        if(next == size){
+            return;
+        }
+        if(config.getMinimumIdle() > next){
+            config.setMinimumIdle(next);
+        }
+        config.setMaximumPoolSize(next);
+        this.meterRegistry.counter("datasource.pool.resizes", "pool", pool.getPoolName(), "direction", next > size ? "up" : "down")
+                .increment();
+        LOGGER.info("Pool {} resized from {} to {} connections (mean wait {} ms, mean usage {} ms).",
+                pool.getPoolName(), size, next, Math.round(wait.meanMillis()), Math.round(usage.meanMillis()));
+    }
+
+    private Timer timer(String name, String poolName){
+        return this.meterRegistry.find(name).tag("pool", poolName).timer();
+    }
+
+    private static final class PooledState {
+
+        private final PoolSizeController controller;
+        private final TimerCursor wait = new TimerCursor();
+        private final TimerCursor usage = new TimerCursor();
+
+        private PooledState(PoolSizeController controller){
+            this.controller = controller;
+        }
+    }
+
+    private static final class TimerCursor {
+
+        private long count;
+        private double totalMillis;
+
+        private Window advance(Timer timer){
+            if(timer == null){
+                return new Window(0, 0);
+            }
+            long currentCount = timer.count();
+            double currentTotal = timer.totalTime(TimeUnit.MILLISECONDS);
+            Window window = new Window(currentCount - this.count, currentTotal - this.totalMillis);
+            this.count = currentCount;
+            this.totalMillis = currentTotal;
+            return window;
+        }
+    }
+
+    private record Window(long count, double totalMillis) {
+
+        private double meanMillis(){
+            return this.count <= 0 ? 0 : this.totalMillis / this.count;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package me.dio.santander_bootcamp.config.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread routing hint. Read-only transactions normally go to a replica; code that must
+ * observe its own recent writes wraps the read in {@link #onPrimary(Supplier)}.
+ */
+public final class DataSourceRouting {
+
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+
+    private DataSourceRouting(){
+    }
+
+    public static <T> T onPrimary(Supplier<T> work){
+        Boolean previous = FORCE_PRIMARY.get();
+        FORCE_PRIMARY.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if(previous == null){
+                FORCE_PRIMARY.remove();
+            } else {
+                FORCE_PRIMARY.set(previous);
+            }
+        }
+    }
+
+    public static boolean isPrimaryForced(){
+        return Boolean.TRUE.equals(FORCE_PRIMARY.get());
+    }
+}
@@ -0,0 +1,75 @@
+package me.dio.santander_bootcamp.config.datasource;
+
+import java.time.Duration;
+
+/**
+ * Decides the next maximum size of one connection pool from what happened since the last
+ * decision.
+ * <p>
+ * Callers waiting longer than {@code targetWait} on average, or still queued at sampling time,
+ * grow the pool by a quarter (at least one connection). Growth only helps while the database
+ * keeps up, so when the mean time a connection is held rises above {@code latencyTolerance}
+ * times its unloaded baseline the pool gives back one connection instead. A pool that went
+ * {@code calmIntervals} decisions without waiting and with at most half of its connections busy
+ * shrinks by one. The size always stays within {@code [minSize, maxSize]}.
+ */
+public class PoolSizeController {
+
+    private static final double BASELINE_WEIGHT = 0.2;
+
+    private final int minSize;
+    private final int maxSize;
+    private final double targetWaitMillis;
+    private final double latencyTolerance;
+    private final int calmIntervals;
+    private double baselineUsageMillis;
+    private int calm;
+
+    public PoolSizeController(int minSize, int maxSize, Duration targetWait, double latencyTolerance, int calmIntervals){
+        if(minSize < 1 || maxSize < minSize){
+            throw new IllegalArgumentException("Pool size bounds must satisfy 1 <= min <= max.");
+        }
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.targetWaitMillis = targetWait.toNanos() / 1e6;
+        this.latencyTolerance = latencyTolerance;
+        this.calmIntervals = calmIntervals;
+    }
+
+    public int nextSize(Sample sample){
+        int size = Math.max(this.minSize, Math.min(this.maxSize, sample.size()));
+        boolean waiting = sample.pending() > 0 || (sample.acquisitions() > 0 && sample.meanWaitMillis() > this.targetWaitMillis);
+        if(waiting){
+            this.calm = 0;
+            if(this.baselineUsageMillis > 0 && sample.meanUsageMillis() > this.baselineUsageMillis * this.latencyTolerance){
+                return Math.max(this.minSize, size - 1);
+            }
+            return Math.min(this.maxSize, size + Math.max(1, size / 4));
+        }
+        if(sample.acquisitions() > 0){
+            this.baselineUsageMillis = this.baselineUsageMillis == 0
+                    ? sample.meanUsageMillis()
+                    : this.baselineUsageMillis + BASELINE_WEIGHT * (sample.meanUsageMillis() - this.baselineUsageMillis);
+        }
+        if(sample.active() * 2 <= size){
+            if(++this.calm >= this.calmIntervals){
+                this.calm = 0;
+                return Math.max(this.minSize, size - 1);
+            }
+        } else {
+            this.calm = 0;
+        }
+        return size;
+    }
+
+    /**
+     * @param size           current maximum pool size
+     * @param active         connections in use at sampling time
+     * @param pending        threads waiting for a connection at sampling time
+     * @param acquisitions   connections handed out since the previous sample
+     * @param meanWaitMillis mean time those acquisitions waited
+     * @param meanUsageMillis mean time connections returned since the previous sample were held
+     */
+    public record Sample(int size, int active, int pending, long acquisitions, double meanWaitMillis, double meanUsageMillis) {
+    }
+}
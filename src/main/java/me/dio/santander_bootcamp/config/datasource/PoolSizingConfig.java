@@ -0,0 +1,51 @@
+package me.dio.santander_bootcamp.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.pool.adaptive", name = "enabled", havingValue = "true")
+public class PoolSizingConfig {
+
+    @Bean
+    public AdaptivePoolSizer adaptivePoolSizer(DataSource dataSource,
+                                               MeterRegistry meterRegistry,
+                                               @Value("${app.datasource.pool.adaptive.min-size:2}") int minSize,
+                                               @Value("${app.datasource.pool.adaptive.max-size:30}") int maxSize,
+                                               @Value("${app.datasource.pool.adaptive.target-wait:5ms}") Duration targetWait,
+                                               @Value("${app.datasource.pool.adaptive.latency-tolerance:1.5}") double latencyTolerance,
+                                               @Value("${app.datasource.pool.adaptive.calm-intervals:6}") int calmIntervals){
+        return new AdaptivePoolSizer(hikariPools(dataSource),
+                () -> new PoolSizeController(minSize, maxSize, targetWait, latencyTolerance, calmIntervals), meterRegistry);
+    }
+
+    /**
+     * Every Hikari pool behind the data source, including the targets of shard and replica routing.
+     */
+    static List<HikariDataSource> hikariPools(DataSource dataSource){
+        List<HikariDataSource> pools = new ArrayList<>();
+        try {
+            // Routing first: unwrapping a routing data source to Hikari would only reach its current target
+            if(dataSource.isWrapperFor(AbstractRoutingDataSource.class)){
+                dataSource.unwrap(AbstractRoutingDataSource.class).getResolvedDataSources().values()
+                        .forEach(target -> pools.addAll(hikariPools(target)));
+            } else if(dataSource.isWrapperFor(HikariDataSource.class)){
+                pools.add(dataSource.unwrap(HikariDataSource.class));
+            }
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Could not unwrap the connection pools of " + dataSource, ex);
+        }
+        return pools;
+    }
+}
@@ -0,0 +1,50 @@
+package me.dio.santander_bootcamp.config.datasource;
+
+import me.dio.santander_bootcamp.service.event.UserChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers users mutated within the read-your-writes window so their reads can be pinned to
+ * the primary while replicas may still be catching up.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private final Map<Long, Long> lastWriteNanos = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final long windowNanos;
+
+    public ReadYourWritesTracker(@Value("${app.datasource.routing.enabled:false}") boolean enabled,
+                                 @Value("${app.datasource.routing.read-your-writes-window:PT5S}") Duration window){
+        this.enabled = enabled;
+        this.windowNanos = window.toNanos();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event){
+        if(this.enabled && event.userId() != null){
+            this.lastWriteNanos.put(event.userId(), System.nanoTime());
+        }
+    }
+
+    public boolean isRecentlyWritten(Long userId){
+        if(!this.enabled || userId == null){
+            return false;
+        }
+        Long writtenAt = this.lastWriteNanos.get(userId);
+        return writtenAt != null && System.nanoTime() - writtenAt < this.windowNanos;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.routing.read-your-writes-window:PT5S}")
+    public void evictExpired(){
+        long now = System.nanoTime();
+        this.lastWriteNanos.values().removeIf(writtenAt -> now - writtenAt >= this.windowNanos);
+    }
+}
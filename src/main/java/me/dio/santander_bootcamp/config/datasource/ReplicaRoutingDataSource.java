@@ -0,0 +1,73 @@
+package me.dio.santander_bootcamp.config.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a healthy replica (round robin) and everything else to the
+ * primary. Must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * so the lookup happens on the first statement, after the transaction read-only flag is known.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final Map<String, DataSource> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile List<String> healthyReplicas;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas){
+        this.replicas = Map.copyOf(replicas);
+        this.healthyReplicas = List.copyOf(replicas.keySet());
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey(){
+        if(!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || DataSourceRouting.isPrimaryForced()){
+            return PRIMARY;
+        }
+        List<String> candidates = this.healthyReplicas;
+        if(candidates.isEmpty()){
+            return PRIMARY;
+        }
+        return candidates.get(Math.floorMod(this.next.getAndIncrement(), candidates.size()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.routing.health-check-interval:PT10S}")
+    public void checkReplicas(){
+        List<String> healthy = new ArrayList<>(this.replicas.size());
+        this.replicas.forEach((name, dataSource) -> {
+            try (Connection connection = dataSource.getConnection()) {
+                if(connection.isValid(1)){
+                    healthy.add(name);
+                }
+            } catch (SQLException ex) {
+                LOGGER.warn("Replica {} failed health check: {}", name, ex.getMessage());
+            }
+        });
+        this.healthyReplicas = List.copyOf(healthy);
+    }
+
+    public List<String> getHealthyReplicas(){
+        return this.healthyReplicas;
+    }
+}
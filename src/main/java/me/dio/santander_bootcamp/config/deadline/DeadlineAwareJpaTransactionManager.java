@@ -0,0 +1,37 @@
+package me.dio.santander_bootcamp.config.deadline;
+
+import io.micrometer.core.instrument.Counter;
+import jakarta.persistence.EntityManagerFactory;
+import me.dio.santander_bootcamp.service.exception.DeadlineExceededException;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+/**
+ * {@link JpaTransactionManager} bounded by the {@link RequestDeadline}: a transaction is not
+ * begun once the deadline has passed, so no connection is taken for an abandoned request, and
+ * its timeout is cut to the time left. Spring applies that timeout to every query of the
+ * transaction as the JDBC query timeout, and fails queries issued after it runs out.
+ */
+public class DeadlineAwareJpaTransactionManager extends JpaTransactionManager {
+
+    private final Counter shed;
+
+    public DeadlineAwareJpaTransactionManager(EntityManagerFactory entityManagerFactory, Counter shed){
+        super(entityManagerFactory);
+        this.shed = shed;
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition){
+        if(RequestDeadline.isExpired()){
+            this.shed.increment();
+            throw new DeadlineExceededException();
+        }
+        super.doBegin(transaction, definition);
+    }
+
+    @Override
+    protected int determineTimeout(TransactionDefinition definition){
+        return RequestDeadline.timeoutSeconds(super.determineTimeout(definition));
+    }
+}
@@ -0,0 +1,54 @@
+package me.dio.santander_bootcamp.config.deadline;
+
+/**
+ * Per-thread deadline of the request being served, as a {@link System#nanoTime()} instant. Set by
+ * the request filter and carried into the read pool by context propagation; threads without a
+ * deadline (scheduled jobs, write-behind flushes) are never cut short.
+ */
+public final class RequestDeadline {
+
+    public static final String CONTEXT_KEY = "app.request-deadline";
+
+    private static final ThreadLocal<Long> CURRENT = new ThreadLocal<>();
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private RequestDeadline(){
+    }
+
+    public static Long current(){
+        return CURRENT.get();
+    }
+
+    public static void set(Long deadlineNanos){
+        if(deadlineNanos == null){
+            CURRENT.remove();
+        } else {
+            CURRENT.set(deadlineNanos);
+        }
+    }
+
+    public static void clear(){
+        CURRENT.remove();
+    }
+
+    public static boolean isExpired(){
+        Long deadline = CURRENT.get();
+        return deadline != null && deadline - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Transaction timeout in whole seconds for the current thread: the configured one (unset when
+     * not positive), shortened to the time left before the deadline and rounded up, since JDBC
+     * query timeouts count seconds.
+     */
+    public static int timeoutSeconds(int configuredSeconds){
+        Long deadline = CURRENT.get();
+        return deadline == null ? configuredSeconds : timeoutSeconds(configuredSeconds, deadline - System.nanoTime());
+    }
+
+    static int timeoutSeconds(int configuredSeconds, long remainingNanos){
+        long remainingSeconds = Math.max(1, (remainingNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
+        int capped = (int) Math.min(Integer.MAX_VALUE, remainingSeconds);
+        return configuredSeconds > 0 ? Math.min(configuredSeconds, capped) : capped;
+    }
+}
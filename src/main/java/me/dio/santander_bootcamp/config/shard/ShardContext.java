@@ -0,0 +1,36 @@
+package me.dio.santander_bootcamp.config.shard;
+
+import java.util.function.Supplier;
+
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext(){
+    }
+
+    public static <T> T on(int shard, Supplier<T> work){
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if(previous == null){
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public static void on(int shard, Runnable work){
+        on(shard, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public static Integer current(){
+        return CURRENT.get();
+    }
+}
@@ -0,0 +1,65 @@
+package me.dio.santander_bootcamp.config.shard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * User ids are interleaved across shards: shard {@code k} of {@code n} only issues ids where
+ * {@code (id - 1) % n == k}, so the owning shard is derived from the id alone.
+ */
+public class ShardRouter {
+
+    private final int shardCount;
+
+    public ShardRouter(int shardCount){
+        if(shardCount < 1){
+            throw new IllegalArgumentException("At least one shard is required.");
+        }
+        this.shardCount = shardCount;
+    }
+
+    public int shardCount(){
+        return this.shardCount;
+    }
+
+    public int shardOf(Long userId){
+        return (int) Math.floorMod(userId - 1, (long) this.shardCount);
+    }
+
+    public int shardForNewUser(String accountNumber){
+        return Math.floorMod(accountNumber == null ? 0 : accountNumber.hashCode(), this.shardCount);
+    }
+
+    public long nextIdentityValue(int shard, long currentMaxId){
+        long base = currentMaxId + 1;
+        long misalignment = Math.floorMod(base - 1 - shard, (long) this.shardCount);
+        return misalignment == 0 ? base : base + this.shardCount - misalignment;
+    }
+
+    public static <T> List<T> mergeSorted(List<List<T>> sortedRuns, Comparator<T> comparator){
+        record Cursor<E>(List<E> run, int index) {
+            E head(){
+                return run.get(index);
+            }
+        }
+        PriorityQueue<Cursor<T>> heads = new PriorityQueue<>((a, b) -> comparator.compare(a.head(), b.head()));
+        int total = 0;
+        for(List<T> run : sortedRuns){
+            total += run.size();
+            if(!run.isEmpty()){
+                heads.add(new Cursor<>(run, 0));
+            }
+        }
+        List<T> merged = new ArrayList<>(total);
+        while(!heads.isEmpty()){
+            Cursor<T> cursor = heads.poll();
+            merged.add(cursor.head());
+            if(cursor.index() + 1 < cursor.run().size()){
+                heads.add(new Cursor<>(cursor.run(), cursor.index() + 1));
+            }
+        }
+        return merged;
+    }
+}
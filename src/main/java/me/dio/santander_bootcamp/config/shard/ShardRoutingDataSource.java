@@ -0,0 +1,36 @@
+package me.dio.santander_bootcamp.config.shard;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolves the shard bound by {@link ShardContext}. Without a bound shard (bootstrap, schema
+ * metadata) the first shard is used.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final List<DataSource> shards;
+
+    public ShardRoutingDataSource(List<DataSource> shards){
+        this.shards = List.copyOf(shards);
+        Map<Object, Object> targets = new HashMap<>();
+        for(int i = 0; i < shards.size(); i++){
+            targets.put(i, shards.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.get(0));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey(){
+        return ShardContext.current();
+    }
+
+    public List<DataSource> getShards(){
+        return this.shards;
+    }
+}
@@ -0,0 +1,78 @@
+package me.dio.santander_bootcamp.config.shard;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.relational.SchemaManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Hibernate only manages the schema of the default shard. This applies the same schema action
+ * to the remaining shards and aligns every shard's {@code tb_user} identity so ids stay
+ * interleaved as {@link ShardRouter} expects. On PostgreSQL, where {@code tb_user} is partitioned
+ * and its ids come from a sequence instead of an identity column, the sequence is aligned.
+ * <p>
+ * Runs when the bean is created, so the shards are ready before any
+ * {@code SmartInitializingSingleton}, such as the card ledger recovery, reads them.
+ */
+public class ShardSchemaInitializer implements InitializingBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShardSchemaInitializer.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final List<DataSource> shards;
+    private final ShardRouter shardRouter;
+    private final String ddlAuto;
+
+    public ShardSchemaInitializer(EntityManagerFactory entityManagerFactory, List<DataSource> shards,
+                                  ShardRouter shardRouter, String ddlAuto){
+        this.entityManagerFactory = entityManagerFactory;
+        this.shards = shards;
+        this.shardRouter = shardRouter;
+        this.ddlAuto = ddlAuto;
+    }
+
+    @Override
+    public void afterPropertiesSet(){
+        SchemaManager schemaManager = this.entityManagerFactory.unwrap(SessionFactory.class).getSchemaManager();
+        for(int shard = 1; shard < this.shards.size(); shard++){
+            ShardContext.on(shard, () -> this.applySchemaAction(schemaManager));
+        }
+        for(int shard = 0; shard < this.shards.size(); shard++){
+            this.alignUserIdentity(shard);
+        }
+    }
+
+    private void applySchemaAction(SchemaManager schemaManager){
+        switch (this.ddlAuto) {
+            case "create", "create-drop" -> {
+                schemaManager.dropMappedObjects(false);
+                schemaManager.exportMappedObjects(false);
+            }
+            case "validate" -> schemaManager.validateMappedObjects();
+            default -> { }
+        }
+    }
+
+    private void alignUserIdentity(int shard){
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(this.shards.get(shard));
+        Long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from tb_user", Long.class);
+        long restartWith = this.shardRouter.nextIdentityValue(shard, maxId);
+        Boolean identity = jdbcTemplate.queryForObject("select count(*) > 0 from information_schema.columns "
+                + "where lower(table_name) = 'tb_user' and lower(column_name) = 'id' and is_identity = 'YES'", Boolean.class);
+        if(Boolean.TRUE.equals(identity)){
+            jdbcTemplate.execute("alter table tb_user alter column id set increment by " + this.shardRouter.shardCount());
+            jdbcTemplate.execute("alter table tb_user alter column id restart with " + restartWith);
+        } else {
+            String sequence = jdbcTemplate.queryForObject("select pg_get_serial_sequence('tb_user', 'id')", String.class);
+            jdbcTemplate.execute("alter sequence " + sequence + " increment by " + this.shardRouter.shardCount()
+                    + " restart with " + restartWith);
+        }
+        LOGGER.info("Shard {} issues user ids from {} in steps of {}", shard, restartWith, this.shardRouter.shardCount());
+    }
+}
@@ -0,0 +1,85 @@
+package me.dio.santander_bootcamp.config.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(ShardingProperties shardingProperties, Environment environment,
+                                                         MeterRegistry meterRegistry){
+        List<DataSource> shards = new ArrayList<>();
+        List<ShardingProperties.Shard> configured = shardingProperties.getShards();
+        for(int i = 0; i < configured.size(); i++){
+            ShardingProperties.Shard shard = configured.get(i);
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shard.getUrl())
+                    .username(shard.getUsername())
+                    .password(shard.getPassword())
+                    .build();
+            // Timeouts and leak detection of spring.datasource.hikari apply to every shard
+            Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+            dataSource.setPoolName("shard-" + i);
+            dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+            dataSource.setMinimumIdle(Math.min(dataSource.getMinimumIdle(), shard.getMaximumPoolSize()));
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            shards.add(dataSource);
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource){
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    @Bean
+    public ShardRouter shardRouter(ShardingProperties shardingProperties){
+        return new ShardRouter(shardingProperties.getShards().size());
+    }
+
+    /**
+     * Flyway only sees the routing data source, which resolves to the default shard; every shard
+     * gets the same migrations instead.
+     */
+    @Bean
+    public FlywayMigrationStrategy shardFlywayMigrationStrategy(ShardRoutingDataSource shardRoutingDataSource){
+        return flyway -> shardRoutingDataSource.getShards().forEach(shard -> Flyway.configure()
+                .configuration(flyway.getConfiguration())
+                .dataSource(shard)
+                .load()
+                .migrate());
+    }
+
+    @Bean
+    public ShardSchemaInitializer shardSchemaInitializer(EntityManagerFactory entityManagerFactory,
+                                                         ShardRoutingDataSource shardRoutingDataSource,
+                                                         ShardRouter shardRouter,
+                                                         @Value("${spring.jpa.hibernate.ddl-auto:none}") String ddlAuto){
+        return new ShardSchemaInitializer(entityManagerFactory, shardRoutingDataSource.getShards(), shardRouter, ddlAuto);
+    }
+}
@@ -0,0 +1,30 @@
+package me.dio.santander_bootcamp.config.tenant;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "app.tenancy")
+public class TenancyProperties {
+
+    private List<String> tenants = new ArrayList<>(List.of(TenantContext.DEFAULT_TENANT));
+
+    private String defaultTenant = TenantContext.DEFAULT_TENANT;
+
+    public List<String> getTenants() {
+        return tenants;
+    }
+
+    public void setTenants(List<String> tenants) {
+        this.tenants = tenants;
+    }
+
+    public String getDefaultTenant() {
+        return defaultTenant;
+    }
+
+    public void setDefaultTenant(String defaultTenant) {
+        this.defaultTenant = defaultTenant;
+    }
+}
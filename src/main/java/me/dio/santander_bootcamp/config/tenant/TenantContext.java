@@ -0,0 +1,52 @@
+package me.dio.santander_bootcamp.config.tenant;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread tenant (the institution a request acts for). Set by the request filter and carried
+ * into the read pool by context propagation; threads without a tenant (scheduled jobs, startup
+ * loads) act across every tenant.
+ */
+public final class TenantContext {
+
+    public static final String CONTEXT_KEY = "app.tenant";
+    public static final String DEFAULT_TENANT = "default";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext(){
+    }
+
+    public static <T> T on(String tenant, Supplier<T> work){
+        String previous = CURRENT.get();
+        set(tenant);
+        try {
+            return work.get();
+        } finally {
+            set(previous);
+        }
+    }
+
+    public static void on(String tenant, Runnable work){
+        on(tenant, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public static String current(){
+        return CURRENT.get();
+    }
+
+    public static void set(String tenant){
+        if(tenant == null){
+            CURRENT.remove();
+        } else {
+            CURRENT.set(tenant);
+        }
+    }
+
+    public static void clear(){
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,29 @@
+package me.dio.santander_bootcamp.config.tenant;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+
+/**
+ * Opens every Hibernate session for the {@linkplain TenantContext current tenant}, which makes
+ * Hibernate add {@code tenant_id = ?} to each query on an entity with a {@code @TenantId}.
+ * Sessions opened without a tenant get {@link #ROOT} and see every tenant.
+ */
+public class TenantIdentifierResolver implements CurrentTenantIdentifierResolver<String> {
+
+    public static final String ROOT = "*";
+
+    @Override
+    public String resolveCurrentTenantIdentifier(){
+        String tenant = TenantContext.current();
+        return tenant == null ? ROOT : tenant;
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions(){
+        return false;
+    }
+
+    @Override
+    public boolean isRoot(String tenantId){
+        return ROOT.equals(tenantId);
+    }
+}
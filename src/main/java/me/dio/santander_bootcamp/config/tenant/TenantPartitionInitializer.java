@@ -0,0 +1,53 @@
+package me.dio.santander_bootcamp.config.tenant;
+
+import me.dio.santander_bootcamp.config.shard.ShardContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Gives every configured tenant its own {@code tb_user} partition on each shard, through the
+ * {@code create_user_tenant_partition} function of the PostgreSQL migrations. Other databases have
+ * no partitioning and are left alone.
+ */
+public class TenantPartitionInitializer implements SmartInitializingSingleton {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TenantPartitionInitializer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final List<String> tenants;
+    private final int shardCount;
+
+    public TenantPartitionInitializer(JdbcTemplate jdbcTemplate, List<String> tenants, int shardCount){
+        this.jdbcTemplate = jdbcTemplate;
+        this.tenants = List.copyOf(tenants);
+        this.shardCount = shardCount;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated(){
+        for(int shard = 0; shard < this.shardCount; shard++){
+            ShardContext.on(shard, this::createPartitions);
+        }
+    }
+
+    private void createPartitions(){
+        String product = this.jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if(!"PostgreSQL".equals(product)){
+            return;
+        }
+        Integer functions = this.jdbcTemplate.queryForObject(
+                "select count(*) from pg_proc where proname = 'create_user_tenant_partition'", Integer.class);
+        if(functions == null || functions == 0){
+            // Schema not created by the migrations, so tb_user is not partitioned
+            return;
+        }
+        this.tenants.forEach(tenant -> this.jdbcTemplate.query("select create_user_tenant_partition(?)", rs -> { }, tenant));
+        LOGGER.info("User partitions checked for tenants {} on shard {}", this.tenants, ShardContext.current());
+    }
+}
@@ -0,0 +1,84 @@
+package me.dio.santander_bootcamp.config.tracing;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Appends each finished span as one JSON line, a stand-in for a local collector that can be
+ * inspected with {@code jq} or loaded into any trace viewer that reads JSON lines.
+ */
+public class JsonLinesSpanExporter implements SpanExporter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JsonLinesSpanExporter.class);
+
+    private final ObjectMapper objectMapper;
+    private final Path file;
+    private final Object writeLock = new Object();
+
+    public JsonLinesSpanExporter(ObjectMapper objectMapper, Path file){
+        this.objectMapper = objectMapper;
+        this.file = file;
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans){
+        try {
+            StringBuilder lines = new StringBuilder(spans.size() * 256);
+            for(SpanData span : spans){
+                lines.append(this.objectMapper.writeValueAsString(toLine(span))).append('\n');
+            }
+            synchronized (this.writeLock) {
+                Files.writeString(this.file, lines, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            return CompletableResultCode.ofSuccess();
+        } catch (JsonProcessingException ex) {
+            LOGGER.warn("Could not serialize {} spans.", spans.size(), ex);
+            return CompletableResultCode.ofFailure();
+        } catch (IOException ex) {
+            LOGGER.warn("Could not write {} spans to {}.", spans.size(), this.file, ex);
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public CompletableResultCode flush(){
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown(){
+        return CompletableResultCode.ofSuccess();
+    }
+
+    private static Map<String, Object> toLine(SpanData span){
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("traceId", span.getTraceId());
+        line.put("spanId", span.getSpanId());
+        line.put("parentSpanId", span.getParentSpanContext().isValid() ? span.getParentSpanId() : null);
+        line.put("name", span.getName());
+        line.put("kind", span.getKind().name());
+        line.put("start", Instant.EPOCH.plusNanos(span.getStartEpochNanos()).toString());
+        line.put("durationMicros", (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1_000);
+        line.put("status", span.getStatus().getStatusCode().name());
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), value));
+        line.put("attributes", attributes);
+        return line;
+    }
+}
@@ -0,0 +1,41 @@
+package me.dio.santander_bootcamp.config.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.ObservationPredicate;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+import java.nio.file.Path;
+
+/**
+ * Selects the span exporter with {@code app.tracing.exporter}: {@code log} writes spans to the
+ * application log and {@code file} appends them as JSON lines. An OTLP collector is picked up by
+ * Spring Boot on its own once {@code management.otlp.tracing.endpoint} is set.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.tracing", name = "exporter", havingValue = "log")
+    public SpanExporter loggingSpanExporter(){
+        return LoggingSpanExporter.create();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.tracing", name = "exporter", havingValue = "file")
+    public JsonLinesSpanExporter jsonLinesSpanExporter(ObjectMapper objectMapper,
+                                                       @Value("${app.tracing.file:traces.jsonl}") Path file){
+        return new JsonLinesSpanExporter(objectMapper, file);
+    }
+
+    @Bean
+    public ObservationPredicate skipActuatorObservations(){
+        return (name, context) -> !(context instanceof ServerRequestObservationContext serverContext
+                && serverContext.getCarrier().getRequestURI().startsWith("/actuator"));
+    }
+}
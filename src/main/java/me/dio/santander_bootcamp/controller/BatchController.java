@@ -0,0 +1,43 @@
+package me.dio.santander_bootcamp.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import me.dio.santander_bootcamp.controller.dto.BatchRunResultDto;
+import me.dio.santander_bootcamp.service.BatchJobService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@CrossOrigin
+@RestController
+@RequestMapping("/batch/jobs")
+@Tag(name = "Batch Controller", description = "Periodic jobs over all accounts.")
+public record BatchController(BatchJobService batchJobService) {
+
+    @GetMapping
+    @Operation(summary = "List batch jobs", description = "Retrieve the names of the registered batch jobs")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Operation Successful")
+    })
+    public ResponseEntity<List<String>> findAll(){
+        return ResponseEntity.ok(batchJobService.jobNames());
+    }
+
+    @PostMapping("/{name}/runs")
+    @Operation(summary = "Run a batch job", description = "Run or resume a job for a date (today by default); completed partitions of that date are not processed again")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Run finished, see completed and per-partition results"),
+            @ApiResponse(responseCode = "404", description = "Job not found"),
+            @ApiResponse(responseCode = "422", description = "Job already running")
+    })
+    public ResponseEntity<BatchRunResultDto> run(@PathVariable String name,
+                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date){
+        LocalDate runDate = date == null ? LocalDate.now() : date;
+        return ResponseEntity.ok(new BatchRunResultDto(batchJobService.run(name, runDate)));
+    }
+}
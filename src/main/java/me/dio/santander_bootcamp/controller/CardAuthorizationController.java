@@ -0,0 +1,71 @@
+package me.dio.santander_bootcamp.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import me.dio.santander_bootcamp.controller.dto.CardAmountDto;
+import me.dio.santander_bootcamp.controller.dto.CardAvailableLimitDto;
+import me.dio.santander_bootcamp.controller.dto.CardHoldDto;
+import me.dio.santander_bootcamp.service.CardAuthorizationService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+
+@CrossOrigin
+@RestController
+@RequestMapping("/users/{id}/card")
+@Tag(name = "Card Authorization Controller", description = "Authorize card purchases against the available limit.")
+public record CardAuthorizationController(CardAuthorizationService cardAuthorizationService) {
+
+    @GetMapping("/available-limit")
+    @Operation(summary = "Get the available card limit", description = "Retrieve the card limit minus open holds, including changes not yet written to the database")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Operation successful"),
+            @ApiResponse(responseCode = "404", description = "User or card not found")
+    })
+    public ResponseEntity<CardAvailableLimitDto> availableLimit(@PathVariable Long id){
+        return ResponseEntity.ok(new CardAvailableLimitDto(id, cardAuthorizationService.availableLimit(id)));
+    }
+
+    @PostMapping("/authorizations")
+    @Operation(summary = "Authorize a purchase", description = "Hold the amount on the card when the available limit covers it")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Amount held"),
+            @ApiResponse(responseCode = "404", description = "User or card not found"),
+            @ApiResponse(responseCode = "422", description = "Invalid amount or insufficient limit")
+    })
+    public ResponseEntity<CardHoldDto> authorize(@PathVariable Long id, @RequestBody CardAmountDto amountDto){
+        var hold = cardAuthorizationService.authorize(id, amountDto.amount());
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{authorizationId}")
+                .buildAndExpand(hold.authorizationId())
+                .toUri();
+        return ResponseEntity.created(location).body(new CardHoldDto(hold));
+    }
+
+    @PostMapping("/authorizations/{authorizationId}/capture")
+    @Operation(summary = "Capture an authorization", description = "Settle a hold for the given amount, or its full amount when omitted; the remainder returns to the limit")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Hold captured"),
+            @ApiResponse(responseCode = "404", description = "Open authorization not found"),
+            @ApiResponse(responseCode = "422", description = "Amount greater than the hold")
+    })
+    public ResponseEntity<CardHoldDto> capture(@PathVariable Long id, @PathVariable long authorizationId,
+                                               @RequestBody(required = false) CardAmountDto amountDto){
+        var hold = cardAuthorizationService.capture(id, authorizationId, amountDto == null ? null : amountDto.amount());
+        return ResponseEntity.ok(new CardHoldDto(hold));
+    }
+
+    @DeleteMapping("/authorizations/{authorizationId}")
+    @Operation(summary = "Release an authorization", description = "Void an open hold and return its amount to the limit")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Hold released"),
+            @ApiResponse(responseCode = "404", description = "Open authorization not found")
+    })
+    public ResponseEntity<CardHoldDto> release(@PathVariable Long id, @PathVariable long authorizationId){
+        return ResponseEntity.ok(new CardHoldDto(cardAuthorizationService.release(id, authorizationId)));
+    }
+}
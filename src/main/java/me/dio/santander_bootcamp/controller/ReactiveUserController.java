@@ -0,0 +1,72 @@
+package me.dio.santander_bootcamp.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import me.dio.santander_bootcamp.controller.dto.UserDto;
+import me.dio.santander_bootcamp.controller.dto.UserSearchPageDto;
+import me.dio.santander_bootcamp.controller.dto.UserSummaryDto;
+import me.dio.santander_bootcamp.service.AsyncUserService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@CrossOrigin
+@RestController
+@RequestMapping("/reactive/users")
+@ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+@Tag(name = "Reactive Users Controller", description = "Non-blocking variant of the user read endpoints.")
+public record ReactiveUserController(AsyncUserService asyncUserService) {
+
+    @GetMapping
+    @Operation(summary = "Get all users", description = "Retrieve a list of all registered users without holding a request thread")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Operation Successful"),
+            @ApiResponse(responseCode = "503", description = "Read queue full")
+    })
+    public CompletableFuture<ResponseEntity<List<UserDto>>> findAll(){
+        return asyncUserService.findAll()
+                .thenApply(users -> ResponseEntity.ok(users.stream().map(UserDto::new).toList()));
+    }
+
+    @GetMapping("/summary")
+    @Operation(summary = "Get a summary of all users", description = "Retrieve id, name, account number, agency and balance of every user without holding a request thread")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Operation Successful"),
+            @ApiResponse(responseCode = "503", description = "Read queue full")
+    })
+    public CompletableFuture<ResponseEntity<List<UserSummaryDto>>> findAllSummaries(){
+        return asyncUserService.findAllSummaries()
+                .thenApply(summaries -> ResponseEntity.ok(summaries.stream().map(UserSummaryDto::new).toList()));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search users", description = "Search users by partial name, account number or card number without holding a request thread")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Operation Successful"),
+            @ApiResponse(responseCode = "422", description = "Invalid search query or page"),
+            @ApiResponse(responseCode = "503", description = "Read queue full")
+    })
+    public CompletableFuture<ResponseEntity<UserSearchPageDto>> search(@RequestParam String q,
+                                                                       @RequestParam(defaultValue = "0") int page,
+                                                                       @RequestParam(defaultValue = "20") int size){
+        return asyncUserService.search(q, page, size)
+                .thenApply(result -> ResponseEntity.ok(new UserSearchPageDto(result)));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get a user by ID", description = "Retrieve a specific user based on its ID without holding a request thread")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Operation successful"),
+            @ApiResponse(responseCode = "404", description = "User not found"),
+            @ApiResponse(responseCode = "503", description = "Read queue full")
+    })
+    public CompletableFuture<ResponseEntity<UserDto>> findById(@PathVariable Long id){
+        return asyncUserService.findById(id)
+                .thenApply(user -> ResponseEntity.ok(new UserDto(user)));
+    }
+}
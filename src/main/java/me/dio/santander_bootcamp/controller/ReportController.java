@@ -0,0 +1,49 @@
+package me.dio.santander_bootcamp.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import me.dio.santander_bootcamp.controller.dto.AgencyReportDto;
+import me.dio.santander_bootcamp.service.AgencyReportService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@CrossOrigin
+@RestController
+@RequestMapping("/reports/agencies")
+@Tag(name = "Reports Controller", description = "Aggregate reports per account agency.")
+public record ReportController(AgencyReportService agencyReportService) {
+
+    @GetMapping
+    @Operation(summary = "Get all agency reports", description = "Retrieve user count, total balance, total limits and card limit distribution per agency")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Operation Successful")
+    })
+    public ResponseEntity<List<AgencyReportDto>> findAll(){
+        var reports = agencyReportService.findAll().stream().map(AgencyReportDto::new).toList();
+        return ResponseEntity.ok(reports);
+    }
+
+    @GetMapping("/{agency}")
+    @Operation(summary = "Get an agency report", description = "Retrieve the aggregate report of a specific agency")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Operation successful"),
+            @ApiResponse(responseCode = "404", description = "Agency has no users")
+    })
+    public ResponseEntity<AgencyReportDto> findByAgency(@PathVariable String agency){
+        return ResponseEntity.ok(new AgencyReportDto(agencyReportService.findByAgency(agency)));
+    }
+
+    @PostMapping("/rebuild")
+    @Operation(summary = "Rebuild agency reports", description = "Recompute every agency total from user data, discarding incremental state")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Reports rebuilt")
+    })
+    public ResponseEntity<Void> rebuild(){
+        agencyReportService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+}
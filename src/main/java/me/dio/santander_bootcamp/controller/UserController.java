@@ -1,23 +1,36 @@
 package me.dio.santander_bootcamp.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import me.dio.santander_bootcamp.controller.dto.BulkDeleteDto;
+import me.dio.santander_bootcamp.controller.dto.BulkOperationResultDto;
+import me.dio.santander_bootcamp.controller.dto.CardLimitIncreaseDto;
 import me.dio.santander_bootcamp.controller.dto.UserDto;
+import me.dio.santander_bootcamp.controller.dto.UserMergePatch;
+import me.dio.santander_bootcamp.controller.dto.UserSearchPageDto;
+import me.dio.santander_bootcamp.controller.dto.UserSummaryDto;
+import me.dio.santander_bootcamp.controller.event.UserEventStream;
 import me.dio.santander_bootcamp.service.UserService;
+import me.dio.santander_bootcamp.service.event.UserChangedEvent;
+import me.dio.santander_bootcamp.service.exception.NotFoundException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
 import java.util.List;
+import java.util.Set;
 
 @CrossOrigin
 @RestController
 @RequestMapping("/users")
 @Tag(name = "Users Controller", description = "RESTful API for managing users.")
-public record UserController(UserService userService) {
+public record UserController(UserService userService, UserEventStream userEventStream) {
 
     @GetMapping
     @Operation(summary = "Get all users", description = "Retrieve a list of all registered users")
@@ -30,6 +43,28 @@ public record UserController(UserService userService) {
         return ResponseEntity.ok(usersDto);
     }
 
+    @GetMapping("/summary")
+    @Operation(summary = "Get a summary of all users", description = "Retrieve id, name, account number, agency and balance of every user, without features, news or card")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Operation Successful")
+    })
+    public ResponseEntity<List<UserSummaryDto>> findAllSummaries(){
+        var summaries = userService.findAllSummaries().stream().map(UserSummaryDto::new).toList();
+        return ResponseEntity.ok(summaries);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search users", description = "Search users by partial name, account number or card number, ranked by relevance")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Operation Successful"),
+            @ApiResponse(responseCode = "422", description = "Invalid search query or page")
+    })
+    public ResponseEntity<UserSearchPageDto> search(@RequestParam String q,
+                                                    @RequestParam(defaultValue = "0") int page,
+                                                    @RequestParam(defaultValue = "20") int size){
+        return ResponseEntity.ok(new UserSearchPageDto(userService.search(q, page, size)));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get a user by ID", description = "Retrieve a specific user based on its ID.")
     @ApiResponses(value = {
@@ -41,6 +76,30 @@ public record UserController(UserService userService) {
         return ResponseEntity.ok(new UserDto(user));
     }
 
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Subscribe to user changes", description = "Stream change notifications for all users, optionally filtered by change type")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Subscription opened")
+    })
+    public SseEmitter subscribeAll(@RequestParam(required = false) Set<UserChangedEvent.Type> types){
+        return userEventStream.subscribe(null, types);
+    }
+
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Subscribe to a user's changes", description = "Stream change notifications for a specific user, optionally filtered by change type")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Subscription opened"),
+            @ApiResponse(responseCode = "404", description = "User not found")
+    })
+    public SseEmitter subscribe(@PathVariable Long id, @RequestParam(required = false) Set<UserChangedEvent.Type> types){
+        // Checked in the request's tenant, so another tenant's user is a 404 rather than an open stream;
+        // an existence check, so subscribing neither restores an archived user nor counts as activity
+        if(!userService.exists(id)){
+            throw new NotFoundException();
+        }
+        return userEventStream.subscribe(id, types);
+    }
+
     @PostMapping
     @Operation(summary = "Create a new user", description = "Create a new user and return the created user's data")
     @ApiResponses(value = {
@@ -68,6 +127,18 @@ public record UserController(UserService userService) {
         return ResponseEntity.ok(new UserDto(user));
     }
 
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Partially update a user", description = "Apply a JSON Merge Patch to an existing user, changing only the supplied fields")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "User updated successfully"),
+            @ApiResponse(responseCode = "404", description = "User not found"),
+            @ApiResponse(responseCode = "422", description = "Invalid user data provided")
+    })
+    public ResponseEntity<UserDto> patch(@PathVariable Long id, @RequestBody JsonNode patch){
+        var user = userService.patch(id, new UserMergePatch(patch));
+        return ResponseEntity.ok(new UserDto(user));
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete a user", description = "Delete an existing user based on its ID")
     @ApiResponses(value = {
@@ -79,4 +150,28 @@ public record UserController(UserService userService) {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/bulk/delete")
+    @Operation(summary = "Delete users in bulk", description = "Delete the given users and their accounts, cards, features and news in set-based batches")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Users deleted, returning requested and affected counts"),
+            @ApiResponse(responseCode = "422", description = "Invalid bulk request")
+    })
+    public ResponseEntity<BulkOperationResultDto> deleteAll(@RequestBody BulkDeleteDto bulkDeleteDto){
+        var result = userService.deleteAll(bulkDeleteDto.ids());
+        return ResponseEntity.ok(new BulkOperationResultDto(result));
+    }
+
+    @PostMapping("/bulk/card-limit")
+    @Operation(summary = "Raise card limits in bulk", description = "Raise the card limit of the given users, or of every user in an agency, in set-based batches")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Limits raised, returning requested and affected counts"),
+            @ApiResponse(responseCode = "422", description = "Invalid bulk request")
+    })
+    public ResponseEntity<BulkOperationResultDto> raiseCardLimit(@RequestBody CardLimitIncreaseDto increaseDto){
+        var result = increaseDto.targetsIds()
+                ? userService.raiseCardLimit(increaseDto.ids(), increaseDto.amount())
+                : userService.raiseCardLimitByAgency(increaseDto.agency(), increaseDto.amount());
+        return ResponseEntity.ok(new BulkOperationResultDto(result));
+    }
+
 }
@@ -0,0 +1,109 @@
+package me.dio.santander_bootcamp.controller.audit;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import me.dio.santander_bootcamp.service.audit.AuditEntry;
+import me.dio.santander_bootcamp.service.audit.AuditLog;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Records every user API call in the {@link AuditLog} once its response is complete, including
+ * asynchronous ones. Callers are identified by a digest of their API key, never the key itself,
+ * or by their address.
+ */
+public class AuditFilter extends OncePerRequestFilter {
+
+    public static final String API_KEY_HEADER = "X-API-Key";
+
+    private static final Pattern USER_ID = Pattern.compile("^(?:/reactive)?/users/(\\d+)(?:/|$)");
+
+    private final AuditLog auditLog;
+    private final Clock clock;
+
+    public AuditFilter(AuditLog auditLog, Clock clock){
+        this.auditLog = auditLog;
+        this.clock = clock;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Instant occurredAt = this.clock.instant();
+        long started = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if(request.isAsyncStarted()){
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event){
+                        record(request, response, occurredAt, started);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event){
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event){
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event){
+                    }
+                });
+            } else {
+                this.record(request, response, occurredAt, started);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, Instant occurredAt, long started){
+        this.auditLog.record(new AuditEntry(
+                occurredAt,
+                caller(request),
+                request.getMethod() + " " + operationPath(request),
+                userId(request),
+                response.getStatus(),
+                TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - started)));
+    }
+
+    private static String caller(HttpServletRequest request){
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        if(apiKey != null && !apiKey.isBlank()){
+            return "key:" + DigestUtils.md5DigestAsHex(apiKey.getBytes(StandardCharsets.UTF_8)).substring(0, 16);
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static String operationPath(HttpServletRequest request){
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : request.getRequestURI();
+    }
+
+    private static Long userId(HttpServletRequest request){
+        Matcher matcher = USER_ID.matcher(request.getRequestURI());
+        if(!matcher.find()){
+            return null;
+        }
+        try {
+            return Long.valueOf(matcher.group(1));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+}
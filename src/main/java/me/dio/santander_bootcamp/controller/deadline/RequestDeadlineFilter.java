@@ -0,0 +1,76 @@
+package me.dio.santander_bootcamp.controller.deadline;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import me.dio.santander_bootcamp.config.deadline.RequestDeadline;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Gives every user API request a deadline: the client's {@value #TIMEOUT_HEADER} in milliseconds,
+ * capped at {@code maxTimeout}, or {@code defaultTimeout} without one. The deadline is fixed on
+ * the first dispatch and restored on async dispatches. Responses completed after their deadline
+ * are counted in {@code app.deadline.exceeded} by status.
+ */
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    private static final String DEADLINE_ATTRIBUTE = RequestDeadlineFilter.class.getName() + ".deadline";
+
+    private final Duration defaultTimeout;
+    private final Duration maxTimeout;
+    private final MeterRegistry meterRegistry;
+
+    public RequestDeadlineFilter(Duration defaultTimeout, Duration maxTimeout, MeterRegistry meterRegistry){
+        this.defaultTimeout = defaultTimeout;
+        this.maxTimeout = maxTimeout;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch(){
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Long deadline = (Long) request.getAttribute(DEADLINE_ATTRIBUTE);
+        if(deadline == null){
+            deadline = System.nanoTime() + this.timeout(request.getHeader(TIMEOUT_HEADER)).toNanos();
+            request.setAttribute(DEADLINE_ATTRIBUTE, deadline);
+        }
+        Long previous = RequestDeadline.current();
+        RequestDeadline.set(deadline);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestDeadline.set(previous);
+            if(!request.isAsyncStarted() && deadline - System.nanoTime() <= 0){
+                this.meterRegistry.counter("app.deadline.exceeded", "status", Integer.toString(response.getStatus()))
+                        .increment();
+            }
+        }
+    }
+
+    Duration timeout(String header){
+        if(header == null || header.isBlank()){
+            return this.defaultTimeout;
+        }
+        try {
+            long millis = Long.parseLong(header.trim());
+            if(millis <= 0){
+                return this.defaultTimeout;
+            }
+            return millis < this.maxTimeout.toMillis() ? Duration.ofMillis(millis) : this.maxTimeout;
+        } catch (NumberFormatException ex) {
+            return this.defaultTimeout;
+        }
+    }
+}
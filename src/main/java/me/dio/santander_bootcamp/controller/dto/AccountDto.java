@@ -1,10 +1,9 @@
 package me.dio.santander_bootcamp.controller.dto;
 
 import me.dio.santander_bootcamp.domain.model.Account;
+import me.dio.santander_bootcamp.domain.model.Money;
 
-import java.math.BigDecimal;
-
-public record AccountDto(Long id, String number, String agency, BigDecimal balance, BigDecimal limit) {
+public record AccountDto(Long id, String number, String agency, Money balance, Money limit) {
 
     public AccountDto (Account model){
         this(model.getId(), model.getNumber(), model.getAgency(), model.getBalance(), model.getLimit());
@@ -0,0 +1,15 @@
+package me.dio.santander_bootcamp.controller.dto;
+
+import me.dio.santander_bootcamp.domain.model.Money;
+import me.dio.santander_bootcamp.service.report.AgencyReport;
+
+import java.util.List;
+
+public record AgencyReportDto(String agency, long userCount, Money totalBalance, Money totalAccountLimit,
+                              Money totalCardLimit, List<CardLimitBucketDto> cardLimitDistribution) {
+
+    public AgencyReportDto(AgencyReport report){
+        this(report.agency(), report.userCount(), report.totalBalance(), report.totalAccountLimit(),
+                report.totalCardLimit(), report.cardLimitDistribution().stream().map(CardLimitBucketDto::new).toList());
+    }
+}
@@ -0,0 +1,12 @@
+package me.dio.santander_bootcamp.controller.dto;
+
+import me.dio.santander_bootcamp.service.batch.BatchPartitionResult;
+
+public record BatchPartitionResultDto(int shard, int partition, long firstId, long lastId, long processed, long changed,
+                                      long elapsedMillis, double itemsPerSecond, boolean completed, String error) {
+
+    public BatchPartitionResultDto(BatchPartitionResult result){
+        this(result.shard(), result.partition(), result.firstId(), result.lastId(), result.processed(), result.changed(),
+                result.elapsedMillis(), result.itemsPerSecond(), result.completed(), result.error());
+    }
+}
@@ -0,0 +1,15 @@
+package me.dio.santander_bootcamp.controller.dto;
+
+import me.dio.santander_bootcamp.service.batch.BatchRunResult;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record BatchRunResultDto(String jobName, LocalDate runDate, long processed, long changed, boolean completed,
+                                List<BatchPartitionResultDto> partitions) {
+
+    public BatchRunResultDto(BatchRunResult result){
+        this(result.jobName(), result.runDate(), result.processed(), result.changed(), result.completed(),
+                result.partitions().stream().map(BatchPartitionResultDto::new).toList());
+    }
+}
@@ -0,0 +1,6 @@
+package me.dio.santander_bootcamp.controller.dto;
+
+import java.util.List;
+
+public record BulkDeleteDto(List<Long> ids) {
+}
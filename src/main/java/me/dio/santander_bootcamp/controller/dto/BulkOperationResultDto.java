@@ -0,0 +1,10 @@
+package me.dio.santander_bootcamp.controller.dto;
+
+import me.dio.santander_bootcamp.service.BulkOperationResult;
+
+public record BulkOperationResultDto(int requested, int affected) {
+
+    public BulkOperationResultDto(BulkOperationResult result){
+        this(result.requested(), result.affected());
+    }
+}
@@ -0,0 +1,6 @@
+package me.dio.santander_bootcamp.controller.dto;
+
+import me.dio.santander_bootcamp.domain.model.Money;
+
+public record CardAvailableLimitDto(Long userId, Money availableLimit) {
+}
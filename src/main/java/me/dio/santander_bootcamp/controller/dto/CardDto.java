@@ -1,10 +1,9 @@
 package me.dio.santander_bootcamp.controller.dto;
 
 import me.dio.santander_bootcamp.domain.model.Card;
+import me.dio.santander_bootcamp.domain.model.Money;
 
-import java.math.BigDecimal;
-
-public record CardDto(Long id, String number, BigDecimal limit) {
+public record CardDto(Long id, String number, Money limit) {
 
     public CardDto(Card model){
         this(model.getId(), model.getNumber(), model.getLimit());
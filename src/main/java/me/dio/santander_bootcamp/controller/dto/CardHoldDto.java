@@ -0,0 +1,11 @@
+package me.dio.santander_bootcamp.controller.dto;
+
+import me.dio.santander_bootcamp.domain.model.Money;
+import me.dio.santander_bootcamp.service.ledger.CardHold;
+
+public record CardHoldDto(long authorizationId, Long userId, Money amount, CardHold.Status status, Money availableLimit) {
+
+    public CardHoldDto(CardHold hold){
+        this(hold.authorizationId(), hold.userId(), hold.amount(), hold.status(), hold.availableLimit());
+    }
+}
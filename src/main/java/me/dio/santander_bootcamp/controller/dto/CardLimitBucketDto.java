@@ -0,0 +1,11 @@
+package me.dio.santander_bootcamp.controller.dto;
+
+import me.dio.santander_bootcamp.domain.model.Money;
+import me.dio.santander_bootcamp.service.report.CardLimitBucketCount;
+
+public record CardLimitBucketDto(Money from, Money to, long userCount) {
+
+    public CardLimitBucketDto(CardLimitBucketCount bucket){
+        this(bucket.from(), bucket.to(), bucket.userCount());
+    }
+}
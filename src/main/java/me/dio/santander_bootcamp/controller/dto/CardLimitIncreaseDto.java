@@ -0,0 +1,12 @@
+package me.dio.santander_bootcamp.controller.dto;
+
+import me.dio.santander_bootcamp.domain.model.Money;
+
+import java.util.List;
+
+public record CardLimitIncreaseDto(List<Long> ids, String agency, Money amount) {
+
+    public boolean targetsIds(){
+        return this.ids != null && !this.ids.isEmpty();
+    }
+}
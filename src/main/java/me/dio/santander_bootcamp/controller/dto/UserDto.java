@@ -1,5 +1,6 @@
 package me.dio.santander_bootcamp.controller.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import me.dio.santander_bootcamp.domain.model.User;
 
 import java.util.List;
@@ -8,6 +9,7 @@ import static java.util.Collections.emptyList;
 import static java.util.Optional.ofNullable;
 import static java.util.stream.Collectors.toList;
 
+@JsonSerialize(using = UserDtoJson.Serializer.class)
 public record UserDto(
         Long id,
         String name,
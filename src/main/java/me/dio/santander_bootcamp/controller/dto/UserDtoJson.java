@@ -0,0 +1,150 @@
+package me.dio.santander_bootcamp.controller.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import me.dio.santander_bootcamp.domain.model.Money;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Streaming serializer for {@link UserDto} and its nested DTOs, the payload of every user
+ * response. Writes the same document as bean serialization, nulls included, with pre-encoded
+ * field names and no per-property lookups; {@link Money} amounts go to the generator as chars.
+ */
+final class UserDtoJson {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString ACCOUNT = new SerializedString("account");
+    private static final SerializedString CARD = new SerializedString("card");
+    private static final SerializedString FEATURES = new SerializedString("features");
+    private static final SerializedString NEWS = new SerializedString("news");
+    private static final SerializedString NUMBER = new SerializedString("number");
+    private static final SerializedString AGENCY = new SerializedString("agency");
+    private static final SerializedString BALANCE = new SerializedString("balance");
+    private static final SerializedString LIMIT = new SerializedString("limit");
+    private static final SerializedString ICON = new SerializedString("icon");
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+
+    private UserDtoJson(){
+    }
+
+    public static final class Serializer extends StdSerializer<UserDto> {
+
+        public Serializer(){
+            super(UserDto.class);
+        }
+
+        @Override
+        public void serialize(UserDto user, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            char[] amount = new char[Money.MAX_TEXT_LENGTH];
+            generator.writeStartObject(user);
+            writeId(generator, user.id());
+            generator.writeFieldName(NAME);
+            generator.writeString(user.name());
+            generator.writeFieldName(ACCOUNT);
+            writeAccount(generator, user.account(), amount);
+            generator.writeFieldName(CARD);
+            writeCard(generator, user.card(), amount);
+            generator.writeFieldName(FEATURES);
+            writeFeatures(generator, user.features());
+            generator.writeFieldName(NEWS);
+            writeNews(generator, user.news());
+            generator.writeEndObject();
+        }
+
+        private static void writeAccount(JsonGenerator generator, AccountDto account, char[] amount) throws IOException {
+            if(account == null){
+                generator.writeNull();
+                return;
+            }
+            generator.writeStartObject(account);
+            writeId(generator, account.id());
+            generator.writeFieldName(NUMBER);
+            generator.writeString(account.number());
+            generator.writeFieldName(AGENCY);
+            generator.writeString(account.agency());
+            generator.writeFieldName(BALANCE);
+            writeMoney(generator, account.balance(), amount);
+            generator.writeFieldName(LIMIT);
+            writeMoney(generator, account.limit(), amount);
+            generator.writeEndObject();
+        }
+
+        private static void writeCard(JsonGenerator generator, CardDto card, char[] amount) throws IOException {
+            if(card == null){
+                generator.writeNull();
+                return;
+            }
+            generator.writeStartObject(card);
+            writeId(generator, card.id());
+            generator.writeFieldName(NUMBER);
+            generator.writeString(card.number());
+            generator.writeFieldName(LIMIT);
+            writeMoney(generator, card.limit(), amount);
+            generator.writeEndObject();
+        }
+
+        private static void writeFeatures(JsonGenerator generator, List<FeatureDto> features) throws IOException {
+            if(features == null){
+                generator.writeNull();
+                return;
+            }
+            generator.writeStartArray(features, features.size());
+            for(FeatureDto feature : features){
+                if(feature == null){
+                    generator.writeNull();
+                    continue;
+                }
+                writeItem(generator, feature, feature.id(), feature.icon(), feature.description());
+            }
+            generator.writeEndArray();
+        }
+
+        private static void writeNews(JsonGenerator generator, List<NewsDto> news) throws IOException {
+            if(news == null){
+                generator.writeNull();
+                return;
+            }
+            generator.writeStartArray(news, news.size());
+            for(NewsDto item : news){
+                if(item == null){
+                    generator.writeNull();
+                    continue;
+                }
+                writeItem(generator, item, item.id(), item.icon(), item.description());
+            }
+            generator.writeEndArray();
+        }
+
+        private static void writeItem(JsonGenerator generator, Object item, Long id, String icon, String description) throws IOException {
+            generator.writeStartObject(item);
+            writeId(generator, id);
+            generator.writeFieldName(ICON);
+            generator.writeString(icon);
+            generator.writeFieldName(DESCRIPTION);
+            generator.writeString(description);
+            generator.writeEndObject();
+        }
+
+        private static void writeId(JsonGenerator generator, Long id) throws IOException {
+            generator.writeFieldName(ID);
+            if(id == null){
+                generator.writeNull();
+            } else {
+                generator.writeNumber(id.longValue());
+            }
+        }
+
+        private static void writeMoney(JsonGenerator generator, Money money, char[] amount) throws IOException {
+            if(money == null){
+                generator.writeNull();
+            } else {
+                generator.writeNumber(amount, 0, money.format(amount));
+            }
+        }
+    }
+}
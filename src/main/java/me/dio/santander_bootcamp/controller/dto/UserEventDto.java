@@ -0,0 +1,12 @@
+package me.dio.santander_bootcamp.controller.dto;
+
+import me.dio.santander_bootcamp.service.event.UserChangedEvent;
+
+import java.time.Instant;
+
+public record UserEventDto(Long userId, UserChangedEvent.Type type, Instant occurredAt, long missed) {
+
+    public UserEventDto(UserChangedEvent event, long missed){
+        this(event.userId(), event.type(), event.occurredAt(), missed);
+    }
+}
@@ -0,0 +1,144 @@
+package me.dio.santander_bootcamp.controller.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import me.dio.santander_bootcamp.domain.model.Account;
+import me.dio.santander_bootcamp.domain.model.BaseItem;
+import me.dio.santander_bootcamp.domain.model.Card;
+import me.dio.santander_bootcamp.domain.model.Feature;
+import me.dio.santander_bootcamp.domain.model.Money;
+import me.dio.santander_bootcamp.domain.model.News;
+import me.dio.santander_bootcamp.domain.model.User;
+import me.dio.santander_bootcamp.service.UserPatch;
+import me.dio.santander_bootcamp.service.exception.BusinessException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * JSON Merge Patch (RFC 7396) for a user: absent members are left untouched, {@code null}
+ * clears a value, and nested objects are merged member by member into the managed entity so
+ * only the supplied columns become dirty.
+ * <p>
+ * Feature and news arrays are diffed by item id instead of being replaced: items with a known
+ * id are merged in place, items without an id are added and missing ids are removed.
+ */
+public record UserMergePatch(JsonNode patch) implements UserPatch {
+
+    @Override
+    public void applyTo(User user){
+        if(!this.patch.isObject()){
+            throw new BusinessException("Patch document must be a JSON object.");
+        }
+        JsonNode id = this.patch.get("id");
+        if(id != null && !id.isNull() && id.asLong() != user.getId()){
+            throw new BusinessException("Update IDs must be the same.");
+        }
+        applyText(this.patch, "name", user::setName);
+        if(this.patch.has("account")){
+            JsonNode account = this.patch.get("account");
+            user.setAccount(account.isNull() ? null : mergeAccount(existingOrNew(user.getAccount(), Account::new), account));
+        }
+        if(this.patch.has("card")){
+            JsonNode card = this.patch.get("card");
+            user.setCard(card.isNull() ? null : mergeCard(existingOrNew(user.getCard(), Card::new), card));
+        }
+        if(this.patch.has("features")){
+            user.setFeatures(mergeItems(user.getFeatures(), this.patch.get("features"), Feature::new));
+        }
+        if(this.patch.has("news")){
+            user.setNews(mergeItems(user.getNews(), this.patch.get("news"), News::new));
+        }
+    }
+
+    @Override
+    public String accountNumber(){
+        return patchedText("account", "number");
+    }
+
+    @Override
+    public String cardNumber(){
+        return patchedText("card", "number");
+    }
+
+    private String patchedText(String object, String field){
+        JsonNode value = this.patch.path(object).get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static Account mergeAccount(Account account, JsonNode node){
+        applyText(node, "number", account::setNumber);
+        applyText(node, "agency", account::setAgency);
+        applyMoney(node, "balance", account::setBalance);
+        applyMoney(node, "limit", account::setLimit);
+        return account;
+    }
+
+    private static Card mergeCard(Card card, JsonNode node){
+        applyText(node, "number", card::setNumber);
+        applyMoney(node, "limit", card::setLimit);
+        return card;
+    }
+
+    private static <T extends BaseItem> List<T> mergeItems(List<T> current, JsonNode node, Supplier<T> factory){
+        List<T> items = current == null ? new ArrayList<>() : current;
+        if(node.isNull()){
+            items.clear();
+            return items;
+        }
+        if(!node.isArray()){
+            throw new BusinessException("Patch collections must be JSON arrays.");
+        }
+        Map<Long, T> byId = new HashMap<>();
+        items.forEach(item -> byId.put(item.getId(), item));
+
+        Set<Long> kept = new HashSet<>();
+        List<T> added = new ArrayList<>();
+        for(JsonNode element : node){
+            JsonNode id = element.get("id");
+            T item = id == null || id.isNull() ? null : byId.get(id.asLong());
+            if(item == null){
+                item = factory.get();
+                added.add(item);
+            } else {
+                kept.add(item.getId());
+            }
+            applyText(element, "icon", item::setIcon);
+            applyText(element, "description", item::setDescription);
+        }
+        items.removeIf(item -> !kept.contains(item.getId()));
+        items.addAll(added);
+        return items;
+    }
+
+    private static <T> T existingOrNew(T existing, Supplier<T> factory){
+        return existing != null ? existing : factory.get();
+    }
+
+    private static void applyMoney(JsonNode node, String field, Consumer<Money> setter){
+        if(node.has(field)){
+            JsonNode value = node.get(field);
+            if(value.isNull()){
+                setter.accept(null);
+                return;
+            }
+            try {
+                setter.accept(Money.parse(value.asText()));
+            } catch (ArithmeticException | NumberFormatException ex) {
+                throw new BusinessException("Field '%s' must be an amount with at most two decimal places.".formatted(field));
+            }
+        }
+    }
+
+    private static void applyText(JsonNode node, String field, Consumer<String> setter){
+        if(node.has(field)){
+            JsonNode value = node.get(field);
+            setter.accept(value.isNull() ? null : value.asText());
+        }
+    }
+}
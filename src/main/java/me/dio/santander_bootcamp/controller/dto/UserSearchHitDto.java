@@ -0,0 +1,10 @@
+package me.dio.santander_bootcamp.controller.dto;
+
+import me.dio.santander_bootcamp.service.search.UserSearchHit;
+
+public record UserSearchHitDto(Long id, String name, String accountNumber, String cardNumber, double score) {
+
+    public UserSearchHitDto(UserSearchHit hit){
+        this(hit.id(), hit.name(), hit.accountNumber(), hit.cardNumber(), hit.score());
+    }
+}
@@ -0,0 +1,12 @@
+package me.dio.santander_bootcamp.controller.dto;
+
+import me.dio.santander_bootcamp.service.search.UserSearchPage;
+
+import java.util.List;
+
+public record UserSearchPageDto(List<UserSearchHitDto> hits, int page, int size, boolean hasNext) {
+
+    public UserSearchPageDto(UserSearchPage page){
+        this(page.hits().stream().map(UserSearchHitDto::new).toList(), page.page(), page.size(), page.hasNext());
+    }
+}
@@ -0,0 +1,11 @@
+package me.dio.santander_bootcamp.controller.dto;
+
+import me.dio.santander_bootcamp.domain.model.Money;
+import me.dio.santander_bootcamp.domain.model.UserSummary;
+
+public record UserSummaryDto(Long id, String name, String accountNumber, String agency, Money balance) {
+
+    public UserSummaryDto(UserSummary summary){
+        this(summary.id(), summary.name(), summary.accountNumber(), summary.agency(), summary.balance());
+    }
+}
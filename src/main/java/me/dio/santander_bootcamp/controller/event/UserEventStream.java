@@ -0,0 +1,182 @@
+package me.dio.santander_bootcamp.controller.event;
+
+import me.dio.santander_bootcamp.config.tenant.TenantContext;
+import me.dio.santander_bootcamp.controller.dto.UserEventDto;
+import me.dio.santander_bootcamp.service.event.UserChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans out committed {@link UserChangedEvent}s to SSE subscribers.
+ * <p>
+ * Each subscriber owns a small bounded buffer; when a slow client falls behind the oldest
+ * pending notification is dropped and the next delivered event reports how many were missed,
+ * so the client knows it must refetch. Idle subscribers hold no thread: a shared dispatcher
+ * pool drains only the buffers that have pending events.
+ * <p>
+ * Subscribers only receive events of the {@linkplain TenantContext tenant} they subscribed in.
+ */
+@Component
+public class UserEventStream implements DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserEventStream.class);
+
+    private final Map<Long, Set<Subscriber>> subscribersByUser = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribersToAll = ConcurrentHashMap.newKeySet();
+    private final ExecutorService dispatcher;
+    private final int bufferSize;
+    private final long timeoutMillis;
+
+    public UserEventStream(@Value("${app.user-events.buffer-size:16}") int bufferSize,
+                           @Value("${app.user-events.dispatcher-threads:2}") int dispatcherThreads,
+                           @Value("${app.user-events.timeout:30m}") Duration timeout){
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("user-events-");
+        threadFactory.setDaemon(true);
+        this.dispatcher = Executors.newFixedThreadPool(dispatcherThreads, threadFactory);
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    public SseEmitter subscribe(Long userId, Set<UserChangedEvent.Type> types){
+        Set<UserChangedEvent.Type> filter = types == null || types.isEmpty()
+                ? EnumSet.allOf(UserChangedEvent.Type.class)
+                : EnumSet.copyOf(types);
+        Subscriber subscriber = new Subscriber(new SseEmitter(this.timeoutMillis), TenantContext.current(), userId, filter);
+
+        if(userId == null){
+            this.subscribersToAll.add(subscriber);
+        } else {
+            this.subscribersByUser.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+        subscriber.emitter.onCompletion(() -> this.unsubscribe(subscriber));
+        subscriber.emitter.onTimeout(() -> this.unsubscribe(subscriber));
+        subscriber.emitter.onError(error -> this.unsubscribe(subscriber));
+
+        try {
+            subscriber.emitter.send(SseEmitter.event().comment("subscribed"));
+        } catch (IOException ex) {
+            this.unsubscribe(subscriber);
+            subscriber.emitter.completeWithError(ex);
+        }
+        return subscriber.emitter;
+    }
+
+    public int subscriberCount(){
+        return this.subscribersToAll.size()
+                + this.subscribersByUser.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event){
+        Set<Subscriber> userSubscribers = this.subscribersByUser.get(event.userId());
+        if(userSubscribers != null){
+            userSubscribers.forEach(subscriber -> subscriber.offer(event));
+        }
+        this.subscribersToAll.forEach(subscriber -> subscriber.offer(event));
+    }
+
+    @Override
+    public void destroy(){
+        this.dispatcher.shutdownNow();
+        this.subscribersToAll.forEach(subscriber -> subscriber.emitter.complete());
+        this.subscribersByUser.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    private void unsubscribe(Subscriber subscriber){
+        if(subscriber.userId == null){
+            this.subscribersToAll.remove(subscriber);
+            return;
+        }
+        this.subscribersByUser.computeIfPresent(subscriber.userId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private final class Subscriber implements Runnable {
+
+        private final SseEmitter emitter;
+        private final String tenant;
+        private final Long userId;
+        private final Set<UserChangedEvent.Type> types;
+        private final ArrayBlockingQueue<UserChangedEvent> buffer;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicLong missed = new AtomicLong();
+
+        private Subscriber(SseEmitter emitter, String tenant, Long userId, Set<UserChangedEvent.Type> types){
+            this.emitter = emitter;
+            this.tenant = tenant;
+            this.userId = userId;
+            this.types = types;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        private void offer(UserChangedEvent event){
+            if(!this.types.contains(event.type())){
+                return;
+            }
+            // A subscriber without a tenant (none is set outside the user API) sees every tenant
+            if(this.tenant != null && !this.tenant.equals(event.tenantId())){
+                return;
+            }
+            while(!this.buffer.offer(event)){
+                if(this.buffer.poll() != null){
+                    this.missed.incrementAndGet();
+                }
+            }
+            this.schedule();
+        }
+
+        private void schedule(){
+            if(this.scheduled.compareAndSet(false, true)){
+                try {
+                    dispatcher.execute(this);
+                } catch (RejectedExecutionException ex) {
+                    this.scheduled.set(false);
+                }
+            }
+        }
+
+        @Override
+        public void run(){
+            try {
+                UserChangedEvent event;
+                while((event = this.buffer.poll()) != null){
+                    this.emitter.send(SseEmitter.event()
+                            .name(event.type().name().toLowerCase())
+                            .data(new UserEventDto(event, this.missed.getAndSet(0)), MediaType.APPLICATION_JSON));
+                }
+            } catch (IOException | IllegalStateException ex) {
+                LOGGER.debug("Dropping user event subscriber after failed send.", ex);
+                unsubscribe(this);
+                this.buffer.clear();
+                return;
+            } finally {
+                this.scheduled.set(false);
+            }
+            if(!this.buffer.isEmpty()){
+                this.schedule();
+            }
+        }
+    }
+}
@@ -1,36 +1,87 @@
 package me.dio.santander_bootcamp.controller.exception;
 
 import me.dio.santander_bootcamp.service.exception.BusinessException;
+import me.dio.santander_bootcamp.service.exception.DeadlineExceededException;
 import me.dio.santander_bootcamp.service.exception.NotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 
-import java.util.NoSuchElementException;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestControllerAdvice
+// Registered with the handler so web slice tests, which only pick up controller advice, also get it
+@Import(ProblemBodies.class)
 public class GlobalExceptionHandler {
 
+    private static final String NOT_FOUND_MESSAGE = "Resource ID not found.";
+    private static final String UNEXPECTED_MESSAGE = "Unexpected server error.";
+    private static final String OVERLOADED_MESSAGE = "Server is busy, please retry.";
+    private static final String TIMED_OUT_MESSAGE = "Request deadline exceeded.";
+
     private final Logger LOGGER = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    private final ProblemBodies problemBodies;
+    private final byte[] notFoundBody;
+    private final byte[] unexpectedBody;
+    private final byte[] overloadedBody;
+    private final byte[] timedOutBody;
+
+    public GlobalExceptionHandler(ProblemBodies problemBodies) {
+        this.problemBodies = problemBodies;
+        this.notFoundBody = this.problemBodies.of(HttpStatus.NOT_FOUND, NOT_FOUND_MESSAGE);
+        this.unexpectedBody = this.problemBodies.of(HttpStatus.INTERNAL_SERVER_ERROR, UNEXPECTED_MESSAGE);
+        this.overloadedBody = this.problemBodies.of(HttpStatus.SERVICE_UNAVAILABLE, OVERLOADED_MESSAGE);
+        this.timedOutBody = this.problemBodies.of(HttpStatus.GATEWAY_TIMEOUT, TIMED_OUT_MESSAGE);
+    }
+
     @ExceptionHandler(BusinessException.class)
-    public ResponseEntity<String> handleBusinessException(BusinessException ex) {
-        return new ResponseEntity<>(ex.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY);
+    public ResponseEntity<byte[]> handleBusinessException(BusinessException ex) {
+        return problem(HttpStatus.UNPROCESSABLE_ENTITY, this.problemBodies.of(HttpStatus.UNPROCESSABLE_ENTITY, ex.getMessage()));
     }
 
     @ExceptionHandler(NotFoundException.class)
-    public ResponseEntity<String> handleNoContentException() {
-        return new ResponseEntity<>("Resource ID not found.", HttpStatus.NOT_FOUND);
+    public ResponseEntity<byte[]> handleNoContentException() {
+        return problem(HttpStatus.NOT_FOUND, this.notFoundBody);
+    }
+
+    // Worth a retry rather than a 500: an exhausted pool (connection-timeout), an unreachable database
+    // or work dropped because its deadline passed before it started
+    @ExceptionHandler({RejectedExecutionException.class, AsyncRequestTimeoutException.class, DeadlineExceededException.class,
+            CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<byte[]> handleOverload() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .body(this.overloadedBody);
+    }
+
+    // The request's deadline ran out while its queries were running
+    @ExceptionHandler({QueryTimeoutException.class, jakarta.persistence.QueryTimeoutException.class,
+            TransactionTimedOutException.class})
+    public ResponseEntity<byte[]> handleTimeout() {
+        return problem(HttpStatus.GATEWAY_TIMEOUT, this.timedOutBody);
     }
 
     @ExceptionHandler(Throwable.class)
-    public ResponseEntity<String> handleUnexpectedException(Throwable unexpectedException) {
-        String message = "Unexpected server error.";
-        LOGGER.error(message, unexpectedException);
-        return new ResponseEntity<>(message, HttpStatus.INTERNAL_SERVER_ERROR);
+    public ResponseEntity<byte[]> handleUnexpectedException(Throwable unexpectedException) {
+        LOGGER.error(UNEXPECTED_MESSAGE, unexpectedException);
+        return problem(HttpStatus.INTERNAL_SERVER_ERROR, this.unexpectedBody);
+    }
+
+    private static ResponseEntity<byte[]> problem(HttpStatus status, byte[] body) {
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_PROBLEM_JSON).body(body);
     }
 
 }
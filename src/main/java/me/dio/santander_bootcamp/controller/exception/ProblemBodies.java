@@ -0,0 +1,76 @@
+package me.dio.santander_bootcamp.controller.exception;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serialized {@code application/problem+json} bodies (RFC 9457) reused across responses. The
+ * bodies carry no per-request member such as {@code instance}, so one byte array per status and
+ * detail can be shared. Business error details come from a small set of constant messages;
+ * once {@code capacity} distinct ones are cached, further details are serialized per response.
+ * <p>
+ * Shared by the exception handler, which imports it as a bean, and the filters that answer before
+ * a controller runs, so every error of the API has the same shape.
+ */
+public class ProblemBodies {
+
+    private final ObjectMapper objectMapper;
+    private final Map<Key, byte[]> cache = new ConcurrentHashMap<>();
+    private final int capacity;
+
+    public ProblemBodies(ObjectMapper objectMapper, @Value("${app.errors.cached-bodies:256}") int capacity){
+        this.objectMapper = objectMapper;
+        this.capacity = capacity;
+    }
+
+    public byte[] of(HttpStatus status, String detail){
+        Key key = new Key(status, detail);
+        byte[] body = this.cache.get(key);
+        if(body != null){
+            return body;
+        }
+        body = this.serialize(status, detail);
+        if(this.cache.size() < this.capacity){
+            this.cache.putIfAbsent(key, body);
+        }
+        return body;
+    }
+
+    /**
+     * Writes {@code body}, obtained from {@link #of}, as the complete {@code status} response.
+     */
+    public static void write(HttpServletResponse response, HttpStatus status, byte[] body) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private byte[] serialize(HttpStatus status, String detail){
+        Map<String, Object> problem = new LinkedHashMap<>();
+        problem.put("type", "about:blank");
+        problem.put("title", status.getReasonPhrase());
+        problem.put("status", status.value());
+        if(detail != null){
+            problem.put("detail", detail);
+        }
+        try {
+            return this.objectMapper.writeValueAsBytes(problem);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize problem details.", ex);
+        }
+    }
+
+    private record Key(HttpStatus status, String detail) {
+    }
+}
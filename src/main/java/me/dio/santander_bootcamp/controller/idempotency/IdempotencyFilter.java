@@ -0,0 +1,193 @@
+package me.dio.santander_bootcamp.controller.idempotency;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import me.dio.santander_bootcamp.config.tenant.TenantContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Replays the stored response for mutation requests carrying an {@code Idempotency-Key} header.
+ * Keys are scoped by tenant, method and path, and reusing a key with a different body is rejected.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Set<String> MUTATION_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final IdempotencyStore store;
+    private final long waitMillis;
+
+    public IdempotencyFilter(IdempotencyStore store, Duration inFlightWait){
+        this.store = store;
+        this.waitMillis = inFlightWait.toMillis();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request){
+        return !MUTATION_METHODS.contains(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        byte[] body = request.getInputStream().readAllBytes();
+        String tenant = TenantContext.current();
+        String key = (tenant == null ? "" : tenant + " ") + request.getMethod() + " " + request.getRequestURI() + " "
+                + request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        String fingerprint = DigestUtils.md5DigestAsHex(body);
+
+        while(true){
+            IdempotencyStore.Entry entry = this.store.begin(key);
+            if(entry.isOwner()){
+                this.execute(new CachedBodyRequest(request, body), response, chain, key, entry, fingerprint);
+                return;
+            }
+            StoredResponse stored;
+            try {
+                stored = entry.result().get(this.waitMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException ex) {
+                writeText(response, HttpStatus.CONFLICT, "A request with this Idempotency-Key is still being processed.");
+                return;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                writeText(response, HttpStatus.SERVICE_UNAVAILABLE, "Request interrupted.");
+                return;
+            } catch (ExecutionException ex) {
+                continue;
+            }
+            if(stored == null){
+                continue;
+            }
+            if(!stored.fingerprint().equals(fingerprint)){
+                writeText(response, HttpStatus.UNPROCESSABLE_ENTITY, "Idempotency-Key was already used with a different request.");
+                return;
+            }
+            replay(response, stored);
+            return;
+        }
+    }
+
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain chain,
+                         String key, IdempotencyStore.Entry entry, String fingerprint) throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            chain.doFilter(request, wrapper);
+            if(wrapper.getStatus() < HttpStatus.INTERNAL_SERVER_ERROR.value()){
+                this.store.complete(key, entry, new StoredResponse(
+                        fingerprint,
+                        wrapper.getStatus(),
+                        wrapper.getContentType(),
+                        wrapper.getHeader(HttpHeaders.LOCATION),
+                        wrapper.getContentAsByteArray()));
+                completed = true;
+            }
+        } finally {
+            if(!completed){
+                this.store.abandon(key, entry);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private static void replay(HttpServletResponse response, StoredResponse stored) throws IOException {
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if(stored.location() != null){
+            response.setHeader(HttpHeaders.LOCATION, stored.location());
+        }
+        if(stored.contentType() != null){
+            response.setContentType(stored.contentType());
+        }
+        if(stored.body() != null && stored.body().length > 0){
+            response.setContentLength(stored.body().length);
+            response.getOutputStream().write(stored.body());
+        }
+    }
+
+    private static void writeText(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(message);
+    }
+
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body){
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream(){
+            ByteArrayInputStream source = new ByteArrayInputStream(this.body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished(){
+                    return source.available() == 0;
+                }
+
+                @Override
+                public boolean isReady(){
+                    return true;
+                }
+
+                // The body is already in memory: all of it is available at once, then it is all read
+                @Override
+                public void setReadListener(ReadListener listener){
+                    Objects.requireNonNull(listener, "listener");
+                    try {
+                        if(!this.isFinished()){
+                            listener.onDataAvailable();
+                        }
+                        listener.onAllDataRead();
+                    } catch (IOException | RuntimeException ex) {
+                        listener.onError(ex);
+                    }
+                }
+
+                @Override
+                public int read(){
+                    return source.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length){
+                    return source.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader(){
+            return new BufferedReader(new InputStreamReader(this.getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
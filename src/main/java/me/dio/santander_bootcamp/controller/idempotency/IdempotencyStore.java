@@ -0,0 +1,199 @@
+package me.dio.santander_bootcamp.controller.idempotency;
+
+import me.dio.santander_bootcamp.config.tenant.TenantContext;
+import me.dio.santander_bootcamp.domain.model.IdempotencyRecord;
+import me.dio.santander_bootcamp.domain.repository.IdempotencyRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Bounded, TTL-evicted store of responses keyed by idempotency key.
+ * <p>
+ * The first request for a key {@linkplain #begin acquires} it and executes; concurrent
+ * duplicates receive the same in-flight {@link Entry} and wait on its result instead of racing.
+ * Entries still executing are never evicted. Capacity applies per
+ * {@linkplain TenantContext tenant}, so a tenant flooding the store only evicts its own
+ * responses. When a repository is supplied, completed responses are also written through to the
+ * database and looked up there on a local miss.
+ */
+public class IdempotencyStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IdempotencyStore.class);
+    private static final String NO_TENANT = "";
+
+    private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+    private final IdempotencyRecordRepository repository;
+    private final int capacity;
+    private final Duration ttl;
+    private final Clock clock;
+
+    public IdempotencyStore(IdempotencyRecordRepository repository, int capacity, Duration ttl, Clock clock){
+        this.repository = repository;
+        this.capacity = capacity;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns an entry whose {@link Entry#isOwner() owner} flag tells the caller whether it must
+     * execute the request ({@code true}) or wait on {@link Entry#result()} for the first execution.
+     */
+    public Entry begin(String key){
+        String tenant = TenantContext.current();
+        Partition partition = this.partitions.computeIfAbsent(tenant == null ? NO_TENANT : tenant, t -> new Partition());
+        while(true){
+            Entry fresh = new Entry(true, partition);
+            Entry existing = partition.entries.putIfAbsent(key, fresh);
+            if(existing == null){
+                partition.insertionOrder.add(key);
+                Optional<StoredResponse> persisted = this.findPersisted(key);
+                if(persisted.isPresent()){
+                    fresh.complete(persisted.get(), this.clock.instant().plus(this.ttl));
+                    return new Entry(false, fresh);
+                }
+                partition.evictOverflow(this.capacity);
+                return fresh;
+            }
+            if(existing.isExpired(this.clock.instant())){
+                partition.entries.remove(key, existing);
+                continue;
+            }
+            return new Entry(false, existing);
+        }
+    }
+
+    public void complete(String key, Entry entry, StoredResponse response){
+        Instant expiresAt = this.clock.instant().plus(this.ttl);
+        entry.complete(response, expiresAt);
+        if(this.repository != null){
+            try {
+                this.repository.save(toRecord(key, response, expiresAt));
+            } catch (RuntimeException ex) {
+                LOGGER.warn("Could not persist idempotent response for key {}", key, ex);
+            }
+        }
+    }
+
+    public void abandon(String key, Entry entry){
+        entry.partition.entries.remove(key, entry);
+        entry.result.complete(null);
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.eviction-interval:PT1M}")
+    public void evictExpired(){
+        Instant now = this.clock.instant();
+        this.partitions.values().forEach(partition -> partition.evictExpired(now));
+        if(this.repository != null){
+            this.repository.deleteExpired(now);
+        }
+    }
+
+    public int size(){
+        return this.partitions.values().stream().mapToInt(partition -> partition.entries.size()).sum();
+    }
+
+    private Optional<StoredResponse> findPersisted(String key){
+        if(this.repository == null){
+            return Optional.empty();
+        }
+        Instant now = this.clock.instant();
+        return this.repository.findById(key)
+                .filter(record -> record.getExpiresAt().isAfter(now))
+                .map(record -> new StoredResponse(record.getFingerprint(), record.getStatus(),
+                        record.getContentType(), record.getLocation(), record.getBody()));
+    }
+
+    private static IdempotencyRecord toRecord(String key, StoredResponse response, Instant expiresAt){
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setKey(key);
+        record.setFingerprint(response.fingerprint());
+        record.setStatus(response.status());
+        record.setContentType(response.contentType());
+        record.setLocation(response.location());
+        record.setBody(response.body());
+        record.setExpiresAt(expiresAt);
+        return record;
+    }
+
+    private static final class Partition {
+
+        private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+        private final Queue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+
+        private void evictOverflow(int capacity){
+            int attempts = this.insertionOrder.size();
+            while(this.entries.size() > capacity && attempts-- > 0){
+                String oldest = this.insertionOrder.poll();
+                if(oldest == null){
+                    return;
+                }
+                Entry entry = this.entries.get(oldest);
+                if(entry != null && !entry.result.isDone()){
+                    this.insertionOrder.add(oldest);
+                    continue;
+                }
+                if(entry != null){
+                    this.entries.remove(oldest, entry);
+                }
+            }
+        }
+
+        private void evictExpired(Instant now){
+            this.entries.entrySet().removeIf(e -> e.getValue().isExpired(now));
+            this.insertionOrder.removeIf(key -> !this.entries.containsKey(key));
+        }
+    }
+
+    public static final class Entry {
+
+        private final boolean owner;
+        private final Partition partition;
+        private final CompletableFuture<StoredResponse> result;
+        private volatile Instant expiresAt;
+
+        private Entry(boolean owner, Partition partition){
+            this.owner = owner;
+            this.partition = partition;
+            this.result = new CompletableFuture<>();
+        }
+
+        private Entry(boolean owner, Entry shared){
+            this.owner = owner;
+            this.partition = shared.partition;
+            this.result = shared.result;
+        }
+
+        public boolean isOwner(){
+            return this.owner;
+        }
+
+        /**
+         * Completes with the stored response, or with {@code null} when the owner abandoned the
+         * key so the waiter should retry.
+         */
+        public CompletableFuture<StoredResponse> result(){
+            return this.result;
+        }
+
+        private void complete(StoredResponse response, Instant expiresAt){
+            this.expiresAt = expiresAt;
+            this.result.complete(response);
+        }
+
+        private boolean isExpired(Instant now){
+            Instant expiry = this.expiresAt;
+            return expiry != null && !now.isBefore(expiry);
+        }
+    }
+}
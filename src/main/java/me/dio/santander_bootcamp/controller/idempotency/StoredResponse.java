@@ -0,0 +1,5 @@
+package me.dio.santander_bootcamp.controller.idempotency;
+
+public record StoredResponse(String fingerprint, int status, String contentType, String location, byte[] body) {
+
+}
@@ -0,0 +1,25 @@
+package me.dio.santander_bootcamp.controller.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Set;
+
+public enum EndpointGroup {
+    LIST,
+    READ,
+    WRITE;
+
+    private static final Set<String> LIST_PATHS = Set.of("/users", "/users/", "/users/summary", "/users/search");
+    private static final String REACTIVE_PREFIX = "/reactive";
+
+    public static EndpointGroup of(HttpServletRequest request){
+        if(!"GET".equals(request.getMethod())){
+            return WRITE;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if(path.startsWith(REACTIVE_PREFIX)){
+            path = path.substring(REACTIVE_PREFIX.length());
+        }
+        return LIST_PATHS.contains(path) ? LIST : READ;
+    }
+}
@@ -0,0 +1,86 @@
+package me.dio.santander_bootcamp.controller.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control in front of the user API: a per-client token bucket per endpoint group
+ * (429 when exhausted) followed by a global concurrency limit that sheds load (503) before
+ * requests queue up on the connection pool. Clients are identified by remote address; no
+ * request header is trusted for it, since the API has no authentication to verify one.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final Semaphore concurrency;
+    private final Map<EndpointGroup, Counter> throttled = new EnumMap<>(EndpointGroup.class);
+    private final Counter shed;
+
+    public RateLimitFilter(RateLimiter rateLimiter, int maxConcurrentRequests, MeterRegistry meterRegistry){
+        this.rateLimiter = rateLimiter;
+        this.concurrency = new Semaphore(maxConcurrentRequests);
+        for(EndpointGroup group : EndpointGroup.values()){
+            this.throttled.put(group, Counter.builder("app.ratelimit.rejected")
+                    .tag("group", group.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        this.shed = Counter.builder("app.concurrency.shed").register(meterRegistry);
+        meterRegistry.gauge("app.ratelimit.buckets", rateLimiter, RateLimiter::bucketCount);
+        meterRegistry.gauge("app.concurrency.in_flight", this.concurrency,
+                semaphore -> maxConcurrentRequests - semaphore.availablePermits());
+    }
+
+    public static String clientKey(HttpServletRequest request){
+        return request.getRemoteAddr();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        EndpointGroup group = EndpointGroup.of(request);
+        long waitNanos = this.rateLimiter.tryAcquire(clientKey(request), group, System.nanoTime());
+        if(waitNanos > 0){
+            this.throttled.get(group).increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, retryAfterSeconds(waitNanos), "Rate limit exceeded.");
+            return;
+        }
+        if(!this.concurrency.tryAcquire()){
+            this.shed.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1, "Server is busy, please retry.");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            this.concurrency.release();
+        }
+    }
+
+    private static long retryAfterSeconds(long waitNanos){
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(message);
+    }
+}
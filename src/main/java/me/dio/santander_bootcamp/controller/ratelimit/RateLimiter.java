@@ -0,0 +1,63 @@
+package me.dio.santander_bootcamp.controller.ratelimit;
+
+import me.dio.santander_bootcamp.service.util.TokenBucket;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps one {@link TokenBucket} per client and endpoint group. Each group has its own budget
+ * and request cost, so an expensive listing loop drains only the caller's list budget. The
+ * number of buckets is capped: once full, new clients share one overflow bucket per group
+ * until idle buckets are evicted.
+ */
+public class RateLimiter {
+
+    static final String OVERFLOW_KEY = "*overflow*";
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<EndpointGroup, Budget> budgets;
+    private final long idleTtlNanos;
+    private final int maxBuckets;
+
+    public RateLimiter(Map<EndpointGroup, Budget> budgets, Duration idleTtl, int maxBuckets){
+        this.budgets = new EnumMap<>(budgets);
+        this.idleTtlNanos = idleTtl.toNanos();
+        this.maxBuckets = maxBuckets;
+    }
+
+    /**
+     * @return {@code 0} when the request is admitted, otherwise the nanoseconds until it would be
+     */
+    public long tryAcquire(String clientKey, EndpointGroup group, long nowNanos){
+        Budget budget = this.budgets.get(group);
+        String key = group.name() + ':' + clientKey;
+        TokenBucket bucket = this.buckets.get(key);
+        if(bucket == null){
+            // The size check races with other inserts, so the cap can be overshot by the number of request threads
+            if(this.buckets.size() >= this.maxBuckets){
+                key = group.name() + ':' + OVERFLOW_KEY;
+            }
+            bucket = this.buckets.computeIfAbsent(key,
+                    ignored -> new TokenBucket(budget.capacity(), budget.refillPerSecond(), nowNanos));
+        }
+        return bucket.tryConsume(budget.cost(), nowNanos);
+    }
+
+    public int bucketCount(){
+        return this.buckets.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.idle-bucket-ttl:PT10M}")
+    public void evictIdleBuckets(){
+        long now = System.nanoTime();
+        this.buckets.values().removeIf(bucket -> now - bucket.lastAccessNanos() > this.idleTtlNanos);
+    }
+
+    public record Budget(long capacity, double refillPerSecond, int cost) {
+
+    }
+}
@@ -0,0 +1,67 @@
+package me.dio.santander_bootcamp.controller.tenant;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import me.dio.santander_bootcamp.config.tenant.TenantContext;
+import me.dio.santander_bootcamp.controller.exception.ProblemBodies;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Resolves the tenant of every user API request from {@value #TENANT_HEADER}, falling back to
+ * {@code defaultTenant} without one, and sets it as the {@linkplain TenantContext current tenant}
+ * for the rest of the chain and as the {@link #TENANT_ATTRIBUTE} request attribute read by the
+ * request metrics. Unknown tenants are rejected with a 400 problem body and counted in
+ * {@code app.tenant.rejected}.
+ */
+public class TenantFilter extends OncePerRequestFilter {
+
+    public static final String TENANT_HEADER = "X-Tenant-Id";
+    public static final String TENANT_ATTRIBUTE = TenantFilter.class.getName() + ".tenant";
+
+    private static final String UNKNOWN_TENANT_MESSAGE = "Unknown tenant.";
+
+    private final Set<String> tenants;
+    private final String defaultTenant;
+    private final Counter rejected;
+    private final byte[] unknownTenantBody;
+
+    public TenantFilter(Set<String> tenants, String defaultTenant, MeterRegistry meterRegistry, ProblemBodies problemBodies){
+        this.tenants = Set.copyOf(tenants);
+        this.defaultTenant = defaultTenant;
+        this.rejected = Counter.builder("app.tenant.rejected").register(meterRegistry);
+        this.unknownTenantBody = problemBodies.of(HttpStatus.BAD_REQUEST, UNKNOWN_TENANT_MESSAGE);
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch(){
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(TENANT_HEADER);
+        String tenant = header == null || header.isBlank() ? this.defaultTenant : header.trim();
+        if(!this.tenants.contains(tenant)){
+            this.rejected.increment();
+            ProblemBodies.write(response, HttpStatus.BAD_REQUEST, this.unknownTenantBody);
+            return;
+        }
+        request.setAttribute(TENANT_ATTRIBUTE, tenant);
+        String previous = TenantContext.current();
+        TenantContext.set(tenant);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            TenantContext.set(previous);
+        }
+    }
+}
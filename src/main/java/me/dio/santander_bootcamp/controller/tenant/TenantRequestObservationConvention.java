@@ -0,0 +1,21 @@
+package me.dio.santander_bootcamp.controller.tenant;
+
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+/**
+ * Adds a {@code tenant} tag to {@code http.server.requests}, so latency and error rates can be
+ * told apart per tenant. The value comes from {@link TenantFilter}, which only admits configured
+ * tenants; requests it did not resolve are tagged {@value #NONE}.
+ */
+public class TenantRequestObservationConvention extends DefaultServerRequestObservationConvention {
+
+    private static final String NONE = "none";
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context){
+        Object tenant = context.getCarrier().getAttribute(TenantFilter.TENANT_ATTRIBUTE);
+        return super.getLowCardinalityKeyValues(context).and("tenant", tenant == null ? NONE : tenant.toString());
+    }
+}
@@ -1,9 +1,9 @@
 package me.dio.santander_bootcamp.domain.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 
-import java.math.BigDecimal;
-
+@DynamicUpdate
 @Entity(name = "tb_account")
 public class Account {
 
@@ -17,10 +17,10 @@ public class Account {
     private String agency;
 
     @Column(scale = 2, precision = 13)
-    private BigDecimal balance;
+    private Money balance;
 
     @Column(name = "additional_limit", scale = 2, precision = 13)
-    private BigDecimal limit;
+    private Money limit;
 
     public Long getId() {
         return id;
@@ -46,19 +46,19 @@ public class Account {
         this.agency = agency;
     }
 
-    public BigDecimal getBalance() {
+    public Money getBalance() {
         return balance;
     }
 
-    public void setBalance(BigDecimal balance) {
+    public void setBalance(Money balance) {
         this.balance = balance;
     }
 
-    public BigDecimal getLimit() {
+    public Money getLimit() {
         return limit;
     }
 
-    public void setLimit(BigDecimal limit) {
+    public void setLimit(Money limit) {
         this.limit = limit;
     }
 }
@@ -0,0 +1,4 @@
+package me.dio.santander_bootcamp.domain.model;
+
+public record AccountBatchItem(Long userId, String tenantId, Account account, Card card) {
+}
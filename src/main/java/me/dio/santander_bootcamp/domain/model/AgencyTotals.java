@@ -0,0 +1,118 @@
+package me.dio.santander_bootcamp.domain.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+@Entity(name = "tb_agency_totals")
+@IdClass(AgencyTotals.Key.class)
+public class AgencyTotals {
+
+    @Id
+    @Column(name = "tenant_id", length = 64)
+    private String tenantId;
+
+    @Id
+    private String agency;
+
+    @Id
+    private Integer cardLimitBucket;
+
+    private Long userCount;
+
+    @Column(scale = 2, precision = 19)
+    private BigDecimal totalBalance;
+
+    @Column(scale = 2, precision = 19)
+    private BigDecimal totalAccountLimit;
+
+    @Column(scale = 2, precision = 19)
+    private BigDecimal totalCardLimit;
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(String tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public String getAgency() {
+        return agency;
+    }
+
+    public void setAgency(String agency) {
+        this.agency = agency;
+    }
+
+    public Integer getCardLimitBucket() {
+        return cardLimitBucket;
+    }
+
+    public void setCardLimitBucket(Integer cardLimitBucket) {
+        this.cardLimitBucket = cardLimitBucket;
+    }
+
+    public Long getUserCount() {
+        return userCount;
+    }
+
+    public void setUserCount(Long userCount) {
+        this.userCount = userCount;
+    }
+
+    public BigDecimal getTotalBalance() {
+        return totalBalance;
+    }
+
+    public void setTotalBalance(BigDecimal totalBalance) {
+        this.totalBalance = totalBalance;
+    }
+
+    public BigDecimal getTotalAccountLimit() {
+        return totalAccountLimit;
+    }
+
+    public void setTotalAccountLimit(BigDecimal totalAccountLimit) {
+        this.totalAccountLimit = totalAccountLimit;
+    }
+
+    public BigDecimal getTotalCardLimit() {
+        return totalCardLimit;
+    }
+
+    public void setTotalCardLimit(BigDecimal totalCardLimit) {
+        this.totalCardLimit = totalCardLimit;
+    }
+
+    public static class Key implements Serializable {
+
+        private String tenantId;
+        private String agency;
+        private Integer cardLimitBucket;
+
+        public Key() {
+        }
+
+        public Key(String tenantId, String agency, Integer cardLimitBucket) {
+            this.tenantId = tenantId;
+            this.agency = agency;
+            this.cardLimitBucket = cardLimitBucket;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key
+                    && Objects.equals(tenantId, key.tenantId)
+                    && Objects.equals(agency, key.agency)
+                    && Objects.equals(cardLimitBucket, key.cardLimitBucket);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tenantId, agency, cardLimitBucket);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package me.dio.santander_bootcamp.domain.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+
+@Entity(name = "tb_agency_totals_delta")
+public class AgencyTotalsDelta {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "tenant_id", nullable = false, length = 64)
+    private String tenantId;
+
+    private String agency;
+
+    private Integer cardLimitBucket;
+
+    private Long userCount;
+
+    @Column(scale = 2, precision = 19)
+    private BigDecimal totalBalance;
+
+    @Column(scale = 2, precision = 19)
+    private BigDecimal totalAccountLimit;
+
+    @Column(scale = 2, precision = 19)
+    private BigDecimal totalCardLimit;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(String tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public String getAgency() {
+        return agency;
+    }
+
+    public void setAgency(String agency) {
+        this.agency = agency;
+    }
+
+    public Integer getCardLimitBucket() {
+        return cardLimitBucket;
+    }
+
+    public void setCardLimitBucket(Integer cardLimitBucket) {
+        this.cardLimitBucket = cardLimitBucket;
+    }
+
+    public Long getUserCount() {
+        return userCount;
+    }
+
+    public void setUserCount(Long userCount) {
+        this.userCount = userCount;
+    }
+
+    public BigDecimal getTotalBalance() {
+        return totalBalance;
+    }
+
+    public void setTotalBalance(BigDecimal totalBalance) {
+        this.totalBalance = totalBalance;
+    }
+
+    public BigDecimal getTotalAccountLimit() {
+        return totalAccountLimit;
+    }
+
+    public void setTotalAccountLimit(BigDecimal totalAccountLimit) {
+        this.totalAccountLimit = totalAccountLimit;
+    }
+
+    public BigDecimal getTotalCardLimit() {
+        return totalCardLimit;
+    }
+
+    public void setTotalCardLimit(BigDecimal totalCardLimit) {
+        this.totalCardLimit = totalCardLimit;
+    }
+}
@@ -0,0 +1,7 @@
+package me.dio.santander_bootcamp.domain.model;
+
+import java.math.BigDecimal;
+
+public record AgencyTotalsRow(String tenantId, String agency, Integer cardLimitBucket, Long userCount,
+                              BigDecimal totalBalance, BigDecimal totalAccountLimit, BigDecimal totalCardLimit) {
+}
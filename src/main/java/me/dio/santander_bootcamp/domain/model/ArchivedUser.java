@@ -0,0 +1,134 @@
+package me.dio.santander_bootcamp.domain.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Cold copy of an inactive user with its account, card, features and news packed into
+ * {@code payload}. Account and card numbers stay in columns so they remain unique across the hot
+ * and cold tiers. The tenant is a plain column rather than a {@code @TenantId}, so those checks stay
+ * global; restores compare it with the caller's tenant. The agency and money figures are kept in
+ * columns as well, so agency totals can be rebuilt without decoding payloads.
+ */
+@Entity(name = "tb_user_archive")
+public class ArchivedUser {
+
+    @Id
+    private Long userId;
+
+    @Column(unique = true)
+    private String accountNumber;
+
+    @Column(unique = true)
+    private String cardNumber;
+
+    @Column(name = "tenant_id", nullable = false, length = 64)
+    private String tenantId;
+
+    private String agency;
+
+    @Column(scale = 2, precision = 13)
+    private Money balance;
+
+    @Column(name = "additional_limit", scale = 2, precision = 13)
+    private Money accountLimit;
+
+    @Column(name = "available_limit", scale = 2, precision = 13)
+    private Money cardLimit;
+
+    private Instant lastActivityAt;
+
+    private Instant archivedAt;
+
+    @Column(length = 65536)
+    private byte[] payload;
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public void setAccountNumber(String accountNumber) {
+        this.accountNumber = accountNumber;
+    }
+
+    public String getCardNumber() {
+        return cardNumber;
+    }
+
+    public void setCardNumber(String cardNumber) {
+        this.cardNumber = cardNumber;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(String tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public String getAgency() {
+        return agency;
+    }
+
+    public void setAgency(String agency) {
+        this.agency = agency;
+    }
+
+    public Money getBalance() {
+        return balance;
+    }
+
+    public void setBalance(Money balance) {
+        this.balance = balance;
+    }
+
+    public Money getAccountLimit() {
+        return accountLimit;
+    }
+
+    public void setAccountLimit(Money accountLimit) {
+        this.accountLimit = accountLimit;
+    }
+
+    public Money getCardLimit() {
+        return cardLimit;
+    }
+
+    public void setCardLimit(Money cardLimit) {
+        this.cardLimit = cardLimit;
+    }
+
+    public Instant getLastActivityAt() {
+        return lastActivityAt;
+    }
+
+    public void setLastActivityAt(Instant lastActivityAt) {
+        this.lastActivityAt = lastActivityAt;
+    }
+
+    public Instant getArchivedAt() {
+        return archivedAt;
+    }
+
+    public void setArchivedAt(Instant archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    public void setPayload(byte[] payload) {
+        this.payload = payload;
+    }
+}
@@ -0,0 +1,85 @@
+package me.dio.santander_bootcamp.domain.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Row of the audit log. Rows are inserted in batches by the audit writer through JDBC; the entity
+ * only describes the table.
+ */
+@Entity(name = "tb_audit_log")
+public class AuditRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Instant occurredAt;
+
+    private String caller;
+
+    private String operation;
+
+    private Long userId;
+
+    private int status;
+
+    private long durationMicros;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(Instant occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+
+    public String getCaller() {
+        return caller;
+    }
+
+    public void setCaller(String caller) {
+        this.caller = caller;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public long getDurationMicros() {
+        return durationMicros;
+    }
+
+    public void setDurationMicros(long durationMicros) {
+        this.durationMicros = durationMicros;
+    }
+}
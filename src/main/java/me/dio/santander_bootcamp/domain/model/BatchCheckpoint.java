@@ -0,0 +1,146 @@
+package me.dio.santander_bootcamp.domain.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+@Entity(name = "tb_batch_checkpoint")
+@IdClass(BatchCheckpoint.Key.class)
+public class BatchCheckpoint {
+
+    @Id
+    @Column(length = 64)
+    private String jobName;
+
+    @Id
+    @Column(length = 32)
+    private String runKey;
+
+    @Id
+    private Integer partitionIndex;
+
+    private Long firstId;
+
+    private Long lastId;
+
+    private Long lastProcessedId;
+
+    private Long processedCount;
+
+    private Long changedCount;
+
+    private boolean completed;
+
+    private Instant updatedAt;
+
+    public String getJobName() {
+        return jobName;
+    }
+
+    public void setJobName(String jobName) {
+        this.jobName = jobName;
+    }
+
+    public String getRunKey() {
+        return runKey;
+    }
+
+    public void setRunKey(String runKey) {
+        this.runKey = runKey;
+    }
+
+    public Integer getPartitionIndex() {
+        return partitionIndex;
+    }
+
+    public void setPartitionIndex(Integer partitionIndex) {
+        this.partitionIndex = partitionIndex;
+    }
+
+    public Long getFirstId() {
+        return firstId;
+    }
+
+    public void setFirstId(Long firstId) {
+        this.firstId = firstId;
+    }
+
+    public Long getLastId() {
+        return lastId;
+    }
+
+    public void setLastId(Long lastId) {
+        this.lastId = lastId;
+    }
+
+    public Long getLastProcessedId() {
+        return lastProcessedId;
+    }
+
+    public void setLastProcessedId(Long lastProcessedId) {
+        this.lastProcessedId = lastProcessedId;
+    }
+
+    public Long getProcessedCount() {
+        return processedCount;
+    }
+
+    public void setProcessedCount(Long processedCount) {
+        this.processedCount = processedCount;
+    }
+
+    public Long getChangedCount() {
+        return changedCount;
+    }
+
+    public void setChangedCount(Long changedCount) {
+        this.changedCount = changedCount;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public static class Key implements Serializable {
+
+        private String jobName;
+        private String runKey;
+        private Integer partitionIndex;
+
+        public Key() {
+        }
+
+        public Key(String jobName, String runKey, Integer partitionIndex) {
+            this.jobName = jobName;
+            this.runKey = runKey;
+            this.partitionIndex = partitionIndex;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key
+                    && Objects.equals(jobName, key.jobName)
+                    && Objects.equals(runKey, key.runKey)
+                    && Objects.equals(partitionIndex, key.partitionIndex);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(jobName, runKey, partitionIndex);
+        }
+    }
+}
@@ -1,9 +1,9 @@
 package me.dio.santander_bootcamp.domain.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 
-import java.math.BigDecimal;
-
+@DynamicUpdate
 @Entity(name = "tb_card")
 public class Card {
 
@@ -15,7 +15,7 @@ public class Card {
     private String number;
 
     @Column(name = "available_limit", scale = 2, precision = 13)
-    private BigDecimal limit;
+    private Money limit;
 
     public Long getId() {
         return id;
@@ -33,11 +33,11 @@ public class Card {
         this.number = number;
     }
 
-    public BigDecimal getLimit() {
+    public Money getLimit() {
         return limit;
     }
 
-    public void setLimit(BigDecimal limit) {
+    public void setLimit(Money limit) {
         this.limit = limit;
     }
 }
@@ -0,0 +1,40 @@
+package me.dio.santander_bootcamp.domain.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+@Entity(name = "tb_card_ledger_checkpoint")
+public class CardLedgerCheckpoint {
+
+    @Id
+    private Long userId;
+
+    private Long appliedSequence;
+
+    private Instant updatedAt;
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getAppliedSequence() {
+        return appliedSequence;
+    }
+
+    public void setAppliedSequence(Long appliedSequence) {
+        this.appliedSequence = appliedSequence;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,198 @@
+package me.dio.santander_bootcamp.domain.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Immutable amount of money held as a {@code long} count of cents.
+ * <p>
+ * Arithmetic is exact and overflow-checked ({@link ArithmeticException}) and allocates nothing
+ * beyond the result, unlike {@link BigDecimal}. Amounts map to the existing {@code numeric(13,2)}
+ * columns through {@link MoneyConverter} and are written to JSON as plain numbers with two
+ * decimals, the same shape the {@code BigDecimal} fields produced.
+ */
+@JsonSerialize(using = MoneyJson.Serializer.class)
+@JsonDeserialize(using = MoneyJson.Deserializer.class)
+@Schema(type = "number", format = "decimal", example = "1000.00")
+public final class Money implements Comparable<Money>, Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public static final Money ZERO = new Money(0);
+
+    /**
+     * Longest text {@link #format(char[])} writes: {@code -92233720368547758.08}.
+     */
+    public static final int MAX_TEXT_LENGTH = 21;
+
+    private static final int SCALE = 2;
+    private static final long CENTS_PER_UNIT = 100;
+
+    private final long cents;
+
+    private Money(long cents){
+        this.cents = cents;
+    }
+
+    public static Money ofCents(long cents){
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    /**
+     * Converts an amount with at most two significant decimal places; finer amounts are rejected
+     * with an {@link ArithmeticException} rather than silently rounded.
+     */
+    public static Money of(BigDecimal amount){
+        return ofCents(amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+    }
+
+    public static Money of(String amount){
+        return parse(amount);
+    }
+
+    /**
+     * Parses a plain decimal such as {@code -1234.5}; anything else (exponents, more than two
+     * decimals) goes through {@link BigDecimal} with the same exactness rule as {@link #of(BigDecimal)}.
+     */
+    public static Money parse(CharSequence text){
+        int length = text.length();
+        int index = 0;
+        boolean negative = false;
+        if(length > 0 && (text.charAt(0) == '-' || text.charAt(0) == '+')){
+            negative = text.charAt(0) == '-';
+            index++;
+        }
+        long units = 0;
+        int integerDigits = 0;
+        while(index < length && isDigit(text.charAt(index)) && integerDigits < 17){
+            units = units * 10 + (text.charAt(index++) - '0');
+            integerDigits++;
+        }
+        long fraction = 0;
+        int fractionDigits = 0;
+        if(index < length && text.charAt(index) == '.'){
+            index++;
+            while(index < length && isDigit(text.charAt(index)) && fractionDigits < SCALE){
+                fraction = fraction * 10 + (text.charAt(index++) - '0');
+                fractionDigits++;
+            }
+        }
+        if(index != length || (integerDigits == 0 && fractionDigits == 0)){
+            return of(new BigDecimal(text.toString()));
+        }
+        if(fractionDigits == 1){
+            fraction *= 10;
+        }
+        long cents = Math.addExact(Math.multiplyExact(units, CENTS_PER_UNIT), fraction);
+        return ofCents(negative ? -cents : cents);
+    }
+
+    private static boolean isDigit(char c){
+        return c >= '0' && c <= '9';
+    }
+
+    public long cents(){
+        return this.cents;
+    }
+
+    public Money plus(Money other){
+        return ofCents(Math.addExact(this.cents, other.cents));
+    }
+
+    public Money minus(Money other){
+        return ofCents(Math.subtractExact(this.cents, other.cents));
+    }
+
+    public Money times(long factor){
+        return ofCents(Math.multiplyExact(this.cents, factor));
+    }
+
+    public Money negate(){
+        return ofCents(Math.negateExact(this.cents));
+    }
+
+    public int signum(){
+        return Long.signum(this.cents);
+    }
+
+    public boolean isZero(){
+        return this.cents == 0;
+    }
+
+    public boolean isNegative(){
+        return this.cents < 0;
+    }
+
+    public BigDecimal toBigDecimal(){
+        return BigDecimal.valueOf(this.cents, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other){
+        return Long.compare(this.cents, other.cents);
+    }
+
+    @Override
+    public boolean equals(Object other){
+        return other instanceof Money money && money.cents == this.cents;
+    }
+
+    @Override
+    public int hashCode(){
+        return Long.hashCode(this.cents);
+    }
+
+    /**
+     * Plain decimal with exactly two fraction digits, e.g. {@code -12.05}.
+     */
+    @Override
+    public String toString(){
+        char[] text = new char[MAX_TEXT_LENGTH];
+        return new String(text, 0, this.format(text));
+    }
+
+    /**
+     * Writes the {@link #toString()} text into the start of {@code into}, which must hold at
+     * least {@link #MAX_TEXT_LENGTH} chars, and returns its length. Lets serializers hand the
+     * digits to the output without building a {@code String} per amount.
+     */
+    public int format(char[] into){
+        if(this.cents == Long.MIN_VALUE){
+            String text = this.toBigDecimal().toPlainString();
+            text.getChars(0, text.length(), into, 0);
+            return text.length();
+        }
+        long absolute = Math.abs(this.cents);
+        long units = absolute / CENTS_PER_UNIT;
+        int fraction = (int) (absolute % CENTS_PER_UNIT);
+        int length = (this.cents < 0 ? 1 : 0) + digits(units) + 1 + SCALE;
+        int position = length;
+        into[--position] = (char) ('0' + fraction % 10);
+        into[--position] = (char) ('0' + fraction / 10);
+        into[--position] = '.';
+        do {
+            into[--position] = (char) ('0' + units % 10);
+            units /= 10;
+        } while(units != 0);
+        if(this.cents < 0){
+            into[--position] = '-';
+        }
+        return length;
+    }
+
+    private static int digits(long value){
+        int digits = 1;
+        while(value >= 10){
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+}
@@ -0,0 +1,52 @@
+package me.dio.santander_bootcamp.domain.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+
+import java.io.IOException;
+
+final class MoneyJson {
+
+    private MoneyJson(){
+    }
+
+    public static final class Serializer extends StdScalarSerializer<Money> {
+
+        public Serializer(){
+            super(Money.class);
+        }
+
+        @Override
+        public void serialize(Money money, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            char[] text = new char[Money.MAX_TEXT_LENGTH];
+            generator.writeNumber(text, 0, money.format(text));
+        }
+    }
+
+    public static final class Deserializer extends StdScalarDeserializer<Money> {
+
+        public Deserializer(){
+            super(Money.class);
+        }
+
+        @Override
+        public Money deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            JsonToken token = parser.currentToken();
+            if(token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT || token == JsonToken.VALUE_STRING){
+                String text = parser.getText().trim();
+                try {
+                    return Money.parse(text);
+                } catch (ArithmeticException | NumberFormatException ex) {
+                    return (Money) context.handleWeirdStringValue(Money.class, text,
+                            "not an amount with at most two decimal places");
+                }
+            }
+            return (Money) context.handleUnexpectedToken(Money.class, parser);
+        }
+    }
+}
@@ -1,9 +1,15 @@
 package me.dio.santander_bootcamp.domain.model;
 
 import jakarta.persistence.*;
+import me.dio.santander_bootcamp.config.tenant.TenantContext;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.TenantId;
 
+import java.time.Instant;
 import java.util.List;
 
+@DynamicUpdate
 @Entity(name = "tb_user")
 public class User {
 
@@ -19,12 +25,30 @@ public class User {
     @OneToOne(cascade = CascadeType.ALL)
     private Card card;
 
+    @BatchSize(size = 100)
     @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
     private List<Feature> features;
 
+    @BatchSize(size = 100)
     @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
     private List<News> news;
 
+    private Instant lastActivityAt;
+
+    // Hibernate fills it from the session's tenant and filters every query on it
+    @TenantId
+    @Column(name = "tenant_id", nullable = false, updatable = false, length = 64)
+    private String tenantId;
+
+    @PrePersist
+    void assignTenant(){
+        // Sessions without a tenant (seeding, jobs) keep an explicit value; users created there go to the default tenant
+        if(tenantId == null){
+            String current = TenantContext.current();
+            tenantId = current == null ? TenantContext.DEFAULT_TENANT : current;
+        }
+    }
+
     public Long getId() {
         return id;
     }
@@ -72,4 +96,20 @@ public class User {
     public void setNews(List<News> news) {
         this.news = news;
     }
+
+    public Instant getLastActivityAt() {
+        return lastActivityAt;
+    }
+
+    public void setLastActivityAt(Instant lastActivityAt) {
+        this.lastActivityAt = lastActivityAt;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(String tenantId) {
+        this.tenantId = tenantId;
+    }
 }
@@ -0,0 +1,23 @@
+package me.dio.santander_bootcamp.domain.model;
+
+public record UserPosition(Long userId, String tenantId, String agency, Money balance, Money accountLimit, Money cardLimit) {
+
+    public static UserPosition of(User user){
+        return of(user.getId(), user.getTenantId(), user.getAccount(), user.getCard());
+    }
+
+    public static UserPosition of(Long userId, String tenantId, Account account, Card card){
+        return new UserPosition(
+                userId,
+                tenantId,
+                account == null ? null : account.getAgency(),
+                account == null ? null : account.getBalance(),
+                account == null ? null : account.getLimit(),
+                card == null ? null : card.getLimit());
+    }
+
+    public UserPosition withCardLimitIncreasedBy(Money amount){
+        return new UserPosition(this.userId, this.tenantId, this.agency, this.balance, this.accountLimit,
+                this.cardLimit == null ? null : this.cardLimit.plus(amount));
+    }
+}
@@ -0,0 +1,8 @@
+package me.dio.santander_bootcamp.domain.model;
+
+public record UserSearchDocument(Long id, String name, String accountNumber, String cardNumber, String tenantId) {
+
+    public UserSearchDocument(Long id, String name, String accountNumber, String cardNumber) {
+        this(id, name, accountNumber, cardNumber, null);
+    }
+}
@@ -0,0 +1,4 @@
+package me.dio.santander_bootcamp.domain.model;
+
+public record UserSummary(Long id, String name, String accountNumber, String agency, Money balance) {
+}
@@ -0,0 +1,54 @@
+package me.dio.santander_bootcamp.domain.repository;
+
+import me.dio.santander_bootcamp.domain.model.AgencyTotalsDelta;
+import me.dio.santander_bootcamp.domain.model.AgencyTotalsRow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AgencyTotalsDeltaRepository extends JpaRepository<AgencyTotalsDelta, Long> {
+
+    @Query("select max(d.id) from tb_agency_totals_delta d")
+    Long findMaxId();
+
+    @Query("select new me.dio.santander_bootcamp.domain.model.AgencyTotalsRow(d.tenantId, d.agency, d.cardLimitBucket, sum(d.userCount), "
+            + "sum(d.totalBalance), sum(d.totalAccountLimit), sum(d.totalCardLimit)) "
+            + "from tb_agency_totals_delta d where d.id <= :maxId group by d.tenantId, d.agency, d.cardLimitBucket")
+    List<AgencyTotalsRow> sumUpTo(Long maxId);
+
+    @Query("select new me.dio.santander_bootcamp.domain.model.AgencyTotalsRow(d.tenantId, d.agency, d.cardLimitBucket, sum(d.userCount), "
+            + "sum(d.totalBalance), sum(d.totalAccountLimit), sum(d.totalCardLimit)) "
+            + "from tb_agency_totals_delta d where d.agency = :agency group by d.tenantId, d.agency, d.cardLimitBucket")
+    List<AgencyTotalsRow> sumByAgency(String agency);
+
+    @Query("select new me.dio.santander_bootcamp.domain.model.AgencyTotalsRow(d.tenantId, d.agency, d.cardLimitBucket, sum(d.userCount), "
+            + "sum(d.totalBalance), sum(d.totalAccountLimit), sum(d.totalCardLimit)) "
+            + "from tb_agency_totals_delta d where d.tenantId = :tenantId and d.agency = :agency "
+            + "group by d.tenantId, d.agency, d.cardLimitBucket")
+    List<AgencyTotalsRow> sumOfTenantByAgency(String tenantId, String agency);
+
+    @Query("select new me.dio.santander_bootcamp.domain.model.AgencyTotalsRow(d.tenantId, d.agency, d.cardLimitBucket, sum(d.userCount), "
+            + "sum(d.totalBalance), sum(d.totalAccountLimit), sum(d.totalCardLimit)) "
+            + "from tb_agency_totals_delta d group by d.tenantId, d.agency, d.cardLimitBucket")
+    List<AgencyTotalsRow> sumAll();
+
+    @Query("select new me.dio.santander_bootcamp.domain.model.AgencyTotalsRow(d.tenantId, d.agency, d.cardLimitBucket, sum(d.userCount), "
+            + "sum(d.totalBalance), sum(d.totalAccountLimit), sum(d.totalCardLimit)) "
+            + "from tb_agency_totals_delta d where d.tenantId = :tenantId group by d.tenantId, d.agency, d.cardLimitBucket")
+    List<AgencyTotalsRow> sumOfTenant(String tenantId);
+
+    @Query("select count(d) from tb_agency_totals_delta d where d.id <= :maxId")
+    long countUpTo(Long maxId);
+
+    @Modifying
+    @Query("delete from tb_agency_totals_delta d where d.id <= :maxId")
+    int deleteUpTo(Long maxId);
+
+    @Modifying
+    @Query("delete from tb_agency_totals_delta d")
+    int deleteAllDeltas();
+}
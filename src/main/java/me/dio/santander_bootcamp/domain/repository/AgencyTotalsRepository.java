@@ -0,0 +1,35 @@
+package me.dio.santander_bootcamp.domain.repository;
+
+import me.dio.santander_bootcamp.domain.model.AgencyTotals;
+import me.dio.santander_bootcamp.domain.model.AgencyTotalsRow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AgencyTotalsRepository extends JpaRepository<AgencyTotals, AgencyTotals.Key> {
+
+    @Query("select new me.dio.santander_bootcamp.domain.model.AgencyTotalsRow(t.tenantId, t.agency, t.cardLimitBucket, t.userCount, "
+            + "t.totalBalance, t.totalAccountLimit, t.totalCardLimit) from tb_agency_totals t")
+    List<AgencyTotalsRow> findAllRows();
+
+    @Query("select new me.dio.santander_bootcamp.domain.model.AgencyTotalsRow(t.tenantId, t.agency, t.cardLimitBucket, t.userCount, "
+            + "t.totalBalance, t.totalAccountLimit, t.totalCardLimit) from tb_agency_totals t where t.tenantId = :tenantId")
+    List<AgencyTotalsRow> findAllRowsOfTenant(String tenantId);
+
+    @Query("select new me.dio.santander_bootcamp.domain.model.AgencyTotalsRow(t.tenantId, t.agency, t.cardLimitBucket, t.userCount, "
+            + "t.totalBalance, t.totalAccountLimit, t.totalCardLimit) from tb_agency_totals t where t.agency = :agency")
+    List<AgencyTotalsRow> findRowsByAgency(String agency);
+
+    @Query("select new me.dio.santander_bootcamp.domain.model.AgencyTotalsRow(t.tenantId, t.agency, t.cardLimitBucket, t.userCount, "
+            + "t.totalBalance, t.totalAccountLimit, t.totalCardLimit) from tb_agency_totals t "
+            + "where t.tenantId = :tenantId and t.agency = :agency")
+    List<AgencyTotalsRow> findRowsOfTenantByAgency(String tenantId, String agency);
+
+    @Modifying
+    @Query("delete from tb_agency_totals t")
+    int deleteAllTotals();
+}
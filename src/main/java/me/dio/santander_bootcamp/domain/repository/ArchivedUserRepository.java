@@ -0,0 +1,34 @@
+package me.dio.santander_bootcamp.domain.repository;
+
+import jakarta.persistence.LockModeType;
+import me.dio.santander_bootcamp.domain.model.ArchivedUser;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedUserRepository extends JpaRepository<ArchivedUser, Long> {
+
+    boolean existsByAccountNumber(String accountNumber);
+
+    boolean existsByCardNumber(String cardNumber);
+
+    boolean existsByUserIdAndTenantId(Long userId, String tenantId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from tb_user_archive a where a.userId = :userId")
+    Optional<ArchivedUser> findForRestore(Long userId);
+
+    @Query("""
+            select a from tb_user_archive a
+            where a.userId > :afterId and a.agency is null and a.balance is null
+              and a.accountLimit is null and a.cardLimit is null
+            order by a.userId
+            """)
+    List<ArchivedUser> findWithoutPosition(Long afterId, Limit limit);
+}
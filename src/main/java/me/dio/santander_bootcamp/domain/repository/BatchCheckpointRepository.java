@@ -0,0 +1,22 @@
+package me.dio.santander_bootcamp.domain.repository;
+
+import jakarta.persistence.LockModeType;
+import me.dio.santander_bootcamp.domain.model.BatchCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BatchCheckpointRepository extends JpaRepository<BatchCheckpoint, BatchCheckpoint.Key> {
+
+    List<BatchCheckpoint> findByJobNameAndRunKeyOrderByPartitionIndex(String jobName, String runKey);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from tb_batch_checkpoint c "
+            + "where c.jobName = :jobName and c.runKey = :runKey and c.partitionIndex = :partitionIndex")
+    Optional<BatchCheckpoint> lockPartition(String jobName, String runKey, Integer partitionIndex);
+}
@@ -0,0 +1,9 @@
+package me.dio.santander_bootcamp.domain.repository;
+
+import me.dio.santander_bootcamp.domain.model.CardLedgerCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CardLedgerCheckpointRepository extends JpaRepository<CardLedgerCheckpoint, Long> {
+}
@@ -0,0 +1,19 @@
+package me.dio.santander_bootcamp.domain.repository;
+
+import me.dio.santander_bootcamp.domain.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    @Transactional
+    @Modifying
+    @Query("delete from tb_idempotency_record r where r.expiresAt < :now")
+    int deleteExpired(Instant now);
+}
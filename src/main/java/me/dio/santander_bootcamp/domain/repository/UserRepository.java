@@ -1,13 +1,127 @@
 package me.dio.santander_bootcamp.domain.repository;
 
+import me.dio.santander_bootcamp.domain.model.AccountBatchItem;
 import me.dio.santander_bootcamp.domain.model.User;
+import me.dio.santander_bootcamp.domain.model.UserPosition;
+import me.dio.santander_bootcamp.domain.model.UserSearchDocument;
+import me.dio.santander_bootcamp.domain.model.UserSummary;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    // Account and card numbers are unique across tenants, so these look past the tenant filter on tb_user
+    @Query("select case when count(a) > 0 then true else false end from tb_account a where a.number = :accountNumber")
     boolean existsByAccountNumber(String accountNumber);
 
+    @Query("select case when count(c) > 0 then true else false end from tb_card c where c.number = :number")
     boolean existsByCardNumber(String number);
+
+    @Transactional(readOnly = true)
+    @Query("select u from tb_user u left join fetch u.account left join fetch u.card where u.id in :ids")
+    List<User> findAllWithAccountAndCard(Collection<Long> ids);
+
+    @Query("select new me.dio.santander_bootcamp.domain.model.UserSummary(u.id, u.name, a.number, a.agency, a.balance) "
+            + "from tb_user u left join u.account a order by u.id")
+    List<UserSummary> findAllSummaries();
+
+    @Query("select new me.dio.santander_bootcamp.domain.model.UserSearchDocument(u.id, u.name, a.number, c.number, u.tenantId) "
+            + "from tb_user u left join u.account a left join u.card c")
+    List<UserSearchDocument> findAllSearchDocuments();
+
+    @Query("select new me.dio.santander_bootcamp.domain.model.UserSearchDocument(u.id, u.name, a.number, c.number, u.tenantId) "
+            + "from tb_user u left join u.account a left join u.card c where u.id = :id")
+    Optional<UserSearchDocument> findSearchDocument(Long id);
+
+    @Query("select min(a.id) from tb_account a")
+    Long findMinAccountId();
+
+    @Query("select max(a.id) from tb_account a")
+    Long findMaxAccountId();
+
+    @Query("select new me.dio.santander_bootcamp.domain.model.AccountBatchItem(u.id, u.tenantId, a, c) "
+            + "from tb_user u join u.account a left join u.card c "
+            + "where a.id > :afterId and a.id <= :lastId order by a.id")
+    List<AccountBatchItem> findBatchItems(Long afterId, Long lastId, Limit limit);
+
+    @Query("select u.id from tb_user u where u.id in :ids and u.id <> :protectedId")
+    List<Long> findChangeableIds(Collection<Long> ids, Long protectedId);
+
+    @Query("select u.id from tb_user u where u.account.agency = :agency and u.id <> :protectedId order by u.id")
+    List<Long> findChangeableIdsByAgency(String agency, Long protectedId);
+
+    @Query("select new me.dio.santander_bootcamp.domain.model.UserPosition(u.id, u.tenantId, a.agency, a.balance, a.limit, c.limit) "
+            + "from tb_user u left join u.account a left join u.card c where u.id in :ids")
+    List<UserPosition> findPositions(Collection<Long> ids);
+
+    @Query("select new me.dio.santander_bootcamp.domain.model.UserPosition(u.id, u.tenantId, a.agency, a.balance, a.limit, c.limit) "
+            + "from tb_user u left join u.account a join u.card c")
+    List<UserPosition> findAllCardPositions();
+
+    @Query("select u.id from tb_user u where u.lastActivityAt < :cutoff and u.id <> :protectedId order by u.id")
+    List<Long> findInactiveIds(Instant cutoff, Long protectedId, Limit limit);
+
+    @Modifying
+    @Query("update tb_user u set u.lastActivityAt = :at where u.id in :ids")
+    int touch(Collection<Long> ids, Instant at);
+
+    @Modifying
+    @Query("update tb_user u set u.lastActivityAt = :at where u.lastActivityAt is null")
+    int initializeLastActivity(Instant at);
+
+    @Query("select u.account.id from tb_user u where u.id in :ids")
+    List<Long> findAccountIds(Collection<Long> ids);
+
+    @Query("select u.card.id from tb_user u where u.id in :ids")
+    List<Long> findCardIds(Collection<Long> ids);
+
+    @Query("select f.id from tb_user u join u.features f where u.id in :ids")
+    List<Long> findFeatureIds(Collection<Long> ids);
+
+    @Query("select n.id from tb_user u join u.news n where u.id in :ids")
+    List<Long> findNewsIds(Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "delete from tb_user_features where tb_user_id in :ids", nativeQuery = true)
+    int deleteFeatureLinks(Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "delete from tb_user_news where tb_user_id in :ids", nativeQuery = true)
+    int deleteNewsLinks(Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from tb_user u where u.id in :ids")
+    int deleteUsers(Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from tb_account a where a.id in :ids")
+    int deleteAccounts(Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from tb_card c where c.id in :ids")
+    int deleteCards(Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from tb_feature f where f.id in :ids")
+    int deleteFeatures(Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from tb_news n where n.id in :ids")
+    int deleteNews(Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "update tb_card set available_limit = available_limit + :amount "
+            + "where id in (select card_id from tb_user where id in :ids)", nativeQuery = true)
+    int increaseCardLimit(Collection<Long> ids, BigDecimal amount);
 }
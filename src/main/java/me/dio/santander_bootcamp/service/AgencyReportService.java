@@ -0,0 +1,16 @@
+package me.dio.santander_bootcamp.service;
+
+import me.dio.santander_bootcamp.service.report.AgencyReport;
+
+import java.util.List;
+
+public interface AgencyReportService {
+
+    List<AgencyReport> findAll();
+
+    AgencyReport findByAgency(String agency);
+
+    int compact();
+
+    void rebuild();
+}
@@ -0,0 +1,24 @@
+package me.dio.santander_bootcamp.service;
+
+import me.dio.santander_bootcamp.domain.model.User;
+import me.dio.santander_bootcamp.domain.model.UserSummary;
+import me.dio.santander_bootcamp.service.search.UserSearchPage;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Read operations of {@link UserService} that return immediately and complete on a bounded pool,
+ * so the caller's thread is not held while the query runs. Submissions beyond the pool's queue
+ * fail fast with a {@link java.util.concurrent.RejectedExecutionException}.
+ */
+public interface AsyncUserService {
+
+    CompletableFuture<List<User>> findAll();
+
+    CompletableFuture<List<UserSummary>> findAllSummaries();
+
+    CompletableFuture<UserSearchPage> search(String query, int page, int size);
+
+    CompletableFuture<User> findById(Long id);
+}
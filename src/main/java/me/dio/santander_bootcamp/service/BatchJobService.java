@@ -0,0 +1,13 @@
+package me.dio.santander_bootcamp.service;
+
+import me.dio.santander_bootcamp.service.batch.BatchRunResult;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface BatchJobService {
+
+    List<String> jobNames();
+
+    BatchRunResult run(String jobName, LocalDate runDate);
+}
@@ -0,0 +1,8 @@
+package me.dio.santander_bootcamp.service;
+
+public record BulkOperationResult(int requested, int affected) {
+
+    public BulkOperationResult plus(BulkOperationResult other){
+        return new BulkOperationResult(this.requested + other.requested, this.affected + other.affected);
+    }
+}
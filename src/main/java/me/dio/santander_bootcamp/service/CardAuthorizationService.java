@@ -0,0 +1,15 @@
+package me.dio.santander_bootcamp.service;
+
+import me.dio.santander_bootcamp.domain.model.Money;
+import me.dio.santander_bootcamp.service.ledger.CardHold;
+
+public interface CardAuthorizationService {
+
+    CardHold authorize(Long userId, Money amount);
+
+    CardHold capture(Long userId, long authorizationId, Money amount);
+
+    CardHold release(Long userId, long authorizationId);
+
+    Money availableLimit(Long userId);
+}
@@ -0,0 +1,36 @@
+package me.dio.santander_bootcamp.service;
+
+import me.dio.santander_bootcamp.domain.model.User;
+
+import java.util.Optional;
+
+public interface UserArchiveService {
+
+    /**
+     * Moves users without activity for longer than the configured threshold into the archive
+     * and returns how many were moved.
+     */
+    int archiveInactive();
+
+    /**
+     * Moves an archived user back into the hot tables. Returns the hot user, also when a
+     * concurrent call restored it first, or empty when the user is in neither tier.
+     */
+    Optional<User> restore(Long id);
+
+    /**
+     * Whether the archive holds the user, visible to the current tenant. Runs in a read-only
+     * transaction, so a lookup miss can skip the write transaction of {@link #restore}.
+     */
+    boolean holdsUser(Long id);
+
+    /**
+     * Fills the agency and money columns of archive rows written before they existed, decoding
+     * their payloads, on the current shard. Returns how many rows were filled.
+     */
+    int recordMissingPositions();
+
+    boolean holdsAccountNumber(String accountNumber);
+
+    boolean holdsCardNumber(String cardNumber);
+}
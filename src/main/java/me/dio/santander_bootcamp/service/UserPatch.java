@@ -0,0 +1,23 @@
+package me.dio.santander_bootcamp.service;
+
+import me.dio.santander_bootcamp.domain.model.User;
+
+@FunctionalInterface
+public interface UserPatch {
+
+    void applyTo(User user);
+
+    /**
+     * @return the account number this patch sets, or {@code null} when it leaves the number alone
+     */
+    default String accountNumber(){
+        return null;
+    }
+
+    /**
+     * @return the card number this patch sets, or {@code null} when it leaves the number alone
+     */
+    default String cardNumber(){
+        return null;
+    }
+}
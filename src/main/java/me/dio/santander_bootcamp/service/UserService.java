@@ -1,7 +1,30 @@
 package me.dio.santander_bootcamp.service;
 
+import me.dio.santander_bootcamp.domain.model.Money;
 import me.dio.santander_bootcamp.domain.model.User;
+import me.dio.santander_bootcamp.domain.model.UserSummary;
+import me.dio.santander_bootcamp.service.search.UserSearchPage;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface UserService extends CrudService<Long, User>{
 
+    List<UserSummary> findAllSummaries();
+
+    /**
+     * Whether the user exists in the current tenant, hot or archived. Unlike {@link #findById}
+     * it neither restores an archived user nor counts as activity.
+     */
+    boolean exists(Long id);
+
+    UserSearchPage search(String query, int page, int size);
+
+    User patch(Long id, UserPatch patch);
+
+    BulkOperationResult deleteAll(Collection<Long> ids);
+
+    BulkOperationResult raiseCardLimit(Collection<Long> ids, Money amount);
+
+    BulkOperationResult raiseCardLimitByAgency(String agency, Money amount);
 }
@@ -0,0 +1,25 @@
+package me.dio.santander_bootcamp.service.audit;
+
+import java.time.Instant;
+
+/**
+ * One audited API call: who ({@code caller}) did what ({@code operation}, e.g.
+ * {@code GET /users/{id}}) to which user, with the response status and the time it took.
+ * <p>
+ * {@code caller} and {@code operation} are cut to {@value #MAX_TEXT_LENGTH} characters, the size
+ * of their {@code tb_audit_log} columns: an unmatched request is recorded with its raw URI, which
+ * would otherwise fail the whole batch it is written in.
+ */
+public record AuditEntry(Instant occurredAt, String caller, String operation, Long userId, int status, long durationMicros) {
+
+    public static final int MAX_TEXT_LENGTH = 255;
+
+    public AuditEntry {
+        caller = truncate(caller);
+        operation = truncate(operation);
+    }
+
+    private static String truncate(String text){
+        return text == null || text.length() <= MAX_TEXT_LENGTH ? text : text.substring(0, MAX_TEXT_LENGTH);
+    }
+}
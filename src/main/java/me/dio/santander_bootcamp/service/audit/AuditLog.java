@@ -0,0 +1,131 @@
+package me.dio.santander_bootcamp.service.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Write-behind audit log. Request threads {@linkplain #record append} to a lock-free queue and
+ * return; a scheduled writer drains it in batches into the {@link AuditSink}.
+ * <p>
+ * The queue holds at most {@code capacity} entries and further entries are dropped and counted,
+ * so a slow or failing sink costs memory up to that bound and never blocks requests. A batch the
+ * sink rejects is kept and retried first on the next run, up to {@code maxAttempts} writes; a batch
+ * that still fails is dropped and counted so it cannot hold up every entry queued behind it.
+ */
+public class AuditLog {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AuditLog.class);
+
+    private final Queue<AuditEntry> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AuditSink sink;
+    private final int capacity;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Clock clock;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failedWrites;
+    private final Timer writeTimer;
+    private volatile List<AuditEntry> unwritten = List.of();
+    private int attempts;
+
+    public AuditLog(AuditSink sink, int capacity, int batchSize, int maxAttempts, Clock clock, MeterRegistry meterRegistry){
+        this.sink = sink;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.clock = clock;
+        this.written = meterRegistry.counter("audit.entries", "outcome", "written");
+        this.dropped = meterRegistry.counter("audit.entries", "outcome", "dropped");
+        this.failedWrites = meterRegistry.counter("audit.write.failures");
+        this.writeTimer = meterRegistry.timer("audit.write.duration");
+        meterRegistry.gauge("audit.queue.size", this.queued);
+        meterRegistry.gauge("audit.lag.seconds", this, log -> log.lag().toMillis() / 1000.0);
+    }
+
+    /**
+     * Queues an entry without blocking; returns {@code false} when the queue is full and the entry
+     * was dropped.
+     */
+    public boolean record(AuditEntry entry){
+        if(this.queued.incrementAndGet() > this.capacity){
+            this.queued.decrementAndGet();
+            this.dropped.increment();
+            return false;
+        }
+        this.queue.add(entry);
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${app.audit.flush-interval:PT0.5S}")
+    public synchronized void drain(){
+        while(true){
+            List<AuditEntry> batch = this.unwritten.isEmpty() ? this.poll() : this.unwritten;
+            if(batch.isEmpty()){
+                return;
+            }
+            try {
+                this.writeTimer.record(() -> this.sink.write(batch));
+            } catch (RuntimeException ex) {
+                this.failedWrites.increment();
+                if(++this.attempts >= this.maxAttempts){
+                    this.unwritten = List.of();
+                    this.attempts = 0;
+                    this.dropped.increment(batch.size());
+                    LOGGER.error("Audit write of {} entries failed {} times; the batch is dropped.", batch.size(), this.maxAttempts, ex);
+                } else {
+                    this.unwritten = batch;
+                    LOGGER.warn("Audit write of {} entries failed; it is retried on the next run.", batch.size(), ex);
+                }
+                return;
+            }
+            this.unwritten = List.of();
+            this.attempts = 0;
+            this.written.increment(batch.size());
+        }
+    }
+
+    /**
+     * Age of the oldest entry not yet written.
+     */
+    public Duration lag(){
+        List<AuditEntry> retrying = this.unwritten;
+        AuditEntry oldest = retrying.isEmpty() ? this.queue.peek() : retrying.get(0);
+        return oldest == null ? Duration.ZERO : Duration.between(oldest.occurredAt(), this.clock.instant());
+    }
+
+    public int size(){
+        return this.queued.get() + this.unwritten.size();
+    }
+
+    public void close(){
+        try {
+            this.drain();
+        } finally {
+            this.sink.close();
+        }
+    }
+
+    private List<AuditEntry> poll(){
+        List<AuditEntry> batch = new ArrayList<>(Math.min(this.batchSize, this.queued.get()));
+        AuditEntry entry;
+        while(batch.size() < this.batchSize && (entry = this.queue.poll()) != null){
+            this.queued.decrementAndGet();
+            batch.add(entry);
+        }
+        return batch;
+    }
+}
@@ -0,0 +1,14 @@
+package me.dio.santander_bootcamp.service.audit;
+
+import java.util.List;
+
+public interface AuditSink {
+
+    /**
+     * Persists a batch; throwing leaves the batch with the caller to retry.
+     */
+    void write(List<AuditEntry> entries);
+
+    default void close(){
+    }
+}
@@ -0,0 +1,97 @@
+package me.dio.santander_bootcamp.service.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes entries as JSON lines into gzip files under a directory. The file being written ends in
+ * {@code .open} and is renamed to {@code audit-<timestamp>-<n>.jsonl.gz} once it holds
+ * {@code rollBytes} of uncompressed data or the sink closes, so collectors only pick up
+ * complete files.
+ */
+public class GzipFileAuditSink implements AuditSink {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS")
+            .withZone(ZoneOffset.UTC);
+
+    private final Path directory;
+    private final long rollBytes;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private Path openFile;
+    private OutputStream output;
+    private long writtenBytes;
+    private int rolledFiles;
+
+    public GzipFileAuditSink(Path directory, long rollBytes, ObjectMapper objectMapper, Clock clock){
+        this.directory = directory;
+        this.rollBytes = rollBytes;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+    }
+
+    @Override
+    public synchronized void write(List<AuditEntry> entries){
+        try {
+            if(this.output == null){
+                this.open();
+            }
+            for(AuditEntry entry : entries){
+                byte[] line = this.toLine(entry);
+                this.output.write(line);
+                this.writtenBytes += line.length;
+            }
+            this.output.flush();
+            if(this.writtenBytes >= this.rollBytes){
+                this.roll();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not write audit file " + this.openFile, ex);
+        }
+    }
+
+    @Override
+    public synchronized void close(){
+        try {
+            this.roll();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not close audit file " + this.openFile, ex);
+        }
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(this.directory);
+        String name = "audit-%s-%d.jsonl.gz".formatted(FILE_TIMESTAMP.format(this.clock.instant()), this.rolledFiles++);
+        this.openFile = this.directory.resolve(name + ".open");
+        this.output = new GZIPOutputStream(Files.newOutputStream(this.openFile), true);
+        this.writtenBytes = 0;
+    }
+
+    private void roll() throws IOException {
+        if(this.output == null){
+            return;
+        }
+        this.output.close();
+        this.output = null;
+        String name = this.openFile.getFileName().toString();
+        Files.move(this.openFile, this.openFile.resolveSibling(name.substring(0, name.length() - ".open".length())),
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private byte[] toLine(AuditEntry entry) throws JsonProcessingException {
+        return (this.objectMapper.writeValueAsString(entry) + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,31 @@
+package me.dio.santander_bootcamp.service.audit;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+public class JdbcAuditSink implements AuditSink {
+
+    private static final String INSERT_SQL = "insert into tb_audit_log "
+            + "(occurred_at, caller, operation, user_id, status, duration_micros) values (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcAuditSink(JdbcTemplate jdbcTemplate){
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void write(List<AuditEntry> entries){
+        this.jdbcTemplate.batchUpdate(INSERT_SQL, entries, entries.size(), (statement, entry) -> {
+            statement.setTimestamp(1, Timestamp.from(entry.occurredAt()));
+            statement.setString(2, entry.caller());
+            statement.setString(3, entry.operation());
+            statement.setObject(4, entry.userId(), Types.BIGINT);
+            statement.setInt(5, entry.status());
+            statement.setLong(6, entry.durationMicros());
+        });
+    }
+}
@@ -0,0 +1,19 @@
+package me.dio.santander_bootcamp.service.batch;
+
+import me.dio.santander_bootcamp.domain.model.AccountBatchItem;
+
+import java.time.LocalDate;
+
+/**
+ * A job applied once per account and run date. Items are managed entities: changes made to the
+ * account or card are written when the chunk commits, together with the partition checkpoint.
+ */
+public interface AccountBatchJob {
+
+    String name();
+
+    /**
+     * @return {@code true} when the item was changed
+     */
+    boolean process(AccountBatchItem item, LocalDate runDate);
+}
@@ -0,0 +1,9 @@
+package me.dio.santander_bootcamp.service.batch;
+
+public record BatchPartitionResult(int shard, int partition, long firstId, long lastId,
+                                   long processed, long changed, long elapsedMillis, boolean completed, String error) {
+
+    public double itemsPerSecond(){
+        return this.elapsedMillis == 0 ? this.processed : this.processed * 1000.0 / this.elapsedMillis;
+    }
+}
@@ -0,0 +1,19 @@
+package me.dio.santander_bootcamp.service.batch;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record BatchRunResult(String jobName, LocalDate runDate, List<BatchPartitionResult> partitions) {
+
+    public long processed(){
+        return this.partitions.stream().mapToLong(BatchPartitionResult::processed).sum();
+    }
+
+    public long changed(){
+        return this.partitions.stream().mapToLong(BatchPartitionResult::changed).sum();
+    }
+
+    public boolean completed(){
+        return this.partitions.stream().allMatch(BatchPartitionResult::completed);
+    }
+}
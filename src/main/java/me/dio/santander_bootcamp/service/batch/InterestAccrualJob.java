@@ -0,0 +1,51 @@
+package me.dio.santander_bootcamp.service.batch;
+
+import me.dio.santander_bootcamp.domain.model.Account;
+import me.dio.santander_bootcamp.domain.model.AccountBatchItem;
+import me.dio.santander_bootcamp.domain.model.Money;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Credits one day of interest on positive balances, rounded half up to the cent.
+ */
+@Component
+public class InterestAccrualJob implements AccountBatchJob {
+
+    public static final String NAME = "interest-accrual";
+
+    private static final long BASIS_POINTS_DAYS = 10_000L * 365;
+
+    private final long annualRateBasisPoints;
+
+    public InterestAccrualJob(@Value("${app.batch.interest.annual-rate-bps:200}") long annualRateBasisPoints){
+        this.annualRateBasisPoints = annualRateBasisPoints;
+    }
+
+    @Override
+    public String name(){
+        return NAME;
+    }
+
+    @Override
+    public boolean process(AccountBatchItem item, LocalDate runDate){
+        Account account = item.account();
+        Money balance = account.getBalance();
+        if(balance == null || balance.signum() <= 0){
+            return false;
+        }
+        Money interest = this.dailyInterest(balance);
+        if(interest.isZero()){
+            return false;
+        }
+        account.setBalance(balance.plus(interest));
+        return true;
+    }
+
+    Money dailyInterest(Money balance){
+        long scaled = Math.multiplyExact(balance.cents(), this.annualRateBasisPoints);
+        return Money.ofCents((scaled + BASIS_POINTS_DAYS / 2) / BASIS_POINTS_DAYS);
+    }
+}
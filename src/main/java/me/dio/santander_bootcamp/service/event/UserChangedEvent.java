@@ -0,0 +1,32 @@
+package me.dio.santander_bootcamp.service.event;
+
+import me.dio.santander_bootcamp.domain.model.UserPosition;
+
+import java.time.Instant;
+
+/**
+ * Published inside the mutating transaction. {@code before} and {@code after} carry the user's
+ * agency and money figures around the change ({@code null} when the user did not exist on that
+ * side) so listeners can apply deltas without reloading the user. {@code tenantId} is the
+ * tenant the user belongs to, which listeners use to keep the change within that tenant.
+ */
+public record UserChangedEvent(Long userId, String tenantId, Type type, Instant occurredAt,
+                               UserPosition before, UserPosition after) {
+
+    public UserChangedEvent(Long userId, Type type, UserPosition before, UserPosition after) {
+        this(userId, tenantOf(before, after), type, Instant.now(), before, after);
+    }
+
+    private static String tenantOf(UserPosition before, UserPosition after){
+        UserPosition position = after != null ? after : before;
+        return position == null ? null : position.tenantId();
+    }
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        ARCHIVED,
+        RESTORED
+    }
+}
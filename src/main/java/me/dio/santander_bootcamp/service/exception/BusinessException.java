@@ -1,10 +1,19 @@
 package me.dio.santander_bootcamp.service.exception;
 
+/**
+ * Violation of a business rule, answered with a client error. These are expected on hot paths
+ * (invalid creates, lookups of missing ids) and never logged, so by default they skip filling
+ * in the stack trace; subclasses can ask for one when it is useful.
+ */
 public class BusinessException extends RuntimeException {
 
     private static final long serialVersionUID = 1L;
 
     public BusinessException(String message){
-        super(message);
+        this(message, false);
+    }
+
+    protected BusinessException(String message, boolean writableStackTrace){
+        super(message, null, false, writableStackTrace);
     }
 }
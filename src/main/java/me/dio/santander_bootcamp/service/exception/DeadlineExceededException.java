@@ -0,0 +1,14 @@
+package me.dio.santander_bootcamp.service.exception;
+
+/**
+ * Work abandoned before it started because the request's deadline had already passed, e.g.
+ * after waiting in a queue. Expected under overload, so it skips the stack trace.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public DeadlineExceededException(){
+        super("Request deadline exceeded before the work started.", null, false, false);
+    }
+}
@@ -0,0 +1,241 @@
+package me.dio.santander_bootcamp.service.impl;
+
+import jakarta.persistence.EntityManager;
+import me.dio.santander_bootcamp.config.shard.ShardContext;
+import me.dio.santander_bootcamp.config.shard.ShardRouter;
+import me.dio.santander_bootcamp.config.tenant.TenantContext;
+import me.dio.santander_bootcamp.domain.model.AgencyTotals;
+import me.dio.santander_bootcamp.domain.model.AgencyTotalsRow;
+import me.dio.santander_bootcamp.domain.model.Money;
+import me.dio.santander_bootcamp.domain.repository.AgencyTotalsDeltaRepository;
+import me.dio.santander_bootcamp.domain.repository.AgencyTotalsRepository;
+import me.dio.santander_bootcamp.service.AgencyReportService;
+import me.dio.santander_bootcamp.service.UserArchiveService;
+import me.dio.santander_bootcamp.service.exception.NotFoundException;
+import me.dio.santander_bootcamp.service.report.AgencyReport;
+import me.dio.santander_bootcamp.service.report.CardLimitBucketCount;
+import me.dio.santander_bootcamp.service.report.CardLimitBuckets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * Serves agency reports from the totals table plus the deltas not yet compacted into it, so a
+ * read costs O(agencies x buckets + pending deltas) instead of a scan over users. With sharding
+ * enabled every shard keeps its own tables and reads are summed across shards. Totals are kept per
+ * tenant and reads only see the {@linkplain TenantContext current tenant}'s agencies.
+ */
+@Service
+public class AgencyReportServiceImpl implements AgencyReportService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AgencyReportServiceImpl.class);
+
+    private static final String BUCKET = CardLimitBuckets.sqlCase("coalesce(p.available_limit, 0)");
+    // Hot and archived users alike: archiving a user moves it between tiers, not out of the totals
+    private static final String REBUILD_SQL = """
+            insert into tb_agency_totals
+                (tenant_id, agency, card_limit_bucket, user_count, total_balance, total_account_limit, total_card_limit)
+            select p.tenant_id, p.agency, %1$s, count(*),
+                   coalesce(sum(p.balance), 0), coalesce(sum(p.additional_limit), 0), coalesce(sum(p.available_limit), 0)
+            from (
+                select u.tenant_id, coalesce(a.agency, '') as agency, a.balance, a.additional_limit, c.available_limit
+                from tb_user u
+                left join tb_account a on a.id = u.account_id
+                left join tb_card c on c.id = u.card_id
+                union all
+                select tenant_id, coalesce(agency, ''), balance, additional_limit, available_limit
+                from tb_user_archive
+            ) p
+            group by p.tenant_id, p.agency, %1$s
+            """.formatted(BUCKET);
+
+    private final AgencyTotalsRepository totalsRepository;
+    private final AgencyTotalsDeltaRepository deltaRepository;
+    private final UserArchiveService userArchiveService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate rebuildTransaction;
+    private final int shardCount;
+
+    public AgencyReportServiceImpl(AgencyTotalsRepository totalsRepository,
+                                   AgencyTotalsDeltaRepository deltaRepository,
+                                   UserArchiveService userArchiveService,
+                                   EntityManager entityManager,
+                                   PlatformTransactionManager transactionManager,
+                                   ObjectProvider<ShardRouter> shardRouter){
+        this.totalsRepository = totalsRepository;
+        this.deltaRepository = deltaRepository;
+        this.userArchiveService = userArchiveService;
+        this.entityManager = entityManager;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Totals and pending deltas are read by two statements; one snapshot keeps a concurrent compaction out of the sum
+        this.readOnlyTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        // The rebuild deletes the deltas and reads the users from one snapshot: a writer committing after it
+        // keeps both its user change and its delta out of the rebuild, so its delta is still applied once.
+        // A compaction racing on the same totals rows fails with a serialization error instead of a double count
+        this.rebuildTransaction = new TransactionTemplate(transactionManager);
+        this.rebuildTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        ShardRouter router = shardRouter.getIfAvailable();
+        this.shardCount = router == null ? 1 : router.shardCount();
+    }
+
+    @Override
+    public List<AgencyReport> findAll(){
+        // Without a tenant (callers outside a request) every tenant is summed, like a root Hibernate session
+        String tenant = TenantContext.current();
+        return aggregate(this.readOnShards(() -> tenant == null
+                ? concat(this.totalsRepository.findAllRows(), this.deltaRepository.sumAll())
+                : concat(this.totalsRepository.findAllRowsOfTenant(tenant), this.deltaRepository.sumOfTenant(tenant))));
+    }
+
+    @Override
+    public AgencyReport findByAgency(String agency){
+        String tenant = TenantContext.current();
+        List<AgencyTotalsRow> rows = this.readOnShards(() -> tenant == null
+                ? concat(this.totalsRepository.findRowsByAgency(agency), this.deltaRepository.sumByAgency(agency))
+                : concat(this.totalsRepository.findRowsOfTenantByAgency(tenant, agency),
+                        this.deltaRepository.sumOfTenantByAgency(tenant, agency)));
+        return aggregate(rows).stream().findFirst().orElseThrow(NotFoundException::new);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.reports.compaction-interval:PT30S}")
+    public int compact(){
+        int compacted = 0;
+        for(int shard = 0; shard < this.shardCount; shard++){
+            try {
+                Integer rows = ShardContext.on(shard, () -> this.transaction.execute(status -> this.compactCurrentShard()));
+                compacted += rows == null ? 0 : rows;
+            } catch (ConcurrencyFailureException ex) {
+                LOGGER.debug("Skipping agency totals compaction on shard {}: {}", shard, ex.getMessage());
+            }
+        }
+        return compacted;
+    }
+
+    @Override
+    @Scheduled(cron = "${app.reports.rebuild-cron:-}")
+    public void rebuild(){
+        for(int shard = 0; shard < this.shardCount; shard++){
+            ShardContext.on(shard, () -> {
+                this.userArchiveService.recordMissingPositions();
+                this.rebuildTransaction.executeWithoutResult(status -> {
+                    this.deltaRepository.deleteAllDeltas();
+                    this.totalsRepository.deleteAllTotals();
+                    this.entityManager.createNativeQuery(REBUILD_SQL).executeUpdate();
+                });
+            });
+        }
+        LOGGER.info("Agency totals rebuilt from user data.");
+    }
+
+    private int compactCurrentShard(){
+        Long maxId = this.deltaRepository.findMaxId();
+        if(maxId == null){
+            return 0;
+        }
+        List<AgencyTotalsRow> pending = this.deltaRepository.sumUpTo(maxId);
+        long rows = this.deltaRepository.countUpTo(maxId);
+        // Deleting locks the rows: a concurrent compactor deletes fewer than it summed and rolls back
+        if(this.deltaRepository.deleteUpTo(maxId) != rows){
+            throw new ConcurrencyFailureException("Agency totals deltas were compacted concurrently.");
+        }
+        for(AgencyTotalsRow row : pending){
+            AgencyTotals.Key key = new AgencyTotals.Key(row.tenantId(), row.agency(), row.cardLimitBucket());
+            AgencyTotals totals = this.totalsRepository.findById(key).orElseGet(() -> emptyTotals(row));
+            totals.setUserCount(totals.getUserCount() + row.userCount());
+            totals.setTotalBalance(totals.getTotalBalance().add(orZero(row.totalBalance())));
+            totals.setTotalAccountLimit(totals.getTotalAccountLimit().add(orZero(row.totalAccountLimit())));
+            totals.setTotalCardLimit(totals.getTotalCardLimit().add(orZero(row.totalCardLimit())));
+            if(totals.getUserCount() == 0){
+                this.totalsRepository.deleteById(key);
+            } else {
+                this.totalsRepository.save(totals);
+            }
+        }
+        return (int) rows;
+    }
+
+    private List<AgencyTotalsRow> readOnShards(Supplier<List<AgencyTotalsRow>> read){
+        List<AgencyTotalsRow> rows = new ArrayList<>();
+        for(int shard = 0; shard < this.shardCount; shard++){
+            rows.addAll(ShardContext.on(shard, () -> this.readOnlyTransaction.execute(status -> read.get())));
+        }
+        return rows;
+    }
+
+    private static List<AgencyTotalsRow> concat(List<AgencyTotalsRow> totals, List<AgencyTotalsRow> deltas){
+        List<AgencyTotalsRow> rows = new ArrayList<>(totals.size() + deltas.size());
+        rows.addAll(totals);
+        rows.addAll(deltas);
+        return rows;
+    }
+
+    private static List<AgencyReport> aggregate(List<AgencyTotalsRow> rows){
+        Map<String, Accumulator> byAgency = new TreeMap<>();
+        rows.forEach(row -> byAgency.computeIfAbsent(row.agency(), agency -> new Accumulator()).add(row));
+        return byAgency.entrySet().stream()
+                .map(entry -> entry.getValue().toReport(entry.getKey()))
+                .filter(report -> report.userCount() > 0)
+                .toList();
+    }
+
+    private static AgencyTotals emptyTotals(AgencyTotalsRow row){
+        AgencyTotals totals = new AgencyTotals();
+        totals.setTenantId(row.tenantId());
+        totals.setAgency(row.agency());
+        totals.setCardLimitBucket(row.cardLimitBucket());
+        totals.setUserCount(0L);
+        totals.setTotalBalance(BigDecimal.ZERO);
+        totals.setTotalAccountLimit(BigDecimal.ZERO);
+        totals.setTotalCardLimit(BigDecimal.ZERO);
+        return totals;
+    }
+
+    private static BigDecimal orZero(BigDecimal value){
+        return value == null ? BigDecimal.ZERO : value;
+    }
+
+    private static final class Accumulator {
+
+        private final long[] bucketCounts = new long[CardLimitBuckets.count()];
+        private long userCount;
+        private Money balance = Money.ZERO;
+        private Money accountLimit = Money.ZERO;
+        private Money cardLimit = Money.ZERO;
+
+        private void add(AgencyTotalsRow row){
+            long users = row.userCount() == null ? 0 : row.userCount();
+            this.userCount += users;
+            this.bucketCounts[Math.min(row.cardLimitBucket(), this.bucketCounts.length - 1)] += users;
+            this.balance = this.balance.plus(Money.of(orZero(row.totalBalance())));
+            this.accountLimit = this.accountLimit.plus(Money.of(orZero(row.totalAccountLimit())));
+            this.cardLimit = this.cardLimit.plus(Money.of(orZero(row.totalCardLimit())));
+        }
+
+        private AgencyReport toReport(String agency){
+            List<CardLimitBucketCount> distribution = new ArrayList<>(this.bucketCounts.length);
+            for(int bucket = 0; bucket < this.bucketCounts.length; bucket++){
+                distribution.add(new CardLimitBucketCount(
+                        CardLimitBuckets.lowerBound(bucket), CardLimitBuckets.upperBound(bucket), this.bucketCounts[bucket]));
+            }
+            return new AgencyReport(agency, this.userCount, this.balance, this.accountLimit, this.cardLimit, distribution);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package me.dio.santander_bootcamp.service.impl;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import me.dio.santander_bootcamp.config.deadline.RequestDeadline;
+import me.dio.santander_bootcamp.domain.model.User;
+import me.dio.santander_bootcamp.domain.model.UserSummary;
+import me.dio.santander_bootcamp.service.AsyncUserService;
+import me.dio.santander_bootcamp.service.UserService;
+import me.dio.santander_bootcamp.service.exception.DeadlineExceededException;
+import me.dio.santander_bootcamp.service.search.UserSearchPage;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs {@link UserService} reads on a pool sized like the connection pool, since blocking JPA
+ * cannot use more threads than connections anyway. Requests wait in the pool's bounded queue
+ * instead of each pinning a servlet thread; the tracing context and the request deadline follow
+ * each task, and a task whose deadline passed while it was queued is dropped without running.
+ */
+@Service
+@ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+public class AsyncUserServiceImpl implements AsyncUserService, DisposableBean {
+
+    private final UserService userService;
+    private final ExecutorService executor;
+    private final Counter expired;
+
+    public AsyncUserServiceImpl(UserService userService,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.reactive.threads:10}") int threads,
+                                @Value("${app.reactive.queue-capacity:10000}") int queueCapacity){
+        this.userService = userService;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("user-read-");
+        threadFactory.setDaemon(true);
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory);
+        this.executor = ContextExecutorService.wrap(
+                ExecutorServiceMetrics.monitor(meterRegistry, pool, "user-read"),
+                ContextSnapshotFactory.builder().build()::captureAll);
+        this.expired = meterRegistry.counter("app.deadline.shed", "stage", "read-queue");
+    }
+
+    @Override
+    public CompletableFuture<List<User>> findAll(){
+        return this.submit(this.userService::findAll);
+    }
+
+    @Override
+    public CompletableFuture<List<UserSummary>> findAllSummaries(){
+        return this.submit(this.userService::findAllSummaries);
+    }
+
+    @Override
+    public CompletableFuture<UserSearchPage> search(String query, int page, int size){
+        return this.submit(() -> this.userService.search(query, page, size));
+    }
+
+    @Override
+    public CompletableFuture<User> findById(Long id){
+        return this.submit(() -> this.userService.findById(id));
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> read){
+        return CompletableFuture.supplyAsync(() -> {
+            if(RequestDeadline.isExpired()){
+                this.expired.increment();
+                throw new DeadlineExceededException();
+            }
+            return read.get();
+        }, this.executor);
+    }
+
+    @Override
+    public void destroy(){
+        this.executor.shutdownNow();
+    }
+}
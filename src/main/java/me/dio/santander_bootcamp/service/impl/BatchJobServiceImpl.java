@@ -0,0 +1,279 @@
+package me.dio.santander_bootcamp.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import me.dio.santander_bootcamp.config.shard.ShardContext;
+import me.dio.santander_bootcamp.config.shard.ShardRouter;
+import me.dio.santander_bootcamp.domain.model.AccountBatchItem;
+import me.dio.santander_bootcamp.domain.model.BatchCheckpoint;
+import me.dio.santander_bootcamp.domain.model.UserPosition;
+import me.dio.santander_bootcamp.domain.repository.BatchCheckpointRepository;
+import me.dio.santander_bootcamp.domain.repository.UserRepository;
+import me.dio.santander_bootcamp.service.BatchJobService;
+import me.dio.santander_bootcamp.service.batch.AccountBatchJob;
+import me.dio.santander_bootcamp.service.batch.BatchPartitionResult;
+import me.dio.santander_bootcamp.service.batch.BatchRunResult;
+import me.dio.santander_bootcamp.service.event.UserChangedEvent;
+import me.dio.santander_bootcamp.service.exception.BusinessException;
+import me.dio.santander_bootcamp.service.exception.NotFoundException;
+import me.dio.santander_bootcamp.service.util.TokenBucket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs {@link AccountBatchJob}s over every account. On each shard the account id space is split
+ * into ranges processed by a pool of worker threads, one chunk per transaction.
+ * <p>
+ * Each chunk commits together with its partition checkpoint, which is locked while the chunk
+ * runs, so a run interrupted by a crash resumes after the last committed chunk and no account
+ * is processed twice for the same run date, even with several instances running the job. A
+ * shared token bucket caps the item rate to leave database capacity for online traffic.
+ */
+@Service
+public class BatchJobServiceImpl implements BatchJobService, DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchJobServiceImpl.class);
+
+    private final Map<String, AccountBatchJob> jobs = new TreeMap<>();
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+    private final UserRepository userRepository;
+    private final BatchCheckpointRepository checkpointRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transaction;
+    private final ExecutorService workers;
+    private final TokenBucket throttle;
+    private final int partitions;
+    private final int chunkSize;
+    private final int shardCount;
+
+    public BatchJobServiceImpl(List<AccountBatchJob> jobs,
+                               UserRepository userRepository,
+                               BatchCheckpointRepository checkpointRepository,
+                               ApplicationEventPublisher eventPublisher,
+                               MeterRegistry meterRegistry,
+                               PlatformTransactionManager transactionManager,
+                               ObjectProvider<ShardRouter> shardRouter,
+                               @Value("${app.batch.partitions:8}") int partitions,
+                               @Value("${app.batch.threads:4}") int threads,
+                               @Value("${app.batch.chunk-size:500}") int chunkSize,
+                               @Value("${app.batch.max-items-per-second:2000}") int maxItemsPerSecond){
+        jobs.forEach(job -> this.jobs.put(job.name(), job));
+        this.userRepository = userRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.transaction = new TransactionTemplate(transactionManager);
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("batch-worker-");
+        threadFactory.setDaemon(true);
+        threadFactory.setThreadPriority(Thread.MIN_PRIORITY);
+        this.workers = Executors.newFixedThreadPool(threads, threadFactory);
+        this.throttle = maxItemsPerSecond <= 0
+                ? null
+                : new TokenBucket(Math.max(chunkSize, maxItemsPerSecond), maxItemsPerSecond, System.nanoTime());
+        this.partitions = partitions;
+        this.chunkSize = chunkSize;
+        ShardRouter router = shardRouter.getIfAvailable();
+        this.shardCount = router == null ? 1 : router.shardCount();
+    }
+
+    @Override
+    public List<String> jobNames(){
+        return List.copyOf(this.jobs.keySet());
+    }
+
+    @Override
+    public BatchRunResult run(String jobName, LocalDate runDate){
+        AccountBatchJob job = this.jobs.get(jobName);
+        if(job == null){
+            throw new NotFoundException();
+        }
+        if(!this.running.add(jobName)){
+            throw new BusinessException("Job '%s' is already running.".formatted(jobName));
+        }
+        try {
+            String runKey = runDate.toString();
+            List<CompletableFuture<BatchPartitionResult>> futures = new ArrayList<>();
+            for(int shard = 0; shard < this.shardCount; shard++){
+                int target = shard;
+                for(BatchCheckpoint checkpoint : ShardContext.on(target, () -> this.plan(jobName, runKey))){
+                    futures.add(CompletableFuture.supplyAsync(
+                            () -> ShardContext.on(target, () -> this.processPartition(job, runDate, target, checkpoint)),
+                            this.workers));
+                }
+            }
+            BatchRunResult result = new BatchRunResult(jobName, runDate, futures.stream().map(CompletableFuture::join).toList());
+            LOGGER.info("Batch job {} for {}: {} partitions, {} items processed, {} changed, completed={}",
+                    jobName, runDate, result.partitions().size(), result.processed(), result.changed(), result.completed());
+            return result;
+        } finally {
+            this.running.remove(jobName);
+        }
+    }
+
+    @Scheduled(cron = "${app.batch.cron:-}")
+    public void runNightly(){
+        LocalDate today = LocalDate.now();
+        for(String jobName : this.jobNames()){
+            try {
+                this.run(jobName, today);
+            } catch (BusinessException ex) {
+                LOGGER.warn("Skipping batch job {}: {}", jobName, ex.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void destroy(){
+        this.workers.shutdownNow();
+    }
+
+    private List<BatchCheckpoint> plan(String jobName, String runKey){
+        try {
+            return this.transaction.execute(status -> {
+                List<BatchCheckpoint> existing = this.checkpointRepository.findByJobNameAndRunKeyOrderByPartitionIndex(jobName, runKey);
+                return existing.isEmpty() ? this.checkpointRepository.saveAll(this.split(jobName, runKey)) : existing;
+            });
+        } catch (DataIntegrityViolationException ex) {
+            // Another instance planned the same run first
+            return this.checkpointRepository.findByJobNameAndRunKeyOrderByPartitionIndex(jobName, runKey);
+        }
+    }
+
+    private List<BatchCheckpoint> split(String jobName, String runKey){
+        Long first = this.userRepository.findMinAccountId();
+        Long last = this.userRepository.findMaxAccountId();
+        if(first == null || last == null){
+            return List.of();
+        }
+        long width = Math.max(1, (last - first + this.partitions) / this.partitions);
+        List<BatchCheckpoint> plan = new ArrayList<>(this.partitions);
+        for(int partition = 0; partition < this.partitions; partition++){
+            long start = first + partition * width;
+            if(start > last){
+                break;
+            }
+            BatchCheckpoint checkpoint = new BatchCheckpoint();
+            checkpoint.setJobName(jobName);
+            checkpoint.setRunKey(runKey);
+            checkpoint.setPartitionIndex(partition);
+            checkpoint.setFirstId(start);
+            checkpoint.setLastId(Math.min(last, start + width - 1));
+            checkpoint.setLastProcessedId(start - 1);
+            checkpoint.setProcessedCount(0L);
+            checkpoint.setChangedCount(0L);
+            checkpoint.setUpdatedAt(Instant.now());
+            plan.add(checkpoint);
+        }
+        return plan;
+    }
+
+    private BatchPartitionResult processPartition(AccountBatchJob job, LocalDate runDate, int shard, BatchCheckpoint planned){
+        Tags tags = Tags.of("job", job.name(), "shard", String.valueOf(shard), "partition", String.valueOf(planned.getPartitionIndex()));
+        Counter processedItems = this.meterRegistry.counter("batch.items.processed", tags);
+        Counter changedItems = this.meterRegistry.counter("batch.items.changed", tags);
+        Timer chunkTimer = this.meterRegistry.timer("batch.chunk.duration", tags);
+
+        long started = System.nanoTime();
+        long processed = 0;
+        long changed = 0;
+        boolean completed = planned.isCompleted();
+        String error = null;
+        try {
+            while(!completed){
+                Timer.Sample sample = Timer.start(this.meterRegistry);
+                Chunk chunk = this.transaction.execute(status -> this.processChunk(job, runDate, planned));
+                sample.stop(chunkTimer);
+                processed += chunk.processed();
+                changed += chunk.changed();
+                completed = chunk.completed();
+                processedItems.increment(chunk.processed());
+                changedItems.increment(chunk.changed());
+                this.throttle(chunk.processed());
+            }
+        } catch (RuntimeException ex) {
+            error = ex.getMessage();
+            LOGGER.error("Batch job {} failed on shard {} partition {}; it resumes from its checkpoint on the next run.",
+                    job.name(), shard, planned.getPartitionIndex(), ex);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        BatchPartitionResult result = new BatchPartitionResult(shard, planned.getPartitionIndex(), planned.getFirstId(),
+                planned.getLastId(), processed, changed, elapsedMillis, completed, error);
+        if(processed > 0){
+            LOGGER.info("Batch job {} shard {} partition {}: {} items in {} ms ({} items/s)", job.name(), shard,
+                    planned.getPartitionIndex(), processed, elapsedMillis, Math.round(result.itemsPerSecond()));
+        }
+        return result;
+    }
+
+    private Chunk processChunk(AccountBatchJob job, LocalDate runDate, BatchCheckpoint planned){
+        BatchCheckpoint checkpoint = this.checkpointRepository
+                .lockPartition(planned.getJobName(), planned.getRunKey(), planned.getPartitionIndex())
+                .orElseThrow(() -> new IllegalStateException("Batch checkpoint disappeared during the run."));
+        if(checkpoint.isCompleted()){
+            return new Chunk(0, 0, true);
+        }
+        List<AccountBatchItem> items = this.userRepository.findBatchItems(
+                checkpoint.getLastProcessedId(), checkpoint.getLastId(), Limit.of(this.chunkSize));
+        int changed = 0;
+        for(AccountBatchItem item : items){
+            UserPosition before = UserPosition.of(item.userId(), item.tenantId(), item.account(), item.card());
+            if(job.process(item, runDate)){
+                changed++;
+                this.eventPublisher.publishEvent(new UserChangedEvent(item.userId(), UserChangedEvent.Type.UPDATED,
+                        before, UserPosition.of(item.userId(), item.tenantId(), item.account(), item.card())));
+            }
+        }
+        if(!items.isEmpty()){
+            checkpoint.setLastProcessedId(items.get(items.size() - 1).account().getId());
+        }
+        checkpoint.setCompleted(items.size() < this.chunkSize);
+        checkpoint.setProcessedCount(checkpoint.getProcessedCount() + items.size());
+        checkpoint.setChangedCount(checkpoint.getChangedCount() + changed);
+        checkpoint.setUpdatedAt(Instant.now());
+        return new Chunk(items.size(), changed, checkpoint.isCompleted());
+    }
+
+    private void throttle(int items){
+        if(this.throttle == null || items == 0){
+            return;
+        }
+        long waitNanos;
+        while((waitNanos = this.throttle.tryConsume(items, System.nanoTime())) > 0){
+            if(Thread.currentThread().isInterrupted()){
+                throw new IllegalStateException("Batch worker interrupted.");
+            }
+            LockSupport.parkNanos(waitNanos);
+        }
+    }
+
+    private record Chunk(int processed, int changed, boolean completed) {
+    }
+}
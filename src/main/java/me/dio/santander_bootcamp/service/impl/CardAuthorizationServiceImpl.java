@@ -0,0 +1,295 @@
+package me.dio.santander_bootcamp.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import me.dio.santander_bootcamp.config.shard.ShardContext;
+import me.dio.santander_bootcamp.config.shard.ShardRouter;
+import me.dio.santander_bootcamp.config.tenant.TenantContext;
+import me.dio.santander_bootcamp.domain.model.CardLedgerCheckpoint;
+import me.dio.santander_bootcamp.domain.model.Money;
+import me.dio.santander_bootcamp.domain.model.UserPosition;
+import me.dio.santander_bootcamp.domain.repository.CardLedgerCheckpointRepository;
+import me.dio.santander_bootcamp.domain.repository.UserRepository;
+import me.dio.santander_bootcamp.service.CardAuthorizationService;
+import me.dio.santander_bootcamp.service.UserArchiveService;
+import me.dio.santander_bootcamp.service.event.UserChangedEvent;
+import me.dio.santander_bootcamp.service.exception.BusinessException;
+import me.dio.santander_bootcamp.service.exception.NotFoundException;
+import me.dio.santander_bootcamp.service.ledger.CardHold;
+import me.dio.santander_bootcamp.service.ledger.CardLedger;
+import me.dio.santander_bootcamp.service.ledger.JournalEntry;
+import me.dio.santander_bootcamp.service.ledger.LedgerFlush;
+import me.dio.santander_bootcamp.service.ledger.LedgerJournal;
+import me.dio.santander_bootcamp.service.tiering.UserActivityTracker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Authorizes card purchases against the in-memory {@link CardLedger} without touching the
+ * database. The ledger is loaded from {@code tb_card} and recovered from its journal at startup,
+ * its pending changes are written behind to {@code available_limit} in batches, each committed
+ * together with the journal sequence it covers, and committed limit changes made elsewhere are
+ * folded back into it from {@link UserChangedEvent}s. The ledger holds every tenant's cards, so a
+ * card is only served to a tenant after a tenant-filtered lookup has found its user.
+ */
+@Service
+public class CardAuthorizationServiceImpl implements CardAuthorizationService, SmartInitializingSingleton, DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CardAuthorizationServiceImpl.class);
+    private static final ThreadLocal<Boolean> FLUSHING = new ThreadLocal<>();
+    private static final String FLUSH_SQL = "update tb_card set available_limit = available_limit + ? "
+            + "where id = (select card_id from tb_user where id = ?)";
+
+    private final UserRepository userRepository;
+    private final UserArchiveService userArchiveService;
+    private final UserActivityTracker userActivityTracker;
+    private final CardLedgerCheckpointRepository checkpointRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final ShardRouter shardRouter;
+    private final Path journalFile;
+    private final LedgerJournal journal;
+    private final CardLedger ledger;
+    private final Map<Long, String> tenants = new ConcurrentHashMap<>();
+    private final Clock clock = Clock.systemUTC();
+    private final Duration holdTtl;
+    private final int flushChunkSize;
+    private final Counter approved;
+    private final Counter declined;
+    private final Timer flushTimer;
+
+    public CardAuthorizationServiceImpl(UserRepository userRepository,
+                                        UserArchiveService userArchiveService,
+                                        UserActivityTracker userActivityTracker,
+                                        CardLedgerCheckpointRepository checkpointRepository,
+                                        ApplicationEventPublisher eventPublisher,
+                                        JdbcTemplate jdbcTemplate,
+                                        PlatformTransactionManager transactionManager,
+                                        MeterRegistry meterRegistry,
+                                        ObjectProvider<ShardRouter> shardRouter,
+                                        @Value("${app.card-ledger.journal:data/card-ledger.journal}") Path journalFile,
+                                        @Value("${app.card-ledger.fsync:false}") boolean fsync,
+                                        @Value("${app.card-ledger.hold-ttl:P7D}") Duration holdTtl,
+                                        @Value("${app.card-ledger.flush-chunk-size:500}") int flushChunkSize){
+        this.userRepository = userRepository;
+        this.userArchiveService = userArchiveService;
+        this.userActivityTracker = userActivityTracker;
+        this.checkpointRepository = checkpointRepository;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.shardRouter = shardRouter.getIfAvailable();
+        this.journalFile = journalFile;
+        this.journal = new LedgerJournal(journalFile, fsync);
+        this.ledger = new CardLedger(this.journal, this.clock);
+        this.holdTtl = holdTtl;
+        this.flushChunkSize = flushChunkSize;
+        this.approved = meterRegistry.counter("card.authorizations", "outcome", "approved");
+        this.declined = meterRegistry.counter("card.authorizations", "outcome", "declined");
+        this.flushTimer = meterRegistry.timer("card.ledger.flush.duration");
+        meterRegistry.gauge("card.ledger.pending", this.ledger, CardLedger::pendingFlushes);
+        meterRegistry.gauge("card.ledger.open.holds", this.ledger, CardLedger::openHolds);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated(){
+        Map<Long, Long> appliedSequences = new HashMap<>();
+        for(int shard = 0; shard < this.shardCount(); shard++){
+            int target = shard;
+            ShardContext.on(target, () -> {
+                this.userRepository.findAllCardPositions()
+                        .forEach(position -> this.ledger.load(position.userId(), target, position.cardLimit()));
+                this.checkpointRepository.findAll()
+                        .forEach(checkpoint -> appliedSequences.put(checkpoint.getUserId(), checkpoint.getAppliedSequence()));
+            });
+        }
+        List<JournalEntry> entries = LedgerJournal.read(this.journalFile);
+        List<JournalEntry> retained = this.ledger.recover(entries, appliedSequences);
+        this.journal.rewrite(retained);
+        LOGGER.info("Card ledger recovered: {} journal entries replayed, {} kept, {} cards pending flush.",
+                entries.size(), retained.size(), this.ledger.pendingFlushes());
+    }
+
+    @Override
+    public CardHold authorize(Long userId, Money amount){
+        this.ensureLoaded(userId);
+        this.userActivityTracker.touch(userId);
+        try {
+            CardHold hold = this.ledger.authorize(userId, amount);
+            this.approved.increment();
+            return hold;
+        } catch (BusinessException ex) {
+            this.declined.increment();
+            throw ex;
+        }
+    }
+
+    @Override
+    public CardHold capture(Long userId, long authorizationId, Money amount){
+        this.ensureLoaded(userId);
+        return this.ledger.capture(userId, authorizationId, amount);
+    }
+
+    @Override
+    public CardHold release(Long userId, long authorizationId){
+        this.ensureLoaded(userId);
+        return this.ledger.release(userId, authorizationId);
+    }
+
+    @Override
+    public Money availableLimit(Long userId){
+        this.ensureLoaded(userId);
+        return this.ledger.available(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.card-ledger.flush-interval:PT1S}")
+    public void flush(){
+        int released = this.ledger.releaseHoldsCreatedBefore(this.clock.instant().minus(this.holdTtl));
+        if(released > 0){
+            LOGGER.info("Released {} card holds older than {}.", released, this.holdTtl);
+        }
+        List<LedgerFlush> batch;
+        while(!(batch = this.ledger.drain(this.flushChunkSize)).isEmpty()){
+            Map<Integer, List<LedgerFlush>> byShard = batch.stream()
+                    .collect(Collectors.groupingBy(LedgerFlush::shard, TreeMap::new, Collectors.toList()));
+            for(Map.Entry<Integer, List<LedgerFlush>> entry : byShard.entrySet()){
+                List<LedgerFlush> flushes = entry.getValue();
+                try {
+                    this.flushTimer.record(() -> ShardContext.on(entry.getKey(), () -> this.write(flushes)));
+                } catch (RuntimeException ex) {
+                    flushes.forEach(this.ledger::restore);
+                    LOGGER.warn("Card ledger flush of {} cards failed; it is retried on the next run.", flushes.size(), ex);
+                    return;
+                }
+            }
+        }
+        // Every drained change is now checkpointed, so the journal only needs open holds and newer entries
+        try {
+            this.ledger.compactJournal();
+        } catch (UncheckedIOException ex) {
+            LOGGER.warn("Card ledger journal compaction failed; it is retried after the next flush.", ex);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event){
+        if(Boolean.TRUE.equals(FLUSHING.get())){
+            return;
+        }
+        if(event.type() == UserChangedEvent.Type.DELETED){
+            this.ledger.remove(event.userId());
+            return;
+        }
+        Money before = event.before() == null ? null : event.before().cardLimit();
+        Money after = event.after() == null ? null : event.after().cardLimit();
+        if((event.type() == UserChangedEvent.Type.CREATED || event.type() == UserChangedEvent.Type.RESTORED) && after != null){
+            this.ledger.load(event.userId(), this.shardOf(event.userId()), after);
+            return;
+        }
+        this.ledger.applyCommittedChange(event.userId(), before, after);
+    }
+
+    @Override
+    public void destroy(){
+        try {
+            this.flush();
+        } finally {
+            this.journal.close();
+        }
+    }
+
+    private void write(List<LedgerFlush> flushes){
+        FLUSHING.set(Boolean.TRUE);
+        try {
+            this.transaction.executeWithoutResult(status -> {
+                List<LedgerFlush> changed = flushes.stream().filter(flush -> flush.deltaCents() != 0).toList();
+                if(!changed.isEmpty()){
+                    Map<Long, UserPosition> positions = this.userRepository
+                            .findPositions(changed.stream().map(LedgerFlush::userId).toList()).stream()
+                            .collect(Collectors.toMap(UserPosition::userId, Function.identity()));
+                    this.jdbcTemplate.batchUpdate(FLUSH_SQL, changed, changed.size(), (statement, flush) -> {
+                        statement.setBigDecimal(1, Money.ofCents(flush.deltaCents()).toBigDecimal());
+                        statement.setLong(2, flush.userId());
+                    });
+                    changed.forEach(flush -> {
+                        UserPosition before = positions.get(flush.userId());
+                        if(before != null){
+                            this.eventPublisher.publishEvent(new UserChangedEvent(flush.userId(), UserChangedEvent.Type.UPDATED,
+                                    before, before.withCardLimitIncreasedBy(Money.ofCents(flush.deltaCents()))));
+                        }
+                    });
+                }
+                Map<Long, CardLedgerCheckpoint> checkpoints = this.checkpointRepository
+                        .findAllById(flushes.stream().map(LedgerFlush::userId).toList()).stream()
+                        .collect(Collectors.toMap(CardLedgerCheckpoint::getUserId, Function.identity()));
+                Instant now = this.clock.instant();
+                for(LedgerFlush flush : flushes){
+                    CardLedgerCheckpoint checkpoint = checkpoints.computeIfAbsent(flush.userId(), userId -> {
+                        CardLedgerCheckpoint created = new CardLedgerCheckpoint();
+                        created.setUserId(userId);
+                        return created;
+                    });
+                    checkpoint.setAppliedSequence(flush.sequence());
+                    checkpoint.setUpdatedAt(now);
+                }
+                this.checkpointRepository.saveAll(checkpoints.values());
+            });
+        } finally {
+            FLUSHING.remove();
+        }
+    }
+
+    private void ensureLoaded(Long userId){
+        if(userId == null){
+            return;
+        }
+        String tenant = TenantContext.current();
+        if(this.ledger.contains(userId) && (tenant == null || tenant.equals(this.tenants.get(userId)))){
+            return;
+        }
+        int shard = this.shardOf(userId);
+        UserPosition position = ShardContext.on(shard, () -> this.userRepository.findPositions(List.of(userId)).stream()
+                        .findFirst()
+                        .or(() -> this.userArchiveService.restore(userId).map(UserPosition::of)))
+                .filter(found -> found.cardLimit() != null)
+                .orElseThrow(NotFoundException::new);
+        this.ledger.load(userId, shard, position.cardLimit());
+        if(tenant != null){
+            this.tenants.put(userId, tenant);
+        }
+    }
+
+    private int shardCount(){
+        return this.shardRouter == null ? 1 : this.shardRouter.shardCount();
+    }
+
+    private int shardOf(Long userId){
+        return this.shardRouter == null ? 0 : this.shardRouter.shardOf(userId);
+    }
+}
@@ -0,0 +1,241 @@
+package me.dio.santander_bootcamp.service.impl;
+
+import me.dio.santander_bootcamp.config.shard.ShardContext;
+import me.dio.santander_bootcamp.config.shard.ShardRouter;
+import me.dio.santander_bootcamp.config.tenant.TenantContext;
+import me.dio.santander_bootcamp.domain.model.Money;
+import me.dio.santander_bootcamp.domain.model.User;
+import me.dio.santander_bootcamp.domain.model.UserSummary;
+import me.dio.santander_bootcamp.domain.repository.UserRepository;
+import me.dio.santander_bootcamp.service.BulkOperationResult;
+import me.dio.santander_bootcamp.service.UserArchiveService;
+import me.dio.santander_bootcamp.service.UserPatch;
+import me.dio.santander_bootcamp.service.UserService;
+import me.dio.santander_bootcamp.service.exception.BusinessException;
+import me.dio.santander_bootcamp.service.search.UserSearchHit;
+import me.dio.santander_bootcamp.service.search.UserSearchIndex;
+import me.dio.santander_bootcamp.service.search.UserSearchPage;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static java.util.Optional.ofNullable;
+
+/**
+ * Routes every user operation to the shard that owns the user and delegates to
+ * {@link UserServiceImpl} there. Listing scatters to all shards in parallel and merges the
+ * per-shard id-ordered results; search merges the per-shard hits by rank. Account and card
+ * numbers set by a create, update or patch are checked against every shard's hot and archived users.
+ */
+@Primary
+@Service
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+public class ShardedUserService implements UserService, DisposableBean {
+
+    private static final Comparator<User> BY_ID = Comparator.comparing(User::getId);
+    private static final Comparator<UserSummary> SUMMARY_BY_ID = Comparator.comparing(UserSummary::id);
+    private static final int UNIQUENESS_LOCK_STRIPES = 64;
+    private static final int NO_SHARD = -1;
+
+    private final UserServiceImpl delegate;
+    private final UserRepository userRepository;
+    private final UserArchiveService userArchiveService;
+    private final ShardRouter shardRouter;
+    private final ExecutorService scatterExecutor;
+    private final Object[] uniquenessLocks = new Object[UNIQUENESS_LOCK_STRIPES];
+
+    public ShardedUserService(UserServiceImpl delegate, UserRepository userRepository,
+                              UserArchiveService userArchiveService, ShardRouter shardRouter){
+        this.delegate = delegate;
+        this.userRepository = userRepository;
+        this.userArchiveService = userArchiveService;
+        this.shardRouter = shardRouter;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("shard-scatter-");
+        threadFactory.setDaemon(true);
+        this.scatterExecutor = Executors.newFixedThreadPool(shardRouter.shardCount(), threadFactory);
+        for(int i = 0; i < UNIQUENESS_LOCK_STRIPES; i++){
+            this.uniquenessLocks[i] = new Object();
+        }
+    }
+
+    @Override
+    public List<User> findAll(){
+        List<List<User>> runs = this.scatter(shard -> {
+            List<User> users = new ArrayList<>(this.delegate.findAll());
+            users.sort(BY_ID);
+            return users;
+        });
+        return ShardRouter.mergeSorted(runs, BY_ID);
+    }
+
+    @Override
+    public List<UserSummary> findAllSummaries(){
+        return ShardRouter.mergeSorted(this.scatter(shard -> this.delegate.findAllSummaries()), SUMMARY_BY_ID);
+    }
+
+    @Override
+    public UserSearchPage search(String query, int page, int size){
+        UserServiceImpl.validateSearch(query, page, size);
+        int offset = page * size;
+        int limit = size + 1;
+        // Any shard may hold every hit of the page, so each returns its best offset + limit and the runs are merged by rank
+        List<UserSearchHit> merged = ShardRouter.mergeSorted(
+                this.scatter(shard -> this.delegate.searchHits(query, 0, offset + limit)), UserSearchIndex.BY_RELEVANCE);
+        List<UserSearchHit> hits = offset >= merged.size()
+                ? List.of()
+                : merged.subList(offset, Math.min(merged.size(), offset + limit));
+        return UserServiceImpl.searchPage(hits, page, size);
+    }
+
+    @Override
+    public User findById(Long id){
+        return ShardContext.on(this.shardRouter.shardOf(id), () -> this.delegate.findById(id));
+    }
+
+    @Override
+    public boolean exists(Long id){
+        return ShardContext.on(this.shardRouter.shardOf(id), () -> this.delegate.exists(id));
+    }
+
+    @Override
+    public User create(User userToCreate){
+        ofNullable(userToCreate).orElseThrow(() -> new BusinessException("User to create must not be null."));
+        ofNullable(userToCreate.getAccount()).orElseThrow(() -> new BusinessException("User account must not be null."));
+        ofNullable(userToCreate.getCard()).orElseThrow(() -> new BusinessException("User card must not be null."));
+
+        String accountNumber = userToCreate.getAccount().getNumber();
+        return this.withNumbersFree(accountNumber, userToCreate.getCard().getNumber(), NO_SHARD,
+                () -> ShardContext.on(this.shardRouter.shardForNewUser(accountNumber), () -> this.delegate.create(userToCreate)));
+    }
+
+    @Override
+    public User update(Long id, User userToUpdate){
+        int shard = this.shardRouter.shardOf(id);
+        String accountNumber = userToUpdate == null || userToUpdate.getAccount() == null ? null : userToUpdate.getAccount().getNumber();
+        String cardNumber = userToUpdate == null || userToUpdate.getCard() == null ? null : userToUpdate.getCard().getNumber();
+        return this.withNumbersFree(accountNumber, cardNumber, shard,
+                () -> ShardContext.on(shard, () -> this.delegate.update(id, userToUpdate)));
+    }
+
+    @Override
+    public User patch(Long id, UserPatch patch){
+        int shard = this.shardRouter.shardOf(id);
+        return this.withNumbersFree(patch.accountNumber(), patch.cardNumber(), shard,
+                () -> ShardContext.on(shard, () -> this.delegate.patch(id, patch)));
+    }
+
+    @Override
+    public void delete(Long id){
+        ShardContext.on(this.shardRouter.shardOf(id), () -> this.delegate.delete(id));
+    }
+
+    @Override
+    public BulkOperationResult deleteAll(Collection<Long> ids){
+        return this.perShard(ids, this.delegate::deleteAll);
+    }
+
+    @Override
+    public BulkOperationResult raiseCardLimit(Collection<Long> ids, Money amount){
+        return this.perShard(ids, shardIds -> this.delegate.raiseCardLimit(shardIds, amount));
+    }
+
+    @Override
+    public BulkOperationResult raiseCardLimitByAgency(String agency, Money amount){
+        return this.scatter(shard -> this.delegate.raiseCardLimitByAgency(agency, amount)).stream()
+                .reduce(new BulkOperationResult(0, 0), BulkOperationResult::plus);
+    }
+
+    @Override
+    public void destroy(){
+        this.scatterExecutor.shutdownNow();
+    }
+
+    private <T> List<T> scatter(IntFunction<T> work){
+        List<CompletableFuture<T>> futures = new ArrayList<>(this.shardRouter.shardCount());
+        // Scatter threads open their own sessions, which must be filtered by the caller's tenant
+        String tenant = TenantContext.current();
+        for(int shard = 0; shard < this.shardRouter.shardCount(); shard++){
+            int target = shard;
+            futures.add(CompletableFuture.supplyAsync(() -> TenantContext.on(tenant,
+                    () -> ShardContext.on(target, () -> work.apply(target))), this.scatterExecutor));
+        }
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException ex) {
+            if(ex.getCause() instanceof RuntimeException cause){
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private BulkOperationResult perShard(Collection<Long> ids, Function<List<Long>, BulkOperationResult> work){
+        if(ids == null || ids.isEmpty()){
+            throw new BusinessException("Bulk operation requires at least one ID.");
+        }
+        Map<Integer, List<Long>> idsByShard = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.groupingBy(this.shardRouter::shardOf, TreeMap::new, Collectors.toList()));
+        BulkOperationResult result = new BulkOperationResult(0, 0);
+        for(Map.Entry<Integer, List<Long>> entry : idsByShard.entrySet()){
+            result = result.plus(ShardContext.on(entry.getKey(), () -> work.apply(entry.getValue())));
+        }
+        return result;
+    }
+
+    /**
+     * Runs {@code work} once the account and card numbers are free on every shard but
+     * {@code ownerShard}, whose check is left to the delegate: a user keeping its own numbers is not
+     * a conflict there. {@code null} numbers are not being set and need no check.
+     */
+    private User withNumbersFree(String accountNumber, String cardNumber, int ownerShard, Supplier<User> work){
+        if(accountNumber == null && cardNumber == null){
+            return work.get();
+        }
+        int accountStripe = this.lockStripe(accountNumber);
+        int cardStripe = this.lockStripe(cardNumber);
+        // Serializes concurrent writers of the same numbers on this instance; across instances each shard's unique constraint still applies
+        synchronized (this.uniquenessLocks[Math.min(accountStripe, cardStripe)]) {
+            synchronized (this.uniquenessLocks[Math.max(accountStripe, cardStripe)]) {
+                if(accountNumber != null && this.anyShard(shard -> shard != ownerShard
+                        && (this.userRepository.existsByAccountNumber(accountNumber)
+                        || this.userArchiveService.holdsAccountNumber(accountNumber)))){
+                    throw new BusinessException("This account number already exists.");
+                }
+                if(cardNumber != null && this.anyShard(shard -> shard != ownerShard
+                        && (this.userRepository.existsByCardNumber(cardNumber)
+                        || this.userArchiveService.holdsCardNumber(cardNumber)))){
+                    throw new BusinessException("This card number already exists.");
+                }
+                return work.get();
+            }
+        }
+    }
+
+    private boolean anyShard(IntFunction<Boolean> check){
+        return this.scatter(check).stream().anyMatch(Boolean.TRUE::equals);
+    }
+
+    private int lockStripe(String number){
+        return Math.floorMod(String.valueOf(number).hashCode(), UNIQUENESS_LOCK_STRIPES);
+    }
+}
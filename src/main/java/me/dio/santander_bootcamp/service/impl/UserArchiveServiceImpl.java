@@ -0,0 +1,286 @@
+package me.dio.santander_bootcamp.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import me.dio.santander_bootcamp.config.shard.ShardContext;
+import me.dio.santander_bootcamp.config.shard.ShardRouter;
+import me.dio.santander_bootcamp.config.tenant.TenantContext;
+import me.dio.santander_bootcamp.domain.model.Account;
+import me.dio.santander_bootcamp.domain.model.ArchivedUser;
+import me.dio.santander_bootcamp.domain.model.BaseItem;
+import me.dio.santander_bootcamp.domain.model.Card;
+import me.dio.santander_bootcamp.domain.model.Money;
+import me.dio.santander_bootcamp.domain.model.User;
+import me.dio.santander_bootcamp.domain.model.UserPosition;
+import me.dio.santander_bootcamp.domain.repository.ArchivedUserRepository;
+import me.dio.santander_bootcamp.domain.repository.UserRepository;
+import me.dio.santander_bootcamp.service.UserArchiveService;
+import me.dio.santander_bootcamp.service.event.UserChangedEvent;
+import me.dio.santander_bootcamp.service.tiering.UserArchiveCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Moves dormant users out of {@code tb_user} and its related tables into
+ * {@code tb_user_archive}, one compressed row per user, and moves them back on first access.
+ * Row ids are kept across both moves, so a restored user is indistinguishable from one that
+ * was never archived. Archiving publishes {@link UserChangedEvent.Type#ARCHIVED} and restoring
+ * {@link UserChangedEvent.Type#RESTORED}, so caches and the card ledger follow the hot tier. Agency
+ * totals count both tiers: the archive row keeps the user's agency and money figures in columns.
+ */
+@Service
+public class UserArchiveServiceImpl implements UserArchiveService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserArchiveServiceImpl.class);
+    private static final Long UNCHANGEABLE_USER_ID = 1L;
+
+    private final UserRepository userRepository;
+    private final ArchivedUserRepository archivedUserRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transaction;
+    private final int shardCount;
+    private final Duration inactiveAfter;
+    private final int chunkSize;
+    private final Clock clock = Clock.systemUTC();
+    private final Counter archived;
+    private final Counter restored;
+
+    public UserArchiveServiceImpl(UserRepository userRepository,
+                                  ArchivedUserRepository archivedUserRepository,
+                                  JdbcTemplate jdbcTemplate,
+                                  ApplicationEventPublisher eventPublisher,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  ObjectProvider<ShardRouter> shardRouter,
+                                  @Value("${app.tiering.inactive-after:P365D}") Duration inactiveAfter,
+                                  @Value("${app.tiering.chunk-size:200}") int chunkSize){
+        this.userRepository = userRepository;
+        this.archivedUserRepository = archivedUserRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.transaction = new TransactionTemplate(transactionManager);
+        ShardRouter router = shardRouter.getIfAvailable();
+        this.shardCount = router == null ? 1 : router.shardCount();
+        this.inactiveAfter = inactiveAfter;
+        this.chunkSize = chunkSize;
+        this.archived = meterRegistry.counter("user.tiering.moves", "direction", "archived");
+        this.restored = meterRegistry.counter("user.tiering.moves", "direction", "restored");
+    }
+
+    @Override
+    @Scheduled(cron = "${app.tiering.cron:-}")
+    public int archiveInactive(){
+        Instant now = this.clock.instant();
+        Instant cutoff = now.minus(this.inactiveAfter);
+        int total = 0;
+        for(int shard = 0; shard < this.shardCount; shard++){
+            total += ShardContext.on(shard, () -> this.archiveCurrentShard(cutoff, now));
+        }
+        LOGGER.info("Archived {} users inactive since before {}.", total, cutoff);
+        return total;
+    }
+
+    @Override
+    @Transactional
+    public Optional<User> restore(Long id){
+        if(id == null){
+            return Optional.empty();
+        }
+        Optional<ArchivedUser> archivedUser = this.archivedUserRepository.findForRestore(id);
+        if(archivedUser.isEmpty()){
+            // Restored by a concurrent call while this one waited on the archive row
+            return this.userRepository.findById(id);
+        }
+        String tenant = TenantContext.current();
+        if(tenant != null && !tenant.equals(archivedUser.get().getTenantId())){
+            return Optional.empty();
+        }
+        User user = UserArchiveCodec.decode(archivedUser.get().getPayload());
+        user.setTenantId(archivedUser.get().getTenantId());
+        this.insertHot(user, this.clock.instant());
+        this.archivedUserRepository.delete(archivedUser.get());
+        this.eventPublisher.publishEvent(new UserChangedEvent(id, UserChangedEvent.Type.RESTORED, null, UserPosition.of(user)));
+        this.restored.increment();
+        return this.userRepository.findById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean holdsUser(Long id){
+        if(id == null){
+            return false;
+        }
+        String tenant = TenantContext.current();
+        return tenant == null
+                ? this.archivedUserRepository.existsById(id)
+                : this.archivedUserRepository.existsByUserIdAndTenantId(id, tenant);
+    }
+
+    @Override
+    public int recordMissingPositions(){
+        int total = 0;
+        long afterId = 0;
+        int filled;
+        do {
+            long after = afterId;
+            List<ArchivedUser> chunk = this.transaction.execute(status -> {
+                List<ArchivedUser> rows = this.archivedUserRepository.findWithoutPosition(after, Limit.of(this.chunkSize));
+                rows.forEach(row -> recordPosition(row, UserArchiveCodec.decode(row.getPayload())));
+                return rows;
+            });
+            filled = chunk == null ? 0 : chunk.size();
+            if(filled > 0){
+                afterId = chunk.get(filled - 1).getUserId();
+            }
+            total += filled;
+        } while(filled == this.chunkSize);
+        return total;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean holdsAccountNumber(String accountNumber){
+        return this.archivedUserRepository.existsByAccountNumber(accountNumber);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean holdsCardNumber(String cardNumber){
+        return this.archivedUserRepository.existsByCardNumber(cardNumber);
+    }
+
+    private int archiveCurrentShard(Instant cutoff, Instant now){
+        // Users from before activity tracking start their inactivity period now
+        this.transaction.executeWithoutResult(status -> this.userRepository.initializeLastActivity(now));
+        int total = 0;
+        int moved;
+        do {
+            Integer chunk = this.transaction.execute(status -> this.archiveChunk(cutoff, now));
+            moved = chunk == null ? 0 : chunk;
+            total += moved;
+        } while(moved > 0);
+        return total;
+    }
+
+    private int archiveChunk(Instant cutoff, Instant now){
+        List<Long> ids = this.userRepository.findInactiveIds(cutoff, UNCHANGEABLE_USER_ID, Limit.of(this.chunkSize));
+        if(ids.isEmpty()){
+            return 0;
+        }
+        List<User> users = this.userRepository.findAllWithAccountAndCard(ids);
+        Map<Long, UserPosition> positions = users.stream().collect(Collectors.toMap(User::getId, UserPosition::of));
+        this.archivedUserRepository.saveAll(users.stream().map(user -> toArchive(user, now)).toList());
+
+        List<Long> accountIds = this.userRepository.findAccountIds(ids);
+        List<Long> cardIds = this.userRepository.findCardIds(ids);
+        List<Long> featureIds = this.userRepository.findFeatureIds(ids);
+        List<Long> newsIds = this.userRepository.findNewsIds(ids);
+        this.userRepository.deleteFeatureLinks(ids);
+        this.userRepository.deleteNewsLinks(ids);
+        this.userRepository.deleteUsers(ids);
+        deleteRows(accountIds, this.userRepository::deleteAccounts);
+        deleteRows(cardIds, this.userRepository::deleteCards);
+        deleteRows(featureIds, this.userRepository::deleteFeatures);
+        deleteRows(newsIds, this.userRepository::deleteNews);
+
+        positions.forEach((id, position) -> this.eventPublisher.publishEvent(
+                new UserChangedEvent(id, UserChangedEvent.Type.ARCHIVED, position, null)));
+        this.archived.increment(users.size());
+        return users.size();
+    }
+
+    private void insertHot(User user, Instant now){
+        Account account = user.getAccount();
+        if(account != null){
+            this.jdbcTemplate.update("insert into tb_account (id, number, agency, balance, additional_limit) values (?, ?, ?, ?, ?)",
+                    account.getId(), account.getNumber(), account.getAgency(), amount(account.getBalance()), amount(account.getLimit()));
+        }
+        Card card = user.getCard();
+        if(card != null){
+            this.jdbcTemplate.update("insert into tb_card (id, number, available_limit) values (?, ?, ?)",
+                    card.getId(), card.getNumber(), amount(card.getLimit()));
+        }
+        this.insertItems("tb_feature", user.getFeatures());
+        this.insertItems("tb_news", user.getNews());
+        this.jdbcTemplate.update("insert into tb_user (id, tenant_id, name, account_id, card_id, last_activity_at) values (?, ?, ?, ?, ?, ?)",
+                user.getId(), user.getTenantId(), user.getName(), account == null ? null : account.getId(),
+                card == null ? null : card.getId(), Timestamp.from(now));
+        this.insertLinks("insert into tb_user_features (tb_user_id, features_id) values (?, ?)", user.getId(), user.getFeatures());
+        this.insertLinks("insert into tb_user_news (tb_user_id, news_id) values (?, ?)", user.getId(), user.getNews());
+    }
+
+    private void insertItems(String table, List<? extends BaseItem> items){
+        if(!items.isEmpty()){
+            this.jdbcTemplate.batchUpdate("insert into " + table + " (id, icon, description) values (?, ?, ?)",
+                    items, items.size(), (statement, item) -> {
+                        statement.setLong(1, item.getId());
+                        statement.setString(2, item.getIcon());
+                        statement.setString(3, item.getDescription());
+                    });
+        }
+    }
+
+    private void insertLinks(String sql, Long userId, List<? extends BaseItem> items){
+        if(!items.isEmpty()){
+            this.jdbcTemplate.batchUpdate(sql, items, items.size(), (statement, item) -> {
+                statement.setLong(1, userId);
+                statement.setLong(2, item.getId());
+            });
+        }
+    }
+
+    private static ArchivedUser toArchive(User user, Instant now){
+        ArchivedUser archivedUser = new ArchivedUser();
+        archivedUser.setUserId(user.getId());
+        archivedUser.setTenantId(user.getTenantId());
+        archivedUser.setAccountNumber(user.getAccount() == null ? null : user.getAccount().getNumber());
+        archivedUser.setCardNumber(user.getCard() == null ? null : user.getCard().getNumber());
+        archivedUser.setLastActivityAt(user.getLastActivityAt());
+        archivedUser.setArchivedAt(now);
+        archivedUser.setPayload(UserArchiveCodec.encode(user));
+        recordPosition(archivedUser, user);
+        return archivedUser;
+    }
+
+    private static void recordPosition(ArchivedUser archivedUser, User user){
+        Account account = user.getAccount();
+        Card card = user.getCard();
+        archivedUser.setAgency(account == null ? null : account.getAgency());
+        archivedUser.setBalance(account == null ? null : account.getBalance());
+        archivedUser.setAccountLimit(account == null ? null : account.getLimit());
+        archivedUser.setCardLimit(card == null ? null : card.getLimit());
+    }
+
+    private static BigDecimal amount(Money money){
+        return money == null ? null : money.toBigDecimal();
+    }
+
+    private static void deleteRows(List<Long> ids, Function<Collection<Long>, Integer> delete){
+        if(!ids.isEmpty()){
+            delete.apply(ids);
+        }
+    }
+}
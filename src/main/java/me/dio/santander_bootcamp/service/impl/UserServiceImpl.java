@@ -1,27 +1,78 @@
 package me.dio.santander_bootcamp.service.impl;
 
+import io.micrometer.observation.annotation.Observed;
+import me.dio.santander_bootcamp.config.datasource.DataSourceRouting;
+import me.dio.santander_bootcamp.config.datasource.ReadYourWritesTracker;
+import me.dio.santander_bootcamp.domain.model.Account;
+import me.dio.santander_bootcamp.domain.model.Card;
+import me.dio.santander_bootcamp.domain.model.Money;
 import me.dio.santander_bootcamp.domain.model.User;
+import me.dio.santander_bootcamp.domain.model.UserPosition;
+import me.dio.santander_bootcamp.domain.model.UserSummary;
 import me.dio.santander_bootcamp.domain.repository.UserRepository;
+import me.dio.santander_bootcamp.service.BulkOperationResult;
+import me.dio.santander_bootcamp.service.UserPatch;
+import me.dio.santander_bootcamp.service.UserArchiveService;
 import me.dio.santander_bootcamp.service.UserService;
+import me.dio.santander_bootcamp.service.event.UserChangedEvent;
 import me.dio.santander_bootcamp.service.exception.BusinessException;
 import me.dio.santander_bootcamp.service.exception.NotFoundException;
+import me.dio.santander_bootcamp.service.loader.UserBatchLoader;
+import me.dio.santander_bootcamp.service.search.UserSearchHit;
+import me.dio.santander_bootcamp.service.search.UserSearchIndex;
+import me.dio.santander_bootcamp.service.search.UserSearchPage;
+import me.dio.santander_bootcamp.service.tiering.UserActivityTracker;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static java.util.Optional.ofNullable;
 
 @Service
+@Observed(name = "user.service")
 public class UserServiceImpl implements UserService {
 
 
     private static final Long UNCHANGEABLE_USER_ID = 1L;
+    private static final int BULK_CHUNK_SIZE = 500;
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_OFFSET = 10_000;
 
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final UserSearchIndex userSearchIndex;
+    private final ObjectProvider<UserBatchLoader> userBatchLoader;
+    private final UserArchiveService userArchiveService;
+    private final UserActivityTracker userActivityTracker;
 
-    public UserServiceImpl(UserRepository userRepository){
+    public UserServiceImpl(UserRepository userRepository,
+                           ApplicationEventPublisher eventPublisher,
+                           ReadYourWritesTracker readYourWritesTracker,
+                           UserSearchIndex userSearchIndex,
+                           ObjectProvider<UserBatchLoader> userBatchLoader,
+                           UserArchiveService userArchiveService,
+                           UserActivityTracker userActivityTracker){
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.userSearchIndex = userSearchIndex;
+        this.userBatchLoader = userBatchLoader;
+        this.userArchiveService = userArchiveService;
+        this.userActivityTracker = userActivityTracker;
     }
 
     @Transactional(readOnly = true)
@@ -30,8 +81,55 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<UserSummary> findAllSummaries(){
+        return this.userRepository.findAllSummaries();
+    }
+
+    @Override
+    public UserSearchPage search(String query, int page, int size){
+        validateSearch(query, page, size);
+        return searchPage(this.searchHits(query, page * size, size + 1), page, size);
+    }
+
+    List<UserSearchHit> searchHits(String query, int offset, int limit){
+        return this.userSearchIndex.search(query.strip(), offset, limit);
+    }
+
+    static void validateSearch(String query, int page, int size){
+        if(query == null || query.isBlank()){
+            throw new BusinessException("Search query must not be blank.");
+        }
+        if(page < 0 || size < 1 || size > MAX_SEARCH_PAGE_SIZE){
+            throw new BusinessException("Page must be zero or positive and size between 1 and %d.".formatted(MAX_SEARCH_PAGE_SIZE));
+        }
+        if((long) page * size > MAX_SEARCH_OFFSET){
+            throw new BusinessException("Search results are limited to the first %d hits.".formatted(MAX_SEARCH_OFFSET));
+        }
+    }
+
+    // Hits holds up to size + 1 entries; the extra one only tells whether a next page exists
+    static UserSearchPage searchPage(List<UserSearchHit> hits, int page, int size){
+        boolean hasNext = hits.size() > size;
+        return new UserSearchPage(hasNext ? hits.subList(0, size) : hits, page, size, hasNext);
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public User findById(Long id) {
-        return this.userRepository.findById(id).orElseThrow(NotFoundException::new);
+        User user = this.readYourWritesTracker.isRecentlyWritten(id)
+                ? DataSourceRouting.onPrimary(() -> this.load(id))
+                : this.load(id);
+        this.userActivityTracker.touch(id);
+        return user;
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public boolean exists(Long id) {
+        return this.readYourWritesTracker.isRecentlyWritten(id)
+                ? DataSourceRouting.onPrimary(() -> this.holds(id))
+                : this.holds(id);
     }
 
     @Transactional
@@ -41,23 +139,31 @@ public class UserServiceImpl implements UserService {
         ofNullable(userToCreate.getCard()).orElseThrow(() -> new BusinessException("User card must not be null."));
 
         this.validateChangeableId(userToCreate.getId(), "created");
-        if(userRepository.existsByAccountNumber(userToCreate.getAccount().getNumber())){
+        if(this.accountNumberTaken(userToCreate.getAccount().getNumber())){
             throw new BusinessException("This account number already exists.");
         }
-        if(userRepository.existsByCardNumber(userToCreate.getCard().getNumber())){
+        if(this.cardNumberTaken(userToCreate.getCard().getNumber())){
             throw new BusinessException("This card number already exists.");
         }
 
-        return this.userRepository.save(userToCreate);
+        userToCreate.setLastActivityAt(Instant.now());
+        User createdUser = this.userRepository.save(userToCreate);
+        this.eventPublisher.publishEvent(new UserChangedEvent(createdUser.getId(), UserChangedEvent.Type.CREATED,
+                null, UserPosition.of(createdUser)));
+        return createdUser;
     }
 
     @Transactional
     public User update(Long id, User userToUpdate){
         this.validateChangeableId(id, "updated");
-        User dbUser = this.findById(id);
+        User dbUser = this.findExisting(id);
         if(!dbUser.getId().equals(userToUpdate.getId())){
             throw new BusinessException("Update IDs must be the same.");
         }
+        this.validateNumbersFree(dbUser,
+                ofNullable(userToUpdate.getAccount()).map(Account::getNumber).orElse(null),
+                ofNullable(userToUpdate.getCard()).map(Card::getNumber).orElse(null));
+        UserPosition before = UserPosition.of(dbUser);
 
         dbUser.setName(userToUpdate.getName());
         dbUser.setAccount(userToUpdate.getAccount());
@@ -65,14 +171,166 @@ public class UserServiceImpl implements UserService {
         dbUser.setFeatures(userToUpdate.getFeatures());
         dbUser.setNews(userToUpdate.getNews());
 
-        return this.userRepository.save(dbUser);
+        dbUser.setLastActivityAt(Instant.now());
+        User updatedUser = this.userRepository.save(dbUser);
+        this.eventPublisher.publishEvent(new UserChangedEvent(updatedUser.getId(), UserChangedEvent.Type.UPDATED,
+                before, UserPosition.of(updatedUser)));
+        return updatedUser;
+    }
+
+    @Override
+    @Transactional
+    public User patch(Long id, UserPatch patch){
+        this.validateChangeableId(id, "updated");
+        User dbUser = this.findExisting(id);
+        UserPosition before = UserPosition.of(dbUser);
+
+        // Checked before applyTo: the exists queries auto-flush, and once the managed account or card
+        // carries the new number they would find it and reject every number change
+        this.validateNumbersFree(dbUser, patch.accountNumber(), patch.cardNumber());
+
+        patch.applyTo(dbUser);
+
+        if(!dbUser.getId().equals(id)){
+            throw new BusinessException("Update IDs must be the same.");
+        }
+        ofNullable(dbUser.getAccount()).orElseThrow(() -> new BusinessException("User account must not be null."));
+        ofNullable(dbUser.getCard()).orElseThrow(() -> new BusinessException("User card must not be null."));
+
+        dbUser.setLastActivityAt(Instant.now());
+        this.eventPublisher.publishEvent(new UserChangedEvent(id, UserChangedEvent.Type.UPDATED, before, UserPosition.of(dbUser)));
+        return dbUser;
     }
 
     @Transactional
     public void delete(Long id){
         this.validateChangeableId(id, "deleted");
-        User dbUser = this.findById(id);
+        User dbUser = this.findExisting(id);
+        UserPosition before = UserPosition.of(dbUser);
         this.userRepository.delete(dbUser);
+        this.eventPublisher.publishEvent(new UserChangedEvent(id, UserChangedEvent.Type.DELETED, before, null));
+    }
+
+    @Override
+    @Transactional
+    public BulkOperationResult deleteAll(Collection<Long> ids){
+        List<Long> requested = distinctIds(ids);
+        int affected = 0;
+        for(List<Long> chunk : chunks(requested)){
+            List<Long> changeable = this.userRepository.findChangeableIds(chunk, UNCHANGEABLE_USER_ID);
+            if(changeable.isEmpty()){
+                continue;
+            }
+            Map<Long, UserPosition> positions = this.findPositions(changeable);
+            List<Long> accountIds = this.userRepository.findAccountIds(changeable);
+            List<Long> cardIds = this.userRepository.findCardIds(changeable);
+            List<Long> featureIds = this.userRepository.findFeatureIds(changeable);
+            List<Long> newsIds = this.userRepository.findNewsIds(changeable);
+
+            this.userRepository.deleteFeatureLinks(changeable);
+            this.userRepository.deleteNewsLinks(changeable);
+            affected += this.userRepository.deleteUsers(changeable);
+            deleteOrphans(accountIds, this.userRepository::deleteAccounts);
+            deleteOrphans(cardIds, this.userRepository::deleteCards);
+            deleteOrphans(featureIds, this.userRepository::deleteFeatures);
+            deleteOrphans(newsIds, this.userRepository::deleteNews);
+
+            changeable.forEach(id -> this.eventPublisher.publishEvent(
+                    new UserChangedEvent(id, UserChangedEvent.Type.DELETED, positions.get(id), null)));
+        }
+        return new BulkOperationResult(requested.size(), affected);
+    }
+
+    @Override
+    @Transactional
+    public BulkOperationResult raiseCardLimit(Collection<Long> ids, Money amount){
+        validateRaiseAmount(amount);
+        List<Long> requested = distinctIds(ids);
+        int affected = 0;
+        for(List<Long> chunk : chunks(requested)){
+            affected += this.raiseCardLimitOf(this.userRepository.findChangeableIds(chunk, UNCHANGEABLE_USER_ID), amount);
+        }
+        return new BulkOperationResult(requested.size(), affected);
+    }
+
+    @Override
+    @Transactional
+    public BulkOperationResult raiseCardLimitByAgency(String agency, Money amount){
+        validateRaiseAmount(amount);
+        if(agency == null || agency.isBlank()){
+            throw new BusinessException("Agency must not be blank.");
+        }
+        List<Long> matching = this.userRepository.findChangeableIdsByAgency(agency, UNCHANGEABLE_USER_ID);
+        int affected = 0;
+        for(List<Long> chunk : chunks(matching)){
+            affected += this.raiseCardLimitOf(chunk, amount);
+        }
+        return new BulkOperationResult(matching.size(), affected);
+    }
+
+    private int raiseCardLimitOf(List<Long> changeable, Money amount){
+        if(changeable.isEmpty()){
+            return 0;
+        }
+        Map<Long, UserPosition> positions = this.findPositions(changeable);
+        int affected = this.userRepository.increaseCardLimit(changeable, amount.toBigDecimal());
+        changeable.forEach(id -> {
+            UserPosition before = positions.get(id);
+            UserPosition after = before == null ? null : before.withCardLimitIncreasedBy(amount);
+            this.eventPublisher.publishEvent(new UserChangedEvent(id, UserChangedEvent.Type.UPDATED, before, after));
+        });
+        return affected;
+    }
+
+    private Map<Long, UserPosition> findPositions(List<Long> ids){
+        return this.userRepository.findPositions(ids).stream()
+                .collect(Collectors.toMap(UserPosition::userId, Function.identity()));
+    }
+
+    // Batched lookups run in the repository's own read-only transaction, so a caller waiting on a batch holds no connection
+    private User load(Long id){
+        UserBatchLoader loader = this.userBatchLoader.getIfAvailable();
+        if(loader == null || TransactionSynchronizationManager.isActualTransactionActive()){
+            return this.findExisting(id);
+        }
+        return loader.load(id)
+                .or(() -> this.restoreArchived(id))
+                .orElseThrow(NotFoundException::new);
+    }
+
+    private User findExisting(Long id){
+        return this.userRepository.findById(id)
+                .or(() -> this.restoreArchived(id))
+                .orElseThrow(NotFoundException::new);
+    }
+
+    private boolean holds(Long id){
+        return this.userRepository.existsById(id) || this.userArchiveService.holdsUser(id);
+    }
+
+    // Most misses are ids that exist nowhere: only an archived user is worth the write transaction and row lock of a restore
+    private Optional<User> restoreArchived(Long id){
+        return this.userArchiveService.holdsUser(id) ? this.userArchiveService.restore(id) : Optional.empty();
+    }
+
+    // A changed number must be free in the hot tables and in the archive, or restoring its holder would fail
+    private void validateNumbersFree(User dbUser, String newAccountNumber, String newCardNumber){
+        String accountNumber = ofNullable(dbUser.getAccount()).map(Account::getNumber).orElse(null);
+        String cardNumber = ofNullable(dbUser.getCard()).map(Card::getNumber).orElse(null);
+        if(newAccountNumber != null && !newAccountNumber.equals(accountNumber) && this.accountNumberTaken(newAccountNumber)){
+            throw new BusinessException("This account number already exists.");
+        }
+        if(newCardNumber != null && !newCardNumber.equals(cardNumber) && this.cardNumberTaken(newCardNumber)){
+            throw new BusinessException("This card number already exists.");
+        }
+    }
+
+    private boolean accountNumberTaken(String accountNumber){
+        return this.userRepository.existsByAccountNumber(accountNumber) || this.userArchiveService.holdsAccountNumber(accountNumber);
+    }
+
+    private boolean cardNumberTaken(String cardNumber){
+        return this.userRepository.existsByCardNumber(cardNumber) || this.userArchiveService.holdsCardNumber(cardNumber);
     }
 
     private void validateChangeableId(Long id, String operation){
@@ -80,4 +338,31 @@ public class UserServiceImpl implements UserService {
             throw new BusinessException("User with ID %d can not be %s.".formatted(UNCHANGEABLE_USER_ID, operation));
         }
     }
+
+    private static void validateRaiseAmount(Money amount){
+        if(amount == null || amount.signum() <= 0){
+            throw new BusinessException("Limit increase must be greater than zero.");
+        }
+    }
+
+    private static List<Long> distinctIds(Collection<Long> ids){
+        if(ids == null || ids.isEmpty()){
+            throw new BusinessException("Bulk operation requires at least one ID.");
+        }
+        return ids.stream().filter(Objects::nonNull).distinct().toList();
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids){
+        List<List<Long>> chunks = new ArrayList<>((ids.size() + BULK_CHUNK_SIZE - 1) / BULK_CHUNK_SIZE);
+        for(int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE){
+            chunks.add(ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size())));
+        }
+        return chunks;
+    }
+
+    private static void deleteOrphans(List<Long> ids, Function<Collection<Long>, Integer> delete){
+        if(!ids.isEmpty()){
+            delete.apply(ids);
+        }
+    }
 }
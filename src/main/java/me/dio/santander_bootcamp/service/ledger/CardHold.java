@@ -0,0 +1,12 @@
+package me.dio.santander_bootcamp.service.ledger;
+
+import me.dio.santander_bootcamp.domain.model.Money;
+
+public record CardHold(long authorizationId, Long userId, Money amount, Status status, Money availableLimit) {
+
+    public enum Status {
+        HELD,
+        CAPTURED,
+        RELEASED
+    }
+}
@@ -0,0 +1,314 @@
+package me.dio.santander_bootcamp.service.ledger;
+
+import me.dio.santander_bootcamp.domain.model.Money;
+import me.dio.santander_bootcamp.service.exception.BusinessException;
+import me.dio.santander_bootcamp.service.exception.NotFoundException;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory available limit of every card, authoritative for authorizations.
+ * <p>
+ * Each card keeps the limit last committed to {@code tb_card} plus the pending change of holds,
+ * captures and releases not yet flushed. Operations on one card are serialized by that card's
+ * monitor and journaled before they are applied, so cards never contend with each other and a
+ * restart rebuilds the pending changes by {@linkplain #recover replaying} the journal on top of
+ * the committed limits. Flushes {@linkplain #drain move} the pending change into the committed
+ * figure before it is written and {@linkplain #restore move it back} if the write fails.
+ */
+public class CardLedger {
+
+    private final Map<Long, CardAccount> accounts = new ConcurrentHashMap<>();
+    private final Map<Long, OpenHold> openHolds = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final LedgerJournal journal;
+    private final Clock clock;
+
+    public CardLedger(LedgerJournal journal, Clock clock){
+        this.journal = journal;
+        this.clock = clock;
+    }
+
+    /**
+     * Registers a card with its committed limit; a card that is already known keeps its state.
+     */
+    public void load(Long userId, int shard, Money committedLimit){
+        this.accounts.putIfAbsent(userId, new CardAccount(shard, committedLimit.cents()));
+    }
+
+    public boolean contains(Long userId){
+        return this.accounts.containsKey(userId);
+    }
+
+    /**
+     * Replays the journal over the loaded committed limits. Entries up to a user's applied
+     * sequence are already in the database and only rebuild the open holds. Returns the entries
+     * still needed by a later recovery, which are the open holds and everything not yet applied.
+     */
+    public List<JournalEntry> recover(List<JournalEntry> entries, Map<Long, Long> appliedSequences){
+        Map<Long, JournalEntry> holdEntries = new HashMap<>();
+        NavigableMap<Long, JournalEntry> retained = new TreeMap<>();
+        long lastSequence = appliedSequences.values().stream().mapToLong(Long::longValue).max().orElse(0);
+        for(JournalEntry entry : entries.stream().sorted(Comparator.comparingLong(JournalEntry::sequence)).toList()){
+            lastSequence = Math.max(lastSequence, entry.sequence());
+            CardAccount account = this.accounts.get(entry.userId());
+            if(account == null){
+                continue;
+            }
+            long change;
+            if(entry.type() == JournalEntry.Type.HOLD){
+                this.openHolds.put(entry.sequence(), new OpenHold(entry.userId(), entry.amountCents(),
+                        Instant.ofEpochMilli(entry.epochMillis())));
+                holdEntries.put(entry.sequence(), entry);
+                change = -entry.amountCents();
+            } else {
+                OpenHold hold = this.openHolds.remove(entry.authorizationId());
+                long captured = entry.type() == JournalEntry.Type.CAPTURE ? entry.amountCents() : 0;
+                change = hold == null ? 0 : hold.cents() - captured;
+            }
+            if(entry.sequence() > appliedSequences.getOrDefault(entry.userId(), 0L)){
+                account.pendingCents += change;
+                account.lastSequence = entry.sequence();
+                this.dirty.add(entry.userId());
+                retained.put(entry.sequence(), entry);
+                // A later replay of this settlement needs the hold it settles
+                JournalEntry hold = holdEntries.get(entry.authorizationId());
+                if(hold != null){
+                    retained.put(hold.sequence(), hold);
+                }
+            }
+        }
+        this.sequence.set(lastSequence);
+        this.openHolds.keySet().forEach(authorizationId -> retained.put(authorizationId, holdEntries.get(authorizationId)));
+        return new ArrayList<>(retained.values());
+    }
+
+    public CardHold authorize(Long userId, Money amount){
+        if(amount == null || amount.signum() <= 0){
+            throw new BusinessException("Authorization amount must be greater than zero.");
+        }
+        CardAccount account = this.account(userId);
+        synchronized (account) {
+            if(account.available() < amount.cents()){
+                throw new BusinessException("Insufficient card limit.");
+            }
+            Instant now = this.clock.instant();
+            long next = this.append(JournalEntry.Type.HOLD, 0, userId, amount.cents(), now);
+            account.pendingCents -= amount.cents();
+            account.lastSequence = next;
+            this.openHolds.put(next, new OpenHold(userId, amount.cents(), now));
+            this.dirty.add(userId);
+            return new CardHold(next, userId, amount, CardHold.Status.HELD, Money.ofCents(account.available()));
+        }
+    }
+
+    /**
+     * Settles a hold for {@code amount}, or its full amount when {@code null}; the remainder
+     * returns to the available limit.
+     */
+    public CardHold capture(Long userId, long authorizationId, Money amount){
+        CardAccount account = this.account(userId);
+        synchronized (account) {
+            OpenHold hold = this.openHold(userId, authorizationId);
+            long captured = amount == null ? hold.cents() : amount.cents();
+            if(captured <= 0 || captured > hold.cents()){
+                throw new BusinessException("Capture amount must be greater than zero and at most the held amount.");
+            }
+            long next = this.append(JournalEntry.Type.CAPTURE, authorizationId, userId, captured, this.clock.instant());
+            this.openHolds.remove(authorizationId);
+            account.pendingCents += hold.cents() - captured;
+            account.lastSequence = next;
+            this.dirty.add(userId);
+            return new CardHold(authorizationId, userId, Money.ofCents(captured), CardHold.Status.CAPTURED, Money.ofCents(account.available()));
+        }
+    }
+
+    public CardHold release(Long userId, long authorizationId){
+        CardAccount account = this.account(userId);
+        synchronized (account) {
+            OpenHold hold = this.openHold(userId, authorizationId);
+            long next = this.append(JournalEntry.Type.RELEASE, authorizationId, userId, hold.cents(), this.clock.instant());
+            this.openHolds.remove(authorizationId);
+            account.pendingCents += hold.cents();
+            account.lastSequence = next;
+            this.dirty.add(userId);
+            return new CardHold(authorizationId, userId, Money.ofCents(hold.cents()), CardHold.Status.RELEASED, Money.ofCents(account.available()));
+        }
+    }
+
+    public int releaseHoldsCreatedBefore(Instant cutoff){
+        int released = 0;
+        for(Map.Entry<Long, OpenHold> entry : this.openHolds.entrySet()){
+            if(entry.getValue().createdAt().isBefore(cutoff)){
+                try {
+                    this.release(entry.getValue().userId(), entry.getKey());
+                    released++;
+                } catch (NotFoundException ex) {
+                    // Settled or dropped concurrently
+                }
+            }
+        }
+        return released;
+    }
+
+    public Money available(Long userId){
+        CardAccount account = this.account(userId);
+        synchronized (account) {
+            return Money.ofCents(account.available());
+        }
+    }
+
+    /**
+     * Applies a committed change of the card limit made outside the ledger, such as an update of
+     * the user or a bulk raise. Pending holds stay on top of the new committed limit.
+     */
+    public void applyCommittedChange(Long userId, Money before, Money after){
+        if(after == null){
+            this.remove(userId);
+            return;
+        }
+        CardAccount account = this.accounts.get(userId);
+        if(account == null){
+            return;
+        }
+        synchronized (account) {
+            account.committedCents = before == null ? after.cents() : account.committedCents + after.cents() - before.cents();
+        }
+    }
+
+    public void remove(Long userId){
+        this.accounts.remove(userId);
+        this.dirty.remove(userId);
+        this.openHolds.values().removeIf(hold -> hold.userId().equals(userId));
+    }
+
+    /**
+     * Takes up to {@code max} cards with unflushed journal entries and moves their pending change
+     * into the committed limit, returning what must be written to the database.
+     */
+    public List<LedgerFlush> drain(int max){
+        List<LedgerFlush> flushes = new ArrayList<>(Math.min(max, this.dirty.size()));
+        Iterator<Long> userIds = this.dirty.iterator();
+        while(flushes.size() < max && userIds.hasNext()){
+            Long userId = userIds.next();
+            userIds.remove();
+            CardAccount account = this.accounts.get(userId);
+            if(account == null){
+                continue;
+            }
+            synchronized (account) {
+                if(account.lastSequence <= account.drainedSequence){
+                    continue;
+                }
+                long delta = account.pendingCents;
+                account.pendingCents = 0;
+                account.committedCents += delta;
+                account.drainedSequence = account.lastSequence;
+                flushes.add(new LedgerFlush(userId, account.shard, delta, account.lastSequence));
+            }
+        }
+        return flushes;
+    }
+
+    public void restore(LedgerFlush flush){
+        CardAccount account = this.accounts.get(flush.userId());
+        if(account == null){
+            return;
+        }
+        synchronized (account) {
+            account.committedCents -= flush.deltaCents();
+            account.pendingCents += flush.deltaCents();
+            account.drainedSequence = Math.min(account.drainedSequence, flush.sequence() - 1);
+            this.dirty.add(flush.userId());
+        }
+    }
+
+    /**
+     * Drops the journal entries a recovery no longer needs. Call it after every flush has been
+     * written, so each card's drained sequence is also the one checkpointed in the database.
+     */
+    public void compactJournal(){
+        this.journal.compact(this::needs);
+    }
+
+    public int pendingFlushes(){
+        return this.dirty.size();
+    }
+
+    public int openHolds(){
+        return this.openHolds.size();
+    }
+
+    private CardAccount account(Long userId){
+        CardAccount account = userId == null ? null : this.accounts.get(userId);
+        if(account == null){
+            throw new NotFoundException();
+        }
+        return account;
+    }
+
+    private OpenHold openHold(Long userId, long authorizationId){
+        OpenHold hold = this.openHolds.get(authorizationId);
+        if(hold == null || !hold.userId().equals(userId)){
+            throw new NotFoundException();
+        }
+        return hold;
+    }
+
+    private boolean needs(JournalEntry entry){
+        if(entry.type() == JournalEntry.Type.HOLD && this.openHolds.containsKey(entry.authorizationId())){
+            return true;
+        }
+        CardAccount account = this.accounts.get(entry.userId());
+        if(account == null){
+            return false;
+        }
+        synchronized (account) {
+            // Unflushed entries are replayed, and replaying a settlement needs its hold; a settled hold
+            // is therefore kept while its card has anything unflushed
+            return entry.sequence() > account.drainedSequence
+                    || entry.type() == JournalEntry.Type.HOLD && account.lastSequence > account.drainedSequence;
+        }
+    }
+
+    private long append(JournalEntry.Type type, long authorizationId, Long userId, long cents, Instant at){
+        long next = this.sequence.incrementAndGet();
+        this.journal.append(new JournalEntry(next, type, type == JournalEntry.Type.HOLD ? next : authorizationId,
+                userId, cents, at.toEpochMilli()));
+        return next;
+    }
+
+    private static final class CardAccount {
+
+        private final int shard;
+        private long committedCents;
+        private long pendingCents;
+        private long lastSequence;
+        private long drainedSequence;
+
+        private CardAccount(int shard, long committedCents){
+            this.shard = shard;
+            this.committedCents = committedCents;
+        }
+
+        private long available(){
+            return this.committedCents + this.pendingCents;
+        }
+    }
+
+    private record OpenHold(Long userId, long cents, Instant createdAt) {
+    }
+}
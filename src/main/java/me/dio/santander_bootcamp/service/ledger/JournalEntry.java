@@ -0,0 +1,42 @@
+package me.dio.santander_bootcamp.service.ledger;
+
+/**
+ * One line of the card ledger journal. {@code authorizationId} is the sequence of the
+ * {@link Type#HOLD} that opened the authorization, so a hold's own entry carries its sequence twice.
+ */
+public record JournalEntry(long sequence, Type type, long authorizationId, Long userId, long amountCents, long epochMillis) {
+
+    private static final char SEPARATOR = ';';
+
+    public String encode(){
+        return new StringBuilder(64)
+                .append(this.sequence).append(SEPARATOR)
+                .append(this.type.name()).append(SEPARATOR)
+                .append(this.authorizationId).append(SEPARATOR)
+                .append(this.userId).append(SEPARATOR)
+                .append(this.amountCents).append(SEPARATOR)
+                .append(this.epochMillis)
+                .append('\n')
+                .toString();
+    }
+
+    public static JournalEntry decode(String line){
+        String[] fields = line.split(String.valueOf(SEPARATOR));
+        if(fields.length != 6){
+            throw new IllegalArgumentException("Malformed journal entry: " + line);
+        }
+        return new JournalEntry(
+                Long.parseLong(fields[0]),
+                Type.valueOf(fields[1]),
+                Long.parseLong(fields[2]),
+                Long.valueOf(fields[3]),
+                Long.parseLong(fields[4]),
+                Long.parseLong(fields[5]));
+    }
+
+    public enum Type {
+        HOLD,
+        CAPTURE,
+        RELEASE
+    }
+}
@@ -0,0 +1,8 @@
+package me.dio.santander_bootcamp.service.ledger;
+
+/**
+ * Net change of one card's available limit to write to the database, covering every journal
+ * entry of the user up to {@code sequence}.
+ */
+public record LedgerFlush(Long userId, int shard, long deltaCents, long sequence) {
+}
@@ -0,0 +1,203 @@
+package me.dio.santander_bootcamp.service.ledger;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Append-only file of {@link JournalEntry} lines. Each entry is written with a single
+ * {@code write} call, so it reaches the operating system before the ledger applies it and
+ * survives a process crash; {@code fsync} additionally forces it to disk, which also survives a
+ * power loss at the cost of a disk flush per entry. A line cut short by a crash is ignored on read.
+ * <p>
+ * Appends go to the active file. {@link #compact} rolls it over and filters the rolled entries
+ * into a {@code .base} file next to it, so the journal stays as large as the entries a recovery
+ * still needs instead of growing with every operation.
+ */
+public class LedgerJournal implements Closeable {
+
+    private final Path file;
+    private final Path base;
+    private final Path rolled;
+    private final Path compacted;
+    private final boolean fsync;
+    private final Object compaction = new Object();
+    private FileChannel channel;
+
+    public LedgerJournal(Path file, boolean fsync){
+        this.file = file;
+        this.base = sibling(file, ".base");
+        this.rolled = sibling(file, ".rolled");
+        this.compacted = sibling(file, ".compact");
+        this.fsync = fsync;
+        this.channel = open(file);
+    }
+
+    /**
+     * Reads every entry of the journal at {@code file}, ordered by sequence. The base, rolled and
+     * active files are streamed line by line; an entry found in more than one of them because a
+     * crash interrupted a compaction is returned once.
+     */
+    public static List<JournalEntry> read(Path file){
+        NavigableMap<Long, JournalEntry> entries = new TreeMap<>();
+        for(Path part : List.of(sibling(file, ".base"), sibling(file, ".rolled"), file)){
+            forEach(part, entry -> entries.put(entry.sequence(), entry));
+        }
+        return new ArrayList<>(entries.values());
+    }
+
+    public synchronized void append(JournalEntry entry){
+        ByteBuffer buffer = ByteBuffer.wrap(entry.encode().getBytes(StandardCharsets.US_ASCII));
+        try {
+            while(buffer.hasRemaining()){
+                this.channel.write(buffer);
+            }
+            if(this.fsync){
+                this.channel.force(false);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Atomically replaces the journal with {@code entries}, dropping everything already reflected
+     * in the database.
+     */
+    public void rewrite(List<JournalEntry> entries){
+        synchronized (this.compaction) {
+            try {
+                try (BufferedWriter writer = Files.newBufferedWriter(this.compacted, StandardCharsets.US_ASCII)) {
+                    for(JournalEntry entry : entries){
+                        writer.write(entry.encode());
+                    }
+                }
+                this.force(this.compacted);
+                synchronized (this) {
+                    this.channel.close();
+                    Files.move(this.compacted, this.base, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    Files.deleteIfExists(this.rolled);
+                    Files.deleteIfExists(this.file);
+                    this.channel = open(this.file);
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+
+    /**
+     * Drops the entries {@code retained} rejects. Appends are only held up while the active file
+     * is renamed; the rolled entries are filtered into the base file outside the append lock.
+     */
+    public void compact(Predicate<JournalEntry> retained){
+        synchronized (this.compaction) {
+            try {
+                this.roll();
+                if(!Files.exists(this.rolled) && !Files.exists(this.base)){
+                    return;
+                }
+                try (BufferedWriter writer = Files.newBufferedWriter(this.compacted, StandardCharsets.US_ASCII)) {
+                    Consumer<JournalEntry> filter = entry -> {
+                        if(retained.test(entry)){
+                            try {
+                                writer.write(entry.encode());
+                            } catch (IOException ex) {
+                                throw new UncheckedIOException(ex);
+                            }
+                        }
+                    };
+                    forEach(this.base, filter);
+                    forEach(this.rolled, filter);
+                }
+                this.force(this.compacted);
+                Files.move(this.compacted, this.base, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                // A crash before this delete leaves the rolled entries in both files; read() returns them once
+                Files.deleteIfExists(this.rolled);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close(){
+        try {
+            this.channel.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private synchronized void roll() throws IOException {
+        // A rolled file left by a failed compaction is compacted first; new entries wait for the next run
+        if(Files.exists(this.rolled) || this.channel.size() == 0){
+            return;
+        }
+        this.channel.close();
+        Files.move(this.file, this.rolled, StandardCopyOption.ATOMIC_MOVE);
+        this.channel = open(this.file);
+    }
+
+    private void force(Path path) throws IOException {
+        if(this.fsync){
+            try (FileChannel written = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                written.force(true);
+            }
+        }
+    }
+
+    private static void forEach(Path file, Consumer<JournalEntry> action){
+        if(!Files.exists(file)){
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            StringBuilder line = new StringBuilder(64);
+            int next;
+            while((next = reader.read()) != -1){
+                if(next != '\n'){
+                    line.append((char) next);
+                    continue;
+                }
+                if(!line.isEmpty()){
+                    action.accept(JournalEntry.decode(line.toString()));
+                }
+                line.setLength(0);
+            }
+            // Whatever is left in line has no terminating newline: it was cut short by a crash
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static Path sibling(Path file, String suffix){
+        return file.resolveSibling(file.getFileName() + suffix);
+    }
+
+    private static FileChannel open(Path file){
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if(parent != null){
+                Files.createDirectories(parent);
+            }
+            return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
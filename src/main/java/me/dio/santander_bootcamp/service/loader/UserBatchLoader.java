@@ -0,0 +1,141 @@
+package me.dio.santander_bootcamp.service.loader;
+
+import me.dio.santander_bootcamp.config.datasource.DataSourceRouting;
+import me.dio.santander_bootcamp.config.shard.ShardContext;
+import me.dio.santander_bootcamp.config.tenant.TenantContext;
+import me.dio.santander_bootcamp.domain.model.User;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent lookups by id into one query.
+ * <p>
+ * The first caller to find no open batch becomes its leader; callers arriving within the window
+ * join it, and a caller asking for an id already in the batch shares that id's result. The
+ * leader then closes the batch, which happens early once it holds {@code maxBatchSize} ids, and
+ * runs the fetch on its own thread, so the shard and primary routing of the batch are the
+ * leader's. Batches are therefore kept apart by {@linkplain ShardContext shard},
+ * {@linkplain DataSourceRouting routing} and {@linkplain TenantContext tenant}. A leader with no other lookup in progress fetches
+ * right away instead of waiting out the window.
+ * <p>
+ * Every caller of one batch receives the same instance, so results must be treated as read only.
+ */
+public class UserBatchLoader {
+
+    private final Function<List<Long>, List<User>> fetcher;
+    private final int maxBatchSize;
+    private final long windowNanos;
+    private final Consumer<Integer> batchSizeRecorder;
+    private final Map<BatchKey, Batch> openBatches = new ConcurrentHashMap<>();
+    private final AtomicInteger inProgress = new AtomicInteger();
+
+    public UserBatchLoader(Function<List<Long>, List<User>> fetcher, int maxBatchSize, Duration window,
+                           Consumer<Integer> batchSizeRecorder){
+        this.fetcher = fetcher;
+        this.maxBatchSize = maxBatchSize;
+        this.windowNanos = window.toNanos();
+        this.batchSizeRecorder = batchSizeRecorder;
+    }
+
+    public Optional<User> load(Long id){
+        BatchKey key = new BatchKey(ShardContext.current(), DataSourceRouting.isPrimaryForced(), TenantContext.current());
+        this.inProgress.incrementAndGet();
+        try {
+            while(true){
+                Batch batch = this.openBatches.computeIfAbsent(key, k -> new Batch());
+                Membership membership = batch.join(id, this.maxBatchSize);
+                if(membership == null){
+                    this.openBatches.remove(key, batch);
+                    continue;
+                }
+                if(membership.full()){
+                    this.openBatches.remove(key, batch);
+                }
+                if(membership.leader()){
+                    this.lead(key, batch);
+                }
+                return Optional.ofNullable(await(membership.result()));
+            }
+        } finally {
+            this.inProgress.decrementAndGet();
+        }
+    }
+
+    private void lead(BatchKey key, Batch batch){
+        boolean alone = this.inProgress.get() == 1;
+        List<Long> ids = batch.close(alone ? 0 : this.windowNanos);
+        this.openBatches.remove(key, batch);
+        this.batchSizeRecorder.accept(ids.size());
+        try {
+            Map<Long, User> found = new LinkedHashMap<>();
+            this.fetcher.apply(ids).forEach(user -> found.put(user.getId(), user));
+            batch.results.forEach((id, result) -> result.complete(found.get(id)));
+        } catch (RuntimeException | Error ex) {
+            batch.results.values().forEach(result -> result.completeExceptionally(ex));
+        }
+    }
+
+    private static User await(CompletableFuture<User> result){
+        try {
+            return result.join();
+        } catch (CompletionException ex) {
+            if(ex.getCause() instanceof RuntimeException cause){
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private record BatchKey(Integer shard, boolean primary, String tenant) {
+    }
+
+    private record Membership(CompletableFuture<User> result, boolean leader, boolean full) {
+    }
+
+    private static final class Batch {
+
+        private final Map<Long, CompletableFuture<User>> results = new LinkedHashMap<>();
+        private boolean closed;
+        private boolean full;
+
+        private synchronized Membership join(Long id, int maxBatchSize){
+            if(this.closed || this.full){
+                return null;
+            }
+            boolean leader = this.results.isEmpty();
+            CompletableFuture<User> result = this.results.computeIfAbsent(id, k -> new CompletableFuture<>());
+            if(this.results.size() >= maxBatchSize){
+                this.full = true;
+                this.notifyAll();
+            }
+            return new Membership(result, leader, this.full);
+        }
+
+        private synchronized List<Long> close(long windowNanos){
+            long deadline = System.nanoTime() + windowNanos;
+            long remaining = windowNanos;
+            while(!this.full && remaining > 0){
+                try {
+                    this.wait(remaining / 1_000_000, (int) (remaining % 1_000_000));
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                remaining = deadline - System.nanoTime();
+            }
+            this.closed = true;
+            return new ArrayList<>(this.results.keySet());
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package me.dio.santander_bootcamp.service.report;
+
+import me.dio.santander_bootcamp.domain.model.Money;
+
+import java.util.List;
+
+public record AgencyReport(String agency, long userCount, Money totalBalance, Money totalAccountLimit,
+                           Money totalCardLimit, List<CardLimitBucketCount> cardLimitDistribution) {
+}
@@ -0,0 +1,143 @@
+package me.dio.santander_bootcamp.service.report;
+
+import me.dio.santander_bootcamp.config.tenant.TenantContext;
+import me.dio.santander_bootcamp.domain.model.AgencyTotalsDelta;
+import me.dio.santander_bootcamp.domain.model.Money;
+import me.dio.santander_bootcamp.domain.model.UserPosition;
+import me.dio.santander_bootcamp.domain.repository.AgencyTotalsDeltaRepository;
+import me.dio.santander_bootcamp.service.event.UserChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Turns each user change into agency total deltas inside the mutating transaction.
+ * <p>
+ * Deltas are accumulated per tenant, agency and card limit bucket for the whole transaction and
+ * written as append-only rows just before commit, so a bulk operation over thousands of users
+ * inserts one row per touched bucket and concurrent writers to the same agency never contend on
+ * a shared totals row. {@link AgencyReportService#compact()} later folds the rows into the totals table.
+ * Archived users stay in the totals, so moves between the hot and cold tiers produce no delta.
+ */
+@Component
+public class AgencyTotalsUpdater {
+
+    private final AgencyTotalsDeltaRepository deltaRepository;
+
+    public AgencyTotalsUpdater(AgencyTotalsDeltaRepository deltaRepository){
+        this.deltaRepository = deltaRepository;
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event){
+        if(event.before() == null && event.after() == null || isTierMove(event.type())){
+            return;
+        }
+        Map<Key, Delta> pending = this.pendingDeltas();
+        if(event.before() != null){
+            pending.computeIfAbsent(Key.of(event.before()), key -> new Delta()).subtract(event.before());
+        }
+        if(event.after() != null){
+            pending.computeIfAbsent(Key.of(event.after()), key -> new Delta()).add(event.after());
+        }
+        if(!TransactionSynchronizationManager.isSynchronizationActive()){
+            this.write(pending);
+        }
+    }
+
+    private static boolean isTierMove(UserChangedEvent.Type type){
+        return type == UserChangedEvent.Type.ARCHIVED || type == UserChangedEvent.Type.RESTORED;
+    }
+
+    private Map<Key, Delta> pendingDeltas(){
+        if(!TransactionSynchronizationManager.isSynchronizationActive()){
+            return new LinkedHashMap<>();
+        }
+        @SuppressWarnings("unchecked")
+        Map<Key, Delta> pending = (Map<Key, Delta>) TransactionSynchronizationManager.getResource(this);
+        if(pending == null){
+            Map<Key, Delta> created = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly){
+                    write(created);
+                }
+
+                @Override
+                public void afterCompletion(int status){
+                    TransactionSynchronizationManager.unbindResourceIfPossible(AgencyTotalsUpdater.this);
+                }
+            });
+            pending = created;
+        }
+        return pending;
+    }
+
+    private void write(Map<Key, Delta> pending){
+        List<AgencyTotalsDelta> rows = pending.entrySet().stream()
+                .filter(entry -> !entry.getValue().isZero())
+                .map(entry -> entry.getValue().toEntity(entry.getKey()))
+                .toList();
+        pending.clear();
+        if(!rows.isEmpty()){
+            this.deltaRepository.saveAll(rows);
+        }
+    }
+
+    private record Key(String tenantId, String agency, int cardLimitBucket) {
+
+        private static Key of(UserPosition position){
+            return new Key(Objects.requireNonNullElse(position.tenantId(), TenantContext.DEFAULT_TENANT),
+                    Objects.requireNonNullElse(position.agency(), ""), CardLimitBuckets.of(position.cardLimit()));
+        }
+    }
+
+    private static final class Delta {
+
+        private long userCount;
+        private Money balance = Money.ZERO;
+        private Money accountLimit = Money.ZERO;
+        private Money cardLimit = Money.ZERO;
+
+        private void add(UserPosition position){
+            this.userCount++;
+            this.balance = this.balance.plus(orZero(position.balance()));
+            this.accountLimit = this.accountLimit.plus(orZero(position.accountLimit()));
+            this.cardLimit = this.cardLimit.plus(orZero(position.cardLimit()));
+        }
+
+        private void subtract(UserPosition position){
+            this.userCount--;
+            this.balance = this.balance.minus(orZero(position.balance()));
+            this.accountLimit = this.accountLimit.minus(orZero(position.accountLimit()));
+            this.cardLimit = this.cardLimit.minus(orZero(position.cardLimit()));
+        }
+
+        private boolean isZero(){
+            return this.userCount == 0 && this.balance.isZero() && this.accountLimit.isZero() && this.cardLimit.isZero();
+        }
+
+        private AgencyTotalsDelta toEntity(Key key){
+            AgencyTotalsDelta delta = new AgencyTotalsDelta();
+            delta.setTenantId(key.tenantId());
+            delta.setAgency(key.agency());
+            delta.setCardLimitBucket(key.cardLimitBucket());
+            delta.setUserCount(this.userCount);
+            delta.setTotalBalance(this.balance.toBigDecimal());
+            delta.setTotalAccountLimit(this.accountLimit.toBigDecimal());
+            delta.setTotalCardLimit(this.cardLimit.toBigDecimal());
+            return delta;
+        }
+
+        private static Money orZero(Money value){
+            return value == null ? Money.ZERO : value;
+        }
+    }
+}
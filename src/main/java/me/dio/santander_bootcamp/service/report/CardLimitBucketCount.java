@@ -0,0 +1,6 @@
+package me.dio.santander_bootcamp.service.report;
+
+import me.dio.santander_bootcamp.domain.model.Money;
+
+public record CardLimitBucketCount(Money from, Money to, long userCount) {
+}
@@ -0,0 +1,54 @@
+package me.dio.santander_bootcamp.service.report;
+
+import me.dio.santander_bootcamp.domain.model.Money;
+
+import java.util.List;
+
+public final class CardLimitBuckets {
+
+    static final List<Money> LOWER_BOUNDS = List.of(
+            Money.ZERO,
+            Money.of("1000"),
+            Money.of("5000"),
+            Money.of("10000"),
+            Money.of("50000"));
+
+    private CardLimitBuckets(){
+    }
+
+    public static int of(Money cardLimit){
+        if(cardLimit == null){
+            return 0;
+        }
+        for(int bucket = LOWER_BOUNDS.size() - 1; bucket > 0; bucket--){
+            if(cardLimit.compareTo(LOWER_BOUNDS.get(bucket)) >= 0){
+                return bucket;
+            }
+        }
+        return 0;
+    }
+
+    public static int count(){
+        return LOWER_BOUNDS.size();
+    }
+
+    public static Money lowerBound(int bucket){
+        return LOWER_BOUNDS.get(bucket);
+    }
+
+    public static Money upperBound(int bucket){
+        return bucket + 1 < LOWER_BOUNDS.size() ? LOWER_BOUNDS.get(bucket + 1) : null;
+    }
+
+    /**
+     * SQL {@code CASE} expression assigning the same bucket as {@link #of} to a limit column.
+     */
+    public static String sqlCase(String column){
+        StringBuilder sql = new StringBuilder("case");
+        for(int bucket = LOWER_BOUNDS.size() - 1; bucket > 0; bucket--){
+            sql.append(" when ").append(column).append(" >= ").append(LOWER_BOUNDS.get(bucket))
+                    .append(" then ").append(bucket);
+        }
+        return sql.append(" else 0 end").toString();
+    }
+}
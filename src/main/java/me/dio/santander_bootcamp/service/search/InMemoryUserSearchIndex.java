@@ -0,0 +1,171 @@
+package me.dio.santander_bootcamp.service.search;
+
+import me.dio.santander_bootcamp.config.shard.ShardContext;
+import me.dio.santander_bootcamp.config.tenant.TenantContext;
+import me.dio.santander_bootcamp.domain.model.UserSearchDocument;
+import me.dio.santander_bootcamp.domain.repository.UserRepository;
+import me.dio.santander_bootcamp.service.event.UserChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Prefix index kept in memory for H2/local mode.
+ * <p>
+ * Name, account number and card number are split into normalized tokens held in a sorted
+ * postings map, so each query token resolves to the ids under its prefix range. Query tokens are
+ * combined with AND; a hit scores one point per query token that equals a document token and a
+ * fraction proportional to the covered length for prefix matches. Hits outside the
+ * {@linkplain TenantContext current tenant} are dropped. The index is loaded when the
+ * application is ready and kept current by committed {@link UserChangedEvent}s. With sharding
+ * enabled each document remembers the shard it was read from and a search only returns users of
+ * the {@linkplain ShardContext current shard}, like a query against that shard's database.
+ */
+public class InMemoryUserSearchIndex implements UserSearchIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InMemoryUserSearchIndex.class);
+
+    private final ConcurrentNavigableMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+    private final Map<Long, Indexed> documents = new ConcurrentHashMap<>();
+    private final UserRepository userRepository;
+    private final int shardCount;
+
+    public InMemoryUserSearchIndex(UserRepository userRepository, int shardCount){
+        this.userRepository = userRepository;
+        this.shardCount = shardCount;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild(){
+        this.postings.clear();
+        this.documents.clear();
+        for(int shard = 0; shard < this.shardCount; shard++){
+            ShardContext.on(shard, () -> this.userRepository.findAllSearchDocuments().forEach(this::index));
+        }
+        LOGGER.info("User search index loaded with {} users.", this.documents.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event){
+        if(event.type() == UserChangedEvent.Type.DELETED){
+            this.remove(event.userId());
+            return;
+        }
+        this.userRepository.findSearchDocument(event.userId())
+                .ifPresentOrElse(this::index, () -> this.remove(event.userId()));
+    }
+
+    public synchronized void index(UserSearchDocument document){
+        this.remove(document.id());
+        Set<String> tokens = new HashSet<>();
+        tokens.addAll(SearchTokens.of(document.name(), false));
+        tokens.addAll(SearchTokens.of(document.accountNumber(), true));
+        tokens.addAll(SearchTokens.of(document.cardNumber(), true));
+        this.documents.put(document.id(), new Indexed(document, tokens, currentShard()));
+        tokens.forEach(token -> this.postings.computeIfAbsent(token, key -> ConcurrentHashMap.newKeySet()).add(document.id()));
+    }
+
+    public synchronized void remove(Long id){
+        Indexed previous = this.documents.remove(id);
+        if(previous == null){
+            return;
+        }
+        previous.tokens.forEach(token -> this.postings.computeIfPresent(token, (key, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        }));
+    }
+
+    public int size(){
+        return this.documents.size();
+    }
+
+    @Override
+    public List<UserSearchHit> search(String query, int offset, int limit){
+        List<String> queryTokens = new ArrayList<>(SearchTokens.of(query, false));
+        if(queryTokens.isEmpty()){
+            return List.of();
+        }
+        List<Set<Long>> matches = new ArrayList<>(queryTokens.size());
+        for(String token : queryTokens){
+            Set<Long> ids = this.idsWithPrefix(token);
+            if(ids.isEmpty()){
+                return List.of();
+            }
+            matches.add(ids);
+        }
+        matches.sort(Comparator.comparingInt(Set::size));
+        Set<Long> candidates = matches.get(0);
+        for(int i = 1; i < matches.size() && !candidates.isEmpty(); i++){
+            candidates.retainAll(matches.get(i));
+        }
+
+        // Only the best offset + limit hits are kept, so a broad query does not sort every match
+        String tenant = TenantContext.current();
+        int shard = currentShard();
+        int wanted = offset + limit;
+        PriorityQueue<UserSearchHit> best = new PriorityQueue<>(BY_RELEVANCE.reversed());
+        for(Long id : candidates){
+            Indexed indexed = this.documents.get(id);
+            if(indexed != null && (tenant == null || tenant.equals(indexed.document.tenantId()))
+                    && (this.shardCount == 1 || indexed.shard == shard)){
+                UserSearchDocument document = indexed.document;
+                UserSearchHit hit = new UserSearchHit(id, document.name(), document.accountNumber(), document.cardNumber(),
+                        score(queryTokens, indexed.tokens));
+                if(best.size() < wanted){
+                    best.add(hit);
+                } else if(BY_RELEVANCE.compare(hit, best.peek()) < 0){
+                    best.poll();
+                    best.add(hit);
+                }
+            }
+        }
+        if(offset >= best.size()){
+            return List.of();
+        }
+        List<UserSearchHit> hits = new ArrayList<>(best);
+        hits.sort(BY_RELEVANCE);
+        return List.copyOf(hits.subList(offset, hits.size()));
+    }
+
+    private Set<Long> idsWithPrefix(String prefix){
+        Set<Long> ids = new HashSet<>();
+        this.postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values().forEach(ids::addAll);
+        return ids;
+    }
+
+    private static int currentShard(){
+        Integer shard = ShardContext.current();
+        return shard == null ? 0 : shard;
+    }
+
+    private static double score(List<String> queryTokens, Set<String> documentTokens){
+        double score = 0;
+        for(String queryToken : queryTokens){
+            double best = 0;
+            for(String token : documentTokens){
+                if(token.startsWith(queryToken)){
+                    best = Math.max(best, (double) queryToken.length() / token.length());
+                }
+            }
+            score += best;
+        }
+        return score;
+    }
+
+    private record Indexed(UserSearchDocument document, Set<String> tokens, int shard) {
+    }
+}
@@ -0,0 +1,76 @@
+package me.dio.santander_bootcamp.service.search;
+
+import me.dio.santander_bootcamp.config.shard.ShardContext;
+import me.dio.santander_bootcamp.config.tenant.TenantContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Searches users with {@code pg_trgm}: the name and card number are matched by substring through
+ * trigram GIN indexes and the account number by prefix through a {@code text_pattern_ops} index,
+ * all created by the {@code db/migration/postgresql} migrations. With a
+ * {@linkplain TenantContext current tenant} only its partition of {@code tb_user} is searched.
+ * Hits are ranked by name similarity, with exact prefixes boosted. With sharding enabled the query
+ * runs against the {@linkplain ShardContext current shard} only.
+ */
+public class PostgresUserSearchIndex implements UserSearchIndex {
+
+    private static final String SEARCH_SQL = """
+            select u.id, u.name, a.number as account_number, c.number as card_number,
+                   similarity(lower(u.name), :query)
+                     + case when lower(u.name) like :prefix then 1 else 0 end
+                     + case when a.number like :prefix then 1 else 0 end
+                     + case when c.number like :suffix then 1 else 0 end as score
+            from tb_user u
+            left join tb_account a on a.id = u.account_id
+            left join tb_card c on c.id = u.card_id
+            where (lower(u.name) like :contains
+               or a.number like :prefix
+               or c.number like :contains)%s
+            order by score desc, u.id
+            limit :limit offset :offset
+            """;
+    private static final String TENANT_CONDITION = "\n  and u.tenant_id = :tenant";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public PostgresUserSearchIndex(JdbcTemplate jdbcTemplate, TransactionTemplate readOnlyTransaction){
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.readOnlyTransaction = readOnlyTransaction;
+    }
+
+    @Override
+    public List<UserSearchHit> search(String query, int offset, int limit){
+        String normalized = query.strip().toLowerCase(Locale.ROOT);
+        String escaped = escapeLike(normalized);
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("query", normalized)
+                .addValue("prefix", escaped + "%")
+                .addValue("suffix", "%" + escaped)
+                .addValue("contains", "%" + escaped + "%");
+        String tenant = TenantContext.current();
+        String sql = SEARCH_SQL.formatted(tenant == null ? "" : TENANT_CONDITION);
+        parameters.addValue("tenant", tenant).addValue("limit", limit).addValue("offset", offset);
+        return this.query(sql, parameters);
+    }
+
+    private List<UserSearchHit> query(String sql, MapSqlParameterSource parameters){
+        return this.readOnlyTransaction.execute(status -> this.jdbcTemplate.query(sql, parameters,
+                (rs, rowNum) -> new UserSearchHit(
+                        rs.getLong("id"),
+                        rs.getString("name"),
+                        rs.getString("account_number"),
+                        rs.getString("card_number"),
+                        rs.getDouble("score"))));
+    }
+
+    private static String escapeLike(String text){
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,46 @@
+package me.dio.santander_bootcamp.service.search;
+
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+final class SearchTokens {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{Alnum}]+");
+    private static final Pattern CARD_MASK = Pattern.compile("x+");
+
+    private SearchTokens(){
+    }
+
+    static String normalize(String text){
+        if(text == null){
+            return "";
+        }
+        return DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Splits text into normalized words; numbers also contribute their separator-free form so
+     * {@code 00000001-0} is found by {@code 000000010} as well as by {@code 00000001}.
+     */
+    static Set<String> of(String text, boolean number){
+        Set<String> tokens = new LinkedHashSet<>();
+        String normalized = normalize(text);
+        for(String token : SEPARATORS.split(normalized)){
+            if(!token.isEmpty() && !CARD_MASK.matcher(token).matches()){
+                tokens.add(token);
+            }
+        }
+        if(number){
+            String compact = SEPARATORS.matcher(normalized).replaceAll("");
+            if(!compact.isEmpty()){
+                tokens.add(compact);
+            }
+        }
+        return tokens;
+    }
+}
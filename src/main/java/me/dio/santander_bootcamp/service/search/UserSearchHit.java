@@ -0,0 +1,4 @@
+package me.dio.santander_bootcamp.service.search;
+
+public record UserSearchHit(Long id, String name, String accountNumber, String cardNumber, double score) {
+}
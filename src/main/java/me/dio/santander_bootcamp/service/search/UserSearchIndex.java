@@ -0,0 +1,16 @@
+package me.dio.santander_bootcamp.service.search;
+
+import java.util.Comparator;
+import java.util.List;
+
+public interface UserSearchIndex {
+
+    Comparator<UserSearchHit> BY_RELEVANCE = Comparator.comparingDouble(UserSearchHit::score).reversed()
+            .thenComparing(UserSearchHit::id);
+
+    /**
+     * Returns at most {@code limit} hits ordered by {@link #BY_RELEVANCE}, skipping the first
+     * {@code offset}. With sharding enabled only the current shard's users are searched.
+     */
+    List<UserSearchHit> search(String query, int offset, int limit);
+}
@@ -0,0 +1,6 @@
+package me.dio.santander_bootcamp.service.search;
+
+import java.util.List;
+
+public record UserSearchPage(List<UserSearchHit> hits, int page, int size, boolean hasNext) {
+}
@@ -0,0 +1,96 @@
+package me.dio.santander_bootcamp.service.tiering;
+
+import me.dio.santander_bootcamp.config.shard.ShardContext;
+import me.dio.santander_bootcamp.config.shard.ShardRouter;
+import me.dio.santander_bootcamp.domain.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Collects the users touched by reads and writes and stamps their {@code last_activity_at} in
+ * periodic batches, so activity tracking adds no write to the request path. The stamp is coarse
+ * by design: it only has to be precise enough to tell active users from dormant ones.
+ */
+@Component
+public class UserActivityTracker implements DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserActivityTracker.class);
+    private static final int FLUSH_CHUNK_SIZE = 500;
+
+    private final Set<Long> touched = ConcurrentHashMap.newKeySet();
+    private final UserRepository userRepository;
+    private final TransactionTemplate transaction;
+    private final ShardRouter shardRouter;
+    private final Clock clock = Clock.systemUTC();
+
+    public UserActivityTracker(UserRepository userRepository,
+                               PlatformTransactionManager transactionManager,
+                               ObjectProvider<ShardRouter> shardRouter){
+        this.userRepository = userRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.shardRouter = shardRouter.getIfAvailable();
+    }
+
+    public void touch(Long userId){
+        if(userId != null){
+            this.touched.add(userId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.tiering.activity-flush-interval:PT10S}")
+    public void flush(){
+        List<Long> batch = new ArrayList<>(Math.min(FLUSH_CHUNK_SIZE, this.touched.size()));
+        Iterator<Long> ids = this.touched.iterator();
+        Instant now = this.clock.instant();
+        while(ids.hasNext()){
+            batch.add(ids.next());
+            ids.remove();
+            if(batch.size() == FLUSH_CHUNK_SIZE || !ids.hasNext()){
+                if(!this.write(batch, now)){
+                    return;
+                }
+                batch = new ArrayList<>(FLUSH_CHUNK_SIZE);
+            }
+        }
+    }
+
+    @Override
+    public void destroy(){
+        this.flush();
+    }
+
+    private boolean write(List<Long> batch, Instant now){
+        Map<Integer, List<Long>> byShard = batch.stream()
+                .collect(Collectors.groupingBy(this::shardOf, TreeMap::new, Collectors.toList()));
+        try {
+            byShard.forEach((shard, ids) -> ShardContext.on(shard,
+                    () -> this.transaction.executeWithoutResult(status -> this.userRepository.touch(ids, now))));
+            return true;
+        } catch (RuntimeException ex) {
+            this.touched.addAll(batch);
+            LOGGER.warn("Could not record activity of {} users; it is retried on the next run.", batch.size(), ex);
+            return false;
+        }
+    }
+
+    private int shardOf(Long userId){
+        return this.shardRouter == null ? 0 : this.shardRouter.shardOf(userId);
+    }
+}
@@ -0,0 +1,143 @@
+package me.dio.santander_bootcamp.service.tiering;
+
+import me.dio.santander_bootcamp.domain.model.Account;
+import me.dio.santander_bootcamp.domain.model.BaseItem;
+import me.dio.santander_bootcamp.domain.model.Card;
+import me.dio.santander_bootcamp.domain.model.Feature;
+import me.dio.santander_bootcamp.domain.model.Money;
+import me.dio.santander_bootcamp.domain.model.News;
+import me.dio.santander_bootcamp.domain.model.User;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Packs a user with its account, card, features and news, including every row id, into a
+ * deflated binary record. Amounts are stored as cents; absent values carry a presence flag.
+ */
+public final class UserArchiveCodec {
+
+    private static final int VERSION = 1;
+
+    private UserArchiveCodec(){
+    }
+
+    public static byte[] encode(User user){
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes, new Deflater(Deflater.BEST_COMPRESSION)))) {
+            out.writeByte(VERSION);
+            out.writeLong(user.getId());
+            writeText(out, user.getName());
+            Account account = user.getAccount();
+            out.writeBoolean(account != null);
+            if(account != null){
+                out.writeLong(account.getId());
+                writeText(out, account.getNumber());
+                writeText(out, account.getAgency());
+                writeMoney(out, account.getBalance());
+                writeMoney(out, account.getLimit());
+            }
+            Card card = user.getCard();
+            out.writeBoolean(card != null);
+            if(card != null){
+                out.writeLong(card.getId());
+                writeText(out, card.getNumber());
+                writeMoney(out, card.getLimit());
+            }
+            writeItems(out, user.getFeatures());
+            writeItems(out, user.getNews());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static User decode(byte[] payload){
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(payload), new Inflater()))) {
+            int version = in.readUnsignedByte();
+            if(version != VERSION){
+                throw new IllegalStateException("Unsupported user archive version " + version);
+            }
+            User user = new User();
+            user.setId(in.readLong());
+            user.setName(readText(in));
+            if(in.readBoolean()){
+                Account account = new Account();
+                account.setId(in.readLong());
+                account.setNumber(readText(in));
+                account.setAgency(readText(in));
+                account.setBalance(readMoney(in));
+                account.setLimit(readMoney(in));
+                user.setAccount(account);
+            }
+            if(in.readBoolean()){
+                Card card = new Card();
+                card.setId(in.readLong());
+                card.setNumber(readText(in));
+                card.setLimit(readMoney(in));
+                user.setCard(card);
+            }
+            user.setFeatures(readItems(in, Feature::new));
+            user.setNews(readItems(in, News::new));
+            return user;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void writeItems(DataOutputStream out, List<? extends BaseItem> items) throws IOException {
+        List<? extends BaseItem> present = items == null ? List.of() : items;
+        out.writeInt(present.size());
+        for(BaseItem item : present){
+            out.writeLong(item.getId());
+            writeText(out, item.getIcon());
+            writeText(out, item.getDescription());
+        }
+    }
+
+    private static <T extends BaseItem> List<T> readItems(DataInputStream in, Supplier<T> factory) throws IOException {
+        int size = in.readInt();
+        List<T> items = new ArrayList<>(size);
+        for(int i = 0; i < size; i++){
+            T item = factory.get();
+            item.setId(in.readLong());
+            item.setIcon(readText(in));
+            item.setDescription(readText(in));
+            items.add(item);
+        }
+        return items;
+    }
+
+    private static void writeText(DataOutputStream out, String text) throws IOException {
+        out.writeBoolean(text != null);
+        if(text != null){
+            out.writeUTF(text);
+        }
+    }
+
+    private static String readText(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeMoney(DataOutputStream out, Money amount) throws IOException {
+        out.writeBoolean(amount != null);
+        if(amount != null){
+            out.writeLong(amount.cents());
+        }
+    }
+
+    private static Money readMoney(DataInputStream in) throws IOException {
+        return in.readBoolean() ? Money.ofCents(in.readLong()) : null;
+    }
+}
@@ -0,0 +1,53 @@
+package me.dio.santander_bootcamp.service.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented as a generic cell rate algorithm: the whole bucket state
+ * is a single "theoretical arrival time" updated with compare-and-set, so concurrent callers
+ * never block each other.
+ */
+public final class TokenBucket {
+
+    private final AtomicLong theoreticalArrivalNanos;
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private volatile long lastAccessNanos;
+
+    public TokenBucket(long capacity, double refillTokensPerSecond, long nowNanos){
+        this.nanosPerToken = (long) (1_000_000_000L / refillTokensPerSecond);
+        this.burstNanos = capacity * this.nanosPerToken;
+        this.theoreticalArrivalNanos = new AtomicLong(nowNanos);
+        this.lastAccessNanos = nowNanos;
+    }
+
+    /**
+     * Takes {@code tokens} from the bucket.
+     *
+     * @return {@code 0} when granted, otherwise the nanoseconds to wait before the same request could succeed
+     */
+    public long tryConsume(int tokens, long nowNanos){
+        this.lastAccessNanos = nowNanos;
+        long increment = tokens * this.nanosPerToken;
+        while(true){
+            long arrival = this.theoreticalArrivalNanos.get();
+            long next = Math.max(arrival, nowNanos) + increment;
+            long excess = next - nowNanos - this.burstNanos;
+            if(excess > 0){
+                return excess;
+            }
+            if(this.theoreticalArrivalNanos.compareAndSet(arrival, next)){
+                return 0;
+            }
+        }
+    }
+
+    public long availableTokens(long nowNanos){
+        long debt = Math.max(0, this.theoreticalArrivalNanos.get() - nowNanos);
+        return (this.burstNanos - debt) / this.nanosPerToken;
+    }
+
+    public long lastAccessNanos(){
+        return this.lastAccessNanos;
+    }
+}
@@ -0,0 +1,111 @@
+-- Esquema das entidades antes das migrações versionadas. "if not exists" permite aplicar sobre
+-- um banco criado à mão ou pelo Hibernate (baseline-on-migrate com baseline-version 0).
+
+create table if not exists tb_account (
+    id bigint generated by default as identity primary key,
+    number varchar(255),
+    agency varchar(255),
+    balance numeric(13, 2),
+    additional_limit numeric(13, 2)
+);
+
+create table if not exists tb_card (
+    id bigint generated by default as identity primary key,
+    number varchar(255),
+    available_limit numeric(13, 2)
+);
+
+create table if not exists tb_feature (
+    id bigint generated by default as identity primary key,
+    icon varchar(255),
+    description varchar(255)
+);
+
+create table if not exists tb_news (
+    id bigint generated by default as identity primary key,
+    icon varchar(255),
+    description varchar(255)
+);
+
+create table if not exists tb_user (
+    id bigint generated by default as identity primary key,
+    name varchar(255),
+    account_id bigint,
+    card_id bigint,
+    constraint fk_user_account foreign key (account_id) references tb_account (id),
+    constraint fk_user_card foreign key (card_id) references tb_card (id)
+);
+
+create table if not exists tb_user_features (
+    tb_user_id bigint not null,
+    features_id bigint not null,
+    constraint fk_user_features_user foreign key (tb_user_id) references tb_user (id),
+    constraint fk_user_features_feature foreign key (features_id) references tb_feature (id)
+);
+
+create table if not exists tb_user_news (
+    tb_user_id bigint not null,
+    news_id bigint not null,
+    constraint fk_user_news_user foreign key (tb_user_id) references tb_user (id),
+    constraint fk_user_news_news foreign key (news_id) references tb_news (id)
+);
+
+create table if not exists tb_agency_totals (
+    agency varchar(255) not null,
+    card_limit_bucket integer not null,
+    user_count bigint,
+    total_balance numeric(19, 2),
+    total_account_limit numeric(19, 2),
+    total_card_limit numeric(19, 2),
+    primary key (agency, card_limit_bucket)
+);
+
+create table if not exists tb_agency_totals_delta (
+    id bigint generated by default as identity primary key,
+    agency varchar(255),
+    card_limit_bucket integer,
+    user_count bigint,
+    total_balance numeric(19, 2),
+    total_account_limit numeric(19, 2),
+    total_card_limit numeric(19, 2)
+);
+
+create table if not exists tb_batch_checkpoint (
+    job_name varchar(64) not null,
+    run_key varchar(32) not null,
+    partition_index integer not null,
+    first_id bigint,
+    last_id bigint,
+    last_processed_id bigint,
+    processed_count bigint,
+    changed_count bigint,
+    completed boolean not null,
+    updated_at timestamp(6) with time zone,
+    primary key (job_name, run_key, partition_index)
+);
+
+create table if not exists tb_card_ledger_checkpoint (
+    user_id bigint not null primary key,
+    applied_sequence bigint,
+    updated_at timestamp(6) with time zone
+);
+
+create table if not exists tb_idempotency_record (
+    idempotency_key varchar(512) not null primary key,
+    fingerprint varchar(64),
+    status integer not null,
+    content_type varchar(255),
+    location varchar(255),
+    body bytea,
+    expires_at timestamp(6) with time zone
+);
+
+create table if not exists tb_audit_log (
+    id bigint generated by default as identity primary key,
+    occurred_at timestamp(6) with time zone,
+    caller varchar(255),
+    operation varchar(255),
+    user_id bigint,
+    status integer not null,
+    duration_micros bigint not null
+);
@@ -0,0 +1,24 @@
+-- Unicidade que as entidades declaram e índices das consultas quentes do agregado de usuário.
+
+-- existsByAccountNumber / existsByCardNumber
+create unique index if not exists uk_account_number on tb_account (number);
+create unique index if not exists uk_card_number on tb_card (number);
+
+-- @OneToOne: cada conta e cartão pertence a um usuário; também indexa as chaves estrangeiras
+create unique index if not exists uk_user_account on tb_user (account_id);
+create unique index if not exists uk_user_card on tb_user (card_id);
+
+-- @OneToMany por tabela de junção: carga em lote por usuário coberta pelo índice, item pertence a um usuário
+create index if not exists idx_user_features_user on tb_user_features (tb_user_id, features_id);
+create unique index if not exists uk_user_features_feature on tb_user_features (features_id);
+create index if not exists idx_user_news_user on tb_user_news (tb_user_id, news_id);
+create unique index if not exists uk_user_news_news on tb_user_news (news_id);
+
+-- findChangeableIdsByAgency e lotes de aumento de limite por agência
+create index if not exists idx_account_agency on tb_account (agency, id);
+
+-- Relatório por agência a partir dos deltas ainda não consolidados
+create index if not exists idx_agency_totals_delta_agency on tb_agency_totals_delta (agency, card_limit_bucket);
+
+-- Expiração de respostas idempotentes
+create index if not exists idx_idempotency_expires_at on tb_idempotency_record (expires_at);
@@ -0,0 +1,15 @@
+-- Camadas quente e fria: atividade do usuário e arquivo compactado dos inativos.
+
+alter table tb_user add column if not exists last_activity_at timestamp(6) with time zone;
+
+create table if not exists tb_user_archive (
+    user_id bigint not null primary key,
+    account_number varchar(255),
+    card_number varchar(255),
+    last_activity_at timestamp(6) with time zone,
+    archived_at timestamp(6) with time zone,
+    payload bytea
+);
+
+create unique index if not exists uk_user_archive_account_number on tb_user_archive (account_number);
+create unique index if not exists uk_user_archive_card_number on tb_user_archive (card_number);
@@ -0,0 +1,5 @@
+-- Multi-tenant: cada usuário pertence a uma instituição (tenant); os existentes ficam no tenant padrão.
+-- O arquivo guarda o tenant para que a restauração volte ao mesmo lugar.
+
+alter table tb_user add column if not exists tenant_id varchar(64) default 'default' not null;
+alter table tb_user_archive add column if not exists tenant_id varchar(64) default 'default' not null;
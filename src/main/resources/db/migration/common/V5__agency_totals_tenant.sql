@@ -0,0 +1,42 @@
+-- Totais por agência separados por tenant: a mesma agência de instituições diferentes não se soma.
+-- Os totais derivam de tb_user, então a tabela é recriada com a nova chave e recalculada dos usuários;
+-- os deltas pendentes já estão refletidos em tb_user e são descartados.
+
+drop table if exists tb_agency_totals;
+
+create table tb_agency_totals (
+    tenant_id varchar(64) not null,
+    agency varchar(255) not null,
+    card_limit_bucket integer not null,
+    user_count bigint,
+    total_balance numeric(19, 2),
+    total_account_limit numeric(19, 2),
+    total_card_limit numeric(19, 2),
+    primary key (tenant_id, agency, card_limit_bucket)
+);
+
+delete from tb_agency_totals_delta;
+alter table tb_agency_totals_delta add column if not exists tenant_id varchar(64) default 'default' not null;
+
+drop index if exists idx_agency_totals_delta_agency;
+create index if not exists idx_agency_totals_delta_agency on tb_agency_totals_delta (tenant_id, agency, card_limit_bucket);
+
+-- Mesmas faixas de limite de CardLimitBuckets
+insert into tb_agency_totals
+    (tenant_id, agency, card_limit_bucket, user_count, total_balance, total_account_limit, total_card_limit)
+select u.tenant_id, coalesce(a.agency, ''),
+       case when coalesce(c.available_limit, 0) >= 50000 then 4
+            when coalesce(c.available_limit, 0) >= 10000 then 3
+            when coalesce(c.available_limit, 0) >= 5000 then 2
+            when coalesce(c.available_limit, 0) >= 1000 then 1
+            else 0 end,
+       count(*), coalesce(sum(a.balance), 0), coalesce(sum(a.additional_limit), 0), coalesce(sum(c.available_limit), 0)
+from tb_user u
+left join tb_account a on a.id = u.account_id
+left join tb_card c on c.id = u.card_id
+group by u.tenant_id, coalesce(a.agency, ''),
+         case when coalesce(c.available_limit, 0) >= 50000 then 4
+              when coalesce(c.available_limit, 0) >= 10000 then 3
+              when coalesce(c.available_limit, 0) >= 5000 then 2
+              when coalesce(c.available_limit, 0) >= 1000 then 1
+              else 0 end;
@@ -0,0 +1,8 @@
+-- Arquivados continuam nos totais por agência: agência e valores saem do payload para colunas,
+-- lidas pela reconstrução dos totais. Linhas arquivadas antes desta versão têm as colunas vazias
+-- e são preenchidas a partir do payload na próxima reconstrução.
+
+alter table tb_user_archive add column if not exists agency varchar(255);
+alter table tb_user_archive add column if not exists balance numeric(13, 2);
+alter table tb_user_archive add column if not exists additional_limit numeric(13, 2);
+alter table tb_user_archive add column if not exists available_limit numeric(13, 2);
@@ -0,0 +1,3 @@
+-- findInactiveIds: faixa em last_activity_at, devolvida em ordem de id.
+-- O H2 não tem índice parcial; a inicialização de last_activity_at nulo percorre a tabela.
+create index if not exists idx_user_last_activity on tb_user (last_activity_at, id);
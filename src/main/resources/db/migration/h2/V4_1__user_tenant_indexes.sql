@@ -0,0 +1,3 @@
+-- Filtro de tenant do Hibernate (tenant_id = ?) nas listagens e buscas por id.
+-- O H2 não tem particionamento; no PostgreSQL tb_user é particionada por tenant_id.
+create index if not exists idx_user_tenant on tb_user (tenant_id, id);
@@ -0,0 +1,8 @@
+-- Índices da busca com pg_trgm (app.search.engine=postgres); antes criados na inicialização.
+-- A extensão exige um papel com permissão de CREATE no banco.
+
+create extension if not exists pg_trgm;
+
+create index if not exists idx_user_name_trgm on tb_user using gin (lower(name) gin_trgm_ops);
+create index if not exists idx_account_number_prefix on tb_account (number text_pattern_ops);
+create index if not exists idx_card_number_trgm on tb_card using gin (number gin_trgm_ops);
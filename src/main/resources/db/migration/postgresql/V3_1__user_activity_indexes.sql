@@ -0,0 +1,5 @@
+-- findInactiveIds: faixa em last_activity_at, devolvida em ordem de id
+create index if not exists idx_user_last_activity on tb_user (last_activity_at, id);
+
+-- initializeLastActivity: só usuários ainda sem atividade registrada, vazio depois da primeira execução
+create index if not exists idx_user_activity_unset on tb_user (id) where last_activity_at is null;
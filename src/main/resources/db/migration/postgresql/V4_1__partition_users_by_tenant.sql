@@ -0,0 +1,75 @@
+-- tb_user particionada por lista de tenant_id: cada instituição tem sua partição, e o filtro de tenant
+-- do Hibernate (tenant_id = ?) só lê a partição do tenant. Tenants sem partição própria caem em
+-- tb_user_other_tenants até create_user_tenant_partition ser chamada (feito na inicialização).
+--
+-- Restrições de tabelas particionadas no PostgreSQL:
+-- * chaves primária e únicas precisam conter tenant_id, então as tabelas de junção deixam de ter
+--   chave estrangeira para tb_user (a remoção de um usuário já apaga os vínculos antes). Elas são
+--   procuradas em pg_constraint, porque bancos criados pelo Hibernate antes das migrações têm
+--   nomes gerados em vez dos de V1;
+-- * colunas identity só existem em tabelas particionadas a partir do PostgreSQL 17, então o id
+--   vem de uma sequência.
+
+do $$
+declare
+    fk record;
+begin
+    for fk in select conrelid::regclass as source, conname from pg_constraint
+              where contype = 'f' and confrelid = 'tb_user'::regclass loop
+        execute format('alter table %s drop constraint %I', fk.source, fk.conname);
+    end loop;
+end;
+$$;
+
+alter table tb_user rename to tb_user_unpartitioned;
+
+create sequence tb_user_partitioned_id_seq;
+
+create table tb_user (
+    id bigint not null default nextval('tb_user_partitioned_id_seq'),
+    tenant_id varchar(64) default 'default' not null,
+    name varchar(255),
+    account_id bigint,
+    card_id bigint,
+    last_activity_at timestamp(6) with time zone,
+    constraint pk_user primary key (tenant_id, id),
+    constraint fk_user_tenant_account foreign key (account_id) references tb_account (id),
+    constraint fk_user_tenant_card foreign key (card_id) references tb_card (id)
+) partition by list (tenant_id);
+
+create table tb_user_t_default partition of tb_user for values in ('default');
+create table tb_user_other_tenants partition of tb_user default;
+
+-- Cria a partição de um tenant; se ele já tiver linhas na partição padrão, mantém-nas lá
+-- (anexar a partição exigiria mover as linhas com a tabela bloqueada)
+create or replace function create_user_tenant_partition(tenant varchar) returns void as $$
+declare
+    partition_name text := 'tb_user_t_' || regexp_replace(lower(tenant), '[^a-z0-9_]', '_', 'g');
+begin
+    if exists (select 1 from pg_inherits i join pg_class c on c.oid = i.inhrelid
+               where i.inhparent = 'tb_user'::regclass and c.relname = partition_name) then
+        return;
+    end if;
+    if exists (select 1 from tb_user_other_tenants where tenant_id = tenant) then
+        raise notice 'Tenant % already has users in tb_user_other_tenants; partition not created', tenant;
+        return;
+    end if;
+    execute format('create table %I partition of tb_user for values in (%L)', partition_name, tenant);
+end;
+$$ language plpgsql;
+
+insert into tb_user (id, tenant_id, name, account_id, card_id, last_activity_at)
+select id, tenant_id, name, account_id, card_id, last_activity_at from tb_user_unpartitioned;
+
+select setval('tb_user_partitioned_id_seq', coalesce((select max(id) from tb_user), 0) + 1, false);
+alter sequence tb_user_partitioned_id_seq owned by tb_user.id;
+
+drop table tb_user_unpartitioned;
+
+-- Índices de V2, V2_1 e V3_1 recriados na tabela particionada (um por partição)
+create unique index uk_user_account on tb_user (tenant_id, account_id);
+create unique index uk_user_card on tb_user (tenant_id, card_id);
+create index idx_user_id on tb_user (id);
+create index idx_user_last_activity on tb_user (last_activity_at, id);
+create index idx_user_activity_unset on tb_user (id) where last_activity_at is null;
+create index idx_user_name_trgm on tb_user using gin (lower(name) gin_trgm_ops);
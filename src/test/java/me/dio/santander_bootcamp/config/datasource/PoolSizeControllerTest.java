@@ -0,0 +1,70 @@
+package me.dio.santander_bootcamp.config.datasource;
+
+import me.dio.santander_bootcamp.config.datasource.PoolSizeController.Sample;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes para PoolSizeController")
+public class PoolSizeControllerTest {
+
+    private final PoolSizeController controller = new PoolSizeController(2, 20, Duration.ofMillis(5), 1.5, 3);
+
+    @Test
+    @DisplayName("Deve crescer o pool quando a espera média passa do alvo")
+    void shouldGrowWhenWaitIsAboveTarget(){
+        assertEquals(10, controller.nextSize(new Sample(8, 8, 0, 100, 12.0, 4.0)));
+    }
+
+    @Test
+    @DisplayName("Deve crescer pelo menos uma conexão quando há threads na fila")
+    void shouldGrowAtLeastOneWhenThreadsArePending(){
+        assertEquals(3, controller.nextSize(new Sample(2, 2, 5, 0, 0, 0)));
+    }
+
+    @Test
+    @DisplayName("Deve recuar quando a latência do banco sobe acima da tolerância")
+    void shouldBackOffWhenDatabaseLatencyRises(){
+        controller.nextSize(new Sample(8, 2, 0, 100, 1.0, 4.0));
+
+        assertEquals(7, controller.nextSize(new Sample(8, 8, 3, 100, 20.0, 10.0)));
+    }
+
+    @Test
+    @DisplayName("Deve encolher somente após intervalos calmos consecutivos")
+    void shouldShrinkOnlyAfterCalmIntervals(){
+        assertEquals(10, controller.nextSize(new Sample(10, 2, 0, 50, 0.5, 4.0)));
+        assertEquals(10, controller.nextSize(new Sample(10, 2, 0, 50, 0.5, 4.0)));
+        assertEquals(9, controller.nextSize(new Sample(10, 2, 0, 50, 0.5, 4.0)));
+    }
+
+    @Test
+    @DisplayName("Deve reiniciar a contagem de calma quando o pool fica ocupado")
+    void shouldResetCalmCountWhenPoolIsBusy(){
+        controller.nextSize(new Sample(10, 2, 0, 50, 0.5, 4.0));
+        controller.nextSize(new Sample(10, 2, 0, 50, 0.5, 4.0));
+        controller.nextSize(new Sample(10, 8, 0, 50, 0.5, 4.0));
+
+        assertEquals(10, controller.nextSize(new Sample(10, 2, 0, 50, 0.5, 4.0)));
+    }
+
+    @Test
+    @DisplayName("Deve manter o tamanho dentro dos limites configurados")
+    void shouldRespectBounds(){
+        assertEquals(20, controller.nextSize(new Sample(19, 19, 10, 100, 50.0, 4.0)));
+        assertEquals(20, controller.nextSize(new Sample(40, 20, 10, 100, 50.0, 4.0)));
+
+        PoolSizeController calm = new PoolSizeController(2, 20, Duration.ofMillis(5), 1.5, 1);
+        assertEquals(2, calm.nextSize(new Sample(2, 0, 0, 0, 0, 0)));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar limites inválidos")
+    void shouldRejectInvalidBounds(){
+        assertThrows(IllegalArgumentException.class, () -> new PoolSizeController(0, 10, Duration.ofMillis(5), 1.5, 3));
+        assertThrows(IllegalArgumentException.class, () -> new PoolSizeController(5, 4, Duration.ofMillis(5), 1.5, 3));
+    }
+}
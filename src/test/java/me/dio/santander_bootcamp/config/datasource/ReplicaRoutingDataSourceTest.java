@@ -0,0 +1,93 @@
+package me.dio.santander_bootcamp.config.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes para ReplicaRoutingDataSource com duas instâncias H2")
+public class ReplicaRoutingDataSourceTest {
+
+    private ReplicaRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWriteTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp(){
+        DataSource primary = createDatabase("routing_primary", "primary");
+        DataSource replica = createDatabase("routing_replica", "replica");
+
+        routingDataSource = new ReplicaRoutingDataSource(primary, Map.of("replica-0", replica));
+        routingDataSource.afterPropertiesSet();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Test
+    @DisplayName("Deve enviar transações de escrita para o primário")
+    void shouldRouteReadWriteTransactionsToPrimary(){
+        assertEquals("primary", readWriteTransaction.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    @DisplayName("Deve enviar transações somente leitura para a réplica")
+    void shouldRouteReadOnlyTransactionsToReplica(){
+        assertEquals("replica", readOnlyTransaction.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    @DisplayName("Deve usar o primário quando a leitura é forçada")
+    void shouldRouteForcedReadsToPrimary(){
+        String database = DataSourceRouting.onPrimary(() -> readOnlyTransaction.execute(status -> currentDatabase()));
+
+        assertEquals("primary", database);
+        assertFalse(DataSourceRouting.isPrimaryForced());
+    }
+
+    @Test
+    @DisplayName("Deve usar o primário quando nenhuma réplica está saudável")
+    void shouldFallBackToPrimaryWhenNoReplicaIsHealthy(){
+        DataSource broken = new DriverManagerDataSource("jdbc:h2:mem:routing_missing;IFEXISTS=TRUE", "sa", "");
+        routingDataSource = new ReplicaRoutingDataSource(
+                createDatabase("routing_primary", "primary"), Map.of("replica-0", broken));
+        routingDataSource.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(true);
+
+        routingDataSource.checkReplicas();
+
+        assertTrue(routingDataSource.getHealthyReplicas().isEmpty());
+        assertEquals("primary", transaction.execute(status -> currentDatabase()));
+    }
+
+    private String currentDatabase(){
+        return jdbcTemplate.queryForObject("select name from routing_marker", String.class);
+    }
+
+    private DataSource createDatabase(String name, String marker){
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("drop table if exists routing_marker");
+        template.execute("create table routing_marker (name varchar(20))");
+        template.update("insert into routing_marker (name) values (?)", marker);
+        return dataSource;
+    }
+}
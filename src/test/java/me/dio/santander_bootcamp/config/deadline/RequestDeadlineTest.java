@@ -0,0 +1,53 @@
+package me.dio.santander_bootcamp.config.deadline;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes para RequestDeadline")
+public class RequestDeadlineTest {
+
+    @AfterEach
+    void tearDown(){
+        RequestDeadline.clear();
+    }
+
+    @Test
+    @DisplayName("Deve manter o timeout configurado quando não há prazo na thread")
+    void shouldKeepConfiguredTimeoutWithoutDeadline(){
+        assertEquals(-1, RequestDeadline.timeoutSeconds(-1));
+        assertEquals(30, RequestDeadline.timeoutSeconds(30));
+        assertFalse(RequestDeadline.isExpired());
+    }
+
+    @Test
+    @DisplayName("Deve limitar o timeout ao tempo restante arredondado para cima")
+    void shouldCapTimeoutAtRemainingSecondsRoundedUp(){
+        assertEquals(3, RequestDeadline.timeoutSeconds(-1, TimeUnit.MILLISECONDS.toNanos(2500)));
+        assertEquals(2, RequestDeadline.timeoutSeconds(2, TimeUnit.SECONDS.toNanos(10)));
+        assertEquals(1, RequestDeadline.timeoutSeconds(30, TimeUnit.MILLISECONDS.toNanos(1)));
+    }
+
+    @Test
+    @DisplayName("Deve usar ao menos um segundo quando o prazo acabou de vencer")
+    void shouldUseAtLeastOneSecondWhenDeadlineJustPassed(){
+        assertEquals(1, RequestDeadline.timeoutSeconds(-1, -TimeUnit.MILLISECONDS.toNanos(5)));
+    }
+
+    @Test
+    @DisplayName("Deve indicar prazo vencido apenas depois do instante definido")
+    void shouldReportExpiryAfterDeadline(){
+        RequestDeadline.set(System.nanoTime() + TimeUnit.SECONDS.toNanos(10));
+        assertFalse(RequestDeadline.isExpired());
+
+        RequestDeadline.set(System.nanoTime() - 1);
+        assertTrue(RequestDeadline.isExpired());
+
+        RequestDeadline.set(null);
+        assertNull(RequestDeadline.current());
+    }
+}
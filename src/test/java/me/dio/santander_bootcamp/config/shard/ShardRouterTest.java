@@ -0,0 +1,64 @@
+package me.dio.santander_bootcamp.config.shard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes para ShardRouter")
+public class ShardRouterTest {
+
+    private final ShardRouter shardRouter = new ShardRouter(4);
+
+    @Test
+    @DisplayName("Deve derivar o shard a partir do ID intercalado")
+    void shouldResolveShardFromInterleavedId(){
+        assertEquals(0, shardRouter.shardOf(1L));
+        assertEquals(1, shardRouter.shardOf(2L));
+        assertEquals(3, shardRouter.shardOf(4L));
+        assertEquals(0, shardRouter.shardOf(5L));
+    }
+
+    @Test
+    @DisplayName("Deve alinhar o próximo valor de identidade ao shard")
+    void shouldAlignNextIdentityValueWithShard(){
+        assertEquals(1L, shardRouter.nextIdentityValue(0, 0L));
+        assertEquals(2L, shardRouter.nextIdentityValue(1, 0L));
+        assertEquals(9L, shardRouter.nextIdentityValue(0, 5L));
+        assertEquals(6L, shardRouter.nextIdentityValue(1, 5L));
+
+        for(int shard = 0; shard < shardRouter.shardCount(); shard++){
+            long next = shardRouter.nextIdentityValue(shard, 37L);
+            assertTrue(next > 37L);
+            assertEquals(shard, shardRouter.shardOf(next));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve escolher sempre o mesmo shard para o mesmo número de conta")
+    void shouldPickStableShardForAccountNumber(){
+        int shard = shardRouter.shardForNewUser("00000001-0");
+
+        assertEquals(shard, shardRouter.shardForNewUser("00000001-0"));
+        assertTrue(shard >= 0 && shard < shardRouter.shardCount());
+    }
+
+    @Test
+    @DisplayName("Deve mesclar resultados ordenados de todos os shards")
+    void shouldMergeSortedRunsFromAllShards(){
+        List<Long> merged = ShardRouter.mergeSorted(
+                List.of(List.of(1L, 5L, 9L), List.of(), List.of(2L, 6L), List.of(4L)),
+                Comparator.naturalOrder());
+
+        assertEquals(List.of(1L, 2L, 4L, 5L, 6L, 9L), merged);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar configuração sem shards")
+    void shouldRejectEmptyShardConfiguration(){
+        assertThrows(IllegalArgumentException.class, () -> new ShardRouter(0));
+    }
+}
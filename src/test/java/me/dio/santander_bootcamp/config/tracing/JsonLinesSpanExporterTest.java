@@ -0,0 +1,55 @@
+package me.dio.santander_bootcamp.config.tracing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes para JsonLinesSpanExporter")
+public class JsonLinesSpanExporterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Deve gravar um span por linha preservando a hierarquia do trace")
+    void shouldWriteOneLinePerSpanWithParent() throws Exception {
+        Path file = directory.resolve("traces.jsonl");
+        try (SdkTracerProvider provider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(new JsonLinesSpanExporter(objectMapper, file)))
+                .build()) {
+            Tracer tracer = provider.get("test");
+            Span parent = tracer.spanBuilder("http get /users/{id}").startSpan();
+            try (Scope ignored = parent.makeCurrent()) {
+                tracer.spanBuilder("user.service").startSpan().setAttribute("method", "findById").end();
+            } finally {
+                parent.end();
+            }
+        }
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+
+        JsonNode child = objectMapper.readTree(lines.get(0));
+        JsonNode parent = objectMapper.readTree(lines.get(1));
+        assertEquals("user.service", child.get("name").asText());
+        assertEquals("findById", child.get("attributes").get("method").asText());
+        assertEquals(parent.get("traceId").asText(), child.get("traceId").asText());
+        assertEquals(parent.get("spanId").asText(), child.get("parentSpanId").asText());
+        assertTrue(parent.get("parentSpanId").isNull());
+    }
+}
@@ -0,0 +1,75 @@
+package me.dio.santander_bootcamp.controller;
+
+import me.dio.santander_bootcamp.service.BatchJobService;
+import me.dio.santander_bootcamp.service.batch.BatchPartitionResult;
+import me.dio.santander_bootcamp.service.batch.BatchRunResult;
+import me.dio.santander_bootcamp.service.exception.BusinessException;
+import me.dio.santander_bootcamp.service.exception.NotFoundException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(BatchController.class)
+@DisplayName("Testes para BatchController")
+public class BatchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private BatchJobService batchJobService;
+
+    @Test
+    @DisplayName("GET /batch/jobs - Deve retornar 200 com os jobs registrados")
+    void shouldReturn200WithJobNames() throws Exception{
+        when(batchJobService.jobNames()).thenReturn(List.of("interest-accrual"));
+
+        mockMvc.perform(get("/batch/jobs"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]").value("interest-accrual"));
+    }
+
+    @Test
+    @DisplayName("POST /batch/jobs/{name}/runs - Deve retornar 200 com o resultado por partição")
+    void shouldReturn200WithRunResult() throws Exception{
+        LocalDate date = LocalDate.of(2025, 1, 10);
+        when(batchJobService.run("interest-accrual", date)).thenReturn(new BatchRunResult("interest-accrual", date, List.of(
+                new BatchPartitionResult(0, 0, 1, 500, 500, 480, 250, true, null),
+                new BatchPartitionResult(0, 1, 501, 1000, 200, 190, 100, false, "timeout"))));
+
+        mockMvc.perform(post("/batch/jobs/{name}/runs", "interest-accrual").param("date", "2025-01-10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.processed").value(700))
+                .andExpect(jsonPath("$.completed").value(false))
+                .andExpect(jsonPath("$.partitions[0].itemsPerSecond").value(2000.0))
+                .andExpect(jsonPath("$.partitions[1].error").value("timeout"));
+    }
+
+    @Test
+    @DisplayName("POST /batch/jobs/{name}/runs - Deve retornar 404 para job inexistente")
+    void shouldReturn404ForUnknownJob() throws Exception{
+        when(batchJobService.run(eq("unknown"), any())).thenThrow(new NotFoundException());
+
+        mockMvc.perform(post("/batch/jobs/{name}/runs", "unknown"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("POST /batch/jobs/{name}/runs - Deve retornar 422 quando o job já está em execução")
+    void shouldReturn422WhenJobIsRunning() throws Exception{
+        when(batchJobService.run(eq("interest-accrual"), any())).thenThrow(new BusinessException("Job 'interest-accrual' is already running."));
+
+        mockMvc.perform(post("/batch/jobs/{name}/runs", "interest-accrual"))
+                .andExpect(status().isUnprocessableEntity());
+    }
+}
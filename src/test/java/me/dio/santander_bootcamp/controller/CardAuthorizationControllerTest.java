@@ -0,0 +1,89 @@
+package me.dio.santander_bootcamp.controller;
+
+import me.dio.santander_bootcamp.domain.model.Money;
+import me.dio.santander_bootcamp.service.CardAuthorizationService;
+import me.dio.santander_bootcamp.service.exception.BusinessException;
+import me.dio.santander_bootcamp.service.exception.NotFoundException;
+import me.dio.santander_bootcamp.service.ledger.CardHold;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(CardAuthorizationController.class)
+@DisplayName("Testes para CardAuthorizationController")
+public class CardAuthorizationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private CardAuthorizationService cardAuthorizationService;
+
+    @Test
+    @DisplayName("POST /users/{id}/card/authorizations - Deve retornar 201 com a reserva e o limite disponível")
+    void shouldReturn201WithHold() throws Exception{
+        when(cardAuthorizationService.authorize(2L, Money.of("150.00")))
+                .thenReturn(new CardHold(42L, 2L, Money.of("150.00"), CardHold.Status.HELD, Money.of("850.00")));
+
+        mockMvc.perform(post("/users/{id}/card/authorizations", 2L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": 150.00}"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", "http://localhost/users/2/card/authorizations/42"))
+                .andExpect(jsonPath("$.authorizationId").value(42))
+                .andExpect(jsonPath("$.status").value("HELD"))
+                .andExpect(jsonPath("$.availableLimit").value(850.00));
+    }
+
+    @Test
+    @DisplayName("POST /users/{id}/card/authorizations - Deve retornar 422 quando o limite é insuficiente")
+    void shouldReturn422WhenLimitIsInsufficient() throws Exception{
+        when(cardAuthorizationService.authorize(2L, Money.of("5000.00")))
+                .thenThrow(new BusinessException("Insufficient card limit."));
+
+        mockMvc.perform(post("/users/{id}/card/authorizations", 2L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": 5000.00}"))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.detail").value("Insufficient card limit."));
+    }
+
+    @Test
+    @DisplayName("POST /users/{id}/card/authorizations/{authorizationId}/capture - Deve capturar o valor total sem corpo")
+    void shouldCaptureFullAmountWithoutBody() throws Exception{
+        when(cardAuthorizationService.capture(2L, 42L, null))
+                .thenReturn(new CardHold(42L, 2L, Money.of("150.00"), CardHold.Status.CAPTURED, Money.of("850.00")));
+
+        mockMvc.perform(post("/users/{id}/card/authorizations/{authorizationId}/capture", 2L, 42L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CAPTURED"));
+    }
+
+    @Test
+    @DisplayName("DELETE /users/{id}/card/authorizations/{authorizationId} - Deve retornar 404 para reserva inexistente")
+    void shouldReturn404ForUnknownAuthorization() throws Exception{
+        when(cardAuthorizationService.release(2L, 7L)).thenThrow(new NotFoundException());
+
+        mockMvc.perform(delete("/users/{id}/card/authorizations/{authorizationId}", 2L, 7L))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /users/{id}/card/available-limit - Deve retornar o limite disponível")
+    void shouldReturnAvailableLimit() throws Exception{
+        when(cardAuthorizationService.availableLimit(2L)).thenReturn(Money.of("850.00"));
+
+        mockMvc.perform(get("/users/{id}/card/available-limit", 2L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId").value(2))
+                .andExpect(jsonPath("$.availableLimit").value(850.00));
+    }
+}
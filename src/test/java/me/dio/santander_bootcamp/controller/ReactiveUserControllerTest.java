@@ -0,0 +1,110 @@
+package me.dio.santander_bootcamp.controller;
+
+import me.dio.santander_bootcamp.domain.model.Account;
+import me.dio.santander_bootcamp.domain.model.Card;
+import me.dio.santander_bootcamp.domain.model.Money;
+import me.dio.santander_bootcamp.domain.model.User;
+import me.dio.santander_bootcamp.domain.model.UserSummary;
+import me.dio.santander_bootcamp.service.AsyncUserService;
+import me.dio.santander_bootcamp.service.exception.NotFoundException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = ReactiveUserController.class, properties = "app.reactive.enabled=true")
+@DisplayName("Testes para ReactiveUserController")
+public class ReactiveUserControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private AsyncUserService asyncUserService;
+
+    @Test
+    @DisplayName("GET /reactive/users/{id} - Deve retornar 200 com o mesmo DTO do controller bloqueante")
+    void shouldReturn200WithUserDto() throws Exception{
+        when(asyncUserService.findById(1L)).thenReturn(CompletableFuture.completedFuture(createUser()));
+
+        MvcResult result = mockMvc.perform(get("/reactive/users/{id}", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.id").value(1L))
+                .andExpect(jsonPath("$.account.balance").value(1000.00))
+                .andExpect(jsonPath("$.card.limit").value(2000.00));
+    }
+
+    @Test
+    @DisplayName("GET /reactive/users/summary - Deve retornar 200 com o resumo dos usuários")
+    void shouldReturn200WithSummaries() throws Exception{
+        when(asyncUserService.findAllSummaries()).thenReturn(CompletableFuture.completedFuture(List.of(
+                new UserSummary(1L, "Darieldon", "00000001-0", "0001", Money.of("1000.00")))));
+
+        MvcResult result = mockMvc.perform(get("/reactive/users/summary"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].agency").value("0001"));
+    }
+
+    @Test
+    @DisplayName("GET /reactive/users/{id} - Deve retornar 404 quando a consulta falha com NotFoundException")
+    void shouldReturn404WhenUserIsMissing() throws Exception{
+        when(asyncUserService.findById(99L)).thenReturn(CompletableFuture.failedFuture(new NotFoundException()));
+
+        MvcResult result = mockMvc.perform(get("/reactive/users/{id}", 99L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.detail").value("Resource ID not found."));
+    }
+
+    @Test
+    @DisplayName("GET /reactive/users - Deve retornar 503 com Retry-After quando a fila de leitura está cheia")
+    void shouldReturn503WhenReadQueueIsFull() throws Exception{
+        when(asyncUserService.findAll()).thenThrow(new RejectedExecutionException("queue full"));
+
+        mockMvc.perform(get("/reactive/users"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON));
+    }
+
+    private User createUser(){
+        Account account = new Account();
+        account.setNumber("00000001-0");
+        account.setAgency("0001");
+        account.setBalance(Money.of("1000.00"));
+        account.setLimit(Money.of("500.00"));
+        Card card = new Card();
+        card.setNumber("xxxx xxxx xxxx 0001");
+        card.setLimit(Money.of("2000.00"));
+        User user = new User();
+        user.setId(1L);
+        user.setName("Darieldon");
+        user.setAccount(account);
+        user.setCard(card);
+        return user;
+    }
+}
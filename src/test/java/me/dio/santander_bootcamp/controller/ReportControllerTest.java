@@ -0,0 +1,66 @@
+package me.dio.santander_bootcamp.controller;
+
+import me.dio.santander_bootcamp.domain.model.Money;
+import me.dio.santander_bootcamp.service.AgencyReportService;
+import me.dio.santander_bootcamp.service.exception.NotFoundException;
+import me.dio.santander_bootcamp.service.report.AgencyReport;
+import me.dio.santander_bootcamp.service.report.CardLimitBucketCount;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ReportController.class)
+@DisplayName("Testes para ReportController")
+public class ReportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private AgencyReportService agencyReportService;
+
+    @Test
+    @DisplayName("GET /reports/agencies - Deve retornar 200 com os totais por agência")
+    void shouldReturn200WithAgencyReports() throws Exception{
+        AgencyReport report = new AgencyReport("0001", 2, Money.of("1500.00"), Money.of("1000.00"),
+                Money.of("8000.00"), List.of(
+                        new CardLimitBucketCount(Money.of("1000"), Money.of("5000"), 1),
+                        new CardLimitBucketCount(Money.of("5000"), null, 1)));
+        when(agencyReportService.findAll()).thenReturn(List.of(report));
+
+        mockMvc.perform(get("/reports/agencies"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].agency").value("0001"))
+                .andExpect(jsonPath("$[0].userCount").value(2))
+                .andExpect(jsonPath("$[0].totalBalance").value(1500.00))
+                .andExpect(jsonPath("$[0].cardLimitDistribution.length()").value(2))
+                .andExpect(jsonPath("$[0].cardLimitDistribution[1].to").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /reports/agencies/{agency} - Deve retornar 404 quando a agência não tem usuários")
+    void shouldReturn404WhenAgencyHasNoUsers() throws Exception{
+        when(agencyReportService.findByAgency("0000")).thenThrow(new NotFoundException());
+
+        mockMvc.perform(get("/reports/agencies/{agency}", "0000"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("POST /reports/agencies/rebuild - Deve retornar 204 ao reconstruir os totais")
+    void shouldReturn204WhenRebuildingReports() throws Exception{
+        mockMvc.perform(post("/reports/agencies/rebuild"))
+                .andExpect(status().isNoContent());
+
+        verify(agencyReportService).rebuild();
+    }
+}
@@ -4,21 +4,28 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import me.dio.santander_bootcamp.controller.dto.AccountDto;
 import me.dio.santander_bootcamp.controller.dto.CardDto;
 import me.dio.santander_bootcamp.controller.dto.UserDto;
+import me.dio.santander_bootcamp.controller.event.UserEventStream;
 import me.dio.santander_bootcamp.domain.model.Account;
 import me.dio.santander_bootcamp.domain.model.Card;
+import me.dio.santander_bootcamp.domain.model.Money;
 import me.dio.santander_bootcamp.domain.model.User;
+import me.dio.santander_bootcamp.domain.model.UserSummary;
 import me.dio.santander_bootcamp.service.UserService;
+import me.dio.santander_bootcamp.service.exception.BusinessException;
+import me.dio.santander_bootcamp.service.exception.DeadlineExceededException;
 import me.dio.santander_bootcamp.service.exception.NotFoundException;
+import me.dio.santander_bootcamp.service.search.UserSearchHit;
+import me.dio.santander_bootcamp.service.search.UserSearchPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 import static org.mockito.Mockito.*;
@@ -35,6 +42,9 @@ public class UserControllerTest {
     @MockitoBean
     private UserService userService;
 
+    @MockitoBean
+    private UserEventStream userEventStream;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -80,6 +90,52 @@ public class UserControllerTest {
         verify(userService).findAll();
     }
 
+    // Teste para a requisição GET /users/summary
+    @Test
+    @DisplayName("GET /users/summary - Deve retornar 200 com o resumo dos usuários")
+    void shouldReturn200WithUserSummaries() throws Exception{
+        when(userService.findAllSummaries()).thenReturn(List.of(
+                new UserSummary(1L, "Darieldon", "00000001-0", "0001", Money.of("1000.00"))));
+
+        mockMvc.perform(get("/users/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].accountNumber").value("00000001-0"))
+                .andExpect(jsonPath("$[0].agency").value("0001"))
+                .andExpect(jsonPath("$[0].balance").value(1000.00))
+                .andExpect(jsonPath("$[0].card").doesNotExist());
+
+        verify(userService).findAllSummaries();
+        verify(userService, never()).findById(anyLong());
+    }
+
+    // Testes para a requisição GET /users/search
+    @Test
+    @DisplayName("GET /users/search - Deve retornar 200 com os resultados paginados")
+    void shouldReturn200WithSearchResults() throws Exception{
+        UserSearchHit hit = new UserSearchHit(2L, "Joana", "00000002-0", "xxxx xxxx xxxx 0002", 1.0);
+        when(userService.search("joa", 0, 20)).thenReturn(new UserSearchPage(List.of(hit), 0, 20, false));
+
+        mockMvc.perform(get("/users/search").param("q", "joa"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits.length()").value(1))
+                .andExpect(jsonPath("$.hits[0].id").value(2L))
+                .andExpect(jsonPath("$.hits[0].accountNumber").value("00000002-0"))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    @DisplayName("GET /users/search - Deve retornar 422 quando a busca é inválida")
+    void shouldReturn422WhenSearchIsInvalid() throws Exception{
+        when(userService.search(" ", 0, 20)).thenThrow(new BusinessException("Search query must not be blank."));
+
+        mockMvc.perform(get("/users/search").param("q", " "))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.status").value(422))
+                .andExpect(jsonPath("$.detail").value("Search query must not be blank."));
+    }
+
     // Testes para a requisição GET /users/{id}
     @Test
     @DisplayName("GET - /users/{id} - Deve retornar 200 com o usuário com ID existente")
@@ -107,11 +163,37 @@ public class UserControllerTest {
         when(userService.findById(id)).thenThrow(new NotFoundException());
 
         mockMvc.perform(get("/users/{id}", id))
-                .andExpect(status().isNotFound());
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.title").value("Not Found"))
+                .andExpect(jsonPath("$.status").value(404))
+                .andExpect(jsonPath("$.detail").value("Resource ID not found."));
 
         verify(userService).findById(id);
     }
 
+    @Test
+    @DisplayName("GET /users/{id} - Deve retornar 504 quando a consulta estoura o prazo da requisição")
+    void shouldReturn504WhenQueryExceedsDeadline() throws Exception{
+        when(userService.findById(1L)).thenThrow(new QueryTimeoutException("statement timeout"));
+
+        mockMvc.perform(get("/users/{id}", 1L))
+                .andExpect(status().isGatewayTimeout())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.status").value(504))
+                .andExpect(jsonPath("$.detail").value("Request deadline exceeded."));
+    }
+
+    @Test
+    @DisplayName("GET /users/{id} - Deve retornar 503 com Retry-After quando o prazo venceu antes do início")
+    void shouldReturn503WhenDeadlinePassedBeforeWorkStarted() throws Exception{
+        when(userService.findById(1L)).thenThrow(new DeadlineExceededException());
+
+        mockMvc.perform(get("/users/{id}", 1L))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
     // Testes para a requisição POST /users
     @Test
     @DisplayName("POST /users - Deve retornar 201 ao criar um usuário com sucesso")
@@ -186,6 +268,25 @@ public class UserControllerTest {
         verify(userService).update(eq(id), any(User.class));
     }
 
+    // Testes para a requisição PATCH /users/{id}
+    @Test
+    @DisplayName("PATCH /users/{id} - Deve retornar 200 ao aplicar merge patch")
+    void shouldReturn200WhenPatchUserSuccessfully() throws Exception{
+        Long id = 2L;
+        User patchedUser = createUserWithId(id);
+        patchedUser.setName("Nome do patch");
+
+        when(userService.patch(eq(id), any())).thenReturn(patchedUser);
+
+        mockMvc.perform(patch("/users/{id}", id)
+                .contentType("application/merge-patch+json")
+                .content("{\"name\": \"Nome do patch\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Nome do patch"));
+
+        verify(userService).patch(eq(id), any());
+    }
+
     // Testes para a requisição DELETE /users/{id}
     @Test
     @DisplayName("DELETE /users/{id} - Deve retornar 204 ao deletar um usuário com sucesso")
@@ -254,15 +355,15 @@ public class UserControllerTest {
         Account account = new Account();
         account.setNumber("00000001-0");
         account.setAgency("0001");
-        account.setBalance(new BigDecimal("1000.00"));
-        account.setLimit(new BigDecimal("500.00"));
+        account.setBalance(Money.of("1000.00"));
+        account.setLimit(Money.of("500.00"));
         return account;
     }
 
     private Card createCard(){
         Card card = new Card();
         card.setNumber("xxxx xxxx xxxx 0001");
-        card.setLimit(new BigDecimal("500.00"));
+        card.setLimit(Money.of("500.00"));
         return card;
     }
 
@@ -271,8 +372,8 @@ public class UserControllerTest {
                 null,
                 "00000001-0",
                 "0001",
-                new BigDecimal("1000.00"),
-                new BigDecimal("500.00")
+                Money.of("1000.00"),
+                Money.of("500.00")
         );
     }
 
@@ -280,7 +381,7 @@ public class UserControllerTest {
         return new CardDto(
                 null,
                 "xxxx xxxx xxxx 0001",
-                new BigDecimal("500.00")
+                Money.of("500.00")
         );
     }
 }
@@ -0,0 +1,61 @@
+package me.dio.santander_bootcamp.controller.dto;
+
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import me.dio.santander_bootcamp.domain.model.Money;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes para a serialização de UserDto")
+public class UserDtoJsonTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // Serialização padrão por introspecção, a referência do formato
+    private final ObjectMapper beanMapper = new ObjectMapper().addMixIn(UserDto.class, BeanSerialization.class);
+
+    @Test
+    @DisplayName("Deve produzir o mesmo documento da serialização padrão para usuário completo")
+    void shouldMatchBeanSerializationForCompleteUser() throws Exception{
+        UserDto user = new UserDto(1L, "Darieldon",
+                new AccountDto(2L, "00001-1", "0001", Money.of("1500.50"), Money.of("-12.05")),
+                new CardDto(3L, "xxxx xxxx xxxx 1111", Money.of("2000.00")),
+                List.of(new FeatureDto(4L, "pix.svg", "Pix"), new FeatureDto(5L, "pay.svg", "Pagar")),
+                List.of(new NewsDto(6L, "news.svg", "Novidade \"especial\"")));
+
+        assertSameDocument(user);
+    }
+
+    @Test
+    @DisplayName("Deve escrever null para conta, cartão, listas e campos ausentes")
+    void shouldWriteNullsLikeBeanSerialization() throws Exception{
+        assertSameDocument(new UserDto(null, null, null, null, null, null));
+        assertSameDocument(new UserDto(1L, "Rebeca",
+                new AccountDto(null, null, null, null, null), new CardDto(null, null, null), List.of(), List.of()));
+    }
+
+    @Test
+    @DisplayName("Deve serializar listas de usuários elemento a elemento")
+    void shouldSerializeUserLists() throws Exception{
+        List<UserDto> users = List.of(
+                new UserDto(1L, "A", null, new CardDto(1L, "1", Money.of("1.00")), List.of(), List.of()),
+                new UserDto(2L, "B", null, null, List.of(), List.of()));
+
+        assertEquals(beanMapper.readTree(beanMapper.writeValueAsString(users)),
+                objectMapper.readTree(objectMapper.writeValueAsString(users)));
+        assertTrue(objectMapper.writeValueAsString(users).contains("\"limit\":1.00"));
+    }
+
+    private void assertSameDocument(UserDto user) throws Exception{
+        assertEquals(beanMapper.readTree(beanMapper.writeValueAsString(user)),
+                objectMapper.readTree(objectMapper.writeValueAsString(user)));
+    }
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    private abstract static class BeanSerialization {
+    }
+}
@@ -5,7 +5,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -138,8 +137,8 @@ public class UserDtoTest {
                 1L,
                 "00000001-0",
                 "0001",
-                new BigDecimal("1000.00"),
-                new BigDecimal("500.00")
+                Money.of("1000.00"),
+                Money.of("500.00")
         );
 
         Account account = accountDto.toModel();
@@ -172,7 +171,7 @@ public class UserDtoTest {
         CardDto cardDto = new CardDto(
                 1L,
                 "xxxx xxxx xxxx 0001",
-                new BigDecimal("500.00")
+                Money.of("500.00")
         );
 
         Card card = cardDto.toModel();
@@ -189,8 +188,8 @@ public class UserDtoTest {
         account.setId(1L);
         account.setNumber("00000001-0");
         account.setAgency("0001");
-        account.setBalance(new BigDecimal("1000.00"));
-        account.setLimit(new BigDecimal("500.00"));
+        account.setBalance(Money.of("1000.00"));
+        account.setLimit(Money.of("500.00"));
         return account;
     }
 
@@ -198,7 +197,7 @@ public class UserDtoTest {
         Card card = new Card();
         card.setId(1L);
         card.setNumber("xxxx xxxx xxxx 0001");
-        card.setLimit(new BigDecimal("500.00"));
+        card.setLimit(Money.of("500.00"));
         return card;
     }
 
@@ -0,0 +1,116 @@
+package me.dio.santander_bootcamp.controller.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import me.dio.santander_bootcamp.domain.model.Account;
+import me.dio.santander_bootcamp.domain.model.Card;
+import me.dio.santander_bootcamp.domain.model.Feature;
+import me.dio.santander_bootcamp.domain.model.Money;
+import me.dio.santander_bootcamp.domain.model.User;
+import me.dio.santander_bootcamp.service.exception.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes para UserMergePatch")
+public class UserMergePatchTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private User user;
+    private Account account;
+    private Feature pix;
+    private Feature boleto;
+
+    @BeforeEach
+    void setUp(){
+        account = new Account();
+        account.setId(10L);
+        account.setNumber("00000001-0");
+        account.setAgency("0001");
+        account.setBalance(Money.of("1000.00"));
+        account.setLimit(Money.of("500.00"));
+
+        Card card = new Card();
+        card.setId(20L);
+        card.setNumber("xxxx xxxx xxxx 0001");
+        card.setLimit(Money.of("2000.00"));
+
+        pix = createFeature(30L, "pix.png", "Pix");
+        boleto = createFeature(31L, "boleto.png", "Boleto");
+
+        user = new User();
+        user.setId(2L);
+        user.setName("Darieldon");
+        user.setAccount(account);
+        user.setCard(card);
+        user.setFeatures(new ArrayList<>(List.of(pix, boleto)));
+        user.setNews(new ArrayList<>());
+    }
+
+    @Test
+    @DisplayName("Deve alterar apenas os campos informados")
+    void shouldChangeOnlySuppliedFields() throws Exception{
+        apply("{\"name\": \"Novo nome\"}");
+
+        assertEquals("Novo nome", user.getName());
+        assertSame(account, user.getAccount());
+        assertEquals("00000001-0", account.getNumber());
+        assertEquals(List.of(pix, boleto), user.getFeatures());
+    }
+
+    @Test
+    @DisplayName("Deve mesclar objetos aninhados na entidade existente")
+    void shouldMergeNestedObjectIntoExistingEntity() throws Exception{
+        apply("{\"account\": {\"balance\": 1500.50}}");
+
+        assertSame(account, user.getAccount());
+        assertEquals(Money.of("1500.50"), account.getBalance());
+        assertEquals("0001", account.getAgency());
+    }
+
+    @Test
+    @DisplayName("Deve mesclar coleções pelo ID dos itens")
+    void shouldDiffCollectionsByItemId() throws Exception{
+        apply("{\"features\": [{\"id\": 30, \"description\": \"Pix 24h\"}, {\"icon\": \"card.png\", \"description\": \"Cartão\"}]}");
+
+        assertEquals(2, user.getFeatures().size());
+        assertSame(pix, user.getFeatures().get(0));
+        assertEquals("Pix 24h", pix.getDescription());
+        assertEquals("pix.png", pix.getIcon());
+        assertNull(user.getFeatures().get(1).getId());
+        assertEquals("Cartão", user.getFeatures().get(1).getDescription());
+        assertFalse(user.getFeatures().contains(boleto));
+    }
+
+    @Test
+    @DisplayName("Deve limpar valores informados como null")
+    void shouldClearNullMembers() throws Exception{
+        apply("{\"name\": null, \"features\": null}");
+
+        assertNull(user.getName());
+        assertTrue(user.getFeatures().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar patch que altera o ID")
+    void shouldRejectPatchChangingId(){
+        assertThrows(BusinessException.class, () -> apply("{\"id\": 3}"));
+    }
+
+    private void apply(String json) throws Exception{
+        new UserMergePatch(objectMapper.readTree(json)).applyTo(user);
+    }
+
+    private Feature createFeature(Long id, String icon, String description){
+        Feature feature = new Feature();
+        feature.setId(id);
+        feature.setIcon(icon);
+        feature.setDescription(description);
+        return feature;
+    }
+}
@@ -0,0 +1,64 @@
+package me.dio.santander_bootcamp.controller.idempotency;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes para IdempotencyFilter")
+public class IdempotencyFilterTest {
+
+    @Test
+    @DisplayName("Deve entregar o corpo em cache a quem lê de forma assíncrona com ReadListener")
+    void shouldServeCachedBodyToReadListener() throws Exception{
+        IdempotencyFilter filter = new IdempotencyFilter(
+                new IdempotencyStore(null, 2, Duration.ofMinutes(5), Clock.systemUTC()), Duration.ofSeconds(1));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/users");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "abc-123");
+        request.setContent("{\"name\":\"Ana\"}".getBytes(StandardCharsets.UTF_8));
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        List<String> callbacks = new ArrayList<>();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (servletRequest, servletResponse) -> {
+            ServletInputStream input = servletRequest.getInputStream();
+            input.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException{
+                    callbacks.add("dataAvailable");
+                    byte[] buffer = new byte[4];
+                    while(input.isReady() && !input.isFinished()){
+                        int read = input.read(buffer);
+                        if(read > 0){
+                            received.write(buffer, 0, read);
+                        }
+                    }
+                }
+
+                @Override
+                public void onAllDataRead(){
+                    callbacks.add("allDataRead");
+                }
+
+                @Override
+                public void onError(Throwable error){
+                    callbacks.add("error");
+                }
+            });
+        });
+
+        assertEquals("{\"name\":\"Ana\"}", received.toString(StandardCharsets.UTF_8));
+        assertEquals(List.of("dataAvailable", "allDataRead"), callbacks);
+    }
+}
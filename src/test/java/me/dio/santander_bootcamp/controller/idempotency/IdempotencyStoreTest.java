@@ -0,0 +1,128 @@
+package me.dio.santander_bootcamp.controller.idempotency;
+
+import me.dio.santander_bootcamp.config.tenant.TenantContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes para IdempotencyStore")
+public class IdempotencyStoreTest {
+
+    private static final String KEY = "POST /users abc-123";
+
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp(){
+        store = new IdempotencyStore(null, 2, Duration.ofMinutes(5), Clock.systemUTC());
+    }
+
+    @Test
+    @DisplayName("Deve conceder a execução apenas para a primeira requisição da chave")
+    void shouldGrantOwnershipOnlyToFirstRequest(){
+        IdempotencyStore.Entry first = store.begin(KEY);
+        IdempotencyStore.Entry duplicate = store.begin(KEY);
+
+        assertTrue(first.isOwner());
+        assertFalse(duplicate.isOwner());
+        assertFalse(duplicate.result().isDone());
+    }
+
+    @Test
+    @DisplayName("Deve entregar a resposta armazenada para requisições aguardando")
+    void shouldReplayStoredResponseToWaiters(){
+        IdempotencyStore.Entry first = store.begin(KEY);
+        IdempotencyStore.Entry waiting = store.begin(KEY);
+        StoredResponse response = new StoredResponse("fingerprint", 201, "application/json", "/users/2", new byte[]{1});
+
+        store.complete(KEY, first, response);
+
+        assertSame(response, waiting.result().join());
+        assertSame(response, store.begin(KEY).result().join());
+    }
+
+    @Test
+    @DisplayName("Deve liberar a chave quando a execução é abandonada")
+    void shouldReleaseKeyWhenExecutionIsAbandoned(){
+        IdempotencyStore.Entry first = store.begin(KEY);
+        IdempotencyStore.Entry waiting = store.begin(KEY);
+
+        store.abandon(KEY, first);
+
+        assertNull(waiting.result().join());
+        assertTrue(store.begin(KEY).isOwner());
+    }
+
+    @Test
+    @DisplayName("Deve expirar respostas após o TTL")
+    void shouldExpireResponsesAfterTtl(){
+        MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        store = new IdempotencyStore(null, 10, Duration.ofMinutes(5), clock);
+        store.complete(KEY, store.begin(KEY), new StoredResponse("f", 200, null, null, new byte[0]));
+
+        clock.advance(Duration.ofMinutes(6));
+
+        assertTrue(store.begin(KEY).isOwner());
+    }
+
+    @Test
+    @DisplayName("Deve descartar as entradas concluídas mais antigas acima da capacidade")
+    void shouldEvictOldestCompletedEntriesAboveCapacity(){
+        for(String key : new String[]{"a", "b", "c"}){
+            store.complete(key, store.begin(key), new StoredResponse("f", 200, null, null, new byte[0]));
+        }
+
+        assertEquals(2, store.size());
+        assertTrue(store.begin("a").isOwner());
+    }
+
+    @Test
+    @DisplayName("Deve aplicar a capacidade por tenant, sem descartar respostas de outro tenant")
+    void shouldApplyCapacityPerTenant(){
+        TenantContext.on("bank-a", () -> store.complete("a", store.begin("a"), new StoredResponse("f", 200, null, null, new byte[0])));
+        TenantContext.on("bank-b", () -> {
+            for(String key : new String[]{"b1", "b2", "b3"}){
+                store.complete(key, store.begin(key), new StoredResponse("f", 200, null, null, new byte[0]));
+            }
+        });
+
+        assertEquals(3, store.size());
+        assertFalse(TenantContext.on("bank-a", () -> store.begin("a")).isOwner());
+        assertTrue(TenantContext.on("bank-b", () -> store.begin("b1")).isOwner());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now){
+            this.now = now;
+        }
+
+        private void advance(Duration duration){
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone(){
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone){
+            return this;
+        }
+
+        @Override
+        public Instant instant(){
+            return now;
+        }
+    }
+}
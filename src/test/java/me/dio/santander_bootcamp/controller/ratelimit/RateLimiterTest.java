@@ -0,0 +1,50 @@
+package me.dio.santander_bootcamp.controller.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes para RateLimiter")
+public class RateLimiterTest {
+
+    private static final long START = TimeUnit.SECONDS.toNanos(100);
+
+    @Test
+    @DisplayName("Deve manter orçamentos separados por cliente e grupo de endpoint")
+    void shouldKeepSeparateBudgetsPerClientAndGroup(){
+        RateLimiter rateLimiter = new RateLimiter(Map.of(
+                EndpointGroup.LIST, new RateLimiter.Budget(10, 1, 10),
+                EndpointGroup.READ, new RateLimiter.Budget(10, 1, 1),
+                EndpointGroup.WRITE, new RateLimiter.Budget(10, 1, 2)
+        ), Duration.ofMinutes(1), 100);
+
+        assertEquals(0, rateLimiter.tryAcquire("partner-a", EndpointGroup.LIST, START));
+        assertTrue(rateLimiter.tryAcquire("partner-a", EndpointGroup.LIST, START) > 0);
+        assertEquals(0, rateLimiter.tryAcquire("partner-a", EndpointGroup.READ, START));
+        assertEquals(0, rateLimiter.tryAcquire("partner-b", EndpointGroup.LIST, START));
+        assertEquals(3, rateLimiter.bucketCount());
+    }
+
+    @Test
+    @DisplayName("Deve limitar a quantidade de buckets e agrupar os clientes excedentes")
+    void shouldCapBucketCount(){
+        RateLimiter rateLimiter = new RateLimiter(Map.of(
+                EndpointGroup.LIST, new RateLimiter.Budget(10, 1, 10),
+                EndpointGroup.READ, new RateLimiter.Budget(1, 1, 1),
+                EndpointGroup.WRITE, new RateLimiter.Budget(10, 1, 2)
+        ), Duration.ofMinutes(1), 2);
+
+        assertEquals(0, rateLimiter.tryAcquire("10.0.0.1", EndpointGroup.READ, START));
+        assertEquals(0, rateLimiter.tryAcquire("10.0.0.2", EndpointGroup.READ, START));
+
+        // Clientes novos passam a dividir um único bucket excedente
+        assertEquals(0, rateLimiter.tryAcquire("10.0.0.3", EndpointGroup.READ, START));
+        assertTrue(rateLimiter.tryAcquire("10.0.0.4", EndpointGroup.READ, START) > 0);
+        assertEquals(3, rateLimiter.bucketCount());
+    }
+}
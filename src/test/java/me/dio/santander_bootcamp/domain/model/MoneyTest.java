@@ -0,0 +1,78 @@
+package me.dio.santander_bootcamp.domain.model;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes para Money")
+public class MoneyTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Deve interpretar valores decimais em centavos")
+    void shouldParseDecimalsIntoCents(){
+        assertEquals(150050, Money.parse("1500.50").cents());
+        assertEquals(150050, Money.parse("1500.5").cents());
+        assertEquals(-1205, Money.parse("-12.05").cents());
+        assertEquals(100, Money.parse("1").cents());
+        assertEquals(50, Money.parse(".5").cents());
+        assertEquals(100000, Money.parse("1E3").cents());
+        assertEquals(Money.of("2.00"), Money.of(new BigDecimal("2.000")));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar valores com mais de duas casas decimais ou inválidos")
+    void shouldRejectFinerOrMalformedAmounts(){
+        assertThrows(ArithmeticException.class, () -> Money.parse("1.005"));
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("0.001")));
+        assertThrows(NumberFormatException.class, () -> Money.parse("abc"));
+        assertThrows(NumberFormatException.class, () -> Money.parse("-"));
+    }
+
+    @Test
+    @DisplayName("Deve formatar sempre com duas casas decimais")
+    void shouldFormatWithTwoDecimals(){
+        assertEquals("0.00", Money.ZERO.toString());
+        assertEquals("1500.50", Money.ofCents(150050).toString());
+        assertEquals("-0.05", Money.ofCents(-5).toString());
+        assertEquals("-92233720368547758.08", Money.ofCents(Long.MIN_VALUE).toString());
+        assertEquals(new BigDecimal("1500.50"), Money.ofCents(150050).toBigDecimal());
+    }
+
+    @Test
+    @DisplayName("Deve escrever o mesmo texto de toString no buffer de caracteres")
+    void shouldFormatIntoCharBuffer(){
+        char[] text = new char[Money.MAX_TEXT_LENGTH];
+
+        for(long cents : new long[]{0, 5, -5, 99, 100, 150050, -1205, Long.MAX_VALUE, Long.MIN_VALUE}){
+            Money money = Money.ofCents(cents);
+            assertEquals(money.toBigDecimal().toPlainString(), new String(text, 0, money.format(text)));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção em estouro aritmético")
+    void shouldThrowOnOverflow(){
+        Money max = Money.ofCents(Long.MAX_VALUE);
+
+        assertThrows(ArithmeticException.class, () -> max.plus(Money.ofCents(1)));
+        assertThrows(ArithmeticException.class, () -> Money.ofCents(Long.MIN_VALUE).negate());
+        assertThrows(ArithmeticException.class, () -> max.times(2));
+        assertThrows(ArithmeticException.class, () -> Money.parse("999999999999999999999.00"));
+    }
+
+    @Test
+    @DisplayName("Deve serializar e desserializar como número JSON")
+    void shouldRoundTripThroughJson() throws Exception{
+        assertEquals("1500.50", objectMapper.writeValueAsString(Money.of("1500.50")));
+        assertEquals(Money.of("1500.50"), objectMapper.readValue("1500.5", Money.class));
+        assertEquals(Money.of("10.00"), objectMapper.readValue("\"10\"", Money.class));
+        assertThrows(JsonMappingException.class, () -> objectMapper.readValue("1.234", Money.class));
+    }
+}
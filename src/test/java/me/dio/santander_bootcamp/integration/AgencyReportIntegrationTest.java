@@ -0,0 +1,213 @@
+package me.dio.santander_bootcamp.integration;
+
+import me.dio.santander_bootcamp.config.tenant.TenantContext;
+import me.dio.santander_bootcamp.domain.model.Account;
+import me.dio.santander_bootcamp.domain.model.Card;
+import me.dio.santander_bootcamp.domain.model.Money;
+import me.dio.santander_bootcamp.domain.model.User;
+import me.dio.santander_bootcamp.domain.repository.AgencyTotalsDeltaRepository;
+import me.dio.santander_bootcamp.domain.repository.AgencyTotalsRepository;
+import me.dio.santander_bootcamp.domain.repository.ArchivedUserRepository;
+import me.dio.santander_bootcamp.domain.repository.UserRepository;
+import me.dio.santander_bootcamp.service.AgencyReportService;
+import me.dio.santander_bootcamp.service.UserArchiveService;
+import me.dio.santander_bootcamp.service.UserService;
+import me.dio.santander_bootcamp.service.exception.NotFoundException;
+import me.dio.santander_bootcamp.service.report.AgencyReport;
+import me.dio.santander_bootcamp.service.report.CardLimitBucketCount;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Testes de integração para os relatórios por agência")
+public class AgencyReportIntegrationTest {
+
+    private static final String AGENCY = "0042";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AgencyReportService agencyReportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AgencyTotalsRepository totalsRepository;
+
+    @Autowired
+    private AgencyTotalsDeltaRepository deltaRepository;
+
+    @Autowired
+    private ArchivedUserRepository archivedUserRepository;
+
+    @Autowired
+    private UserArchiveService userArchiveService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp(){
+        cleanUp();
+        // Usuário protegido (ID 1) fora da agência testada, criado sem passar pelo serviço
+        userRepository.save(createUser("protected", "9999", "00009999-9", "xxxx xxxx xxxx 9999", "0.00", "0.00"));
+    }
+
+    @AfterEach
+    void cleanUp(){
+        userRepository.deleteAll();
+        archivedUserRepository.deleteAll();
+        deltaRepository.deleteAll();
+        totalsRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve manter os totais da agência a cada criação, alteração e remoção")
+    void shouldMaintainAgencyTotalsIncrementally() throws Exception{
+        userService.create(createUser("Ana", AGENCY, "00004201-0", "xxxx xxxx xxxx 4201", "1000.00", "2000.00"));
+        User second = userService.create(createUser("Bruno", AGENCY, "00004202-0", "xxxx xxxx xxxx 4202", "500.00", "6000.00"));
+
+        AgencyReport created = agencyReportService.findByAgency(AGENCY);
+        assertEquals(2, created.userCount());
+        assertEquals(Money.of("1500.00"), created.totalBalance());
+        assertEquals(List.of(0L, 1L, 1L, 0L, 0L), counts(created));
+
+        agencyReportService.compact();
+        assertEquals(0, deltaRepository.count());
+        AgencyReport compacted = agencyReportService.findByAgency(AGENCY);
+        assertEquals(created.userCount(), compacted.userCount());
+        assertEquals(0, created.totalBalance().compareTo(compacted.totalBalance()));
+        assertEquals(counts(created), counts(compacted));
+
+        userService.raiseCardLimitByAgency(AGENCY, Money.of("5000.00"));
+        userService.delete(second.getId());
+
+        AgencyReport changed = agencyReportService.findByAgency(AGENCY);
+        assertEquals(1, changed.userCount());
+        assertEquals(Money.of("7000.00"), changed.totalCardLimit());
+        assertEquals(List.of(0L, 0L, 1L, 0L, 0L), counts(changed));
+
+        mockMvc.perform(get("/reports/agencies/{agency}", AGENCY))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userCount").value(1))
+                .andExpect(jsonPath("$.totalBalance").value(1000.00))
+                .andExpect(jsonPath("$.cardLimitDistribution[2].from").value(5000));
+
+        agencyReportService.rebuild();
+
+        AgencyReport rebuilt = agencyReportService.findByAgency(AGENCY);
+        assertEquals(changed.userCount(), rebuilt.userCount());
+        assertEquals(0, changed.totalBalance().compareTo(rebuilt.totalBalance()));
+        assertEquals(0, changed.totalCardLimit().compareTo(rebuilt.totalCardLimit()));
+        assertEquals(counts(changed), counts(rebuilt));
+    }
+
+    @Test
+    @DisplayName("Deve separar os totais da mesma agência por tenant")
+    void shouldKeepAgencyTotalsPerTenant(){
+        userService.create(createUser("Ana", AGENCY, "00004201-0", "xxxx xxxx xxxx 4201", "1000.00", "2000.00"));
+        TenantContext.on("bank-a", () -> userService.create(
+                createUser("Bruno", AGENCY, "00004202-0", "xxxx xxxx xxxx 4202", "500.00", "6000.00")));
+
+        AgencyReport ofDefault = TenantContext.on(TenantContext.DEFAULT_TENANT, () -> agencyReportService.findByAgency(AGENCY));
+        AgencyReport ofBankA = TenantContext.on("bank-a", () -> agencyReportService.findByAgency(AGENCY));
+        assertEquals(Money.of("1000.00"), ofDefault.totalBalance());
+        assertEquals(Money.of("500.00"), ofBankA.totalBalance());
+        assertThrows(NotFoundException.class, () -> TenantContext.on("bank-b", () -> agencyReportService.findByAgency(AGENCY)));
+
+        // A compactação e a reconstrução preservam a separação
+        agencyReportService.compact();
+        agencyReportService.rebuild();
+        assertEquals(1, TenantContext.on("bank-a", () -> agencyReportService.findByAgency(AGENCY)).userCount());
+        assertEquals(1, TenantContext.on("bank-a", () -> agencyReportService.findAll()).size());
+
+        // Sem tenant, como nas rotinas internas, todos os tenants são somados
+        assertEquals(2, agencyReportService.findByAgency(AGENCY).userCount());
+    }
+
+    @Test
+    @DisplayName("Deve manter os totais da agência ao arquivar e restaurar um usuário")
+    void shouldKeepAgencyTotalsAcrossArchiveAndRestore(){
+        userService.create(createUser("Ana", AGENCY, "00004201-0", "xxxx xxxx xxxx 4201", "1000.00", "2000.00"));
+        User second = userService.create(createUser("Bruno", AGENCY, "00004202-0", "xxxx xxxx xxxx 4202", "500.00", "6000.00"));
+        agencyReportService.compact();
+        AgencyReport expected = agencyReportService.findByAgency(AGENCY);
+
+        jdbcTemplate.update("update tb_user set last_activity_at = ? where id = ?",
+                Timestamp.from(Instant.now().minus(Duration.ofDays(400))), second.getId());
+        assertEquals(1, userArchiveService.archiveInactive());
+        assertSameTotals(expected, agencyReportService.findByAgency(AGENCY));
+
+        // Linha arquivada antes da V6, sem agência e valores em colunas: a reconstrução os lê do payload
+        jdbcTemplate.update("update tb_user_archive set agency = null, balance = null, additional_limit = null, available_limit = null");
+        agencyReportService.rebuild();
+        assertSameTotals(expected, agencyReportService.findByAgency(AGENCY));
+
+        assertEquals("Bruno", userService.findById(second.getId()).getName());
+        assertEquals(0, archivedUserRepository.count());
+        assertSameTotals(expected, agencyReportService.findByAgency(AGENCY));
+        agencyReportService.rebuild();
+        assertSameTotals(expected, agencyReportService.findByAgency(AGENCY));
+    }
+
+    @Test
+    @DisplayName("Deve lançar NotFoundException para agência sem usuários")
+    void shouldThrowNotFoundExceptionForAgencyWithoutUsers(){
+        assertThrows(NotFoundException.class, () -> agencyReportService.findByAgency("0000"));
+    }
+
+    private static void assertSameTotals(AgencyReport expected, AgencyReport actual){
+        assertEquals(expected.userCount(), actual.userCount());
+        assertEquals(0, expected.totalBalance().compareTo(actual.totalBalance()));
+        assertEquals(0, expected.totalAccountLimit().compareTo(actual.totalAccountLimit()));
+        assertEquals(0, expected.totalCardLimit().compareTo(actual.totalCardLimit()));
+        assertEquals(counts(expected), counts(actual));
+    }
+
+    private static List<Long> counts(AgencyReport report){
+        return report.cardLimitDistribution().stream().map(CardLimitBucketCount::userCount).toList();
+    }
+
+    private static User createUser(String name, String agency, String accountNumber, String cardNumber,
+                                   String balance, String cardLimit){
+        Account account = new Account();
+        account.setNumber(accountNumber);
+        account.setAgency(agency);
+        account.setBalance(Money.of(balance));
+        account.setLimit(Money.of("500.00"));
+
+        Card card = new Card();
+        card.setNumber(cardNumber);
+        card.setLimit(Money.of(cardLimit));
+
+        User user = new User();
+        user.setName(name);
+        user.setAccount(account);
+        user.setCard(card);
+        return user;
+    }
+}
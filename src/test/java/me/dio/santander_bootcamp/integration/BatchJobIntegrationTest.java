@@ -0,0 +1,189 @@
+package me.dio.santander_bootcamp.integration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.dio.santander_bootcamp.config.shard.ShardRouter;
+import me.dio.santander_bootcamp.domain.model.Account;
+import me.dio.santander_bootcamp.domain.model.AccountBatchItem;
+import me.dio.santander_bootcamp.domain.model.Card;
+import me.dio.santander_bootcamp.domain.model.Money;
+import me.dio.santander_bootcamp.domain.model.User;
+import me.dio.santander_bootcamp.domain.repository.AgencyTotalsDeltaRepository;
+import me.dio.santander_bootcamp.domain.repository.AgencyTotalsRepository;
+import me.dio.santander_bootcamp.domain.repository.BatchCheckpointRepository;
+import me.dio.santander_bootcamp.domain.repository.UserRepository;
+import me.dio.santander_bootcamp.service.AgencyReportService;
+import me.dio.santander_bootcamp.service.BatchJobService;
+import me.dio.santander_bootcamp.service.UserService;
+import me.dio.santander_bootcamp.service.batch.AccountBatchJob;
+import me.dio.santander_bootcamp.service.batch.BatchRunResult;
+import me.dio.santander_bootcamp.service.batch.InterestAccrualJob;
+import me.dio.santander_bootcamp.service.impl.BatchJobServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Testes de integração para os jobs em lote")
+public class BatchJobIntegrationTest {
+
+    private static final String AGENCY = "0077";
+    private static final LocalDate RUN_DATE = LocalDate.of(2025, 1, 10);
+
+    @Autowired
+    private BatchJobService batchJobService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AgencyReportService agencyReportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BatchCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private AgencyTotalsRepository totalsRepository;
+
+    @Autowired
+    private AgencyTotalsDeltaRepository deltaRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectProvider<ShardRouter> shardRouter;
+
+    private final List<Long> userIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp(){
+        cleanUp();
+        for(int i = 1; i <= 6; i++){
+            userIds.add(userService.create(createUser(i)).getId());
+        }
+    }
+
+    @AfterEach
+    void cleanUp(){
+        userIds.clear();
+        userRepository.deleteAll();
+        checkpointRepository.deleteAll();
+        deltaRepository.deleteAll();
+        totalsRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve creditar os juros uma única vez por data de execução")
+    void shouldAccrueInterestOncePerRunDate(){
+        BatchRunResult first = batchJobService.run(InterestAccrualJob.NAME, RUN_DATE);
+
+        assertTrue(first.completed());
+        assertEquals(6, first.processed());
+        assertEquals(6, first.changed());
+        // 1000.00 a 2% ao ano rende 0.05 por dia
+        assertBalances(Money.of("1000.05"));
+
+        BatchRunResult repeated = batchJobService.run(InterestAccrualJob.NAME, RUN_DATE);
+        assertEquals(0, repeated.processed());
+        assertBalances(Money.of("1000.05"));
+
+        batchJobService.run(InterestAccrualJob.NAME, RUN_DATE.plusDays(1));
+        assertBalances(Money.of("1000.10"));
+        assertEquals(Money.of("6000.60"), agencyReportService.findByAgency(AGENCY).totalBalance());
+    }
+
+    @Test
+    @DisplayName("Deve retomar a partir do último checkpoint após uma falha")
+    void shouldResumeFromCheckpointAfterFailure(){
+        Long failingAccountId = userRepository.findById(userIds.get(3)).orElseThrow().getAccount().getId();
+        FailOnceJob job = new FailOnceJob(failingAccountId);
+        BatchJobServiceImpl engine = new BatchJobServiceImpl(List.of(job), userRepository, checkpointRepository,
+                eventPublisher, new SimpleMeterRegistry(), transactionManager, shardRouter, 1, 1, 2, 0);
+        try {
+            BatchRunResult crashed = engine.run(job.name(), RUN_DATE);
+            assertFalse(crashed.completed());
+            assertEquals(2, crashed.processed());
+            assertNotNull(crashed.partitions().get(0).error());
+
+            BatchRunResult resumed = engine.run(job.name(), RUN_DATE);
+            assertTrue(resumed.completed());
+            assertEquals(4, resumed.processed());
+        } finally {
+            engine.destroy();
+        }
+        // O chunk que falhou foi desfeito: cada conta recebe o crédito exatamente uma vez
+        assertBalances(Money.of("1000.01"));
+        assertEquals(2, job.invocations.get(failingAccountId));
+    }
+
+    private void assertBalances(Money expected){
+        for(Long id : userIds){
+            assertEquals(expected, userRepository.findById(id).orElseThrow().getAccount().getBalance());
+        }
+    }
+
+    private static User createUser(int index){
+        Account account = new Account();
+        account.setNumber("%08d-7".formatted(7700 + index));
+        account.setAgency(AGENCY);
+        account.setBalance(Money.of("1000.00"));
+        account.setLimit(Money.of("500.00"));
+
+        Card card = new Card();
+        card.setNumber("xxxx xxxx xxxx %04d".formatted(7700 + index));
+        card.setLimit(Money.of("2000.00"));
+
+        User user = new User();
+        user.setName("Batch " + index);
+        user.setAccount(account);
+        user.setCard(card);
+        return user;
+    }
+
+    private static final class FailOnceJob implements AccountBatchJob {
+
+        private final Long failingAccountId;
+        private final Map<Long, Integer> invocations = new ConcurrentHashMap<>();
+
+        private FailOnceJob(Long failingAccountId){
+            this.failingAccountId = failingAccountId;
+        }
+
+        @Override
+        public String name(){
+            return "fail-once";
+        }
+
+        @Override
+        public boolean process(AccountBatchItem item, LocalDate runDate){
+            Long accountId = item.account().getId();
+            if(invocations.merge(accountId, 1, Integer::sum) == 1 && accountId.equals(failingAccountId)){
+                throw new IllegalStateException("Falha simulada");
+            }
+            item.account().setBalance(item.account().getBalance().plus(Money.ofCents(1)));
+            return true;
+        }
+    }
+}
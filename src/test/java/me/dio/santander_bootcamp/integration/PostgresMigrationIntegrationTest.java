@@ -0,0 +1,69 @@
+package me.dio.santander_bootcamp.integration;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Esquema criado pelo Hibernate, como num banco anterior às migrações; elas rodam depois, com baseline na versão 0
+@SpringBootTest(properties = {
+        "spring.datasource.driver-class-name=org.postgresql.Driver",
+        "spring.jpa.hibernate.ddl-auto=create"
+})
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Testes de integração para as migrações no PostgreSQL")
+public class PostgresMigrationIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Deve migrar um esquema gerado pelo Hibernate e particionar tb_user")
+    void shouldMigrateHibernateGeneratedSchema(){
+        jdbcTemplate.update("insert into tb_feature (id, icon, description) values (3, 'icon', 'Pix')");
+        jdbcTemplate.update("insert into tb_user (id, tenant_id, name) values (7, 'bank-a', 'Darieldon')");
+        jdbcTemplate.update("insert into tb_user_features (tb_user_id, features_id) values (7, 3)");
+        // Chaves estrangeiras com os nomes gerados pelo Hibernate, não os de V1
+        assertTrue(foreignKeysToUsers() > 0);
+
+        Flyway flyway = Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/postgresql")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load();
+        flyway.migrate();
+
+        assertEquals("6", flyway.info().current().getVersion().getVersion());
+        assertEquals(0, foreignKeysToUsers());
+        assertEquals("p", jdbcTemplate.queryForObject(
+                "select relkind::text from pg_class where oid = 'tb_user'::regclass", String.class));
+        assertEquals("Darieldon", jdbcTemplate.queryForObject(
+                "select name from tb_user where tenant_id = 'bank-a' and id = 7", String.class));
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from tb_user_features where tb_user_id = 7", Integer.class));
+    }
+
+    private int foreignKeysToUsers(){
+        return jdbcTemplate.queryForObject(
+                "select count(*) from pg_constraint where contype = 'f' and confrelid = 'tb_user'::regclass", Integer.class);
+    }
+}
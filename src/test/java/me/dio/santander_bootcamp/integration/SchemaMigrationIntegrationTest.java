@@ -0,0 +1,178 @@
+package me.dio.santander_bootcamp.integration;
+
+import me.dio.santander_bootcamp.config.tenant.TenantContext;
+import me.dio.santander_bootcamp.domain.repository.AgencyTotalsDeltaRepository;
+import me.dio.santander_bootcamp.domain.repository.IdempotencyRecordRepository;
+import me.dio.santander_bootcamp.domain.repository.UserRepository;
+import org.flywaydb.core.Flyway;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Esquema criado só pelas migrações, em um H2 próprio no modo PostgreSQL; o Hibernate apenas valida.
+// Os planos são do SQL que o Hibernate gera para as consultas dos repositórios, capturado pelo SqlCapture
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migrations;MODE=PostgreSQL",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "me.dio.santander_bootcamp.integration.SchemaMigrationIntegrationTest$SqlCapture"
+})
+@ActiveProfiles("test")
+@DisplayName("Testes de integração para as migrações do esquema")
+public class SchemaMigrationIntegrationTest {
+
+    private static final Instant CUTOFF = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AgencyTotalsDeltaRepository agencyTotalsDeltaRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Test
+    @DisplayName("Deve aplicar todas as migrações em um banco vazio e passar na validação do Hibernate")
+    void shouldApplyAllMigrationsOnEmptyDatabase(){
+        assertEquals(0, flyway.info().pending().length);
+        assertEquals("6", flyway.info().current().getVersion().getVersion());
+    }
+
+    @Test
+    @DisplayName("Deve usar índices na verificação de número de conta existente")
+    void shouldUseIndexesWhenCheckingAccountNumber(){
+        String plan = explain(() -> userRepository.existsByAccountNumber("00000001-1"), "00000001-1");
+
+        assertUsesIndex(plan, "uk_account_number");
+    }
+
+    @Test
+    @DisplayName("Deve usar índices na verificação de número de cartão existente")
+    void shouldUseIndexesWhenCheckingCardNumber(){
+        String plan = explain(() -> userRepository.existsByCardNumber("xxxx xxxx xxxx 0001"), "xxxx xxxx xxxx 0001");
+
+        assertUsesIndex(plan, "uk_card_number");
+    }
+
+    @Test
+    @DisplayName("Deve usar o índice de cobertura da junção na carga em lote de features")
+    void shouldUseJoinTableIndexWhenBatchLoadingFeatures(){
+        // Carga de coleção do Hibernate, não uma consulta de repositório: o SQL reproduz a junção do @ManyToMany
+        String plan = explain("select uf.tb_user_id, f.id, f.icon, f.description from tb_user_features uf "
+                + "join tb_feature f on f.id = uf.features_id where uf.tb_user_id in (1, 2, 3)");
+
+        assertUsesIndex(plan, "idx_user_features_user");
+    }
+
+    @Test
+    @DisplayName("Deve usar o índice de cobertura da junção na carga em lote de news")
+    void shouldUseJoinTableIndexWhenBatchLoadingNews(){
+        String plan = explain("select un.tb_user_id, n.id, n.icon, n.description from tb_user_news un "
+                + "join tb_news n on n.id = un.news_id where un.tb_user_id in (1, 2, 3)");
+
+        assertUsesIndex(plan, "idx_user_news_user");
+    }
+
+    @Test
+    @DisplayName("Deve usar índice na seleção de usuários por agência")
+    void shouldUseIndexWhenSelectingUsersByAgency(){
+        String plan = explain(() -> userRepository.findChangeableIdsByAgency("0001", 1L), "0001", 1L);
+
+        assertUsesIndex(plan, "idx_account_agency");
+        assertUsesIndex(plan, "uk_user_account");
+    }
+
+    @Test
+    @DisplayName("Deve usar índice na busca de usuários inativos")
+    void shouldUseIndexWhenFindingInactiveUsers(){
+        String plan = explain(() -> userRepository.findInactiveIds(CUTOFF, 1L, Limit.of(200)),
+                Timestamp.from(CUTOFF), 1L, 200);
+
+        assertUsesIndex(plan, "idx_user_last_activity");
+    }
+
+    @Test
+    @DisplayName("Deve usar índice na listagem de usuários de um tenant")
+    void shouldUseIndexWhenListingUsersOfTenant(){
+        String plan = explain(() -> TenantContext.on("bank-a", () -> userRepository.findAll()), "bank-a");
+
+        assertUsesIndex(plan, "idx_user_tenant");
+    }
+
+    @Test
+    @DisplayName("Deve usar índice no relatório de deltas de uma agência")
+    void shouldUseIndexWhenSummingAgencyDeltas(){
+        String plan = explain(() -> agencyTotalsDeltaRepository.sumOfTenantByAgency("default", "0001"), "default", "0001");
+
+        assertUsesIndex(plan, "idx_agency_totals_delta_agency");
+    }
+
+    @Test
+    @DisplayName("Deve usar índice na expiração de respostas idempotentes")
+    void shouldUseIndexWhenExpiringIdempotentResponses(){
+        String plan = explain(() -> idempotencyRecordRepository.deleteExpired(CUTOFF), Timestamp.from(CUTOFF));
+
+        assertUsesIndex(plan, "idx_idempotency_expires_at");
+    }
+
+    private String explain(String sql){
+        return jdbcTemplate.queryForObject("explain " + sql, String.class).toLowerCase(Locale.ROOT);
+    }
+
+    // Executa a consulta do repositório e explica o único SQL que o Hibernate gerou, com os mesmos parâmetros
+    private String explain(Runnable query, Object... parameters){
+        List<String> statements = SqlCapture.during(query);
+        assertEquals(1, statements.size(), () -> "Esperado um único SQL: " + statements);
+        return jdbcTemplate.queryForObject("explain " + statements.get(0), String.class, parameters).toLowerCase(Locale.ROOT);
+    }
+
+    private static void assertUsesIndex(String plan, String index){
+        assertTrue(plan.contains(index), () -> "Plano sem o índice " + index + ":\n" + plan);
+    }
+
+    public static class SqlCapture implements StatementInspector {
+
+        private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+        static List<String> during(Runnable query){
+            List<String> statements = new ArrayList<>();
+            CAPTURED.set(statements);
+            try {
+                query.run();
+            } finally {
+                CAPTURED.remove();
+            }
+            return statements;
+        }
+
+        @Override
+        public String inspect(String sql){
+            List<String> statements = CAPTURED.get();
+            if(statements != null){
+                statements.add(sql);
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package me.dio.santander_bootcamp.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import me.dio.santander_bootcamp.config.shard.ShardContext;
+import me.dio.santander_bootcamp.config.shard.ShardRouter;
+import me.dio.santander_bootcamp.controller.dto.UserMergePatch;
+import me.dio.santander_bootcamp.domain.model.Account;
+import me.dio.santander_bootcamp.domain.model.Card;
+import me.dio.santander_bootcamp.domain.model.Money;
+import me.dio.santander_bootcamp.domain.model.User;
+import me.dio.santander_bootcamp.domain.model.UserSummary;
+import me.dio.santander_bootcamp.domain.repository.ArchivedUserRepository;
+import me.dio.santander_bootcamp.domain.repository.UserRepository;
+import me.dio.santander_bootcamp.service.UserArchiveService;
+import me.dio.santander_bootcamp.service.UserService;
+import me.dio.santander_bootcamp.service.exception.BusinessException;
+import me.dio.santander_bootcamp.service.impl.ShardedUserService;
+import me.dio.santander_bootcamp.service.search.UserSearchHit;
+import me.dio.santander_bootcamp.service.search.UserSearchPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Dois bancos H2 em memória como shards; o Hibernate cria o esquema no shard 0 e o ShardSchemaInitializer no shard 1
+@SpringBootTest(properties = {
+        "app.sharding.enabled=true",
+        "app.sharding.shards[0].url=jdbc:h2:mem:shard0;DB_CLOSE_DELAY=-1",
+        "app.sharding.shards[0].username=sa",
+        "app.sharding.shards[0].maximum-pool-size=4",
+        "app.sharding.shards[1].url=jdbc:h2:mem:shard1;DB_CLOSE_DELAY=-1",
+        "app.sharding.shards[1].username=sa",
+        "app.sharding.shards[1].maximum-pool-size=4"
+})
+@ActiveProfiles("test")
+@DisplayName("Testes de integração para o ShardedUserService")
+public class ShardedUserServiceIntegrationTest {
+
+    private static final int SHARDS = 2;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ArchivedUserRepository archivedUserRepository;
+
+    @Autowired
+    private UserArchiveService userArchiveService;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private int sequence;
+
+    @BeforeEach
+    void setUp(){
+        for(int shard = 0; shard < SHARDS; shard++){
+            ShardContext.on(shard, () -> {
+                userRepository.deleteAll();
+                archivedUserRepository.deleteAll();
+            });
+        }
+    }
+
+    @Test
+    @DisplayName("Deve gravar cada usuário no shard dono do seu ID")
+    void shouldStoreEachUserOnTheShardOwningItsId(){
+        assertInstanceOf(ShardedUserService.class, userService);
+        User first = userService.create(createUser("Ana", accountNumberOn(0)));
+        User second = userService.create(createUser("Bruno", accountNumberOn(1)));
+
+        assertEquals(0, shardRouter.shardOf(first.getId()));
+        assertEquals(1, shardRouter.shardOf(second.getId()));
+        for(User user : List.of(first, second)){
+            int owner = shardRouter.shardOf(user.getId());
+            assertTrue(ShardContext.on(owner, () -> userRepository.existsById(user.getId())));
+            assertFalse(ShardContext.on(1 - owner, () -> userRepository.existsById(user.getId())));
+            assertEquals(user.getName(), userService.findById(user.getId()).getName());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve recusar números de conta e cartão já usados em outro shard na criação, no PUT e no PATCH")
+    void shouldRejectNumbersTakenOnAnotherShard() throws Exception{
+        User first = userService.create(createUser("Ana", accountNumberOn(0)));
+        User second = userService.create(createUser("Bruno", accountNumberOn(1)));
+        String firstAccount = first.getAccount().getNumber();
+        String firstCard = first.getCard().getNumber();
+
+        User duplicate = createUser("Carla", firstAccount);
+        BusinessException onCreate = assertThrows(BusinessException.class, () -> userService.create(duplicate));
+        assertEquals("This account number already exists.", onCreate.getMessage());
+
+        User update = userService.findById(second.getId());
+        update.getCard().setNumber(firstCard);
+        BusinessException onUpdate = assertThrows(BusinessException.class, () -> userService.update(second.getId(), update));
+        assertEquals("This card number already exists.", onUpdate.getMessage());
+
+        UserMergePatch patch = new UserMergePatch(objectMapper.readTree("{\"account\": {\"number\": \"%s\"}}".formatted(firstAccount)));
+        BusinessException onPatch = assertThrows(BusinessException.class, () -> userService.patch(second.getId(), patch));
+        assertEquals("This account number already exists.", onPatch.getMessage());
+
+        // Manter os próprios números não é conflito
+        User unchanged = userService.findById(second.getId());
+        unchanged.setName("Bruno Souza");
+        assertEquals("Bruno Souza", userService.update(second.getId(), unchanged).getName());
+    }
+
+    @Test
+    @DisplayName("Deve recusar no PATCH o número de um usuário arquivado em outro shard")
+    void shouldRejectNumberArchivedOnAnotherShard() throws Exception{
+        // O usuário de ID 1 nunca é arquivado: este garante que o arquivado seja outro
+        userService.create(createUser("Protegido", accountNumberOn(0)));
+        User archived = userService.create(createUser("Ana", accountNumberOn(0)));
+        User other = userService.create(createUser("Bruno", accountNumberOn(1)));
+        ShardContext.on(0, () -> jdbcTemplate.update("update tb_user set last_activity_at = ? where id = ?",
+                Timestamp.from(Instant.now().minus(Duration.ofDays(400))), archived.getId()));
+        assertEquals(1, userArchiveService.archiveInactive());
+
+        UserMergePatch patch = new UserMergePatch(objectMapper.readTree(
+                "{\"card\": {\"number\": \"%s\"}}".formatted(archived.getCard().getNumber())));
+        BusinessException exception = assertThrows(BusinessException.class, () -> userService.patch(other.getId(), patch));
+        assertEquals("This card number already exists.", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve juntar a listagem e a busca de todos os shards")
+    void shouldGatherListingAndSearchFromAllShards(){
+        User anaSilva = userService.create(createUser("Ana Silva", accountNumberOn(0)));
+        User silva = userService.create(createUser("Silva", accountNumberOn(1)));
+        User brunoSilva = userService.create(createUser("Bruno Silva", accountNumberOn(1)));
+        userService.create(createUser("Carla Souza", accountNumberOn(0)));
+
+        List<Long> summaryIds = userService.findAllSummaries().stream().map(UserSummary::id).toList();
+        assertEquals(4, summaryIds.size());
+        assertEquals(summaryIds.stream().sorted().toList(), summaryIds);
+
+        // Os três casam o termo inteiro e empatam na relevância: a ordem entre shards segue o ID
+        List<Long> expected = List.of(anaSilva.getId(), silva.getId(), brunoSilva.getId()).stream().sorted().toList();
+        UserSearchPage first = userService.search("silva", 0, 2);
+        UserSearchPage second = userService.search("silva", 1, 2);
+        assertEquals(expected.subList(0, 2), ids(first));
+        assertTrue(first.hasNext());
+        assertEquals(expected.subList(2, 3), ids(second));
+        assertFalse(second.hasNext());
+        assertEquals(List.of(brunoSilva.getId()), ids(userService.search("silva bru", 0, 2)));
+    }
+
+    private static List<Long> ids(UserSearchPage page){
+        return page.hits().stream().map(UserSearchHit::id).toList();
+    }
+
+    // Números de conta que o ShardRouter manda para o shard pedido; o cartão segue o mesmo sufixo
+    private String accountNumberOn(int shard){
+        String number;
+        do {
+            number = "%08d-0".formatted(++sequence);
+        } while(shardRouter.shardForNewUser(number) != shard);
+        return number;
+    }
+
+    private static User createUser(String name, String accountNumber){
+        Account account = new Account();
+        account.setNumber(accountNumber);
+        account.setAgency("0001");
+        account.setBalance(Money.of("100.00"));
+        account.setLimit(Money.of("500.00"));
+
+        Card card = new Card();
+        card.setNumber("xxxx xxxx xxxx " + accountNumber.substring(0, 8));
+        card.setLimit(Money.of("1000.00"));
+
+        User user = new User();
+        user.setName(name);
+        user.setAccount(account);
+        user.setCard(card);
+        return user;
+    }
+}
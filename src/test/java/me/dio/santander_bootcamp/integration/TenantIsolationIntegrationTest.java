@@ -0,0 +1,174 @@
+package me.dio.santander_bootcamp.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import me.dio.santander_bootcamp.controller.dto.AccountDto;
+import me.dio.santander_bootcamp.controller.dto.CardDto;
+import me.dio.santander_bootcamp.controller.dto.UserDto;
+import me.dio.santander_bootcamp.controller.tenant.TenantFilter;
+import me.dio.santander_bootcamp.domain.model.Account;
+import me.dio.santander_bootcamp.domain.model.Card;
+import me.dio.santander_bootcamp.domain.model.Money;
+import me.dio.santander_bootcamp.domain.model.User;
+import me.dio.santander_bootcamp.domain.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Sem @Transactional: cada requisição abre sua própria sessão, filtrada pelo tenant da requisição
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:tenancy",
+        "app.tenancy.tenants=default,bank-a,bank-b"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Testes de integração para o isolamento entre tenants")
+public class TenantIsolationIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp(){
+        // Fora de uma requisição a sessão não tem tenant e enxerga todos
+        userRepository.deleteAll();
+
+        // Usuário do tenant padrão, salvo por uma sessão sem tenant
+        userRepository.save(createUser());
+    }
+
+    @Test
+    @DisplayName("Deve esconder de um tenant os usuários criados por outro")
+    void shouldHideUsersOfOtherTenants() throws Exception{
+        Long userId = createUserIn("bank-a", "00000002-0", "xxxx xxxx xxxx 0002");
+
+        assertEquals("bank-a", userRepository.findById(userId).orElseThrow().getTenantId());
+
+        mockMvc.perform(get("/users/{id}", userId).header(TenantFilter.TENANT_HEADER, "bank-a"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(userId));
+        mockMvc.perform(get("/users/{id}", userId).header(TenantFilter.TENANT_HEADER, "bank-b"))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/users").header(TenantFilter.TENANT_HEADER, "bank-a"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+        mockMvc.perform(get("/users").header(TenantFilter.TENANT_HEADER, "bank-b"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        // Sem o header a requisição fica no tenant padrão
+        mockMvc.perform(get("/users"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].account.number").value("00000001-0"));
+    }
+
+    @Test
+    @DisplayName("Deve impedir que um tenant altere ou remova usuários de outro")
+    void shouldNotChangeUsersOfOtherTenants() throws Exception{
+        Long userId = createUserIn("bank-a", "00000002-0", "xxxx xxxx xxxx 0002");
+        UserDto renamed = new UserDto(userId, "Outro Banco", createAccountDto("00000002-0"),
+                createCardDto("xxxx xxxx xxxx 0002"), null, null);
+
+        mockMvc.perform(put("/users/{id}", userId)
+                        .header(TenantFilter.TENANT_HEADER, "bank-b")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(renamed)))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/users/{id}", userId).header(TenantFilter.TENANT_HEADER, "bank-b"))
+                .andExpect(status().isNotFound());
+
+        assertEquals("Darieldon", userRepository.findById(userId).orElseThrow().getName());
+    }
+
+    @Test
+    @DisplayName("Deve responder 404 ao assinar eventos de usuário de outro tenant")
+    void shouldNotSubscribeToEventsOfOtherTenants() throws Exception{
+        Long userId = createUserIn("bank-a", "00000002-0", "xxxx xxxx xxxx 0002");
+
+        mockMvc.perform(get("/users/{id}/events", userId).header(TenantFilter.TENANT_HEADER, "bank-b"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/users/{id}/events", userId).header(TenantFilter.TENANT_HEADER, "bank-a"))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    @DisplayName("Deve manter números de conta e cartão únicos entre tenants")
+    void shouldKeepAccountAndCardNumbersUniqueAcrossTenants() throws Exception{
+        createUserIn("bank-a", "00000002-0", "xxxx xxxx xxxx 0002");
+        UserDto duplicate = new UserDto(null, "Darieldon", createAccountDto("00000002-0"),
+                createCardDto("xxxx xxxx xxxx 0003"), null, null);
+
+        mockMvc.perform(post("/users")
+                        .header(TenantFilter.TENANT_HEADER, "bank-b")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(duplicate)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.detail").value("This account number already exists."));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar com 400 tenants não configurados")
+    void shouldRejectUnknownTenant() throws Exception{
+        mockMvc.perform(get("/users").header(TenantFilter.TENANT_HEADER, "bank-z"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.detail").value("Unknown tenant."));
+    }
+
+    private Long createUserIn(String tenant, String accountNumber, String cardNumber) throws Exception{
+        UserDto user = new UserDto(null, "Darieldon", createAccountDto(accountNumber), createCardDto(cardNumber), null, null);
+        String response = mockMvc.perform(post("/users")
+                        .header(TenantFilter.TENANT_HEADER, tenant)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(user)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readValue(response, UserDto.class).id();
+    }
+
+    private User createUser(){
+        User user = new User();
+        user.setName("Darieldon");
+        Account account = new Account();
+        account.setNumber("00000001-0");
+        account.setAgency("0001");
+        account.setBalance(Money.of("1000.00"));
+        account.setLimit(Money.of("500.00"));
+        user.setAccount(account);
+
+        Card card = new Card();
+        card.setNumber("xxxx xxxx xxxx 0001");
+        card.setLimit(Money.of("2000.00"));
+        user.setCard(card);
+
+        return user;
+    }
+
+    private AccountDto createAccountDto(String number){
+        return new AccountDto(null, number, "0001", Money.of("1000.00"), Money.of("500.00"));
+    }
+
+    private CardDto createCardDto(String number){
+        return new CardDto(null, number, Money.of("2000.00"));
+    }
+}
@@ -1,11 +1,13 @@
 package me.dio.santander_bootcamp.integration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import me.dio.santander_bootcamp.controller.dto.AccountDto;
 import me.dio.santander_bootcamp.controller.dto.CardDto;
 import me.dio.santander_bootcamp.controller.dto.UserDto;
 import me.dio.santander_bootcamp.domain.model.Account;
 import me.dio.santander_bootcamp.domain.model.Card;
+import me.dio.santander_bootcamp.domain.model.Money;
 import me.dio.santander_bootcamp.domain.model.User;
 import me.dio.santander_bootcamp.domain.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,8 +21,6 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -41,6 +41,9 @@ public class UserIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private EntityManager entityManager;
+
     @BeforeEach
     void setUp(){
         // Limpar o banco de dados antes de cada teste
@@ -155,6 +158,36 @@ public class UserIntegrationTest {
                 .andExpect(status().isUnprocessableEntity());
     }
 
+    @Test
+    @DisplayName("Deve aplicar patch nos números de conta e cartão quando estão livres")
+    void shouldPatchAccountAndCardNumbersToFreeValues() throws Exception{
+        String response = mockMvc.perform(post("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createUserDto())))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        Long id = objectMapper.readValue(response, UserDto.class).id();
+
+        mockMvc.perform(patch("/users/{id}", id)
+                .contentType("application/merge-patch+json")
+                .content("{\"account\": {\"number\": \"00000009-9\"}}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.account.number").value("00000009-9"));
+        mockMvc.perform(patch("/users/{id}", id)
+                .contentType("application/merge-patch+json")
+                .content("{\"card\": {\"number\": \"xxxx xxxx xxxx 0009\"}}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.card.number").value("xxxx xxxx xxxx 0009"));
+
+        // Número de outro usuário continua rejeitado
+        mockMvc.perform(patch("/users/{id}", id)
+                .contentType("application/merge-patch+json")
+                .content("{\"account\": {\"number\": \"00000001-1\"}}"))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
     @Test
     @DisplayName("Deve retornar 422 ao criar usuário nulo")
     void shouldReturn422WhenTryingToCreateNullUser() throws Exception{
@@ -179,6 +212,54 @@ public class UserIntegrationTest {
                 .andExpect(status().isUnprocessableEntity());
     }
 
+    @Test
+    @DisplayName("Deve aumentar limites e deletar usuários em lote removendo registros órfãos")
+    void shouldRaiseLimitsAndDeleteUsersInBulk() throws Exception{
+        User first = createUser();
+        first.getAccount().setNumber("00000042-1");
+        first.getAccount().setAgency("0042");
+        first.getCard().setNumber("xxxx xxxx xxxx 4201");
+        User second = createUser();
+        second.getAccount().setNumber("00000042-2");
+        second.getAccount().setAgency("0042");
+        second.getCard().setNumber("xxxx xxxx xxxx 4202");
+        Long firstId = userRepository.save(first).getId();
+        Long secondId = userRepository.save(second).getId();
+        Long cardId = first.getCard().getId();
+
+        mockMvc.perform(post("/users/bulk/card-limit")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"agency\":\"0042\",\"amount\":250.00}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(2))
+                .andExpect(jsonPath("$.affected").value(2));
+
+        assertEquals(Money.of("2250.00"), userRepository.findById(firstId).orElseThrow().getCard().getLimit());
+
+        mockMvc.perform(post("/users/bulk/delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[%d,%d,999]}".formatted(firstId, secondId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(3))
+                .andExpect(jsonPath("$.affected").value(2));
+
+        assertFalse(userRepository.existsById(firstId));
+        assertFalse(userRepository.existsById(secondId));
+        assertNull(entityManager.find(Card.class, cardId));
+    }
+
+    @Test
+    @DisplayName("Deve listar o resumo dos usuários via projeção")
+    void shouldListUserSummariesThroughProjection() throws Exception{
+        mockMvc.perform(get("/users/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Darieldon"))
+                .andExpect(jsonPath("$[0].accountNumber").value("00000001-1"))
+                .andExpect(jsonPath("$[0].agency").value("0001"))
+                .andExpect(jsonPath("$[0].features").doesNotExist());
+    }
+
     // MÉTODOS UTILITÁRIOS DE TESTE → Instâncias reais de entities com dados fictícios
     private UserDto createUserDto(){
         return new UserDto(
@@ -197,13 +278,13 @@ public class UserIntegrationTest {
         Account account = new Account();
         account.setNumber("00000001-0");
         account.setAgency("0001");
-        account.setBalance(new BigDecimal("1000.00"));
-        account.setLimit(new BigDecimal("500.00"));
+        account.setBalance(Money.of("1000.00"));
+        account.setLimit(Money.of("500.00"));
         user.setAccount(account);
 
         Card card = new Card();
         card.setNumber("xxxx xxxx xxxx 0001");
-        card.setLimit(new BigDecimal("2000.00"));
+        card.setLimit(Money.of("2000.00"));
         user.setCard(card);
 
         return user;
@@ -214,8 +295,8 @@ public class UserIntegrationTest {
                 null,
                 "00000001-0",
                 "0001",
-                new BigDecimal("1000.00"),
-                new BigDecimal("500.00")
+                Money.of("1000.00"),
+                Money.of("500.00")
         );
     }
 
@@ -223,7 +304,7 @@ public class UserIntegrationTest {
         return new CardDto(
                 null,
                 "xxxx xxxx xxxx 0001",
-                new BigDecimal("2000.00")
+                Money.of("2000.00")
         );
     }
 }
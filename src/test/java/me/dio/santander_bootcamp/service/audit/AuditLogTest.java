@@ -0,0 +1,129 @@
+package me.dio.santander_bootcamp.service.audit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes para AuditLog")
+public class AuditLogTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-10T12:00:00Z");
+
+    private final List<List<AuditEntry>> batches = new ArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+    private boolean sinkFailing;
+    private AuditLog auditLog;
+
+    @BeforeEach
+    void setUp(){
+        meterRegistry = new SimpleMeterRegistry();
+        AuditSink sink = entries -> {
+            if(sinkFailing){
+                throw new IllegalStateException("banco indisponível");
+            }
+            batches.add(List.copyOf(entries));
+        };
+        auditLog = new AuditLog(sink, 5, 2, 3, Clock.fixed(NOW, ZoneOffset.UTC), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Deve gravar as entradas em lotes do tamanho configurado")
+    void shouldWriteEntriesInBatches(){
+        for(long id = 1; id <= 5; id++){
+            assertTrue(auditLog.record(entry(id, NOW)));
+        }
+
+        auditLog.drain();
+
+        assertEquals(List.of(2, 2, 1), batches.stream().map(List::size).toList());
+        assertEquals(1L, batches.get(0).get(0).userId());
+        assertEquals(0, auditLog.size());
+        assertEquals(5.0, meterRegistry.counter("audit.entries", "outcome", "written").count());
+    }
+
+    @Test
+    @DisplayName("Deve descartar e contar entradas quando a fila está cheia")
+    void shouldDropEntriesWhenQueueIsFull(){
+        for(long id = 1; id <= 5; id++){
+            auditLog.record(entry(id, NOW));
+        }
+
+        assertFalse(auditLog.record(entry(6L, NOW)));
+        assertEquals(5, auditLog.size());
+        assertEquals(1.0, meterRegistry.counter("audit.entries", "outcome", "dropped").count());
+    }
+
+    @Test
+    @DisplayName("Deve manter o lote que falhou e gravá-lo primeiro na próxima execução")
+    void shouldRetryFailedBatchFirst(){
+        auditLog.record(entry(1L, NOW.minusSeconds(30)));
+        auditLog.record(entry(2L, NOW.minusSeconds(20)));
+        auditLog.record(entry(3L, NOW.minusSeconds(10)));
+
+        sinkFailing = true;
+        auditLog.drain();
+
+        assertTrue(batches.isEmpty());
+        assertEquals(3, auditLog.size());
+        // O atraso é medido pela entrada mais antiga ainda não gravada
+        assertEquals(Duration.ofSeconds(30), auditLog.lag());
+        assertEquals(1.0, meterRegistry.counter("audit.write.failures").count());
+
+        sinkFailing = false;
+        auditLog.drain();
+
+        assertEquals(List.of(List.of(1L, 2L), List.of(3L)),
+                batches.stream().map(batch -> batch.stream().map(AuditEntry::userId).toList()).toList());
+        assertEquals(Duration.ZERO, auditLog.lag());
+    }
+
+    @Test
+    @DisplayName("Deve descartar e contar o lote que falha em todas as tentativas")
+    void shouldDropBatchAfterMaxAttempts(){
+        auditLog.record(entry(1L, NOW));
+        auditLog.record(entry(2L, NOW));
+        auditLog.record(entry(3L, NOW));
+
+        sinkFailing = true;
+        auditLog.drain();
+        auditLog.drain();
+        assertEquals(3, auditLog.size());
+        auditLog.drain();
+
+        // Só o lote que falhou três vezes é descartado; o restante da fila segue
+        assertEquals(1, auditLog.size());
+        assertEquals(2.0, meterRegistry.counter("audit.entries", "outcome", "dropped").count());
+        assertEquals(3.0, meterRegistry.counter("audit.write.failures").count());
+
+        sinkFailing = false;
+        auditLog.drain();
+
+        assertEquals(List.of(List.of(3L)),
+                batches.stream().map(batch -> batch.stream().map(AuditEntry::userId).toList()).toList());
+    }
+
+    @Test
+    @DisplayName("Deve cortar chamador e operação no tamanho das colunas")
+    void shouldTruncateCallerAndOperation(){
+        String uri = "GET /users/" + "x".repeat(300);
+
+        AuditEntry entry = new AuditEntry(NOW, "key:" + "a".repeat(300), uri, null, 404, 1_500);
+
+        assertEquals(AuditEntry.MAX_TEXT_LENGTH, entry.caller().length());
+        assertEquals(uri.substring(0, AuditEntry.MAX_TEXT_LENGTH), entry.operation());
+    }
+
+    private static AuditEntry entry(Long userId, Instant occurredAt){
+        return new AuditEntry(occurredAt, "ip:127.0.0.1", "GET /users/{id}", userId, 200, 1_500);
+    }
+}
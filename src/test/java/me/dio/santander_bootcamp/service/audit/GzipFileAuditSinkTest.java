@@ -0,0 +1,79 @@
+package me.dio.santander_bootcamp.service.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes para GzipFileAuditSink")
+public class GzipFileAuditSinkTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-10T12:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    @DisplayName("Deve rolar o arquivo ao atingir o tamanho e publicar só arquivos completos")
+    void shouldRollFilesAndPublishOnlyCompleteOnes() throws IOException {
+        GzipFileAuditSink sink = new GzipFileAuditSink(directory, 150, objectMapper, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        sink.write(List.of(entry(1L), entry(2L)));
+        sink.write(List.of(entry(3L)));
+
+        assertEquals(1, files(".jsonl.gz").size());
+        assertEquals(1, files(".open").size());
+
+        sink.close();
+
+        List<Path> completed = files(".jsonl.gz");
+        assertEquals(2, completed.size());
+        assertTrue(files(".open").isEmpty());
+        List<String> lines = new ArrayList<>();
+        for(Path file : completed){
+            lines.addAll(readGzip(file));
+        }
+        assertEquals(3, lines.size());
+        assertEquals(1L, objectMapper.readValue(lines.get(0), AuditEntry.class).userId());
+        assertTrue(lines.get(0).contains("\"occurredAt\":\"2025-01-10T12:00:00Z\""));
+    }
+
+    private List<Path> files(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(suffix)).sorted().toList();
+        }
+    }
+
+    private static List<String> readGzip(Path file) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            return reader.lines().toList();
+        }
+    }
+
+    private static AuditEntry entry(Long userId){
+        return new AuditEntry(NOW, "ip:127.0.0.1", "GET /users/{id}", userId, 200, 1_500);
+    }
+}
@@ -0,0 +1,45 @@
+package me.dio.santander_bootcamp.service.batch;
+
+import me.dio.santander_bootcamp.domain.model.Account;
+import me.dio.santander_bootcamp.domain.model.AccountBatchItem;
+import me.dio.santander_bootcamp.domain.model.Money;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes para InterestAccrualJob")
+public class InterestAccrualJobTest {
+
+    private final InterestAccrualJob job = new InterestAccrualJob(200);
+
+    @Test
+    @DisplayName("Deve calcular os juros diários arredondando para o centavo")
+    void shouldComputeDailyInterestRoundedToCent(){
+        assertEquals(Money.of("0.05"), job.dailyInterest(Money.of("1000.00")));
+        assertEquals(Money.of("54.79"), job.dailyInterest(Money.of("1000000.00")));
+        assertEquals(Money.ZERO, job.dailyInterest(Money.of("50.00")));
+        assertEquals(Money.of("0.01"), job.dailyInterest(Money.of("100.00")));
+    }
+
+    @Test
+    @DisplayName("Deve creditar juros apenas em saldos positivos")
+    void shouldCreditOnlyPositiveBalances(){
+        Account positive = createAccount("1000.00");
+        Account negative = createAccount("-1000.00");
+
+        assertTrue(job.process(new AccountBatchItem(1L, "default", positive, null), LocalDate.now()));
+        assertFalse(job.process(new AccountBatchItem(2L, "default", negative, null), LocalDate.now()));
+
+        assertEquals(Money.of("1000.05"), positive.getBalance());
+        assertEquals(Money.of("-1000.00"), negative.getBalance());
+    }
+
+    private static Account createAccount(String balance){
+        Account account = new Account();
+        account.setBalance(Money.of(balance));
+        return account;
+    }
+}
@@ -1,9 +1,20 @@
 package me.dio.santander_bootcamp.service.impl;
 
+import me.dio.santander_bootcamp.config.datasource.ReadYourWritesTracker;
 import me.dio.santander_bootcamp.domain.model.*;
+import me.dio.santander_bootcamp.domain.model.Money;
 import me.dio.santander_bootcamp.domain.repository.UserRepository;
+import me.dio.santander_bootcamp.service.BulkOperationResult;
+import me.dio.santander_bootcamp.service.UserArchiveService;
+import me.dio.santander_bootcamp.service.UserPatch;
+import me.dio.santander_bootcamp.service.event.UserChangedEvent;
 import me.dio.santander_bootcamp.service.exception.BusinessException;
 import me.dio.santander_bootcamp.service.exception.NotFoundException;
+import me.dio.santander_bootcamp.service.loader.UserBatchLoader;
+import me.dio.santander_bootcamp.service.search.UserSearchHit;
+import me.dio.santander_bootcamp.service.search.UserSearchIndex;
+import me.dio.santander_bootcamp.service.search.UserSearchPage;
+import me.dio.santander_bootcamp.service.tiering.UserActivityTracker;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,8 +23,9 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
 
-import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -29,6 +41,24 @@ public class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ReadYourWritesTracker readYourWritesTracker;
+
+    @Mock
+    private UserSearchIndex userSearchIndex;
+
+    @Mock
+    private ObjectProvider<UserBatchLoader> userBatchLoader;
+
+    @Mock
+    private UserArchiveService userArchiveService;
+
+    @Mock
+    private UserActivityTracker userActivityTracker;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -103,8 +133,63 @@ public class UserServiceImplTest {
 
         assertNotNull(exception);
         assertEquals("Resource not found.", exception.getMessage());
+        // Erro esperado: lançado sem capturar stack trace
+        assertEquals(0, exception.getStackTrace().length);
         verify(userRepository).findById(id);
         verify(userRepository, never()).save(any());
+        // Sem usuário no arquivo a restauração (transação de escrita) nem é aberta
+        verify(userArchiveService, never()).restore(any());
+    }
+
+    @Test
+    @DisplayName("Deve buscar pelo carregador em lote quando ele está habilitado")
+    void shouldLoadThroughBatchLoaderWhenEnabled(){
+        UserBatchLoader loader = mock(UserBatchLoader.class);
+        when(userBatchLoader.getIfAvailable()).thenReturn(loader);
+        when(loader.load(1L)).thenReturn(Optional.of(user));
+        when(loader.load(999L)).thenReturn(Optional.empty());
+
+        assertSame(user, userService.findById(1L));
+        assertThrows(NotFoundException.class, () -> userService.findById(999L));
+        verify(userRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve restaurar usuário arquivado quando o ID não está na tabela quente")
+    void shouldRestoreArchivedUserWhenIdIsNotHot(){
+        Long id = 42L;
+        when(userRepository.findById(id)).thenReturn(Optional.empty());
+        when(userArchiveService.holdsUser(id)).thenReturn(true);
+        when(userArchiveService.restore(id)).thenReturn(Optional.of(user));
+
+        User result = userService.findById(id);
+
+        assertSame(user, result);
+        verify(userArchiveService).restore(id);
+        verify(userActivityTracker).touch(id);
+    }
+
+    // Testes para a função exists()
+    @Test
+    @DisplayName("Deve reconhecer usuário arquivado sem restaurá-lo nem registrar atividade")
+    void shouldReportArchivedUserWithoutRestoringIt(){
+        Long id = 42L;
+        when(userRepository.existsById(id)).thenReturn(false);
+        when(userArchiveService.holdsUser(id)).thenReturn(true);
+
+        assertTrue(userService.exists(id));
+        verify(userArchiveService, never()).restore(any());
+        verify(userActivityTracker, never()).touch(anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve responder que não existe quando o ID não está em nenhuma camada")
+    void shouldReportMissingUserAsNotExisting(){
+        Long id = 999L;
+        when(userRepository.existsById(id)).thenReturn(false);
+        when(userArchiveService.holdsUser(id)).thenReturn(false);
+
+        assertFalse(userService.exists(id));
     }
 
     // Testes para a função create()
@@ -320,6 +405,77 @@ public class UserServiceImplTest {
         assertEquals("xxxx xxxx xxxx 1234", savedUser.getCard().getNumber());
     }
 
+    @Test
+    @DisplayName("Deve lançar BusinessException quando a atualização usa número de cartão arquivado")
+    void shouldThrowBusinessExceptionWhenUpdateUsesArchivedCardNumber(){
+        Long id = 2L;
+        User updatedUser = createUserWithId(id);
+        Card newCard = createCard();
+        newCard.setNumber("xxxx xxxx xxxx 9999");
+        updatedUser.setCard(newCard);
+
+        when(userRepository.findById(id)).thenReturn(Optional.of(createUserWithId(id)));
+        when(userArchiveService.holdsCardNumber("xxxx xxxx xxxx 9999")).thenReturn(true);
+
+        BusinessException exception = assertThrows(
+                BusinessException.class,
+                () -> userService.update(id, updatedUser)
+        );
+
+        assertEquals("This card number already exists.", exception.getMessage());
+        // O número da conta não mudou e não é verificado
+        verify(userRepository, never()).existsByAccountNumber(anyString());
+        verify(userRepository, never()).save(any());
+    }
+
+    // Testes para a função patch()
+    @Test
+    @DisplayName("Deve aplicar patch parcial sem chamar save")
+    void shouldApplyPartialPatchWithoutSave(){
+        Long id = 2L;
+        User existingUser = createUserWithId(id);
+        when(userRepository.findById(id)).thenReturn(Optional.of(existingUser));
+
+        User result = userService.patch(id, user -> user.setName("Nome do patch"));
+
+        assertEquals("Nome do patch", result.getName());
+        verify(userRepository, never()).save(any());
+        verify(userRepository, never()).existsByAccountNumber(anyString());
+        verify(userRepository, never()).existsByCardNumber(anyString());
+    }
+
+    @Test
+    @DisplayName("Deve lançar BusinessException quando o patch usa número de conta existente")
+    void shouldThrowBusinessExceptionWhenPatchUsesExistingAccountNumber(){
+        Long id = 2L;
+        when(userRepository.findById(id)).thenReturn(Optional.of(createUserWithId(id)));
+        when(userRepository.existsByAccountNumber("99999999-9")).thenReturn(true);
+
+        UserPatch patch = mock(UserPatch.class);
+        when(patch.accountNumber()).thenReturn("99999999-9");
+
+        BusinessException exception = assertThrows(
+                BusinessException.class,
+                () -> userService.patch(id, patch)
+        );
+
+        assertEquals("This account number already exists.", exception.getMessage());
+        // A verificação acontece antes de alterar a conta gerenciada
+        verify(patch, never()).applyTo(any());
+    }
+
+    @Test
+    @DisplayName("Deve lançar BusinessException ao tentar aplicar patch no usuário com o ID 1")
+    void shouldThrowBusinessExceptionWhenTryingToPatchUserWithId1(){
+        BusinessException exception = assertThrows(
+                BusinessException.class,
+                () -> userService.patch(1L, user -> user.setName("x"))
+        );
+
+        assertTrue(exception.getMessage().contains("can not be updated"));
+        verify(userRepository, never()).findById(anyLong());
+    }
+
     // Testes para a função delete()
     @Test
     @DisplayName("Deve deletar usuário quando o ID existe")
@@ -336,6 +492,20 @@ public class UserServiceImplTest {
         verify(userRepository).delete(userToDelete);
     }
 
+    @Test
+    @DisplayName("Deve publicar evento de remoção ao deletar usuário")
+    void shouldPublishDeletedEventWhenUserIsDeleted(){
+        Long id = 2L;
+        when(userRepository.findById(id)).thenReturn(Optional.of(createUserWithId(id)));
+
+        userService.delete(id);
+
+        ArgumentCaptor<UserChangedEvent> eventCaptor = ArgumentCaptor.forClass(UserChangedEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertEquals(id, eventCaptor.getValue().userId());
+        assertEquals(UserChangedEvent.Type.DELETED, eventCaptor.getValue().type());
+    }
+
     @Test
     @DisplayName("Deve lançar BusinessException ao tentar deletar o usuário com o ID 1")
     void shouldThrowBusinessExceptionWhenTryingToDeleteUserWithId1(){
@@ -366,6 +536,88 @@ public class UserServiceImplTest {
         verify(userRepository, never()).delete(any());
     }
 
+    // Testes para a função search()
+    @Test
+    @DisplayName("Deve retornar página de busca indicando que há próxima página")
+    void shouldReturnSearchPageWithNextPageFlag(){
+        List<UserSearchHit> hits = List.of(
+                new UserSearchHit(2L, "Joana", "00000002-0", "xxxx xxxx xxxx 0002", 1.0),
+                new UserSearchHit(3L, "João", "00000003-0", "xxxx xxxx xxxx 0003", 0.8),
+                new UserSearchHit(4L, "Joaquim", "00000004-0", "xxxx xxxx xxxx 0004", 0.5));
+        when(userSearchIndex.search("joa", 4, 3)).thenReturn(hits);
+
+        UserSearchPage page = userService.search(" joa ", 2, 2);
+
+        assertEquals(2, page.hits().size());
+        assertTrue(page.hasNext());
+        assertEquals(2, page.page());
+    }
+
+    @Test
+    @DisplayName("Deve lançar BusinessException quando a busca é vazia")
+    void shouldThrowBusinessExceptionWhenSearchQueryIsBlank(){
+        assertThrows(BusinessException.class, () -> userService.search("  ", 0, 20));
+
+        verifyNoInteractions(userSearchIndex);
+    }
+
+    // Testes para as operações em lote
+    @Test
+    @DisplayName("Deve deletar usuários em lote ignorando o usuário com o ID 1")
+    void shouldBulkDeleteUsersSkippingUserWithId1(){
+        List<Long> changeable = List.of(2L, 3L);
+        when(userRepository.findChangeableIds(List.of(1L, 2L, 3L), 1L)).thenReturn(changeable);
+        when(userRepository.findAccountIds(changeable)).thenReturn(List.of(20L, 30L));
+        when(userRepository.findCardIds(changeable)).thenReturn(List.of(21L, 31L));
+        when(userRepository.findFeatureIds(changeable)).thenReturn(List.of());
+        when(userRepository.findNewsIds(changeable)).thenReturn(List.of(22L));
+        when(userRepository.deleteUsers(changeable)).thenReturn(2);
+
+        BulkOperationResult result = userService.deleteAll(List.of(1L, 2L, 3L, 2L));
+
+        assertEquals(3, result.requested());
+        assertEquals(2, result.affected());
+        verify(userRepository).deleteFeatureLinks(changeable);
+        verify(userRepository).deleteNewsLinks(changeable);
+        verify(userRepository).deleteAccounts(List.of(20L, 30L));
+        verify(userRepository).deleteCards(List.of(21L, 31L));
+        verify(userRepository).deleteNews(List.of(22L));
+        verify(userRepository, never()).deleteFeatures(any());
+        verify(userRepository, never()).findById(anyLong());
+        verify(eventPublisher, times(2)).publishEvent(any(UserChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Deve lançar BusinessException ao deletar em lote sem IDs")
+    void shouldThrowBusinessExceptionWhenBulkDeleteHasNoIds(){
+        assertThrows(BusinessException.class, () -> userService.deleteAll(List.of()));
+
+        verify(userRepository, never()).deleteUsers(any());
+    }
+
+    @Test
+    @DisplayName("Deve aumentar o limite do cartão de uma agência em uma única atualização")
+    void shouldRaiseCardLimitByAgencyWithSingleUpdate(){
+        Money amount = Money.of("100.00");
+        when(userRepository.findChangeableIdsByAgency("0001", 1L)).thenReturn(List.of(2L, 3L, 4L));
+        when(userRepository.increaseCardLimit(List.of(2L, 3L, 4L), amount.toBigDecimal())).thenReturn(3);
+
+        BulkOperationResult result = userService.raiseCardLimitByAgency("0001", amount);
+
+        assertEquals(3, result.requested());
+        assertEquals(3, result.affected());
+        verify(userRepository).increaseCardLimit(List.of(2L, 3L, 4L), amount.toBigDecimal());
+        verify(eventPublisher, times(3)).publishEvent(any(UserChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Deve lançar BusinessException quando o aumento de limite não é positivo")
+    void shouldThrowBusinessExceptionWhenLimitIncreaseIsNotPositive(){
+        assertThrows(BusinessException.class, () -> userService.raiseCardLimit(List.of(2L), Money.ZERO));
+
+        verify(userRepository, never()).increaseCardLimit(any(), any());
+    }
+
     // MÉTODOS UTILITÁRIOS DE TESTE → Instâncias reais de entities com dados fictícios
     private User createUser() {
         User user = new User();
@@ -387,15 +639,15 @@ public class UserServiceImplTest {
         Account account = new Account();
         account.setNumber("00000001-0");
         account.setAgency("0001");
-        account.setBalance(new BigDecimal("1000.00"));
-        account.setLimit(new BigDecimal("500.00"));
+        account.setBalance(Money.of("1000.00"));
+        account.setLimit(Money.of("500.00"));
         return account;
     }
 
     private Card createCard(){
         Card card = new Card();
         card.setNumber("xxxx xxxx xxxx 0001");
-        card.setLimit(new BigDecimal("2000.00"));
+        card.setLimit(Money.of("2000.00"));
         return card;
     }
 
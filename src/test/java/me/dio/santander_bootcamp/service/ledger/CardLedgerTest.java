@@ -0,0 +1,198 @@
+package me.dio.santander_bootcamp.service.ledger;
+
+import me.dio.santander_bootcamp.domain.model.Money;
+import me.dio.santander_bootcamp.service.exception.BusinessException;
+import me.dio.santander_bootcamp.service.exception.NotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes para CardLedger")
+public class CardLedgerTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-10T12:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    private Path journalFile;
+    private LedgerJournal journal;
+    private CardLedger ledger;
+
+    @BeforeEach
+    void setUp(){
+        journalFile = directory.resolve("card-ledger.journal");
+        journal = new LedgerJournal(journalFile, false);
+        ledger = new CardLedger(journal, Clock.fixed(NOW, ZoneOffset.UTC));
+        ledger.load(1L, 0, Money.of("1000.00"));
+        ledger.load(2L, 0, Money.of("50.00"));
+    }
+
+    @AfterEach
+    void tearDown(){
+        journal.close();
+    }
+
+    @Test
+    @DisplayName("Deve reservar o valor autorizado e recusar quando o limite não cobre a compra")
+    void shouldHoldAmountAndDeclineWhenLimitIsInsufficient(){
+        CardHold hold = ledger.authorize(1L, Money.of("300.00"));
+
+        assertEquals(CardHold.Status.HELD, hold.status());
+        assertEquals(Money.of("700.00"), hold.availableLimit());
+        BusinessException exception = assertThrows(BusinessException.class, () -> ledger.authorize(1L, Money.of("700.01")));
+        assertEquals("Insufficient card limit.", exception.getMessage());
+        assertEquals(Money.of("700.00"), ledger.available(1L));
+    }
+
+    @Test
+    @DisplayName("Deve devolver ao limite o restante da captura parcial e o valor liberado")
+    void shouldReturnRemainderOfPartialCaptureAndReleasedAmount(){
+        CardHold first = ledger.authorize(1L, Money.of("300.00"));
+        CardHold second = ledger.authorize(1L, Money.of("100.00"));
+
+        CardHold captured = ledger.capture(1L, first.authorizationId(), Money.of("250.00"));
+        CardHold released = ledger.release(1L, second.authorizationId());
+
+        assertEquals(CardHold.Status.CAPTURED, captured.status());
+        assertEquals(Money.of("650.00"), captured.availableLimit());
+        assertEquals(CardHold.Status.RELEASED, released.status());
+        assertEquals(Money.of("750.00"), released.availableLimit());
+        assertThrows(NotFoundException.class, () -> ledger.release(1L, first.authorizationId()));
+        assertEquals(0, ledger.openHolds());
+    }
+
+    @Test
+    @DisplayName("Deve recusar captura maior que a reserva e autorização de outro usuário")
+    void shouldRejectInvalidCaptures(){
+        CardHold hold = ledger.authorize(1L, Money.of("100.00"));
+
+        assertThrows(BusinessException.class, () -> ledger.capture(1L, hold.authorizationId(), Money.of("100.01")));
+        assertThrows(NotFoundException.class, () -> ledger.capture(2L, hold.authorizationId(), null));
+        assertThrows(NotFoundException.class, () -> ledger.authorize(99L, Money.of("1.00")));
+        assertEquals(1, ledger.openHolds());
+    }
+
+    @Test
+    @DisplayName("Deve mover a variação pendente para o flush e restaurá-la se a gravação falhar")
+    void shouldDrainPendingChangeAndRestoreOnFailure(){
+        ledger.authorize(1L, Money.of("300.00"));
+        ledger.authorize(2L, Money.of("20.00"));
+
+        List<LedgerFlush> flushes = ledger.drain(10);
+
+        assertEquals(2, flushes.size());
+        LedgerFlush first = flushes.stream().filter(flush -> flush.userId().equals(1L)).findFirst().orElseThrow();
+        assertEquals(-30_000, first.deltaCents());
+        assertTrue(ledger.drain(10).isEmpty());
+        assertEquals(Money.of("700.00"), ledger.available(1L));
+
+        ledger.restore(first);
+
+        List<LedgerFlush> retried = ledger.drain(10);
+        assertEquals(1, retried.size());
+        assertEquals(-30_000, retried.get(0).deltaCents());
+        assertEquals(Money.of("700.00"), ledger.available(1L));
+    }
+
+    @Test
+    @DisplayName("Deve aplicar alterações de limite feitas fora do ledger mantendo as reservas")
+    void shouldApplyCommittedChangesOnTopOfHolds(){
+        ledger.authorize(1L, Money.of("300.00"));
+
+        ledger.applyCommittedChange(1L, Money.of("1000.00"), Money.of("1500.00"));
+
+        assertEquals(Money.of("1200.00"), ledger.available(1L));
+        ledger.applyCommittedChange(1L, Money.of("1500.00"), null);
+        assertFalse(ledger.contains(1L));
+    }
+
+    @Test
+    @DisplayName("Deve liberar reservas mais antigas que o prazo")
+    void shouldReleaseExpiredHolds(){
+        ledger.authorize(1L, Money.of("300.00"));
+
+        assertEquals(0, ledger.releaseHoldsCreatedBefore(NOW));
+        assertEquals(1, ledger.releaseHoldsCreatedBefore(NOW.plus(Duration.ofSeconds(1))));
+        assertEquals(Money.of("1000.00"), ledger.available(1L));
+    }
+
+    @Test
+    @DisplayName("Deve compactar o journal após o flush mantendo reservas abertas e entradas pendentes")
+    void shouldCompactJournalAfterFlush(){
+        CardHold captured = ledger.authorize(1L, Money.of("300.00"));
+        CardHold open = ledger.authorize(1L, Money.of("100.00"));
+        ledger.capture(1L, captured.authorizationId(), Money.of("200.00"));
+        ledger.drain(10);
+
+        ledger.compactJournal();
+        assertEquals(List.of(open.authorizationId()), sequences(LedgerJournal.read(journalFile)));
+
+        // A liberação ainda não gravada precisa da reserva que ela encerra
+        ledger.release(1L, open.authorizationId());
+        ledger.compactJournal();
+        List<JournalEntry> pending = LedgerJournal.read(journalFile);
+        assertEquals(2, pending.size());
+        assertEquals(JournalEntry.Type.RELEASE, pending.get(1).type());
+
+        ledger.drain(10);
+        ledger.compactJournal();
+        assertTrue(LedgerJournal.read(journalFile).isEmpty());
+
+        // Novas entradas continuam no arquivo ativo
+        CardHold next = ledger.authorize(2L, Money.of("10.00"));
+        assertEquals(List.of(next.authorizationId()), sequences(LedgerJournal.read(journalFile)));
+    }
+
+    @Test
+    @DisplayName("Deve reconstruir limites e reservas abertas a partir do journal após uma queda")
+    void shouldRecoverFromJournalAfterCrash() throws Exception {
+        CardHold flushedHold = ledger.authorize(1L, Money.of("300.00"));
+        LedgerFlush flushed = ledger.drain(10).get(0);
+        // O flush foi gravado no banco: limite comprometido 700,00 até a sequência aplicada
+        CardHold pendingHold = ledger.authorize(1L, Money.of("100.00"));
+        ledger.capture(1L, flushedHold.authorizationId(), Money.of("200.00"));
+        CardHold otherHold = ledger.authorize(2L, Money.of("20.00"));
+        Money availableBeforeCrash = ledger.available(1L);
+        journal.close();
+        // Linha cortada pela queda do processo
+        Files.writeString(journalFile, "99;HOLD;99;1", StandardCharsets.US_ASCII, StandardOpenOption.APPEND);
+
+        journal = new LedgerJournal(journalFile, false);
+        CardLedger recovered = new CardLedger(journal, Clock.fixed(NOW, ZoneOffset.UTC));
+        recovered.load(1L, 0, Money.of("700.00"));
+        recovered.load(2L, 0, Money.of("50.00"));
+        List<JournalEntry> retained = recovered.recover(LedgerJournal.read(journalFile), Map.of(1L, flushed.sequence()));
+
+        assertEquals(availableBeforeCrash, recovered.available(1L));
+        assertEquals(Money.of("30.00"), recovered.available(2L));
+        assertEquals(2, recovered.openHolds());
+        assertEquals(4, retained.size());
+        journal.rewrite(retained);
+        assertEquals(retained, LedgerJournal.read(journalFile));
+        CardHold released = recovered.release(1L, pendingHold.authorizationId());
+        assertEquals(Money.of("800.00"), released.availableLimit());
+        CardHold captured = recovered.capture(2L, otherHold.authorizationId(), null);
+        assertEquals(Money.of("30.00"), captured.availableLimit());
+        assertEquals(7, recovered.authorize(2L, Money.of("1.00")).authorizationId());
+    }
+
+    private static List<Long> sequences(List<JournalEntry> entries){
+        return entries.stream().map(JournalEntry::sequence).toList();
+    }
+}
@@ -0,0 +1,142 @@
+package me.dio.santander_bootcamp.service.loader;
+
+import me.dio.santander_bootcamp.domain.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes para UserBatchLoader")
+public class UserBatchLoaderTest {
+
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private final List<List<Long>> fetches = new CopyOnWriteArrayList<>();
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void tearDown(){
+        callers.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Deve buscar imediatamente quando não há outras consultas em andamento")
+    void shouldFetchRightAwayWhenAlone(){
+        UserBatchLoader loader = loader(this::existingUsers, 100, Duration.ofSeconds(10));
+
+        long started = System.nanoTime();
+        Optional<User> user = loader.load(7L);
+
+        assertTrue(System.nanoTime() - started < TimeUnit.SECONDS.toNanos(5));
+        assertEquals(7L, user.orElseThrow().getId());
+        assertEquals(List.of(List.of(7L)), fetches);
+        assertEquals(List.of(1), batchSizes);
+    }
+
+    @Test
+    @DisplayName("Deve resolver ids simultâneos com uma única busca quando o lote enche")
+    void shouldResolveConcurrentIdsWithOneFetch() throws Exception {
+        CountDownLatch firstFetchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstFetch = new CountDownLatch(1);
+        UserBatchLoader loader = loader(ids -> {
+            if(ids.contains(1L)){
+                firstFetchStarted.countDown();
+                await(releaseFirstFetch);
+            }
+            return existingUsers(ids);
+        }, 3, Duration.ofSeconds(10));
+
+        // A primeira consulta fica presa no banco, então as próximas encontram trabalho em andamento e esperam o lote
+        Future<Optional<User>> first = callers.submit(() -> loader.load(1L));
+        assertTrue(firstFetchStarted.await(5, TimeUnit.SECONDS));
+        List<Future<Optional<User>>> batched = new ArrayList<>();
+        for(long id = 2; id <= 4; id++){
+            long target = id;
+            batched.add(callers.submit(() -> loader.load(target)));
+        }
+        for(int i = 0; i < batched.size(); i++){
+            assertEquals(i + 2L, batched.get(i).get(5, TimeUnit.SECONDS).orElseThrow().getId());
+        }
+        releaseFirstFetch.countDown();
+
+        assertEquals(1L, first.get(5, TimeUnit.SECONDS).orElseThrow().getId());
+        assertEquals(2, fetches.size());
+        assertEquals(Set.of(2L, 3L, 4L), new HashSet<>(fetches.get(1)));
+        assertEquals(List.of(1, 3), batchSizes);
+    }
+
+    @Test
+    @DisplayName("Deve compartilhar o resultado entre chamadas pelo mesmo id no mesmo lote")
+    void shouldShareResultForSameIdInBatch() throws Exception {
+        CountDownLatch firstFetchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstFetch = new CountDownLatch(1);
+        UserBatchLoader loader = loader(ids -> {
+            if(ids.contains(1L)){
+                firstFetchStarted.countDown();
+                await(releaseFirstFetch);
+            }
+            return existingUsers(ids);
+        }, 100, Duration.ofSeconds(1));
+
+        Future<Optional<User>> first = callers.submit(() -> loader.load(1L));
+        assertTrue(firstFetchStarted.await(5, TimeUnit.SECONDS));
+        Future<Optional<User>> a = callers.submit(() -> loader.load(5L));
+        Future<Optional<User>> b = callers.submit(() -> loader.load(5L));
+
+        assertSame(a.get(5, TimeUnit.SECONDS).orElseThrow(), b.get(5, TimeUnit.SECONDS).orElseThrow());
+        releaseFirstFetch.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(List.of(1L), List.of(5L)), fetches);
+    }
+
+    @Test
+    @DisplayName("Deve retornar vazio para id inexistente e repassar a falha da busca")
+    void shouldReturnEmptyForMissingIdAndPropagateFailure(){
+        UserBatchLoader missing = loader(ids -> List.of(), 100, Duration.ofMillis(2));
+        assertTrue(missing.load(99L).isEmpty());
+
+        UserBatchLoader failing = loader(ids -> {
+            throw new IllegalStateException("banco indisponível");
+        }, 100, Duration.ofMillis(2));
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> failing.load(1L));
+        assertEquals("banco indisponível", exception.getMessage());
+    }
+
+    private UserBatchLoader loader(Function<List<Long>, List<User>> fetcher, int maxBatchSize, Duration window){
+        return new UserBatchLoader(ids -> {
+            fetches.add(List.copyOf(ids));
+            return fetcher.apply(ids);
+        }, maxBatchSize, window, batchSizes::add);
+    }
+
+    private List<User> existingUsers(List<Long> ids){
+        return ids.stream().map(id -> {
+            User user = new User();
+            user.setId(id);
+            user.setName("Usuário " + id);
+            return user;
+        }).toList();
+    }
+
+    private static void await(CountDownLatch latch){
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
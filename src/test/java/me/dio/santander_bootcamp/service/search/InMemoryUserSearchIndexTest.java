@@ -0,0 +1,94 @@
+package me.dio.santander_bootcamp.service.search;
+
+import me.dio.santander_bootcamp.domain.model.UserSearchDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes para InMemoryUserSearchIndex")
+public class InMemoryUserSearchIndexTest {
+
+    private InMemoryUserSearchIndex index;
+
+    @BeforeEach
+    void setUp(){
+        index = new InMemoryUserSearchIndex(null, 1);
+        index.index(new UserSearchDocument(1L, "João da Silva", "00000001-0", "xxxx xxxx xxxx 0001"));
+        index.index(new UserSearchDocument(2L, "Joana Souza", "00000002-0", "xxxx xxxx xxxx 0002"));
+        index.index(new UserSearchDocument(3L, "Maria Silva", "12345678-9", "xxxx xxxx xxxx 1234"));
+    }
+
+    @Test
+    @DisplayName("Deve encontrar usuários por prefixo do nome ignorando acentos e caixa")
+    void shouldFindUsersByNamePrefixIgnoringAccentsAndCase(){
+        List<UserSearchHit> hits = index.search("JOA", 0, 10);
+
+        assertEquals(List.of(1L, 2L), hits.stream().map(UserSearchHit::id).toList());
+    }
+
+    @Test
+    @DisplayName("Deve combinar os termos da busca com E e ordenar por relevância")
+    void shouldCombineTermsAndRankByRelevance(){
+        List<UserSearchHit> silva = index.search("silva", 0, 10);
+        List<UserSearchHit> mariaSilva = index.search("maria sil", 0, 10);
+
+        assertEquals(List.of(1L, 3L), silva.stream().map(UserSearchHit::id).toList());
+        assertEquals(List.of(3L), mariaSilva.stream().map(UserSearchHit::id).toList());
+        assertTrue(index.search("joa", 0, 10).get(0).score() < index.search("joao", 0, 10).get(0).score());
+    }
+
+    @Test
+    @DisplayName("Deve encontrar usuários pelo número da conta e pelos dígitos do cartão")
+    void shouldFindUsersByAccountAndCardNumber(){
+        assertEquals(3L, index.search("12345678-9", 0, 10).get(0).id());
+        assertEquals(3L, index.search("123456789", 0, 10).get(0).id());
+        assertEquals(2L, index.search("0002", 0, 10).get(0).id());
+        assertTrue(index.search("xxxx", 0, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve paginar os resultados")
+    void shouldPaginateHits(){
+        List<UserSearchHit> firstPage = index.search("0000000", 0, 1);
+        List<UserSearchHit> secondPage = index.search("0000000", 1, 1);
+
+        assertEquals(1, firstPage.size());
+        assertEquals(1, secondPage.size());
+        assertNotEquals(firstPage.get(0).id(), secondPage.get(0).id());
+        assertTrue(index.search("0000000", 2, 1).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve montar as páginas na mesma ordem da lista completa de resultados")
+    void shouldPageInTheOrderOfTheFullResultList(){
+        for(long id = 4; id <= 30; id++){
+            index.index(new UserSearchDocument(id, (id % 3 == 0 ? "Silva " : "Silvano ") + id, "%08d-0".formatted(id),
+                    "xxxx xxxx xxxx %04d".formatted(id)));
+        }
+        List<Long> all = index.search("silva", 0, 100).stream().map(UserSearchHit::id).toList();
+
+        // Apenas os melhores offset + limit são mantidos durante a pontuação
+        List<Long> paged = new ArrayList<>();
+        for(int offset = 0; offset < all.size(); offset += 4){
+            index.search("silva", offset, 4).forEach(hit -> paged.add(hit.id()));
+        }
+        assertEquals(all, paged);
+        assertEquals(List.of(1L, 3L, 6L), all.subList(0, 3));
+    }
+
+    @Test
+    @DisplayName("Deve refletir atualizações e remoções de usuários")
+    void shouldReflectUpdatesAndRemovals(){
+        index.index(new UserSearchDocument(2L, "Joana Pereira", "00000002-0", "xxxx xxxx xxxx 0002"));
+        index.remove(1L);
+
+        assertTrue(index.search("souza", 0, 10).isEmpty());
+        assertEquals(List.of(2L), index.search("joa", 0, 10).stream().map(UserSearchHit::id).toList());
+        assertEquals(2, index.size());
+    }
+}
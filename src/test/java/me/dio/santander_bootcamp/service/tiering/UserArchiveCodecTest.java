@@ -0,0 +1,84 @@
+package me.dio.santander_bootcamp.service.tiering;
+
+import me.dio.santander_bootcamp.domain.model.Account;
+import me.dio.santander_bootcamp.domain.model.Card;
+import me.dio.santander_bootcamp.domain.model.Feature;
+import me.dio.santander_bootcamp.domain.model.Money;
+import me.dio.santander_bootcamp.domain.model.News;
+import me.dio.santander_bootcamp.domain.model.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes para UserArchiveCodec")
+public class UserArchiveCodecTest {
+
+    @Test
+    @DisplayName("Deve restaurar usuário completo com os mesmos IDs e valores")
+    void shouldRoundTripCompleteUserKeepingIds(){
+        User user = new User();
+        user.setId(7L);
+        user.setName("Maria");
+        Account account = new Account();
+        account.setId(11L);
+        account.setNumber("00001-1");
+        account.setAgency("0001");
+        account.setBalance(Money.of("1234.56"));
+        account.setLimit(Money.of("500.00"));
+        user.setAccount(account);
+        Card card = new Card();
+        card.setId(13L);
+        card.setNumber("xxxx xxxx xxxx 1111");
+        card.setLimit(Money.of("2000.10"));
+        user.setCard(card);
+        Feature feature = new Feature();
+        feature.setId(17L);
+        feature.setIcon("pix.svg");
+        feature.setDescription("Pix");
+        user.setFeatures(new ArrayList<>(List.of(feature)));
+        News news = new News();
+        news.setId(19L);
+        news.setIcon("news.svg");
+        news.setDescription("Novidade");
+        user.setNews(new ArrayList<>(List.of(news)));
+
+        User restored = UserArchiveCodec.decode(UserArchiveCodec.encode(user));
+
+        assertEquals(7L, restored.getId());
+        assertEquals("Maria", restored.getName());
+        assertEquals(11L, restored.getAccount().getId());
+        assertEquals("00001-1", restored.getAccount().getNumber());
+        assertEquals("0001", restored.getAccount().getAgency());
+        assertEquals(Money.of("1234.56"), restored.getAccount().getBalance());
+        assertEquals(Money.of("500.00"), restored.getAccount().getLimit());
+        assertEquals(13L, restored.getCard().getId());
+        assertEquals("xxxx xxxx xxxx 1111", restored.getCard().getNumber());
+        assertEquals(Money.of("2000.10"), restored.getCard().getLimit());
+        assertEquals(1, restored.getFeatures().size());
+        assertEquals(17L, restored.getFeatures().get(0).getId());
+        assertEquals("Pix", restored.getFeatures().get(0).getDescription());
+        assertEquals(1, restored.getNews().size());
+        assertEquals(19L, restored.getNews().get(0).getId());
+        assertEquals("news.svg", restored.getNews().get(0).getIcon());
+    }
+
+    @Test
+    @DisplayName("Deve preservar valores ausentes sem conta, cartão e listas")
+    void shouldPreserveAbsentValues(){
+        User user = new User();
+        user.setId(8L);
+
+        User restored = UserArchiveCodec.decode(UserArchiveCodec.encode(user));
+
+        assertEquals(8L, restored.getId());
+        assertNull(restored.getName());
+        assertNull(restored.getAccount());
+        assertNull(restored.getCard());
+        assertTrue(restored.getFeatures().isEmpty());
+        assertTrue(restored.getNews().isEmpty());
+    }
+}
@@ -0,0 +1,48 @@
+package me.dio.santander_bootcamp.service.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes para TokenBucket")
+public class TokenBucketTest {
+
+    private static final long START = TimeUnit.SECONDS.toNanos(100);
+
+    @Test
+    @DisplayName("Deve permitir rajadas até a capacidade do bucket")
+    void shouldAllowBurstUpToCapacity(){
+        TokenBucket bucket = new TokenBucket(5, 1, START);
+
+        for(int i = 0; i < 5; i++){
+            assertEquals(0, bucket.tryConsume(1, START));
+        }
+        assertTrue(bucket.tryConsume(1, START) > 0);
+    }
+
+    @Test
+    @DisplayName("Deve informar o tempo de espera até o próximo token")
+    void shouldReportWaitUntilNextToken(){
+        TokenBucket bucket = new TokenBucket(1, 2, START);
+        bucket.tryConsume(1, START);
+
+        long wait = bucket.tryConsume(1, START);
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), wait);
+        assertEquals(0, bucket.tryConsume(1, START + wait));
+    }
+
+    @Test
+    @DisplayName("Deve cobrar o custo ponderado da requisição")
+    void shouldChargeWeightedCost(){
+        TokenBucket bucket = new TokenBucket(20, 10, START);
+
+        assertEquals(0, bucket.tryConsume(10, START));
+        assertEquals(10, bucket.availableTokens(START));
+        assertEquals(0, bucket.tryConsume(10, START));
+        assertTrue(bucket.tryConsume(10, START) > 0);
+    }
+}